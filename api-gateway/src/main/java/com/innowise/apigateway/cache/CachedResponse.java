@@ -0,0 +1,35 @@
+package com.innowise.apigateway.cache;
+
+import org.springframework.http.MediaType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Successful GET response kept in {@link ResponseCache}.
+ * The body is held off-heap in a read-only direct buffer, written once and then only wrapped
+ * into response buffers, so cache hits neither allocate nor copy body bytes.
+ *
+ * @param contentType content type of the body, may be null
+ * @param eTag entity tag of the body
+ * @param body read-only direct buffer with the body, must be duplicated before reading
+ * @param ttlNanos time to live of the entry
+ */
+public record CachedResponse(MediaType contentType, String eTag, ByteBuffer body, long ttlNanos) {
+    /**
+     * Returns a view of the body with its own position, which can be read independently of other requests.
+     *
+     * @return the body view
+     */
+    public ByteBuffer bodyView() {
+        return body.duplicate();
+    }
+
+    /**
+     * Returns the size of the body.
+     *
+     * @return the body size in bytes
+     */
+    public int size() {
+        return body.capacity();
+    }
+}
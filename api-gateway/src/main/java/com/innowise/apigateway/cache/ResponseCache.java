@@ -0,0 +1,106 @@
+package com.innowise.apigateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Gateway cache of GET responses, bounded by the total size of cached bodies.
+ * Entries are keyed by route, principal and request path with query, and expire after the TTL of their route.
+ * Cache statistics are exposed as {@code cache.*} meters with {@code cache=gateway.responses} tag.
+ */
+public class ResponseCache {
+    private static final String CACHE_NAME = "gateway.responses";
+    private static final char PRINCIPAL_SEPARATOR = '|';
+    private static final char QUERY_SEPARATOR = '?';
+    private static final char PATH_SEPARATOR = '/';
+
+    private final Cache<String, CachedResponse> cache;
+    private final int maxEntrySize;
+
+    public ResponseCache(long maxSizeBytes, int maxEntrySize, MeterRegistry meterRegistry) {
+        this.maxEntrySize = maxEntrySize;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSizeBytes)
+                .weigher((String key, CachedResponse response) -> key.length() + response.size())
+                .expireAfter(Expiry.<String, CachedResponse>creating((key, response) ->
+                        Duration.ofNanos(response.ttlNanos())))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Builds the cache key. The path comes last, so entries can be purged by path.
+     *
+     * @param routeId the route ID
+     * @param userId the authenticated user ID
+     * @param pathWithQuery the request path with the raw query, if any
+     * @return the cache key
+     */
+    public static String key(String routeId, Long userId, String pathWithQuery) {
+        return routeId + PRINCIPAL_SEPARATOR + userId + PRINCIPAL_SEPARATOR + pathWithQuery;
+    }
+
+    public int getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, CachedResponse response) {
+        cache.put(key, response);
+    }
+
+    /**
+     * Removes entries of the path and of the paths below it for all principals, with any query.
+     * Purging walks over all keys, which is fine as long as purges are much rarer than lookups.
+     *
+     * @param pathPrefix the request path, the entries below which are removed too
+     * @return the number of removed entries
+     */
+    public int purge(String pathPrefix) {
+        return purge(List.of(pathPrefix), List.of());
+    }
+
+    /**
+     * Removes entries of the given path prefixes and the given paths for all principals, with any query,
+     * in a single walk over the keys.
+     *
+     * @param pathPrefixes the request paths, the entries of which and below which are removed
+     * @param paths the request paths, only the entries of which are removed
+     * @return the number of removed entries
+     */
+    public int purge(Collection<String> pathPrefixes, Collection<String> paths) {
+        int removed = 0;
+        for (String key : cache.asMap().keySet()) {
+            String path = pathOf(key);
+            boolean matches = paths.contains(path)
+                    || pathPrefixes.stream().anyMatch(prefix -> isUnder(path, prefix));
+            if (matches && cache.asMap().remove(key) != null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private static String pathOf(String key) {
+        int pathStart = key.indexOf(PRINCIPAL_SEPARATOR, key.indexOf(PRINCIPAL_SEPARATOR) + 1) + 1;
+        int queryStart = key.indexOf(QUERY_SEPARATOR, pathStart);
+        return key.substring(pathStart, queryStart != -1 ? queryStart : key.length());
+    }
+
+    private static boolean isUnder(String path, String prefix) {
+        String base = prefix.endsWith("/") ? prefix.substring(0, prefix.length() - 1) : prefix;
+        return path.startsWith(base)
+                && (path.length() == base.length() || path.charAt(base.length()) == PATH_SEPARATOR);
+    }
+}
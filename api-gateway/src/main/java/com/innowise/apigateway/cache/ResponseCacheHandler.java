@@ -0,0 +1,68 @@
+package com.innowise.apigateway.cache;
+
+import com.innowise.apigateway.dto.ErrorResponseDto;
+import com.innowise.apigateway.security.RequestAuthenticator;
+import com.innowise.securitystarter.jwt.JwtPrincipal;
+import com.innowise.securitystarter.util.SecurityConstant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Handler of the response cache API. Lets services and administrators purge cached responses of a path
+ * when the data changes without passing through the gateway, e.g. order status updated from a payment event.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheHandler {
+    private final ResponseCache responseCache;
+    private final RequestAuthenticator requestAuthenticator;
+
+    private static final Set<String> ALLOWED_ROLES = Set.of(SecurityConstant.ROLE_SERVICE, "ADMIN");
+    private static final String PATH_PARAM = "path";
+
+    /**
+     * Purges cached responses of the path given in {@code path} query param and of the paths below it,
+     * for all users and queries.
+     * Accessible to SERVICE and ADMIN.
+     *
+     * @param request the purge request
+     * @return the number of purged entries
+     */
+    public Mono<ServerResponse> purge(ServerRequest request) {
+        JwtPrincipal principal = requestAuthenticator.verify(
+                requestAuthenticator.resolveToken(request.headers().asHttpHeaders()));
+        if (principal == null) {
+            return error(HttpStatus.UNAUTHORIZED, SecurityConstant.INVALID_TOKEN_ERROR_MESSAGE);
+        }
+        if (!ALLOWED_ROLES.contains(principal.getRole())) {
+            return error(HttpStatus.FORBIDDEN, "Access denied");
+        }
+
+        Optional<String> path = request.queryParam(PATH_PARAM).filter(value -> !value.isBlank());
+        if (path.isEmpty()) {
+            return error(HttpStatus.BAD_REQUEST, "Path to purge is required");
+        }
+
+        int purged = responseCache.purge(path.get());
+
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(Map.of("purged", purged));
+    }
+
+    private Mono<ServerResponse> error(HttpStatus status, String errorMessage) {
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .status(status.value())
+                .errorMessage(errorMessage)
+                .build();
+
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(errorResponse);
+    }
+}
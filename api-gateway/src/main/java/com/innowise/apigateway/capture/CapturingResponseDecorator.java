@@ -0,0 +1,141 @@
+package com.innowise.apigateway.capture;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Response decorator which passes the whole response body to {@link ResponseCaptureListener}s
+ * registered on the exchange, before writing it. Without listeners the body is written as is.
+ * Bodies are buffered only up to the largest size the listeners accept: once a body is known to be larger,
+ * from {@code Content-Length} or from the buffered chunks, it is streamed to the client without capturing,
+ * and the listeners get {@link ResponseCaptureListener#onBodyTooLarge} instead.
+ */
+public class CapturingResponseDecorator extends ServerHttpResponseDecorator {
+    /**
+     * Body size limit of listeners which need the whole body regardless of its size.
+     */
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    private static final String LISTENERS_ATTRIBUTE = CapturingResponseDecorator.class.getName() + ".listeners";
+    private static final String MAX_BODY_SIZE_ATTRIBUTE = CapturingResponseDecorator.class.getName() + ".maxBodySize";
+
+    private final ServerWebExchange exchange;
+    private final AtomicBoolean ended = new AtomicBoolean();
+    private boolean captured;
+
+    public CapturingResponseDecorator(ServerWebExchange exchange) {
+        super(exchange.getResponse());
+        this.exchange = exchange;
+    }
+
+    /**
+     * Registers the listener for the response of the exchange. Listeners are called in registration order.
+     * The body is captured up to the largest size accepted by the listeners, so a listener may still get
+     * a body larger than its own limit and has to check it.
+     *
+     * @param exchange the exchange
+     * @param listener the listener
+     * @param maxBodySize the largest body size in bytes the listener needs, or {@link #UNLIMITED}
+     */
+    public static void addListener(ServerWebExchange exchange, ResponseCaptureListener listener, long maxBodySize) {
+        List<ResponseCaptureListener> listeners = exchange.getAttribute(LISTENERS_ATTRIBUTE);
+        if (listeners == null) {
+            listeners = new ArrayList<>(2);
+            exchange.getAttributes().put(LISTENERS_ATTRIBUTE, listeners);
+        }
+        listeners.add(listener);
+        exchange.getAttributes().merge(MAX_BODY_SIZE_ATTRIBUTE, maxBodySize,
+                (current, added) -> Math.max((Long) current, (Long) added));
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        List<ResponseCaptureListener> listeners = exchange.getAttribute(LISTENERS_ATTRIBUTE);
+        if (listeners == null) {
+            return super.writeWith(body);
+        }
+
+        long maxBodySize = exchange.<Long>getAttribute(MAX_BODY_SIZE_ATTRIBUTE);
+        if (getHeaders().getContentLength() > maxBodySize) {
+            notifyBodyTooLarge(listeners);
+            return super.writeWith(body);
+        }
+        if (maxBodySize == UNLIMITED) {
+            return DataBufferUtils.join(body)
+                    .flatMap(joined -> {
+                        notifyListeners(listeners, joined);
+                        return super.writeWith(Mono.just(joined));
+                    });
+        }
+
+        // Chunks are buffered until the limit is passed; a list emitted within the limit holds the whole body.
+        long[] bufferedSize = {0};
+        Flux<DataBuffer> captured = Flux.from(body)
+                .bufferUntil(buffer -> (bufferedSize[0] += buffer.readableByteCount()) > maxBodySize)
+                .switchOnFirst((first, chunks) -> {
+                    if (first.hasValue() && bufferedSize[0] <= maxBodySize) {
+                        DataBuffer joined = bufferFactory().join(first.get());
+                        notifyListeners(listeners, joined);
+                        return Mono.just(joined);
+                    }
+                    if (first.hasValue()) {
+                        notifyBodyTooLarge(listeners);
+                    } else if (first.isOnComplete()) {
+                        notifyListeners(listeners, null);
+                    }
+                    return chunks.flatMapIterable(Function.identity());
+                });
+
+        return super.writeWith(captured);
+    }
+
+    @Override
+    public Mono<Void> setComplete() {
+        List<ResponseCaptureListener> listeners = exchange.getAttribute(LISTENERS_ATTRIBUTE);
+        if (listeners != null) {
+            notifyListeners(listeners, null);
+        }
+        return super.setComplete();
+    }
+
+    /**
+     * Lets the listeners know that the exchange has ended. Only the first call has an effect.
+     *
+     * @return completion of the listeners, called one after another
+     */
+    public Mono<Void> end() {
+        List<ResponseCaptureListener> listeners = exchange.getAttribute(LISTENERS_ATTRIBUTE);
+        if (listeners == null || !ended.compareAndSet(false, true)) {
+            return Mono.empty();
+        }
+        return Flux.fromIterable(listeners)
+                .concatMap(ResponseCaptureListener::onExchangeEnd)
+                .then();
+    }
+
+    private void notifyListeners(List<ResponseCaptureListener> listeners, DataBuffer body) {
+        if (captured) {
+            return;
+        }
+        captured = true;
+        listeners.forEach(listener -> listener.onResponse(this, body));
+    }
+
+    private void notifyBodyTooLarge(List<ResponseCaptureListener> listeners) {
+        if (captured) {
+            return;
+        }
+        captured = true;
+        listeners.forEach(listener -> listener.onBodyTooLarge(this));
+    }
+}
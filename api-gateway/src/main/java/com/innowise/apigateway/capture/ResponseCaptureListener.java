@@ -0,0 +1,42 @@
+package com.innowise.apigateway.capture;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Receives the response of an exchange right before it is written to the client.
+ *
+ * @see CapturingResponseDecorator#addListener
+ */
+@FunctionalInterface
+public interface ResponseCaptureListener {
+    /**
+     * Called once per response. Headers can still be changed. The body must not be released or
+     * have its read position moved, it is written to the client afterwards.
+     *
+     * @param response the response with status and headers
+     * @param body the whole response body, or null if the response has no body
+     */
+    void onResponse(ServerHttpResponse response, DataBuffer body);
+
+    /**
+     * Called once per response instead of {@link #onResponse}, when the body is larger than the limits
+     * of the listeners and is written without capturing. Headers can still be changed.
+     *
+     * @param response the response with status and headers
+     */
+    default void onBodyTooLarge(ServerHttpResponse response) {
+    }
+
+    /**
+     * Called once the exchange has ended, after the response is written or the exchange has failed,
+     * so it may come without {@link #onResponse} before it. The exchange completes after the returned
+     * completion, unless the client has gone away and the exchange is cancelled.
+     *
+     * @return completion of the work done on the end of the exchange
+     */
+    default Mono<Void> onExchangeEnd() {
+        return Mono.empty();
+    }
+}
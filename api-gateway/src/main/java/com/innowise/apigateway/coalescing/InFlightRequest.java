@@ -0,0 +1,85 @@
+package com.innowise.apigateway.coalescing;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Upstream call made by a leading request, which identical concurrent requests can wait for instead of
+ * making their own. The response is multicast to all waiters, including the ones subscribed after it arrived.
+ */
+public class InFlightRequest {
+    private final long startNanos;
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final Sinks.One<Response> response = Sinks.one();
+
+    public InFlightRequest(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Registers a waiter if the call has started within the window and has room for it.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @param windowNanos how long after its start the call can be joined
+     * @param maxWaiters the maximum number of waiters
+     * @return true if the waiter is registered
+     */
+    public boolean tryJoin(long now, long windowNanos, int maxWaiters) {
+        if (now - startNanos > windowNanos) {
+            return false;
+        }
+        if (waiters.incrementAndGet() > maxWaiters) {
+            waiters.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Publishes the response of the upstream call to the waiters.
+     *
+     * @param upstreamResponse the response, with status and headers already set
+     * @param body the whole response body, or null if there is none
+     */
+    public void complete(ServerHttpResponse upstreamResponse, DataBuffer body) {
+        byte[] bytes = new byte[body != null ? body.readableByteCount() : 0];
+        if (body != null) {
+            body.toByteBuffer(body.readPosition(), ByteBuffer.wrap(bytes), 0, bytes.length);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(upstreamResponse.getHeaders());
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+
+        response.tryEmitValue(new Response(upstreamResponse.getStatusCode(), HttpHeaders.readOnlyHttpHeaders(headers), bytes));
+    }
+
+    /**
+     * Releases the waiters without a response, if the call has ended without one they can share,
+     * so they make their own calls. Does nothing if the response is already published.
+     */
+    public void abandon() {
+        response.tryEmitEmpty();
+    }
+
+    /**
+     * @return the response of the call, or an empty optional if it has ended without one
+     */
+    public Mono<Optional<Response>> response() {
+        return response.asMono()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    public record Response(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.innowise.apigateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limiter which adapts the limit to the latency of the downstream service, following TCP Vegas.
+ * The lowest latency seen is taken as the no-load latency, and the size of the queue in the service is
+ * estimated as {@code limit * (1 - noLoadRtt / rtt)}. While the estimated queue is short the limit grows,
+ * once it gets long the limit shrinks, so the service gets enough requests to stay busy without queueing them.
+ * The no-load latency is measured again from time to time, since the service may get slower or faster for good.
+ * Failed and timed out requests are treated as overload and cut the limit multiplicatively.
+ */
+public class VegasConcurrencyLimiter {
+    private static final int PROBE_INTERVAL = 1000;
+    private static final double SMOOTHING = 0.5;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private long noLoadRtt;
+    private int samplesUntilProbe = PROBE_INTERVAL;
+
+    public VegasConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(
+                    "Concurrency limits must satisfy 0 < min <= initial <= max: %d, %d, %d"
+                            .formatted(minLimit, initialLimit, maxLimit));
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Takes a slot for a request if the number of in-flight requests is below the limit.
+     *
+     * @return true if the request may proceed, it must then be finished with {@link #onSuccess(long)},
+     * {@link #onDropped()} or {@link #onIgnored()}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases the slot of a completed request and updates the limit with its latency.
+     *
+     * @param rttNanos the request latency in nanoseconds
+     */
+    public void onSuccess(long rttNanos) {
+        int requestsInFlight = inFlight.getAndDecrement();
+        update(Math.max(1, rttNanos), requestsInFlight);
+    }
+
+    /**
+     * Releases the slot of a request which failed because of the downstream service and reduces the limit.
+     */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            setEstimatedLimit(estimatedLimit * DROP_BACKOFF);
+        }
+    }
+
+    /**
+     * Releases the slot of a request whose outcome says nothing about the service, e.g. cancelled by the client.
+     */
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int requestsInFlight) {
+        if (--samplesUntilProbe <= 0) {
+            samplesUntilProbe = PROBE_INTERVAL;
+            noLoadRtt = 0;
+        }
+        if (noLoadRtt == 0 || rttNanos < noLoadRtt) {
+            noLoadRtt = rttNanos;
+            return;
+        }
+
+        // Too few requests to judge, growing the limit now would let it drift far above the real capacity.
+        if (requestsInFlight * 2 < estimatedLimit) {
+            return;
+        }
+
+        double log = Math.max(1, Math.log10(estimatedLimit));
+        double queueSize = estimatedLimit * (1 - (double) noLoadRtt / rttNanos);
+        double newLimit;
+
+        if (queueSize <= 3 * log) {
+            newLimit = estimatedLimit + log;
+        } else if (queueSize >= 6 * log) {
+            newLimit = estimatedLimit - log;
+        } else {
+            return;
+        }
+
+        setEstimatedLimit(estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+    }
+
+    private void setEstimatedLimit(double newLimit) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
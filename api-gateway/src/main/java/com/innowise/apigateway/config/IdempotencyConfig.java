@@ -0,0 +1,34 @@
+package com.innowise.apigateway.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.apigateway.idempotency.IdempotencyStore;
+import com.innowise.apigateway.idempotency.InMemoryIdempotencyStore;
+import com.innowise.apigateway.idempotency.RedisIdempotencyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+
+/**
+ * Selects the store of idempotency keys.
+ * Keys are kept in memory by default. With several gateway replicas a retry may reach another replica,
+ * so {@code gateway.idempotency.redis.enabled} switches to keys shared through Redis.
+ */
+@Configuration
+public class IdempotencyConfig {
+    @Bean
+    @ConditionalOnProperty(prefix = "gateway.idempotency.redis", name = "enabled", havingValue = "true")
+    public IdempotencyStore redisIdempotencyStore(ReactiveStringRedisTemplate redisTemplate,
+                                                  ObjectMapper objectMapper) {
+        return new RedisIdempotencyStore(redisTemplate, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "gateway.idempotency.redis", name = "enabled", havingValue = "false",
+            matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(
+            @Value("${gateway.idempotency.max-entries:100000}") long maxEntries) {
+        return new InMemoryIdempotencyStore(maxEntries);
+    }
+}
@@ -0,0 +1,35 @@
+package com.innowise.apigateway.config;
+
+import com.innowise.apigateway.ratelimit.InMemoryTokenBucketStore;
+import com.innowise.apigateway.ratelimit.RedisTokenBucketStore;
+import com.innowise.apigateway.ratelimit.TokenBucketStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * Selects the token bucket store of the rate limiter.
+ * In-memory buckets are used by default. With several gateway replicas each of them would allow
+ * the configured rate, so {@code gateway.rate-limit.redis.enabled} switches to buckets shared through Redis.
+ */
+@Configuration
+public class RateLimitConfig {
+    @Bean
+    @ConditionalOnProperty(prefix = "gateway.rate-limit.redis", name = "enabled", havingValue = "true")
+    public TokenBucketStore redisTokenBucketStore(ReactiveStringRedisTemplate redisTemplate) {
+        return new RedisTokenBucketStore(redisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "gateway.rate-limit.redis", name = "enabled", havingValue = "false",
+            matchIfMissing = true)
+    public TokenBucketStore inMemoryTokenBucketStore(
+            @Value("${gateway.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+            @Value("${gateway.rate-limit.max-buckets:100000}") long maxBuckets) {
+        return new InMemoryTokenBucketStore(idleTimeout, maxBuckets);
+    }
+}
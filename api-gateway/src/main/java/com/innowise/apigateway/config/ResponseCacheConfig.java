@@ -0,0 +1,32 @@
+package com.innowise.apigateway.config;
+
+import com.innowise.apigateway.cache.ResponseCache;
+import com.innowise.apigateway.cache.ResponseCacheHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Creates the gateway response cache and routes its purge API.
+ */
+@Configuration
+public class ResponseCacheConfig {
+    @Bean
+    public ResponseCache responseCache(@Value("${gateway.cache.max-size:64MB}") DataSize maxSize,
+                                       @Value("${gateway.cache.max-entry-size:256KB}") DataSize maxEntrySize,
+                                       MeterRegistry meterRegistry) {
+        return new ResponseCache(maxSize.toBytes(), (int) maxEntrySize.toBytes(), meterRegistry);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> responseCacheRoute(ResponseCacheHandler responseCacheHandler,
+                                                             @Value("${gateway.cache.path}") String path) {
+        return RouterFunctions.route(RequestPredicates.DELETE(path), responseCacheHandler::purge);
+    }
+}
@@ -0,0 +1,53 @@
+package com.innowise.apigateway.config;
+
+import com.innowise.apigateway.routing.RouteHttpClientFactory;
+import com.innowise.apigateway.routing.RoutePoolNettyRoutingFilter;
+import com.innowise.apigateway.routing.RoutePoolProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the routing filter with per-route connection pools from {@code gateway.http-client.routes}.
+ * Each service gets its own pool, so a slow service can exhaust only its own connections,
+ * and pool starvation can be told apart from slow responses by the pool metrics of the route.
+ * The default routing filter is disabled with {@code global-filter.netty-routing.enabled}, which disables
+ * {@link NettyWriteResponseFilter} as well, so it is created here too.
+ */
+@Configuration
+@EnableConfigurationProperties(RoutePoolProperties.class)
+public class RoutingConfig {
+    @Bean
+    public RoutePoolNettyRoutingFilter routePoolNettyRoutingFilter(
+            HttpClient httpClient, ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+            HttpClientProperties httpClientProperties, ServerProperties serverProperties,
+            HttpClientSslConfigurer sslConfigurer, ObjectProvider<HttpClientCustomizer> customizers,
+            RoutePoolProperties routePoolProperties) {
+        List<HttpClientCustomizer> customizerList = customizers.orderedStream().toList();
+        Map<String, HttpClient> routeClients = new HashMap<>();
+        routePoolProperties.getRoutes().forEach((routeId, pool) -> routeClients.put(routeId,
+                new RouteHttpClientFactory(routeId, pool, httpClientProperties, serverProperties, sslConfigurer,
+                        customizerList).createHttpClient()));
+
+        return new RoutePoolNettyRoutingFilter(httpClient, Map.copyOf(routeClients), headersFilters,
+                httpClientProperties);
+    }
+
+    @Bean
+    public NettyWriteResponseFilter nettyWriteResponseFilter(GatewayProperties gatewayProperties) {
+        return new NettyWriteResponseFilter(gatewayProperties.getStreamingMediaTypes());
+    }
+}
@@ -1,5 +1,6 @@
 package com.innowise.apigateway.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Data;
 
@@ -7,7 +8,7 @@ import java.time.LocalDateTime;
 
 /**
  * Data Transfer Object for standardized error responses for gateway-level authentication.
- * Used by JWT authentication filter.
+ * Used by JWT authentication and rate limit filters.
  */
 @Data
 @Builder
@@ -24,7 +25,9 @@ public class ErrorResponseDto {
 
     /**
      * Timestamp when the error occurred. Automatically set to current time.
+     * Omitted from responses which are serialized once and reused, like the rate limit one.
      */
     @Builder.Default
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String timestamp = LocalDateTime.now().toString();
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.innowise.apigateway.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object representing an order page composed from order, user and payment services.
+ * Parts are passed through as received from the services.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderViewDto {
+    /**
+     * Identifier of the order.
+     */
+    private Long orderId;
+
+    /**
+     * Order with items, total price and status, as returned by order-service.
+     */
+    private JsonNode order;
+
+    /**
+     * Customer data, as returned by user-service or embedded into the order by order-service.
+     */
+    private JsonNode customer;
+
+    /**
+     * Latest payment attempt of the order, absent if the order hasn't been paid yet.
+     */
+    private JsonNode payment;
+
+    /**
+     * Names of parts which couldn't be loaded in time and are missing in the view.
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> unavailable;
+}
@@ -0,0 +1,114 @@
+package com.innowise.apigateway.filter;
+
+import com.innowise.apigateway.concurrency.VegasConcurrencyLimiter;
+import com.innowise.apigateway.util.ErrorResponseWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gateway filter for adaptive concurrency limiting of a route.
+ * The number of requests in flight to the route is limited by {@link VegasConcurrencyLimiter}, which lowers
+ * the limit when the service latency grows. Requests over the limit are shed immediately with 503 instead of
+ * queueing in the service. Limit, in-flight requests and rejections are exposed as
+ * {@code gateway.concurrency.limit}, {@code gateway.concurrency.in-flight} and {@code gateway.concurrency.rejections}
+ * meters tagged with the route ID. The limiter is passed to the routing filter in {@link #LIMITER_ATTRIBUTE},
+ * so hedged attempts take their own slots.
+ * <pre>{@code
+ * filters:
+ *   - name: ConcurrencyLimitGatewayFilter
+ *     args:
+ *       initial-limit: 20
+ *       min-limit: 5
+ *       max-limit: 200
+ * }</pre>
+ */
+@Component
+public class ConcurrencyLimitGatewayFilter extends AbstractGatewayFilterFactory<ConcurrencyLimitGatewayFilter.Config> {
+    private final MeterRegistry meterRegistry;
+    private final Map<Config, VegasConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final Map<String, VegasConcurrencyLimiter> routeLimiters = new ConcurrentHashMap<>();
+    private final byte[] serviceUnavailableBody;
+
+    /**
+     * Exchange attribute with the {@link VegasConcurrencyLimiter} of the route, set for admitted requests.
+     */
+    public static final String LIMITER_ATTRIBUTE = ConcurrencyLimitGatewayFilter.class.getName() + ".limiter";
+
+    private static final String SERVICE_OVERLOADED_ERROR_MESSAGE = "Service is overloaded, try again later";
+    private static final String ROUTE_TAG = "route";
+
+    public ConcurrencyLimitGatewayFilter(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.serviceUnavailableBody = ErrorResponseWriter.serialize(HttpStatus.SERVICE_UNAVAILABLE,
+                SERVICE_OVERLOADED_ERROR_MESSAGE);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Routes are rebuilt on refresh, the limiter has to survive it, unless the settings of the route
+        // have changed. The gauges are registered once per route and follow its current limiter.
+        String routeId = config.getRouteId();
+        VegasConcurrencyLimiter limiter = limiters.computeIfAbsent(config, settings -> new VegasConcurrencyLimiter(
+                settings.getInitialLimit(), settings.getMinLimit(), settings.getMaxLimit()));
+        routeLimiters.put(routeId, limiter);
+        Gauge.builder("gateway.concurrency.limit", routeLimiters, current -> current.get(routeId).getLimit())
+                .tag(ROUTE_TAG, routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in-flight", routeLimiters, current -> current.get(routeId).getInFlight())
+                .tag(ROUTE_TAG, routeId)
+                .register(meterRegistry);
+        Counter rejections = Counter.builder("gateway.concurrency.rejections")
+                .tag(ROUTE_TAG, routeId)
+                .register(meterRegistry);
+
+        return (exchange, chain) -> {
+            if (!limiter.tryAcquire()) {
+                rejections.increment();
+                return ErrorResponseWriter.write(exchange, HttpStatus.SERVICE_UNAVAILABLE, serviceUnavailableBody);
+            }
+
+            exchange.getAttributes().put(LIMITER_ATTRIBUTE, limiter);
+            long start = System.nanoTime();
+
+            return chain.filter(exchange)
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            limiter.onIgnored();
+                            return;
+                        }
+
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        if (signal == SignalType.ON_ERROR || status != null && status.is5xxServerError()) {
+                            limiter.onDropped();
+                        } else {
+                            limiter.onSuccess(System.nanoTime() - start);
+                        }
+                    });
+        };
+    }
+
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private int initialLimit = 20;
+        private int minLimit = 5;
+        private int maxLimit = 200;
+    }
+}
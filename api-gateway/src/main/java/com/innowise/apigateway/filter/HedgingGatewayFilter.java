@@ -0,0 +1,96 @@
+package com.innowise.apigateway.filter;
+
+import com.innowise.apigateway.hedging.HedgeBudget;
+import com.innowise.apigateway.hedging.HedgingPolicy;
+import com.innowise.apigateway.hedging.LatencyPercentileTracker;
+import com.innowise.apigateway.routing.RoutePoolNettyRoutingFilter;
+import com.innowise.apigateway.util.StreamingRequests;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gateway filter for hedging idempotent requests of a route.
+ * GET and HEAD requests are marked with the {@link HedgingPolicy} of the route, and
+ * {@link RoutePoolNettyRoutingFilter} sends a second attempt if the first one is slower than the tracked latency
+ * percentile of the route. Requests for streamed responses are never hedged. Hedges are limited by a budget,
+ * a share of the route requests, and take a slot of {@link ConcurrencyLimitGatewayFilter} if the route has one.
+ * Sent hedges, hedges which won and hedges denied by the budget or the concurrency limit are counted by
+ * {@code gateway.hedging.requests} meter tagged with the route ID and {@code result}.
+ * <pre>{@code
+ * filters:
+ *   - name: HedgingGatewayFilter
+ *     args:
+ *       percentile: 0.95
+ *       min-delay: 20ms
+ *       max-delay: 500ms
+ *       budget-ratio: 0.1
+ * }</pre>
+ */
+@Component
+public class HedgingGatewayFilter extends AbstractGatewayFilterFactory<HedgingGatewayFilter.Config> {
+    private final MeterRegistry meterRegistry;
+    private final Map<Config, HedgingPolicy> policies = new ConcurrentHashMap<>();
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD);
+    private static final String REQUESTS_METER = "gateway.hedging.requests";
+    private static final String ROUTE_TAG = "route";
+    private static final String RESULT_TAG = "result";
+
+    public HedgingGatewayFilter(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Routes are rebuilt on refresh, the latency samples and the budget have to survive it,
+        // unless the settings of the route have changed.
+        String routeId = config.getRouteId();
+        HedgingPolicy policy = policies.computeIfAbsent(config, settings -> new HedgingPolicy(
+                new LatencyPercentileTracker(settings.getPercentile()),
+                new HedgeBudget(settings.getBudgetRatio(), settings.getBudgetBurst()),
+                settings.getMinDelay(), settings.getMaxDelay(),
+                requestsCounter(routeId, "sent"), requestsCounter(routeId, "won"), requestsCounter(routeId, "denied")));
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (IDEMPOTENT_METHODS.contains(request.getMethod()) && !StreamingRequests.acceptsStream(request)) {
+                exchange.getAttributes().put(HedgingPolicy.ATTRIBUTE, policy);
+            }
+            return chain.filter(exchange);
+        };
+    }
+
+    private Counter requestsCounter(String routeId, String result) {
+        return Counter.builder(REQUESTS_METER)
+                .tag(ROUTE_TAG, routeId)
+                .tag(RESULT_TAG, result)
+                .register(meterRegistry);
+    }
+
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(20);
+        private Duration maxDelay = Duration.ofMillis(500);
+        private double budgetRatio = 0.1;
+        private int budgetBurst = 10;
+    }
+}
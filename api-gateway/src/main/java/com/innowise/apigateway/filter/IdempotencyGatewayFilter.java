@@ -0,0 +1,196 @@
+package com.innowise.apigateway.filter;
+
+import com.innowise.apigateway.capture.CapturingResponseDecorator;
+import com.innowise.apigateway.capture.ResponseCaptureListener;
+import com.innowise.apigateway.idempotency.IdempotencyRecord;
+import com.innowise.apigateway.idempotency.IdempotencyStore;
+import com.innowise.apigateway.util.ErrorResponseWriter;
+import com.innowise.securitystarter.jwt.JwtPrincipal;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Gateway filter for idempotent POST requests of a route.
+ * A request with {@code Idempotency-Key} header reserves the key of its user. Retries with the same key get
+ * the stored response replayed with {@code Idempotent-Replayed} header, without reaching the service, while
+ * the first request is in progress they get 409. Reusing a key for a request with another path or body
+ * gets 422. Server errors and 429 aren't stored, the key is released and the request can be retried.
+ * The response is stored, or the key released, before the exchange completes.
+ * Keys are scoped by user, so it must be placed after {@link JwtAuthenticationGatewayFilter} in the route filters;
+ * requests without the header or principal aren't affected.
+ * <pre>{@code
+ * filters:
+ *   - name: JwtAuthenticationGatewayFilter
+ *   - name: IdempotencyGatewayFilter
+ *     args:
+ *       ttl: 24h
+ *       lock-timeout: 30s
+ * }</pre>
+ */
+@Component
+public class IdempotencyGatewayFilter extends AbstractGatewayFilterFactory<IdempotencyGatewayFilter.Config> {
+    private final IdempotencyStore idempotencyStore;
+    private final byte[] invalidKeyBody;
+    private final byte[] inProgressBody;
+    private final byte[] keyReusedBody;
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int FINGERPRINT_HASH_BYTES = 16;
+    private static final String INVALID_KEY_ERROR_MESSAGE = "Idempotency key must be 1 to 255 characters long";
+    private static final String IN_PROGRESS_ERROR_MESSAGE = "Request with this idempotency key is in progress";
+    private static final String KEY_REUSED_ERROR_MESSAGE = "Idempotency key was used for another request";
+
+    public IdempotencyGatewayFilter(IdempotencyStore idempotencyStore) {
+        super(Config.class);
+        this.idempotencyStore = idempotencyStore;
+        this.invalidKeyBody = ErrorResponseWriter.serialize(HttpStatus.BAD_REQUEST, INVALID_KEY_ERROR_MESSAGE);
+        this.inProgressBody = ErrorResponseWriter.serialize(HttpStatus.CONFLICT, IN_PROGRESS_ERROR_MESSAGE);
+        this.keyReusedBody = ErrorResponseWriter.serialize(HttpStatus.UNPROCESSABLE_ENTITY, KEY_REUSED_ERROR_MESSAGE);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            JwtPrincipal principal = exchange.getAttribute(JwtAuthenticationGatewayFilter.PRINCIPAL_ATTRIBUTE);
+            String idempotencyKey = exchange.getRequest().getHeaders().getFirst(IDEMPOTENCY_KEY_HEADER);
+            if (principal == null || idempotencyKey == null
+                    || !HttpMethod.POST.equals(exchange.getRequest().getMethod())) {
+                return chain.filter(exchange);
+            }
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+                return ErrorResponseWriter.write(exchange, HttpStatus.BAD_REQUEST, invalidKeyBody);
+            }
+
+            String key = config.getRouteId() + ':' + principal.getUserId() + ':' + idempotencyKey;
+
+            return ServerWebExchangeUtils.cacheRequestBody(exchange, request -> {
+                ServerWebExchange cachedExchange = exchange.mutate().request(request).build();
+                String fingerprint = fingerprint(request,
+                        exchange.getAttribute(ServerWebExchangeUtils.CACHED_REQUEST_BODY_ATTR));
+                String owner = UUID.randomUUID().toString();
+
+                return idempotencyStore.reserve(key, fingerprint, owner, config.getLockTimeout())
+                        .flatMap(reserved -> reserved
+                                ? proceed(key, new IdempotencyRecord(fingerprint, owner, null), config.getTtl(),
+                                        cachedExchange, chain)
+                                : handleDuplicate(key, fingerprint, cachedExchange));
+            });
+        };
+    }
+
+    private Mono<Void> proceed(String key, IdempotencyRecord reservation, Duration ttl,
+                               ServerWebExchange exchange, GatewayFilterChain chain) {
+        CapturingResponseDecorator.addListener(exchange, new ResponseCaptureListener() {
+            private IdempotencyRecord completed;
+
+            @Override
+            public void onResponse(ServerHttpResponse response, DataBuffer body) {
+                HttpStatusCode status = response.getStatusCode();
+                if (status == null || status.is5xxServerError() || status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+                    return;
+                }
+                completed = new IdempotencyRecord(reservation.fingerprint(), reservation.owner(),
+                        toStoredResponse(response, body));
+            }
+
+            @Override
+            public Mono<Void> onExchangeEnd() {
+                return completed != null
+                        ? idempotencyStore.complete(key, completed, ttl)
+                        : idempotencyStore.release(key, reservation.owner());
+            }
+        }, CapturingResponseDecorator.UNLIMITED);
+
+        return chain.filter(exchange);
+    }
+
+    private Mono<Void> handleDuplicate(String key, String fingerprint, ServerWebExchange exchange) {
+        return idempotencyStore.get(key)
+                .defaultIfEmpty(new IdempotencyRecord(fingerprint, null, null))
+                .flatMap(record -> {
+                    if (!record.fingerprint().equals(fingerprint)) {
+                        return ErrorResponseWriter.write(exchange, HttpStatus.UNPROCESSABLE_ENTITY, keyReusedBody);
+                    }
+                    if (!record.isCompleted()) {
+                        return ErrorResponseWriter.write(exchange, HttpStatus.CONFLICT, inProgressBody);
+                    }
+                    return replay(exchange, record.response());
+                });
+    }
+
+    private Mono<Void> replay(ServerWebExchange exchange, IdempotencyRecord.StoredResponse stored) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        response.setStatusCode(HttpStatusCode.valueOf(stored.status()));
+        if (stored.contentType() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, stored.contentType());
+        }
+        if (stored.location() != null) {
+            headers.set(HttpHeaders.LOCATION, stored.location());
+        }
+        headers.set(IDEMPOTENT_REPLAYED_HEADER, Boolean.TRUE.toString());
+        headers.setContentLength(stored.body().length);
+
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(stored.body())));
+    }
+
+    private static IdempotencyRecord.StoredResponse toStoredResponse(ServerHttpResponse response, DataBuffer body) {
+        byte[] bytes = new byte[body != null ? body.readableByteCount() : 0];
+        if (body != null) {
+            body.toByteBuffer(body.readPosition(), ByteBuffer.wrap(bytes), 0, bytes.length);
+        }
+        HttpHeaders headers = response.getHeaders();
+
+        return new IdempotencyRecord.StoredResponse(response.getStatusCode().value(),
+                headers.getFirst(HttpHeaders.CONTENT_TYPE), headers.getFirst(HttpHeaders.LOCATION), bytes);
+    }
+
+    private static String fingerprint(ServerHttpRequest request, DataBuffer body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod().name() + ' ' + request.getPath().value() + '\n')
+                    .getBytes(StandardCharsets.UTF_8));
+            if (body != null) {
+                ByteBuffer bodyBytes = ByteBuffer.allocate(body.readableByteCount());
+                body.toByteBuffer(body.readPosition(), bodyBytes, 0, bodyBytes.capacity());
+                digest.update(bodyBytes);
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, FINGERPRINT_HASH_BYTES);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private Duration ttl = Duration.ofHours(24);
+        private Duration lockTimeout = Duration.ofSeconds(30);
+    }
+}
@@ -3,8 +3,15 @@ package com.innowise.apigateway.filter;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.innowise.apigateway.dto.ErrorResponseDto;
+import com.innowise.apigateway.policy.PolicyRule;
+import com.innowise.apigateway.policy.RoutePolicy;
+import com.innowise.securitystarter.jwt.IdentityHeaderCodec;
+import com.innowise.securitystarter.jwt.JwtPrincipal;
 import com.innowise.securitystarter.jwt.JwtProvider;
+import com.innowise.securitystarter.metrics.RejectionReason;
 import com.innowise.securitystarter.util.SecurityConstant;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
@@ -22,17 +29,33 @@ import java.util.List;
 /**
  * Gateway filter for JWT authentication.
  * Checks JWT tokens for protected routes and allows public paths without authentication.
+ * Requests which don't satisfy route role requirements are rejected with 403 before reaching services.
+ * Verified principal is available to next filters as {@link #PRINCIPAL_ATTRIBUTE} exchange attribute.
+ * Identity header coming from clients is always removed. If identity header mode is enabled, the identity of
+ * verified token is forwarded in the signed header, so services don't have to verify the token again.
  */
 @Setter
 @Component
 @ConfigurationProperties(prefix = "gateway.security")
 public class JwtAuthenticationGatewayFilter extends AbstractGatewayFilterFactory<JwtAuthenticationGatewayFilter.Config> {
     private final JwtProvider jwtProvider;
+    private final IdentityHeaderCodec identityHeaderCodec;
     private List<String> publicPaths = new ArrayList<>();
+    private List<PolicyRule> rules = new ArrayList<>();
+    private RoutePolicy routePolicy;
 
-    public JwtAuthenticationGatewayFilter(JwtProvider jwtProvider) {
+    public static final String PRINCIPAL_ATTRIBUTE = JwtAuthenticationGatewayFilter.class.getName() + ".principal";
+    private static final String ACCESS_DENIED_ERROR_MESSAGE = "Access denied";
+
+    public JwtAuthenticationGatewayFilter(JwtProvider jwtProvider, IdentityHeaderCodec identityHeaderCodec) {
         super(Config.class);
         this.jwtProvider = jwtProvider;
+        this.identityHeaderCodec = identityHeaderCodec;
+    }
+
+    @PostConstruct
+    void compileRoutePolicy() {
+        routePolicy = RoutePolicy.compile(publicPaths, rules);
     }
 
     @Override
@@ -40,22 +63,63 @@ public class JwtAuthenticationGatewayFilter extends AbstractGatewayFilterFactory
         return (exchange, chain) -> {
             String path = exchange.getRequest().getPath().value();
 
-            if (isPublicEndpoint(path)) {
-                return chain.filter(exchange);
+            if (routePolicy.isPublic(path)) {
+                return chain.filter(withIdentity(exchange, null));
             }
 
             String token = resolveToken(exchange);
 
-            if (token == null || !jwtProvider.validateToken(token)) {
+            if (token == null) {
+                jwtProvider.getAuthMetrics().recordRejection(RejectionReason.MISSING_HEADER);
+                return handleAuthException(exchange);
+            }
+
+            JwtPrincipal principal = verify(token);
+
+            if (principal == null) {
                 return handleAuthException(exchange);
             }
 
-            return chain.filter(exchange);
+            RoutePolicy.CompiledRule rule = routePolicy.findRule(
+                    path, exchange.getRequest().getMethod(), exchange.getRequest().getQueryParams());
+
+            if (rule != null && !rule.allows(principal.getRole())) {
+                jwtProvider.getAuthMetrics().recordRejection(RejectionReason.FORBIDDEN);
+                return writeError(exchange, HttpStatus.FORBIDDEN, ACCESS_DENIED_ERROR_MESSAGE);
+            }
+
+            exchange.getAttributes().put(PRINCIPAL_ATTRIBUTE, principal);
+            return chain.filter(withIdentity(exchange, principal));
         };
     }
 
-    private boolean isPublicEndpoint(String path) {
-        return publicPaths.stream().anyMatch(path::startsWith);
+    private JwtPrincipal verify(String token) {
+        try {
+            return jwtProvider.verify(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Replaces the identity header of the request with the one built from the verified principal.
+     * The header is only removed if there is no principal or identity header mode is disabled.
+     */
+    private ServerWebExchange withIdentity(ServerWebExchange exchange, JwtPrincipal principal) {
+        boolean forwardIdentity = principal != null && identityHeaderCodec.isEnabled();
+
+        if (!forwardIdentity && !exchange.getRequest().getHeaders().containsKey(SecurityConstant.IDENTITY_HEADER)) {
+            return exchange;
+        }
+
+        return exchange.mutate()
+                .request(request -> request.headers(headers -> {
+                    headers.remove(SecurityConstant.IDENTITY_HEADER);
+                    if (forwardIdentity) {
+                        headers.set(SecurityConstant.IDENTITY_HEADER, identityHeaderCodec.encode(principal));
+                    }
+                }))
+                .build();
     }
 
     private String resolveToken(ServerWebExchange exchange) {
@@ -67,12 +131,16 @@ public class JwtAuthenticationGatewayFilter extends AbstractGatewayFilterFactory
     }
 
     private Mono<Void> handleAuthException(ServerWebExchange exchange) {
-        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        return writeError(exchange, HttpStatus.UNAUTHORIZED, SecurityConstant.INVALID_TOKEN_ERROR_MESSAGE);
+    }
+
+    private Mono<Void> writeError(ServerWebExchange exchange, HttpStatus status, String errorMessage) {
+        exchange.getResponse().setStatusCode(status);
         exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
 
         ErrorResponseDto errorResponse = ErrorResponseDto.builder()
-                .status(HttpStatus.UNAUTHORIZED.value())
-                .errorMessage(SecurityConstant.INVALID_TOKEN_ERROR_MESSAGE)
+                .status(status.value())
+                .errorMessage(errorMessage)
                 .build();
 
         try {
@@ -0,0 +1,41 @@
+package com.innowise.apigateway.filter;
+
+import com.innowise.apigateway.view.OrderViewHandler;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Terminal gateway filter which serves the order page view composed by {@link OrderViewHandler} instead of
+ * routing the request. The route of the view has no service behind it, so this filter must be the last one,
+ * after {@link JwtAuthenticationGatewayFilter} and the limiting filters which protect the view.
+ * <pre>{@code
+ * - id: order-view
+ *   uri: no://op
+ *   predicates:
+ *     - Path=/api/v1/views/orders/{id}
+ *     - Method=GET
+ *   filters:
+ *     - name: JwtAuthenticationGatewayFilter
+ *     - name: RateLimitGatewayFilter
+ *     - name: ConcurrencyLimitGatewayFilter
+ *     - name: OrderViewGatewayFilter
+ * }</pre>
+ */
+@Component
+public class OrderViewGatewayFilter extends AbstractGatewayFilterFactory<OrderViewGatewayFilter.Config> {
+    private final OrderViewHandler orderViewHandler;
+
+    public OrderViewGatewayFilter(OrderViewHandler orderViewHandler) {
+        super(Config.class);
+        this.orderViewHandler = orderViewHandler;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> orderViewHandler.writeOrderView(exchange);
+    }
+
+    public static class Config {
+    }
+}
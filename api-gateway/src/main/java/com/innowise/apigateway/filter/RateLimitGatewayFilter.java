@@ -0,0 +1,98 @@
+package com.innowise.apigateway.filter;
+
+import com.innowise.apigateway.ratelimit.TokenBucketStore;
+import com.innowise.apigateway.util.ErrorResponseWriter;
+import com.innowise.securitystarter.jwt.JwtPrincipal;
+import com.innowise.securitystarter.web.ClientIpResolver;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Gateway filter for per-client rate limiting with token buckets.
+ * Authenticated requests are limited by user ID, so it must be placed after {@link JwtAuthenticationGatewayFilter}
+ * in the route filters. Requests to public paths are limited by client IP address, resolved behind trusted proxies
+ * (the ingress controller), so anonymous clients don't share one bucket.
+ * Every route has its own buckets. Rejected requests get 429 with {@code Retry-After} header.
+ * <pre>{@code
+ * filters:
+ *   - name: JwtAuthenticationGatewayFilter
+ *   - name: RateLimitGatewayFilter
+ *     args:
+ *       burst-capacity: 20
+ *       replenish-rate: 10
+ * }</pre>
+ */
+@Component
+public class RateLimitGatewayFilter extends AbstractGatewayFilterFactory<RateLimitGatewayFilter.Config> {
+    private final TokenBucketStore tokenBucketStore;
+    private final ClientIpResolver clientIpResolver;
+    private final byte[] tooManyRequestsBody;
+
+    private static final String TOO_MANY_REQUESTS_ERROR_MESSAGE = "Too many requests";
+
+    public RateLimitGatewayFilter(TokenBucketStore tokenBucketStore, ClientIpResolver clientIpResolver) {
+        super(Config.class);
+        this.tokenBucketStore = tokenBucketStore;
+        this.clientIpResolver = clientIpResolver;
+        this.tooManyRequestsBody = ErrorResponseWriter.serialize(HttpStatus.TOO_MANY_REQUESTS, TOO_MANY_REQUESTS_ERROR_MESSAGE);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        if (config.getBurstCapacity() <= 0 || config.getReplenishRate() <= 0) {
+            throw new IllegalArgumentException("Rate limit of route '%s' must have positive burst capacity and replenish rate"
+                    .formatted(config.getRouteId()));
+        }
+
+        String keyPrefix = config.getRouteId() + ':';
+
+        return (exchange, chain) -> tokenBucketStore
+                .tryConsume(keyPrefix + resolveClientKey(exchange), config.getBurstCapacity(), config.getReplenishRate())
+                .flatMap(retryAfter -> retryAfter.isZero()
+                        ? chain.filter(exchange)
+                        : handleTooManyRequests(exchange, retryAfter));
+    }
+
+    private String resolveClientKey(ServerWebExchange exchange) {
+        JwtPrincipal principal = exchange.getAttribute(JwtAuthenticationGatewayFilter.PRINCIPAL_ATTRIBUTE);
+        if (principal != null) {
+            return "user:" + principal.getUserId();
+        }
+
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        List<String> forwardedFor = exchange.getRequest().getHeaders()
+                .getOrEmpty(ClientIpResolver.FORWARDED_FOR_HEADER);
+
+        return "ip:" + clientIpResolver.resolve(forwardedFor,
+                remoteAddress != null && remoteAddress.getAddress() != null
+                        ? remoteAddress.getAddress().getHostAddress()
+                        : null);
+    }
+
+    private Mono<Void> handleTooManyRequests(ServerWebExchange exchange, Duration retryAfter) {
+        long retryAfterSeconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+
+        return ErrorResponseWriter.write(exchange, HttpStatus.TOO_MANY_REQUESTS, tooManyRequestsBody);
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private int burstCapacity;
+        private int replenishRate;
+    }
+}
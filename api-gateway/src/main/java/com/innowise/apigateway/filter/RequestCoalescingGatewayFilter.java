@@ -0,0 +1,173 @@
+package com.innowise.apigateway.filter;
+
+import com.innowise.apigateway.capture.CapturingResponseDecorator;
+import com.innowise.apigateway.capture.ResponseCaptureListener;
+import com.innowise.apigateway.coalescing.InFlightRequest;
+import com.innowise.apigateway.util.StreamingRequests;
+import com.innowise.securitystarter.jwt.JwtPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gateway filter for coalescing identical concurrent GET requests of a route into a single upstream call.
+ * The first request leads the call, and identical requests arriving within the window wait for its response
+ * instead of calling the service themselves. Requests are identical if they have the same principal, path
+ * and query, so it must be placed after {@link JwtAuthenticationGatewayFilter} in the route filters; requests
+ * without principal and requests for streamed responses aren't coalesced. The window bounds how stale a shared
+ * response can be: later requests, requests over the waiters limit and ones left without a response call
+ * the service on their own. Waiters are left without a response when the leading call fails, gets a server
+ * error, has a body larger than the max body size, or doesn't respond within the wait timeout of the waiter.
+ * Coalesced and bypassed requests are counted by {@code gateway.coalescing.requests} meter tagged with
+ * the route ID and {@code result}.
+ * <pre>{@code
+ * filters:
+ *   - name: JwtAuthenticationGatewayFilter
+ *   - name: RequestCoalescingGatewayFilter
+ *     args:
+ *       window: 1s
+ *       max-waiters: 100
+ *       wait-timeout: 2s
+ *       max-body-size: 256KB
+ * }</pre>
+ */
+@Component
+public class RequestCoalescingGatewayFilter extends AbstractGatewayFilterFactory<RequestCoalescingGatewayFilter.Config> {
+    private final MeterRegistry meterRegistry;
+    private final Map<String, InFlightRequest> inFlightRequests = new ConcurrentHashMap<>();
+
+    private static final String REQUESTS_METER = "gateway.coalescing.requests";
+    private static final String ROUTE_TAG = "route";
+    private static final String RESULT_TAG = "result";
+    private static final char KEY_SEPARATOR = '|';
+
+    public RequestCoalescingGatewayFilter(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        long windowNanos = config.getWindow().toNanos();
+        int maxWaiters = config.getMaxWaiters();
+        Duration waitTimeout = config.getWaitTimeout();
+        long maxBodySize = config.getMaxBodySize().toBytes();
+        Counter coalesced = requestsCounter(config.getRouteId(), "coalesced");
+        Counter bypassed = requestsCounter(config.getRouteId(), "bypassed");
+
+        return (exchange, chain) -> {
+            JwtPrincipal principal = exchange.getAttribute(JwtAuthenticationGatewayFilter.PRINCIPAL_ATTRIBUTE);
+            ServerHttpRequest request = exchange.getRequest();
+            if (principal == null || !HttpMethod.GET.equals(request.getMethod())
+                    || StreamingRequests.acceptsStream(request)) {
+                return chain.filter(exchange);
+            }
+
+            String rawQuery = request.getURI().getRawQuery();
+            String key = config.getRouteId() + KEY_SEPARATOR + principal.getUserId() + KEY_SEPARATOR
+                    + request.getPath().value() + (rawQuery != null ? '?' + rawQuery : "");
+
+            long now = System.nanoTime();
+            InFlightRequest candidate = new InFlightRequest(now);
+            InFlightRequest inFlight = inFlightRequests.putIfAbsent(key, candidate);
+            if (inFlight == null) {
+                return lead(key, candidate, maxBodySize, exchange, chain);
+            }
+            if (!inFlight.tryJoin(now, windowNanos, maxWaiters)) {
+                bypassed.increment();
+                return chain.filter(exchange);
+            }
+
+            return inFlight.response()
+                    .timeout(waitTimeout, Mono.just(Optional.empty()))
+                    .flatMap(response -> {
+                        if (response.isEmpty()) {
+                            bypassed.increment();
+                            return chain.filter(exchange);
+                        }
+                        coalesced.increment();
+                        return write(exchange, response.get());
+                    });
+        };
+    }
+
+    private Mono<Void> lead(String key, InFlightRequest inFlight, long maxBodySize,
+                            ServerWebExchange exchange, GatewayFilterChain chain) {
+        // The response is written after the route filters complete, so the call ends with the exchange.
+        CapturingResponseDecorator.addListener(exchange, new ResponseCaptureListener() {
+            @Override
+            public void onResponse(ServerHttpResponse response, DataBuffer body) {
+                HttpStatusCode status = response.getStatusCode();
+                if (status == null || status.is5xxServerError()
+                        || (body != null && body.readableByteCount() > maxBodySize)) {
+                    release();
+                    return;
+                }
+                inFlight.complete(response, body);
+            }
+
+            @Override
+            public void onBodyTooLarge(ServerHttpResponse response) {
+                release();
+            }
+
+            @Override
+            public Mono<Void> onExchangeEnd() {
+                release();
+                return Mono.empty();
+            }
+
+            private void release() {
+                inFlightRequests.remove(key, inFlight);
+                inFlight.abandon();
+            }
+        }, maxBodySize);
+
+        return chain.filter(exchange);
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, InFlightRequest.Response inFlightResponse) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(inFlightResponse.status());
+        response.getHeaders().putAll(inFlightResponse.headers());
+        response.getHeaders().setContentLength(inFlightResponse.body().length);
+
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(inFlightResponse.body())));
+    }
+
+    private Counter requestsCounter(String routeId, String result) {
+        return Counter.builder(REQUESTS_METER)
+                .tag(ROUTE_TAG, routeId)
+                .tag(RESULT_TAG, result)
+                .register(meterRegistry);
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private Duration window = Duration.ofSeconds(1);
+        private int maxWaiters = 100;
+        private Duration waitTimeout = Duration.ofSeconds(2);
+        private DataSize maxBodySize = DataSize.ofKilobytes(256);
+    }
+}
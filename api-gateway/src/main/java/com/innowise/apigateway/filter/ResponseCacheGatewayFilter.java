@@ -0,0 +1,198 @@
+package com.innowise.apigateway.filter;
+
+import com.innowise.apigateway.cache.CachedResponse;
+import com.innowise.apigateway.cache.ResponseCache;
+import com.innowise.apigateway.capture.CapturingResponseDecorator;
+import com.innowise.apigateway.util.StreamingRequests;
+import com.innowise.securitystarter.jwt.JwtPrincipal;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Gateway filter for caching GET responses of a route.
+ * Responses are cached per authenticated user, so it must be placed after {@link JwtAuthenticationGatewayFilter}
+ * in the route filters; requests without principal aren't cached. Bodies are captured by
+ * {@link ResponseCaptureGlobalFilter}. Cached responses carry an ETag, and requests
+ * with matching {@code If-None-Match} get 304 without body. Successful non-GET requests evict the cached
+ * responses of their path and the paths below it, of the parent collection and of the related paths, which
+ * cache other views of the written resource, e.g. composed on another route; {@code {id}} in a related path
+ * is replaced with the last segment of the written path. Other changes are picked up after TTL or purged
+ * through the cache API. Bodies larger than the max entry size aren't buffered, and requests for streamed
+ * responses bypass the cache.
+ * <pre>{@code
+ * filters:
+ *   - name: JwtAuthenticationGatewayFilter
+ *   - name: ResponseCacheGatewayFilter
+ *     args:
+ *       ttl: 30s
+ *       related-paths: /api/v1/views/orders/{id}
+ * }</pre>
+ */
+@Component
+public class ResponseCacheGatewayFilter extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilter.Config> {
+    private final ResponseCache responseCache;
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+    private static final String CACHE_HIT = "HIT";
+    private static final String CACHE_MISS = "MISS";
+    private static final String ANY_ETAG = "*";
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+    private static final int ETAG_HASH_BYTES = 16;
+    private static final String ID_PLACEHOLDER = "{id}";
+
+    public ResponseCacheGatewayFilter(ResponseCache responseCache) {
+        super(Config.class);
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        long ttlNanos = config.getTtl().toNanos();
+
+        return (exchange, chain) -> {
+            JwtPrincipal principal = exchange.getAttribute(JwtAuthenticationGatewayFilter.PRINCIPAL_ATTRIBUTE);
+            if (principal == null) {
+                return chain.filter(exchange);
+            }
+
+            ServerHttpRequest request = exchange.getRequest();
+            String path = request.getPath().value();
+
+            if (!HttpMethod.GET.equals(request.getMethod())) {
+                return chain.filter(exchange)
+                        .doOnSuccess(ignored -> {
+                            HttpStatusCode status = exchange.getResponse().getStatusCode();
+                            if (status != null && status.is2xxSuccessful()) {
+                                evict(path, config.getRelatedPaths());
+                            }
+                        });
+            }
+
+            if (StreamingRequests.acceptsStream(request)) {
+                return chain.filter(exchange);
+            }
+
+            String rawQuery = request.getURI().getRawQuery();
+            String key = ResponseCache.key(config.getRouteId(), principal.getUserId(),
+                    rawQuery != null ? path + '?' + rawQuery : path);
+
+            CachedResponse cached = responseCache.get(key);
+            if (cached != null) {
+                return writeCached(exchange, cached);
+            }
+
+            exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, CACHE_MISS);
+            exchange.getResponse().getHeaders().setCacheControl(CACHE_CONTROL);
+
+            CapturingResponseDecorator.addListener(exchange, (response, body) -> store(key, ttlNanos, response, body),
+                    responseCache.getMaxEntrySize());
+
+            return chain.filter(exchange);
+        };
+    }
+
+    /**
+     * Evicts the cached responses a successful write to the path may have changed: the ones of the path
+     * and below it, of its parent collection, and of the related paths of the written resource.
+     */
+    private void evict(String path, List<String> relatedPaths) {
+        List<String> pathPrefixes = new ArrayList<>(relatedPaths.size() + 1);
+        pathPrefixes.add(path);
+        String resourceId = path.substring(path.lastIndexOf('/') + 1);
+        relatedPaths.forEach(relatedPath -> pathPrefixes.add(relatedPath.replace(ID_PLACEHOLDER, resourceId)));
+
+        int parentEnd = path.lastIndexOf('/');
+        List<String> paths = parentEnd > 0 ? List.of(path.substring(0, parentEnd)) : List.of();
+
+        responseCache.purge(pathPrefixes, paths);
+    }
+
+    /**
+     * Stores a successful response body, copied once into a direct buffer, and gives the response an ETag,
+     * so the client can revalidate it later.
+     */
+    private void store(String key, long ttlNanos, ServerHttpResponse response, DataBuffer joined) {
+        if (joined == null || !HttpStatus.OK.equals(response.getStatusCode())) {
+            return;
+        }
+        int size = joined.readableByteCount();
+        if (size > responseCache.getMaxEntrySize()) {
+            return;
+        }
+
+        ByteBuffer body = ByteBuffer.allocateDirect(size);
+        joined.toByteBuffer(joined.readPosition(), body, 0, size);
+
+        HttpHeaders headers = response.getHeaders();
+        String eTag = headers.getETag();
+        if (eTag == null) {
+            eTag = computeETag(body.duplicate());
+            headers.setETag(eTag);
+        }
+
+        responseCache.put(key, new CachedResponse(headers.getContentType(), eTag, body.asReadOnlyBuffer(), ttlNanos));
+    }
+
+    private static String computeETag(ByteBuffer body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(body);
+            byte[] hash = digest.digest();
+            return '"' + HexFormat.of().formatHex(hash, 0, ETAG_HASH_BYTES) + '"';
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.eTag());
+        headers.setCacheControl(CACHE_CONTROL);
+        headers.set(CACHE_STATUS_HEADER, CACHE_HIT);
+
+        List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+        if (ifNoneMatch.contains(cached.eTag()) || ifNoneMatch.contains(ANY_ETAG)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null) {
+            headers.setContentType(cached.contentType());
+        }
+        headers.setContentLength(cached.size());
+
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.bodyView())));
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private Duration ttl = Duration.ofSeconds(30);
+        private List<String> relatedPaths = List.of();
+    }
+}
@@ -0,0 +1,37 @@
+package com.innowise.apigateway.filter;
+
+import com.innowise.apigateway.capture.CapturingResponseDecorator;
+import com.innowise.apigateway.capture.ResponseCaptureListener;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Global filter which lets route filters capture response bodies with {@link ResponseCaptureListener}s.
+ * The response is written by {@link NettyWriteResponseFilter} through the exchange it has received,
+ * so the capturing decorator has to be installed before it, while route filters run after it.
+ * The decorator is passive until a route filter registers a listener. The exchange completes after
+ * the listeners have handled its end; if the client goes away, they handle it in the background.
+ */
+@Component
+public class ResponseCaptureGlobalFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        CapturingResponseDecorator decorator = new CapturingResponseDecorator(exchange);
+
+        return chain.filter(exchange.mutate().response(decorator).build())
+                .onErrorResume(ex -> decorator.end().then(Mono.error(ex)))
+                .then(Mono.defer(decorator::end))
+                .doOnCancel(() -> decorator.end().subscribe());
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+}
@@ -0,0 +1,189 @@
+package com.innowise.apigateway.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Global filter which records latency and sizes of the requests of each route.
+ * <ul>
+ *   <li>{@code gateway.route.latency} timer, tagged with the route ID and {@code status} class, publishes
+ *   p50, p95 and p99 and a percentile histogram; its counts are the requests by status class</li>
+ *   <li>{@code gateway.route.request.size} and {@code gateway.route.response.size} summaries of body bytes</li>
+ * </ul>
+ * Requests slower than {@code gateway.metrics.slow-request-threshold} are logged with a sampling rate, with
+ * the upstream time until response headers, measured by the routing filter, and the gateway's own overhead.
+ */
+@Slf4j
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.metrics")
+public class RouteMetricsGlobalFilter implements GlobalFilter, Ordered {
+    /**
+     * Exchange attribute with {@link AtomicLong} of nanoseconds the request has waited for upstream response headers.
+     */
+    public static final String UPSTREAM_NANOS_ATTRIBUTE = RouteMetricsGlobalFilter.class.getName() + ".upstreamNanos";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteMeters> routeMeters = new ConcurrentHashMap<>();
+
+    private Duration slowRequestThreshold = Duration.ofSeconds(1);
+    private double slowRequestSampleRate = 0.1;
+
+    private static final String ROUTE_TAG = "route";
+    private static final String STATUS_TAG = "status";
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx", "cancelled"};
+    private static final int CANCELLED = 5;
+
+    public RouteMetricsGlobalFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+
+        long start = System.nanoTime();
+        RouteMeters meters = routeMeters.computeIfAbsent(route.getId(), RouteMeters::new);
+        AtomicLong upstreamNanos = new AtomicLong();
+        exchange.getAttributes().put(UPSTREAM_NANOS_ATTRIBUTE, upstreamNanos);
+        CountingRequest request = new CountingRequest(exchange.getRequest());
+        CountingResponse response = new CountingResponse(exchange.getResponse());
+
+        return chain.filter(exchange.mutate().request(request).response(response).build())
+                .doFinally(signal -> {
+                    long elapsed = System.nanoTime() - start;
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    int statusClass = statusClass(signal, status);
+                    meters.latency(statusClass).record(elapsed, TimeUnit.NANOSECONDS);
+                    meters.requestSize.record(request.bytes.get());
+                    meters.responseSize.record(response.bytes.get());
+
+                    if (elapsed >= slowRequestThreshold.toNanos()
+                            && ThreadLocalRandom.current().nextDouble() < slowRequestSampleRate) {
+                        logSlowRequest(route.getId(), exchange, status, elapsed, upstreamNanos.get(),
+                                request.bytes.get(), response.bytes.get());
+                    }
+                });
+    }
+
+    private void logSlowRequest(String routeId, ServerWebExchange exchange, HttpStatusCode status, long elapsedNanos,
+                                long upstreamNanos, long requestBytes, long responseBytes) {
+        log.warn("Slow request: route={}, {} {}, status={}, total={}ms, upstream={}ms, gateway={}ms, "
+                        + "request={}B, response={}B",
+                routeId, exchange.getRequest().getMethod(), exchange.getRequest().getPath().value(),
+                status == null ? "none" : status.value(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                TimeUnit.NANOSECONDS.toMillis(upstreamNanos),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos - upstreamNanos), requestBytes, responseBytes);
+    }
+
+    private static int statusClass(SignalType signal, HttpStatusCode status) {
+        if (status != null) {
+            return Math.clamp(status.value() / 100 - 1, 0, 4);
+        }
+        // Errors without status are turned into 5xx by the error handler after this filter.
+        return signal == SignalType.CANCEL ? CANCELLED : 4;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private class RouteMeters {
+        private final String routeId;
+        private final AtomicReferenceArray<Timer> latencies = new AtomicReferenceArray<>(STATUS_CLASSES.length);
+        private final DistributionSummary requestSize;
+        private final DistributionSummary responseSize;
+
+        RouteMeters(String routeId) {
+            this.routeId = routeId;
+            this.requestSize = sizeSummary("gateway.route.request.size");
+            this.responseSize = sizeSummary("gateway.route.response.size");
+        }
+
+        Timer latency(int statusClass) {
+            Timer timer = latencies.get(statusClass);
+            if (timer == null) {
+                timer = Timer.builder("gateway.route.latency")
+                        .tag(ROUTE_TAG, routeId)
+                        .tag(STATUS_TAG, STATUS_CLASSES[statusClass])
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry);
+                latencies.set(statusClass, timer);
+            }
+            return timer;
+        }
+
+        private DistributionSummary sizeSummary(String name) {
+            return DistributionSummary.builder(name)
+                    .baseUnit("bytes")
+                    .tag(ROUTE_TAG, routeId)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static class CountingRequest extends ServerHttpRequestDecorator {
+        private final AtomicLong bytes = new AtomicLong();
+
+        CountingRequest(ServerHttpRequest delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return super.getBody().doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()));
+        }
+    }
+
+    private static class CountingResponse extends ServerHttpResponseDecorator {
+        private final AtomicLong bytes = new AtomicLong();
+
+        CountingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount())));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body)
+                    .map(part -> Flux.from(part).doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.innowise.apigateway.hedging;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exchange of a single attempt of a hedged request.
+ * The attempt has its own copy of the attributes and its own response status and headers, so concurrent attempts
+ * can be routed independently, and only the winner is applied to the real exchange.
+ */
+public class AttemptExchange extends ServerWebExchangeDecorator {
+    private final Map<String, Object> attributes;
+    private final AttemptResponse response;
+
+    public AttemptExchange(ServerWebExchange exchange) {
+        super(exchange);
+        this.attributes = new ConcurrentHashMap<>(exchange.getAttributes());
+        this.response = new AttemptResponse(exchange.getResponse());
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public ServerHttpResponse getResponse() {
+        return response;
+    }
+
+    /**
+     * Copies the response status, headers and routing attributes of the attempt to the exchange.
+     *
+     * @param exchange the real exchange
+     */
+    public void applyTo(ServerWebExchange exchange) {
+        ServerHttpResponse realResponse = exchange.getResponse();
+        if (response.getStatusCode() != null) {
+            realResponse.setStatusCode(response.getStatusCode());
+        }
+        realResponse.getHeaders().putAll(response.getHeaders());
+        exchange.getAttributes().putAll(attributes);
+    }
+
+    private static class AttemptResponse extends ServerHttpResponseDecorator {
+        private final HttpHeaders headers = new HttpHeaders();
+        private HttpStatusCode statusCode;
+
+        AttemptResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public boolean setStatusCode(HttpStatusCode status) {
+            this.statusCode = status;
+            return true;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.innowise.apigateway.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Budget of hedged requests of a route, as a share of its requests.
+ * Every request deposits the ratio of a hedge, every hedge withdraws a whole one. The balance is capped,
+ * so a quiet period can't save up for a burst of hedges which would double the load on a struggling service.
+ */
+public class HedgeBudget {
+    private static final long UNIT = 1000;
+
+    private final long deposit;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    /**
+     * @param ratio the share of requests which can be hedged, e.g. 0.1 for 10%
+     * @param maxBurst the maximum number of hedges which can be sent in a row
+     */
+    public HedgeBudget(double ratio, int maxBurst) {
+        if (ratio <= 0 || ratio > 1 || maxBurst < 1) {
+            throw new IllegalArgumentException("Hedge budget must have ratio in (0, 1] and positive burst");
+        }
+        this.deposit = Math.round(ratio * UNIT);
+        this.maxBalance = maxBurst * UNIT;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    public void onRequest() {
+        balance.accumulateAndGet(deposit, (current, amount) -> Math.min(current + amount, maxBalance));
+    }
+
+    /**
+     * @return true if a hedge is withdrawn from the budget
+     */
+    public boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < UNIT) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - UNIT)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.innowise.apigateway.hedging;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.time.Duration;
+
+/**
+ * Hedging settings and state of a route, passed to the routing filter in {@link #ATTRIBUTE} exchange attribute.
+ * The hedge delay is the tracked latency percentile of the route, clamped between the minimum and maximum delay;
+ * until there are enough samples the maximum delay is used.
+ */
+public class HedgingPolicy {
+    /**
+     * Exchange attribute with the policy, set for requests which may be hedged.
+     */
+    public static final String ATTRIBUTE = HedgingPolicy.class.getName();
+
+    private final LatencyPercentileTracker latencyTracker;
+    private final HedgeBudget budget;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final Counter sent;
+    private final Counter won;
+    private final Counter denied;
+
+    public HedgingPolicy(LatencyPercentileTracker latencyTracker, HedgeBudget budget, Duration minDelay,
+                         Duration maxDelay, Counter sent, Counter won, Counter denied) {
+        this.latencyTracker = latencyTracker;
+        this.budget = budget;
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.sent = sent;
+        this.won = won;
+        this.denied = denied;
+    }
+
+    public Duration getHedgeDelay() {
+        long percentileNanos = latencyTracker.getPercentileNanos();
+        long delayNanos = percentileNanos < 0
+                ? maxDelayNanos
+                : Math.clamp(percentileNanos, minDelayNanos, maxDelayNanos);
+        return Duration.ofNanos(delayNanos);
+    }
+
+    public void onRequest() {
+        budget.onRequest();
+    }
+
+    /**
+     * @return true if the hedge can be sent within the budget
+     */
+    public boolean tryHedge() {
+        if (budget.tryWithdraw()) {
+            sent.increment();
+            return true;
+        }
+        onHedgeDenied();
+        return false;
+    }
+
+    /**
+     * Counts a hedge which can't be sent for another reason than the budget, e.g. the concurrency limit.
+     */
+    public void onHedgeDenied() {
+        denied.increment();
+    }
+
+    public void onHedgeWon() {
+        won.increment();
+    }
+
+    /**
+     * Records the latency of a first attempt which has got its response. Attempts cancelled because the hedge
+     * has won aren't recorded: the time they have waited is only a lower bound of their latency.
+     *
+     * @param latencyNanos the latency in nanoseconds
+     */
+    public void recordLatency(long latencyNanos) {
+        latencyTracker.record(latencyNanos);
+    }
+}
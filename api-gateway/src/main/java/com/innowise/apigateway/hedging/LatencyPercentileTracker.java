@@ -0,0 +1,55 @@
+package com.innowise.apigateway.hedging;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Percentile of recent latencies of a route.
+ * Latencies are kept in a ring buffer of the last samples, and the percentile is recomputed from a sorted copy
+ * every {@value #RECOMPUTE_INTERVAL} samples, so reading it costs a volatile read.
+ */
+public class LatencyPercentileTracker {
+    private static final int SAMPLES = 1024;
+    private static final int RECOMPUTE_INTERVAL = 64;
+    private static final int MIN_SAMPLES = 32;
+
+    private final double percentile;
+    private final AtomicLongArray samples = new AtomicLongArray(SAMPLES);
+    private final AtomicLong count = new AtomicLong();
+    private volatile long percentileNanos = -1;
+
+    /**
+     * @param percentile the percentile to track, between 0 and 1
+     */
+    public LatencyPercentileTracker(double percentile) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1, got " + percentile);
+        }
+        this.percentile = percentile;
+    }
+
+    public void record(long latencyNanos) {
+        long n = count.getAndIncrement();
+        samples.set((int) (n % SAMPLES), latencyNanos);
+        if ((n + 1) % RECOMPUTE_INTERVAL == 0 && n + 1 >= MIN_SAMPLES) {
+            recompute((int) Math.min(n + 1, SAMPLES));
+        }
+    }
+
+    /**
+     * @return the percentile in nanoseconds, or -1 until there are enough samples
+     */
+    public long getPercentileNanos() {
+        return percentileNanos;
+    }
+
+    private void recompute(int size) {
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        percentileNanos = sorted[(int) Math.ceil(percentile * size) - 1];
+    }
+}
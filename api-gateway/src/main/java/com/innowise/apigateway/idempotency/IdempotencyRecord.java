@@ -0,0 +1,26 @@
+package com.innowise.apigateway.idempotency;
+
+/**
+ * Request made with an idempotency key.
+ *
+ * @param fingerprint hash of the request method, path and body, to detect reuse of the key for another request
+ * @param owner random ID of the request which has reserved the key, so only it can complete or release the key
+ * @param response the response to replay, null while the request is in progress
+ */
+public record IdempotencyRecord(String fingerprint, String owner, StoredResponse response) {
+
+    public boolean isCompleted() {
+        return response != null;
+    }
+
+    /**
+     * Response kept for replay. Only the headers a client of a create request relies on are kept.
+     *
+     * @param status the response status code
+     * @param contentType the {@code Content-Type} header, if any
+     * @param location the {@code Location} header, if any
+     * @param body the response body
+     */
+    public record StoredResponse(int status, String contentType, String location, byte[] body) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.innowise.apigateway.idempotency;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Storage of requests made with idempotency keys.
+ * A key is reserved by the first request, which then either completes it with its response or releases it,
+ * so the request can be retried. Only the owner of the reservation can complete or release it, so a request
+ * which has outlived its lock timeout can't affect the reservation of a retry.
+ */
+public interface IdempotencyStore {
+    /**
+     * Reserves the key for a request in progress, unless there is a record for it already.
+     *
+     * @param key the idempotency key
+     * @param fingerprint the fingerprint of the request
+     * @param owner the random ID of the request
+     * @param lockTimeout how long the reservation lives if it is neither completed nor released
+     * @return true if the key is reserved by this call
+     */
+    Mono<Boolean> reserve(String key, String fingerprint, String owner, Duration lockTimeout);
+
+    /**
+     * @param key the idempotency key
+     * @return the record of the key, or empty if there is none
+     */
+    Mono<IdempotencyRecord> get(String key);
+
+    /**
+     * Replaces the reservation of the key with the completed record, if the reservation is held by the owner
+     * of the record.
+     *
+     * @param key the idempotency key
+     * @param record the record with the response and the owner
+     * @param ttl how long the response is replayed
+     */
+    Mono<Void> complete(String key, IdempotencyRecord record, Duration ttl);
+
+    /**
+     * Removes the reservation of the key, if it is held by the owner and isn't completed.
+     *
+     * @param key the idempotency key
+     * @param owner the random ID of the request which has reserved the key
+     */
+    Mono<Void> release(String key, String owner);
+}
@@ -0,0 +1,59 @@
+package com.innowise.apigateway.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Idempotency store local to a single gateway instance.
+ * Records live in a Caffeine cache bounded by the number of entries, each one expiring after its own
+ * lock timeout or TTL, which is reset when the reservation is completed.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    private final Cache<String, Entry> records;
+
+    public InMemoryIdempotencyStore(long maxEntries) {
+        this.records = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(Expiry.<String, Entry>writing((key, entry) -> entry.ttl()))
+                .build();
+    }
+
+    @Override
+    public Mono<Boolean> reserve(String key, String fingerprint, String owner, Duration lockTimeout) {
+        Entry reservation = new Entry(new IdempotencyRecord(fingerprint, owner, null), lockTimeout);
+        return Mono.just(records.asMap().putIfAbsent(key, reservation) == null);
+    }
+
+    @Override
+    public Mono<IdempotencyRecord> get(String key) {
+        return Mono.justOrEmpty(records.getIfPresent(key))
+                .map(Entry::record);
+    }
+
+    @Override
+    public Mono<Void> complete(String key, IdempotencyRecord record, Duration ttl) {
+        records.asMap().computeIfPresent(key, (k, entry) -> entry.isOwnedBy(record.owner())
+                ? new Entry(record, ttl)
+                : entry);
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> release(String key, String owner) {
+        records.asMap().computeIfPresent(key, (k, entry) -> entry.isOwnedBy(owner) && !entry.record().isCompleted()
+                ? null
+                : entry);
+        return Mono.empty();
+    }
+
+    private record Entry(IdempotencyRecord record, Duration ttl) {
+
+        boolean isOwnedBy(String owner) {
+            return record.owner().equals(owner);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.innowise.apigateway.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Idempotency store shared by all gateway replicas.
+ * A reservation is a single {@code SET NX} with the lock timeout, so only one replica can reserve a key.
+ * Completion and release are Lua scripts comparing the owner of the reservation before changing it,
+ * which is atomic in Redis. Records are kept as JSON. If Redis is unavailable, requests go through without idempotency protection,
+ * the same way the order service worked before it.
+ */
+@Slf4j
+public class RedisIdempotencyStore implements IdempotencyStore {
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final RedisScript<Long> COMPLETE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/idempotency-complete.lua"), Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/idempotency-release.lua"), Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public RedisIdempotencyStore(ReactiveStringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Boolean> reserve(String key, String fingerprint, String owner, Duration lockTimeout) {
+        return redisTemplate.opsForValue()
+                .setIfAbsent(KEY_PREFIX + key, serialize(new IdempotencyRecord(fingerprint, owner, null)), lockTimeout)
+                .onErrorResume(ex -> {
+                    log.warn("Idempotency key {} can't be reserved, request goes through: {}", key, ex.getMessage());
+                    return Mono.just(true);
+                });
+    }
+
+    @Override
+    public Mono<IdempotencyRecord> get(String key) {
+        return redisTemplate.opsForValue().get(KEY_PREFIX + key)
+                .map(this::deserialize);
+    }
+
+    @Override
+    public Mono<Void> complete(String key, IdempotencyRecord record, Duration ttl) {
+        return redisTemplate.execute(COMPLETE_SCRIPT, List.of(KEY_PREFIX + key),
+                        List.of(record.owner(), serialize(record), Long.toString(ttl.toMillis())))
+                .next()
+                .doOnNext(stored -> {
+                    if (stored == 0) {
+                        log.warn("Response for idempotency key {} isn't stored, the reservation has expired", key);
+                    }
+                })
+                .onErrorResume(ex -> {
+                    log.warn("Response for idempotency key {} isn't stored: {}", key, ex.getMessage());
+                    return Mono.just(0L);
+                })
+                .then();
+    }
+
+    @Override
+    public Mono<Void> release(String key, String owner) {
+        return redisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + key), List.of(owner))
+                .next()
+                .onErrorResume(ex -> {
+                    log.warn("Idempotency key {} isn't released, it expires after lock timeout: {}",
+                            key, ex.getMessage());
+                    return Mono.just(0L);
+                })
+                .then();
+    }
+
+    private String serialize(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Idempotency record can't be serialized", ex);
+        }
+    }
+
+    private IdempotencyRecord deserialize(String json) {
+        try {
+            return objectMapper.readValue(json, IdempotencyRecord.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Idempotency record can't be deserialized", ex);
+        }
+    }
+}
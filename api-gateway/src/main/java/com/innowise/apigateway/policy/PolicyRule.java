@@ -0,0 +1,28 @@
+package com.innowise.apigateway.policy;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Role requirement of a route, configured as {@code gateway.security.rules}.
+ * <pre>{@code
+ * gateway:
+ *   security:
+ *     rules:
+ *       - path: /api/v1/orders
+ *         methods: [GET]
+ *         query-param: statuses
+ *         roles: [ADMIN]
+ * }</pre>
+ * Path segment {@code *} matches any single segment, trailing {@code **} matches any subtree.
+ * Empty methods list matches any method. If query param is set, the rule matches only requests having it.
+ */
+@Data
+public class PolicyRule {
+    private String path;
+    private List<String> methods = new ArrayList<>();
+    private String queryParam;
+    private List<String> roles = new ArrayList<>();
+}
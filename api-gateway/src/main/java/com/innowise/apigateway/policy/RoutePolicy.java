@@ -0,0 +1,239 @@
+package com.innowise.apigateway.policy;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.util.MultiValueMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Public paths and role requirements compiled into a path segment trie.
+ * Lookup costs one walk over the request path segments, regardless of the number of configured paths and rules.
+ * The most specific rule wins: exact path over wildcard subtree, deeper subtree over shallower one,
+ * and within one path rules with query param over rules without it.
+ *
+ * @see PolicyRule
+ */
+public final class RoutePolicy {
+    private static final String SEGMENT_WILDCARD = "*";
+    private static final String SUBTREE_WILDCARD = "**";
+
+    private final Node root = new Node();
+
+    private RoutePolicy() {
+    }
+
+    /**
+     * Compiles public path prefixes and role rules.
+     *
+     * @param publicPaths paths which are accessible without authentication, with all their subpaths
+     * @param rules role requirements of routes
+     * @return compiled policy
+     * @throws IllegalArgumentException if a rule has no path or roles, or {@code **} is not the last segment
+     */
+    public static RoutePolicy compile(Collection<String> publicPaths, Collection<PolicyRule> rules) {
+        RoutePolicy policy = new RoutePolicy();
+
+        for (String publicPath : publicPaths) {
+            Node node = policy.root;
+            for (String segment : segments(publicPath)) {
+                node = node.children.computeIfAbsent(segment, key -> new Node());
+            }
+            node.publicPrefix = true;
+        }
+
+        for (PolicyRule rule : rules) {
+            policy.add(rule);
+        }
+
+        policy.root.sortRules();
+        return policy;
+    }
+
+    /**
+     * Checks whether the path is accessible without authentication.
+     *
+     * @param path the request path
+     * @return true if the path is a public path or its subpath
+     */
+    public boolean isPublic(String path) {
+        Node node = root;
+        for (String segment : segments(path)) {
+            if (node.publicPrefix) {
+                return true;
+            }
+            node = node.children.get(segment);
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.publicPrefix;
+    }
+
+    /**
+     * Finds the most specific rule matching the request.
+     *
+     * @param path the request path
+     * @param method the request method
+     * @param queryParams the request query params
+     * @return matching rule, or null if the request has no role requirements at the gateway
+     */
+    public CompiledRule findRule(String path, HttpMethod method, MultiValueMap<String, String> queryParams) {
+        return match(root, segments(path), 0, method, queryParams);
+    }
+
+    private CompiledRule match(Node node, String[] segments, int index,
+                               HttpMethod method, MultiValueMap<String, String> queryParams) {
+        if (index == segments.length) {
+            CompiledRule exact = firstMatching(node.exactRules, method, queryParams);
+            return exact != null ? exact : firstMatching(node.subtreeRules, method, queryParams);
+        }
+
+        Node child = node.children.get(segments[index]);
+        if (child != null) {
+            CompiledRule rule = match(child, segments, index + 1, method, queryParams);
+            if (rule != null) {
+                return rule;
+            }
+        }
+
+        if (node.wildcard != null) {
+            CompiledRule rule = match(node.wildcard, segments, index + 1, method, queryParams);
+            if (rule != null) {
+                return rule;
+            }
+        }
+
+        return firstMatching(node.subtreeRules, method, queryParams);
+    }
+
+    private void add(PolicyRule rule) {
+        if (rule.getPath() == null || rule.getRoles().isEmpty()) {
+            throw new IllegalArgumentException("Policy rule must have path and roles: %s".formatted(rule));
+        }
+
+        CompiledRule compiledRule = new CompiledRule(rule);
+        String[] segments = segments(rule.getPath());
+        Node node = root;
+
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+
+            if (SUBTREE_WILDCARD.equals(segment)) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' must be the last path segment: %s".formatted(rule.getPath()));
+                }
+                node.subtreeRules.add(compiledRule);
+                return;
+            }
+
+            if (SEGMENT_WILDCARD.equals(segment)) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node();
+                }
+                node = node.wildcard;
+            } else {
+                node = node.children.computeIfAbsent(segment, key -> new Node());
+            }
+        }
+
+        node.exactRules.add(compiledRule);
+    }
+
+    private static CompiledRule firstMatching(List<CompiledRule> rules, HttpMethod method,
+                                              MultiValueMap<String, String> queryParams) {
+        for (CompiledRule rule : rules) {
+            if (rule.matches(method, queryParams)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Splits the path into non-empty segments, ignoring leading, trailing and repeated slashes.
+     */
+    private static String[] segments(String path) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+
+        while (start < path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            if (end > start) {
+                segments.add(path.substring(start, end));
+            }
+            start = end + 1;
+        }
+
+        return segments.toArray(String[]::new);
+    }
+
+    /**
+     * Rule with methods and roles prepared for lookup.
+     */
+    public static final class CompiledRule {
+        private final String path;
+        private final Set<HttpMethod> methods;
+        private final String queryParam;
+        private final Set<String> roles;
+
+        private CompiledRule(PolicyRule rule) {
+            this.path = rule.getPath();
+            this.methods = rule.getMethods().stream()
+                    .map(HttpMethod::valueOf)
+                    .collect(Collectors.toUnmodifiableSet());
+            this.queryParam = rule.getQueryParam();
+            this.roles = Set.copyOf(rule.getRoles());
+        }
+
+        /**
+         * Checks whether the role satisfies the rule.
+         *
+         * @param role the role of the authenticated user
+         * @return true if the role is one of the rule's roles
+         */
+        public boolean allows(String role) {
+            return role != null && roles.contains(role);
+        }
+
+        private boolean matches(HttpMethod method, MultiValueMap<String, String> queryParams) {
+            return (methods.isEmpty() || methods.contains(method))
+                    && (queryParam == null || queryParams.containsKey(queryParam));
+        }
+
+        @Override
+        public String toString() {
+            return "%s %s%s -> %s".formatted(methods, path, queryParam != null ? "?" + queryParam : "", roles);
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<CompiledRule> exactRules = new ArrayList<>();
+        private final List<CompiledRule> subtreeRules = new ArrayList<>();
+        private Node wildcard;
+        private boolean publicPrefix;
+
+        /**
+         * Puts rules with query param first, so they take precedence over more general ones.
+         */
+        private void sortRules() {
+            Comparator<CompiledRule> byQueryParam = Comparator.comparing(rule -> rule.queryParam == null);
+            exactRules.sort(byQueryParam);
+            subtreeRules.sort(byQueryParam);
+            children.values().forEach(Node::sortRules);
+            if (wildcard != null) {
+                wildcard.sortRules();
+            }
+        }
+    }
+}
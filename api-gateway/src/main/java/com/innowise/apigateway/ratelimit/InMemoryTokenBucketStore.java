@@ -0,0 +1,50 @@
+package com.innowise.apigateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket store local to a single gateway instance.
+ * Buckets live in a Caffeine cache, which is backed by a striped concurrent hash map, and each bucket
+ * is an {@link AtomicLong} updated with compare-and-set, so no locks are taken on the request path.
+ * Buckets which weren't accessed for the idle timeout are evicted. The timeout should be longer than
+ * the time needed to refill the biggest bucket, then an evicted bucket would have been full anyway.
+ */
+public class InMemoryTokenBucketStore implements TokenBucketStore {
+    private static final Mono<Duration> ALLOWED = Mono.just(Duration.ZERO);
+
+    private final Cache<String, AtomicLong> buckets;
+
+    public InMemoryTokenBucketStore(Duration idleTimeout, long maxBuckets) {
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idleTimeout)
+                .maximumSize(maxBuckets)
+                .build();
+    }
+
+    @Override
+    public Mono<Duration> tryConsume(String key, int burstCapacity, int replenishRate) {
+        long emissionInterval = TimeUnit.SECONDS.toNanos(1) / replenishRate;
+        long tolerance = emissionInterval * burstCapacity;
+        AtomicLong arrivalTime = buckets.get(key, k -> new AtomicLong(System.nanoTime()));
+
+        while (true) {
+            long now = System.nanoTime();
+            long current = arrivalTime.get();
+            long next = Math.max(current, now) + emissionInterval;
+            long allowedAt = next - tolerance;
+
+            if (now < allowedAt) {
+                return Mono.just(Duration.ofNanos(allowedAt - now));
+            }
+            if (arrivalTime.compareAndSet(current, next)) {
+                return ALLOWED;
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.innowise.apigateway.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket store shared by all gateway replicas.
+ * Each bucket update is a single Lua script call, which is atomic in Redis and uses Redis clock,
+ * so replicas with skewed clocks still see the same buckets. Bucket keys expire as soon as buckets are full.
+ * If Redis is unavailable, requests are allowed: rate limiting is a protection, not a reason for an outage.
+ */
+@Slf4j
+public class RedisTokenBucketStore implements TokenBucketStore {
+    private static final String KEY_PREFIX = "rate-limit:";
+    private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/token-bucket.lua"), Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    public RedisTokenBucketStore(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Mono<Duration> tryConsume(String key, int burstCapacity, int replenishRate) {
+        long emissionInterval = TimeUnit.SECONDS.toMicros(1) / replenishRate;
+        long tolerance = emissionInterval * burstCapacity;
+
+        return redisTemplate.execute(TOKEN_BUCKET_SCRIPT, List.of(KEY_PREFIX + key),
+                        List.of(Long.toString(emissionInterval), Long.toString(tolerance)))
+                .next()
+                .map(waitMicros -> waitMicros > 0 ? Duration.of(waitMicros, ChronoUnit.MICROS)
+                        : Duration.ZERO)
+                .onErrorResume(ex -> {
+                    log.warn("Rate limit check failed for key {}, request is allowed: {}", key, ex.getMessage());
+                    return Mono.just(Duration.ZERO);
+                });
+    }
+}
@@ -0,0 +1,23 @@
+package com.innowise.apigateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Storage of token buckets used by the gateway rate limiter.
+ * Buckets follow GCRA (generic cell rate algorithm): instead of a token counter each bucket keeps
+ * a single timestamp, the theoretical arrival time of the next request, which makes an update a single
+ * compare-and-set.
+ */
+public interface TokenBucketStore {
+    /**
+     * Takes one token from the bucket, creating a full bucket if there is none for the key.
+     *
+     * @param key the bucket key
+     * @param burstCapacity the maximum number of tokens in the bucket
+     * @param replenishRate the number of tokens added to the bucket per second
+     * @return {@link Duration#ZERO} if the token is taken, otherwise time until the next token is available
+     */
+    Mono<Duration> tryConsume(String key, int burstCapacity, int replenishRate);
+}
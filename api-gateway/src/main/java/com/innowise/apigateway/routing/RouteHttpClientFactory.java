@@ -0,0 +1,54 @@
+package com.innowise.apigateway.routing;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+
+/**
+ * Factory of the HTTP client of a single route. The client is configured like the shared gateway client
+ * (timeouts, SSL, proxy, customizers), except for its own connection pool and protocols.
+ * The pool is named after the route and publishes Reactor Netty metrics, so
+ * {@code reactor.netty.connection.provider.*} meters of the route are tagged with {@code name=<route ID>}.
+ */
+public class RouteHttpClientFactory extends HttpClientFactory {
+    private final String routeId;
+    private final RoutePoolProperties.Pool pool;
+
+    public RouteHttpClientFactory(String routeId, RoutePoolProperties.Pool pool, HttpClientProperties properties,
+                                  ServerProperties serverProperties, HttpClientSslConfigurer sslConfigurer,
+                                  List<HttpClientCustomizer> customizers) {
+        super(properties, serverProperties, sslConfigurer, customizers);
+        this.routeId = routeId;
+        this.pool = pool;
+    }
+
+    /**
+     * @return the HTTP client of the route
+     */
+    public HttpClient createHttpClient() {
+        return createInstance()
+                .protocol(pool.getProtocols().toArray(HttpProtocol[]::new));
+    }
+
+    @Override
+    protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(routeId)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(true);
+        if (pool.getMaxLifeTime() != null) {
+            builder.maxLifeTime(pool.getMaxLifeTime());
+        }
+        return builder.build();
+    }
+}
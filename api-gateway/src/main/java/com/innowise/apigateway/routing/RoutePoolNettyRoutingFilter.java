@@ -0,0 +1,177 @@
+package com.innowise.apigateway.routing;
+
+import com.innowise.apigateway.concurrency.VegasConcurrencyLimiter;
+import com.innowise.apigateway.filter.ConcurrencyLimitGatewayFilter;
+import com.innowise.apigateway.filter.RouteMetricsGlobalFilter;
+import com.innowise.apigateway.hedging.AttemptExchange;
+import com.innowise.apigateway.hedging.HedgingPolicy;
+import io.micrometer.observation.Observation;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquirePendingLimitException;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquireTimeoutException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Routing filter which sends requests of the routes with their own connection pools through the route clients,
+ * and requests of the other routes through the shared gateway client. It replaces the default
+ * {@link NettyRoutingFilter}, which has to be disabled, otherwise requests would be sent twice.
+ * Requests which can't get a connection, because the pending queue of the pool is full or the wait has timed out,
+ * get 503 like other requests shed by the gateway.
+ * <p>
+ * Requests with {@link HedgingPolicy} are hedged: if the first attempt hasn't got response headers within
+ * the hedge delay, a second attempt is sent, if the budget and the concurrency limit of the route allow.
+ * The hedge holds its own slot of the limiter while it is in flight. The first response wins and the other
+ * attempt is cancelled, closing its connection. Each attempt is routed in its own {@link AttemptExchange},
+ * then the winner's response is applied to the exchange and its body is written as usual.
+ */
+@Slf4j
+public class RoutePoolNettyRoutingFilter extends NettyRoutingFilter implements DisposableBean {
+    private final Map<String, HttpClient> routeClients;
+
+    private static final String POOL_EXHAUSTED_ERROR_MESSAGE = "No connection to the service is available, try again later";
+
+    public RoutePoolNettyRoutingFilter(HttpClient httpClient, Map<String, HttpClient> routeClients,
+                                       ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                       HttpClientProperties properties) {
+        super(httpClient, headersFiltersProvider, properties);
+        this.routeClients = routeClients;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        HedgingPolicy hedgingPolicy = exchange.getAttribute(HedgingPolicy.ATTRIBUTE);
+        Mono<Void> routing = hedgingPolicy == null || ServerWebExchangeUtils.isAlreadyRouted(exchange)
+                ? super.filter(exchange, chain)
+                : hedge(exchange, chain, hedgingPolicy);
+
+        AtomicLong upstreamNanos = exchange.getAttribute(RouteMetricsGlobalFilter.UPSTREAM_NANOS_ATTRIBUTE);
+        if (upstreamNanos != null) {
+            long start = System.nanoTime();
+            routing = routing.doFinally(signal -> upstreamNanos.set(System.nanoTime() - start));
+        }
+
+        return routing
+                .onErrorMap(ex -> ex instanceof PoolAcquirePendingLimitException
+                                || ex instanceof PoolAcquireTimeoutException,
+                        ex -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, POOL_EXHAUSTED_ERROR_MESSAGE, ex));
+    }
+
+    private Mono<Void> hedge(ServerWebExchange exchange, GatewayFilterChain chain, HedgingPolicy policy) {
+        policy.onRequest();
+        AtomicBoolean decided = new AtomicBoolean();
+        long start = System.nanoTime();
+
+        // Errors of the first attempt end the request at once, hedging is for slow responses, not failures.
+        // The hedge never completes without a response, so it can't end the request with its own error.
+        Mono<AttemptExchange> first = attempt(exchange, decided)
+                .doOnNext(attempt -> policy.recordLatency(System.nanoTime() - start));
+        Mono<AttemptExchange> second = Mono.delay(policy.getHedgeDelay())
+                .flatMap(tick -> hedgeAttempt(exchange, decided, policy))
+                .onErrorResume(ex -> Mono.never())
+                .doOnNext(attempt -> policy.onHedgeWon());
+
+        return Mono.firstWithSignal(first, second)
+                .flatMap(winner -> {
+                    winner.applyTo(exchange);
+                    return chain.filter(exchange);
+                });
+    }
+
+    /**
+     * Sends the hedge in its own slot of the route concurrency limiter, held until the hedge gets its response
+     * or is cancelled. The slot is released as ignored whatever the outcome, since the latency of the request
+     * is accounted by the slot of the request itself, which also covers writing the body of the winner.
+     */
+    private Mono<AttemptExchange> hedgeAttempt(ServerWebExchange exchange, AtomicBoolean decided,
+                                               HedgingPolicy policy) {
+        VegasConcurrencyLimiter limiter = exchange.getAttribute(ConcurrencyLimitGatewayFilter.LIMITER_ATTRIBUTE);
+        if (limiter == null) {
+            return policy.tryHedge() ? attempt(exchange, decided) : Mono.never();
+        }
+        if (!limiter.tryAcquire()) {
+            policy.onHedgeDenied();
+            return Mono.never();
+        }
+        if (!policy.tryHedge()) {
+            limiter.onIgnored();
+            return Mono.never();
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                limiter.onIgnored();
+            }
+        };
+        return attempt(exchange, decided)
+                .doOnNext(attempt -> release.run())
+                .doOnCancel(release)
+                .doOnError(ex -> release.run());
+    }
+
+    private Mono<AttemptExchange> attempt(ServerWebExchange exchange, AtomicBoolean decided) {
+        AttemptExchange attemptExchange = new AttemptExchange(exchange);
+
+        return super.filter(attemptExchange, ignored -> Mono.empty())
+                .then(Mono.defer(() -> {
+                    if (decided.compareAndSet(false, true)) {
+                        return Mono.just(attemptExchange);
+                    }
+                    discard(attemptExchange);
+                    return Mono.never();
+                }))
+                .doOnCancel(() -> discard(attemptExchange));
+    }
+
+    private static void discard(AttemptExchange attemptExchange) {
+        Connection connection = attemptExchange.getAttribute(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        if (connection != null) {
+            connection.dispose();
+        }
+        Observation observation = attemptExchange.getAttribute(ServerWebExchangeUtils.GATEWAY_OBSERVATION_ATTR);
+        if (observation != null) {
+            observation.stop();
+        }
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        HttpClient routeClient = routeClients.get(route.getId());
+        if (routeClient == null) {
+            return super.getHttpClient(route, exchange);
+        }
+
+        Object connectTimeout = route.getMetadata().get(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR);
+        return connectTimeout != null
+                ? routeClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Integer.parseInt(connectTimeout.toString()))
+                : routeClient;
+    }
+
+    @Override
+    public void destroy() {
+        routeClients.forEach((routeId, client) -> {
+            log.debug("Disposing connection pool of route {}", routeId);
+            client.configuration().connectionProvider().disposeLater().block();
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.innowise.apigateway.routing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Connection pools of the routes, keyed by route ID. Routes without a pool use the shared gateway HTTP client,
+ * configured with {@code spring.cloud.gateway.server.webflux.httpclient.*} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gateway.http-client")
+public class RoutePoolProperties {
+    private Map<String, Pool> routes = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Pool {
+        /** Maximum number of connections to the service. */
+        private int maxConnections = 100;
+
+        /** Maximum number of requests waiting for a connection, over it requests fail immediately. */
+        private int pendingAcquireMaxCount = 200;
+
+        /** How long a request waits for a connection. */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+        /** Idle connections are closed after this time. */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        /** Connections are closed after this time, null to keep them while they are used. */
+        private Duration maxLifeTime;
+
+        /** Interval of background eviction of idle and expired connections. */
+        private Duration evictionInterval = Duration.ofSeconds(30);
+
+        /** Protocols to talk to the service: HTTP11, H2C (HTTP/2 without TLS, prior knowledge) or H2 (with TLS). */
+        private List<HttpProtocol> protocols = List.of(HttpProtocol.HTTP11);
+    }
+}
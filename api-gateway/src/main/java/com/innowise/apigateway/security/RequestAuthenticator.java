@@ -0,0 +1,49 @@
+package com.innowise.apigateway.security;
+
+import com.innowise.securitystarter.jwt.JwtPrincipal;
+import com.innowise.securitystarter.jwt.JwtProvider;
+import com.innowise.securitystarter.util.SecurityConstant;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates requests handled by the gateway itself, which don't pass the route filters.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestAuthenticator {
+    private final JwtProvider jwtProvider;
+
+    /**
+     * Extracts the bearer token from the request headers.
+     *
+     * @param headers the request headers
+     * @return the token, or null if there is no bearer token
+     */
+    public String resolveToken(HttpHeaders headers) {
+        String bearerToken = headers.getFirst(SecurityConstant.AUTH_HEADER);
+        if (bearerToken != null && bearerToken.startsWith(SecurityConstant.BEARER_PREFIX)) {
+            return bearerToken.substring(SecurityConstant.BEARER_PREFIX.length()).trim();
+        }
+        return null;
+    }
+
+    /**
+     * Verifies the token.
+     *
+     * @param token the token, may be null
+     * @return the principal, or null if there is no token or it is invalid
+     */
+    public JwtPrincipal verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            return jwtProvider.verify(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
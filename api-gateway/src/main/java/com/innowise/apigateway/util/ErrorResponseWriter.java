@@ -0,0 +1,56 @@
+package com.innowise.apigateway.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.apigateway.dto.ErrorResponseDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes pre-serialized error responses of filters which reject requests under load,
+ * so rejecting a request costs no JSON serialization.
+ */
+public final class ErrorResponseWriter {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private ErrorResponseWriter() {
+    }
+
+    /**
+     * Serializes the error response without timestamp.
+     *
+     * @param status the response status
+     * @param errorMessage the error message
+     * @return serialized response body
+     */
+    public static byte[] serialize(HttpStatus status, String errorMessage) {
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(ErrorResponseDto.builder()
+                    .status(status.value())
+                    .errorMessage(errorMessage)
+                    .timestamp(null)
+                    .build());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Error response can't be serialized", ex);
+        }
+    }
+
+    /**
+     * Writes the pre-serialized error response. The body array is wrapped, not copied.
+     *
+     * @param exchange the current exchange
+     * @param status the response status
+     * @param body the body returned by {@link #serialize(HttpStatus, String)}
+     * @return completion of the response writing
+     */
+    public static Mono<Void> write(ServerWebExchange exchange, HttpStatus status, byte[] body) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
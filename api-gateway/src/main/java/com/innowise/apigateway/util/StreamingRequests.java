@@ -0,0 +1,28 @@
+package com.innowise.apigateway.util;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import java.util.List;
+
+/**
+ * Recognizes requests for streamed responses, which are relayed as they arrive. Filters which buffer,
+ * share or repeat GET responses let such requests through untouched: a stream can be of any size
+ * and its cache or coalescing key would collide with the regular response of the same path.
+ */
+public final class StreamingRequests {
+    private static final List<MediaType> STREAMING_MEDIA_TYPES =
+            List.of(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
+    private StreamingRequests() {
+    }
+
+    /**
+     * @param request the request
+     * @return true if the request explicitly accepts a streaming media type
+     */
+    public static boolean acceptsStream(ServerHttpRequest request) {
+        return request.getHeaders().getAccept().stream()
+                .anyMatch(accepted -> STREAMING_MEDIA_TYPES.stream().anyMatch(accepted::equalsTypeAndSubtype));
+    }
+}
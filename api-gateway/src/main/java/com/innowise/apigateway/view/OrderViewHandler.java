@@ -0,0 +1,238 @@
+package com.innowise.apigateway.view;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.innowise.apigateway.dto.ErrorResponseDto;
+import com.innowise.apigateway.dto.OrderViewDto;
+import com.innowise.apigateway.filter.JwtAuthenticationGatewayFilter;
+import com.innowise.apigateway.filter.OrderViewGatewayFilter;
+import com.innowise.apigateway.security.RequestAuthenticator;
+import com.innowise.securitystarter.jwt.IdentityHeaderCodec;
+import com.innowise.securitystarter.jwt.JwtPrincipal;
+import com.innowise.securitystarter.util.SecurityConstant;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Handler of the order page view, which is composed in the gateway instead of the client.
+ * Order, customer and payment are requested in parallel, each with its own timeout. The order is required:
+ * its errors are returned as is and cancel the other requests. Customer and payment are optional: if they
+ * fail or time out, the view is returned without them and lists them as unavailable.
+ * The customer is requested from user-service only for USER callers, whose user ID is known from the token
+ * in advance, and order-service is asked not to embed it; for ADMIN the customer embedded into the order
+ * by order-service is used. So user-service is called once per view in both cases.
+ * Caller's token is forwarded to the services, so they apply their own access rules.
+ * <p>
+ * The view is served by {@link OrderViewGatewayFilter} at the end of its own route, so authentication,
+ * role rules, rate and concurrency limits of the route filters apply to it as well.
+ */
+@Slf4j
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.views.orders")
+public class OrderViewHandler {
+    private final RequestAuthenticator requestAuthenticator;
+    private final IdentityHeaderCodec identityHeaderCodec;
+    private final ObjectMapper objectMapper;
+    private final WebClient webClient;
+
+    private String orderUrl;
+    private String customerUrl;
+    private String paymentUrl;
+    private Duration orderTimeout = Duration.ofSeconds(2);
+    private Duration customerTimeout = Duration.ofSeconds(1);
+    private Duration paymentTimeout = Duration.ofSeconds(1);
+
+    private static final String ROLE_USER = "USER";
+    private static final String ID_VARIABLE = "id";
+    private static final String INCLUDE_CUSTOMER_PARAM = "includeCustomer";
+    private static final String CUSTOMER_PART = "customer";
+    private static final String PAYMENT_PART = "payment";
+
+    public OrderViewHandler(RequestAuthenticator requestAuthenticator, IdentityHeaderCodec identityHeaderCodec,
+                            ObjectMapper objectMapper, WebClient.Builder webClientBuilder) {
+        this.requestAuthenticator = requestAuthenticator;
+        this.identityHeaderCodec = identityHeaderCodec;
+        this.objectMapper = objectMapper;
+        this.webClient = webClientBuilder.build();
+    }
+
+    /**
+     * Composes the order view and writes it to the response. The caller must be authenticated
+     * by {@link JwtAuthenticationGatewayFilter} earlier in the route.
+     *
+     * @param exchange the exchange of the request with order ID URI template variable
+     * @return completion of writing the composed view, or the error of the order request
+     */
+    public Mono<Void> writeOrderView(ServerWebExchange exchange) {
+        Long orderId;
+        try {
+            orderId = Long.valueOf(ServerWebExchangeUtils.getUriTemplateVariables(exchange).get(ID_VARIABLE));
+        } catch (NumberFormatException ex) {
+            return error(exchange, HttpStatus.BAD_REQUEST, "Order id must be a number");
+        }
+
+        JwtPrincipal principal = exchange.getAttribute(JwtAuthenticationGatewayFilter.PRINCIPAL_ATTRIBUTE);
+        String token = requestAuthenticator.resolveToken(exchange.getRequest().getHeaders());
+        if (principal == null || token == null) {
+            return error(exchange, HttpStatus.UNAUTHORIZED, SecurityConstant.INVALID_TOKEN_ERROR_MESSAGE);
+        }
+
+        HttpHeaders forwardedHeaders = forwardedHeaders(token, principal);
+        boolean customerRequested = ROLE_USER.equals(principal.getRole());
+
+        Mono<JsonNode> order = webClient.get()
+                .uri(orderUri(orderId, !customerRequested))
+                .headers(headers -> headers.addAll(forwardedHeaders))
+                .exchangeToMono(response -> response.statusCode().is2xxSuccessful()
+                        ? response.bodyToMono(JsonNode.class)
+                        : response.bodyToMono(String.class)
+                        .defaultIfEmpty("")
+                        .flatMap(body -> Mono.error(new OrderLegException(response.statusCode(), body))))
+                .timeout(orderTimeout);
+
+        Mono<JsonNode> customer = customerRequested
+                ? optionalPart(CUSTOMER_PART, customerUrl, principal.getUserId(), customerTimeout, forwardedHeaders)
+                : Mono.just(NullNode.getInstance());
+        Mono<JsonNode> payment = optionalPart(PAYMENT_PART, paymentUrl, orderId, paymentTimeout, forwardedHeaders);
+
+        return Mono.zip(order, customer, payment)
+                .flatMap(parts -> {
+                    List<String> unavailable = new ArrayList<>();
+                    JsonNode customerPart = resolvePart(parts.getT2(), CUSTOMER_PART, unavailable);
+                    JsonNode paymentPart = resolvePart(parts.getT3(), PAYMENT_PART, unavailable);
+
+                    OrderViewDto view = OrderViewDto.builder()
+                            .orderId(orderId)
+                            .order(parts.getT1())
+                            .customer(customerRequested ? customerPart : parts.getT1().get(CUSTOMER_PART))
+                            .payment(paymentPart)
+                            .unavailable(unavailable)
+                            .build();
+
+                    return write(exchange, HttpStatus.OK, serialize(view));
+                })
+                .onErrorResume(OrderLegException.class,
+                        ex -> write(exchange, ex.status, ex.body.getBytes(StandardCharsets.UTF_8)))
+                .onErrorResume(TimeoutException.class,
+                        ex -> error(exchange, HttpStatus.GATEWAY_TIMEOUT, "Order service didn't respond in time"))
+                .onErrorResume(ex -> {
+                    log.warn("Order {} view failed: {}", orderId, ex.getMessage());
+                    return error(exchange, HttpStatus.SERVICE_UNAVAILABLE, "Order service is unavailable");
+                });
+    }
+
+    /**
+     * Builds the order URI. Order-service embeds the customer into the order unless it is told not to.
+     */
+    private URI orderUri(Long orderId, boolean includeCustomer) {
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(orderUrl);
+        if (!includeCustomer) {
+            uriBuilder.queryParam(INCLUDE_CUSTOMER_PARAM, false);
+        }
+        return uriBuilder.buildAndExpand(orderId).toUri();
+    }
+
+    /**
+     * Requests an optional part of the view. Missing part results in {@link NullNode},
+     * failed one in {@link MissingNode}.
+     */
+    private Mono<JsonNode> optionalPart(String part, String url, Long id, Duration timeout, HttpHeaders forwardedHeaders) {
+        return webClient.get()
+                .uri(url, id)
+                .headers(headers -> headers.addAll(forwardedHeaders))
+                .exchangeToMono(response -> {
+                    if (response.statusCode().is2xxSuccessful()) {
+                        return response.bodyToMono(JsonNode.class);
+                    }
+                    if (response.statusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                        return response.releaseBody().thenReturn((JsonNode) NullNode.getInstance());
+                    }
+                    return response.releaseBody()
+                            .then(Mono.error(new IllegalStateException("status " + response.statusCode().value())));
+                })
+                .timeout(timeout)
+                .onErrorResume(ex -> {
+                    log.debug("Order view part {} is unavailable: {}", part, ex.toString());
+                    return Mono.just(MissingNode.getInstance());
+                });
+    }
+
+    private JsonNode resolvePart(JsonNode part, String name, List<String> unavailable) {
+        if (part.isMissingNode()) {
+            unavailable.add(name);
+            return null;
+        }
+        return part.isNull() ? null : part;
+    }
+
+    private HttpHeaders forwardedHeaders(String token, JwtPrincipal principal) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(SecurityConstant.AUTH_HEADER, SecurityConstant.BEARER_PREFIX + token);
+        if (identityHeaderCodec.isEnabled()) {
+            headers.set(SecurityConstant.IDENTITY_HEADER, identityHeaderCodec.encode(principal));
+        }
+        return headers;
+    }
+
+    private Mono<Void> error(ServerWebExchange exchange, HttpStatus status, String errorMessage) {
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .status(status.value())
+                .errorMessage(errorMessage)
+                .build();
+
+        return write(exchange, status, serialize(errorResponse));
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Order view can't be serialized", ex);
+        }
+    }
+
+    private static Mono<Void> write(ServerWebExchange exchange, HttpStatusCode status, byte[] body) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    /**
+     * Non-successful response of order-service, returned to the client as is.
+     */
+    private static final class OrderLegException extends RuntimeException {
+        private final transient HttpStatusCode status;
+        private final String body;
+
+        private OrderLegException(HttpStatusCode status, String body) {
+            super(null, null, false, false);
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
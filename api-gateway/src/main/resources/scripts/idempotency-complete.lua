@@ -0,0 +1,13 @@
+-- Replaces the reservation of an idempotency key with the completed record, if it is still held by the owner.
+-- KEYS[1]: idempotency key, holds the record as JSON
+-- ARGV[1]: owner of the reservation
+-- ARGV[2]: completed record as JSON
+-- ARGV[3]: TTL of the completed record in milliseconds
+-- Returns 1 if the record is stored, 0 if the reservation has expired or belongs to another request.
+local value = redis.call('GET', KEYS[1])
+if not value or cjson.decode(value).owner ~= ARGV[1] then
+    return 0
+end
+
+redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+return 1
@@ -0,0 +1,15 @@
+-- Removes the reservation of an idempotency key, if it is still held by the owner and isn't completed.
+-- KEYS[1]: idempotency key, holds the record as JSON
+-- ARGV[1]: owner of the reservation
+-- Returns 1 if the reservation is removed, 0 otherwise.
+local value = redis.call('GET', KEYS[1])
+if not value then
+    return 0
+end
+
+local record = cjson.decode(value)
+if record.owner ~= ARGV[1] or (record.response ~= nil and record.response ~= cjson.null) then
+    return 0
+end
+
+return redis.call('DEL', KEYS[1])
@@ -0,0 +1,23 @@
+-- GCRA token bucket.
+-- KEYS[1]: bucket key, holds theoretical arrival time of the next request in microseconds
+-- ARGV[1]: emission interval (time to replenish one token) in microseconds
+-- ARGV[2]: burst tolerance (emission interval multiplied by burst capacity) in microseconds
+-- Returns 0 if the request is allowed, otherwise microseconds until the next token is available.
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+local interval = tonumber(ARGV[1])
+local tolerance = tonumber(ARGV[2])
+
+local arrival = tonumber(redis.call('GET', KEYS[1])) or now
+if arrival < now then
+    arrival = now
+end
+
+local next_arrival = arrival + interval
+local allowed_at = next_arrival - tolerance
+if now < allowed_at then
+    return allowed_at - now
+end
+
+redis.call('SET', KEYS[1], string.format('%.0f', next_arrival), 'PX', math.ceil((next_arrival - now) / 1000))
+return 0
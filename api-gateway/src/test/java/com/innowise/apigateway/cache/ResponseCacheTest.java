@@ -0,0 +1,100 @@
+package com.innowise.apigateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class ResponseCacheTest {
+    private final ResponseCache responseCache =
+            new ResponseCache(MAX_SIZE_BYTES, MAX_ENTRY_SIZE, new SimpleMeterRegistry());
+
+    private static final long MAX_SIZE_BYTES = 1024 * 1024;
+    private static final int MAX_ENTRY_SIZE = 1024;
+    private static final String ROUTE_ID = "order-service";
+    private static final Long USER_ID = 1L;
+    private static final Long OTHER_USER_ID = 2L;
+    private static final String ORDERS_PATH = "/api/v1/orders";
+    private static final String ORDER_PATH = ORDERS_PATH + "/1";
+    private static final String ORDER_ITEMS_PATH = ORDER_PATH + "/items";
+    private static final String SIBLING_PATH = "/api/v1/orders-archive";
+    private static final CachedResponse CACHED_RESPONSE = new CachedResponse(MediaType.APPLICATION_JSON, "\"etag\"",
+            ByteBuffer.allocateDirect(16).asReadOnlyBuffer(), Duration.ofMinutes(1).toNanos());
+
+    @Test
+    void getWhenResponseIsCachedTest() {
+        String key = ResponseCache.key(ROUTE_ID, USER_ID, ORDER_PATH);
+        responseCache.put(key, CACHED_RESPONSE);
+
+        assertAll(
+                () -> assertThat(responseCache.get(key)).isSameAs(CACHED_RESPONSE),
+                () -> assertThat(responseCache.get(ResponseCache.key(ROUTE_ID, OTHER_USER_ID, ORDER_PATH))).isNull()
+        );
+    }
+
+    @Test
+    void purgeWhenPathHasSubpathsTest() {
+        putAll(ORDERS_PATH, ORDERS_PATH + "?page=1", ORDER_PATH, ORDER_ITEMS_PATH, SIBLING_PATH);
+        responseCache.put(ResponseCache.key(ROUTE_ID, OTHER_USER_ID, ORDER_PATH), CACHED_RESPONSE);
+
+        int purged = responseCache.purge(ORDERS_PATH + "/");
+
+        assertAll(
+                () -> assertThat(purged).isEqualTo(5),
+                () -> assertThat(responseCache.get(key(ORDER_ITEMS_PATH))).isNull(),
+                () -> assertThat(responseCache.get(ResponseCache.key(ROUTE_ID, OTHER_USER_ID, ORDER_PATH))).isNull(),
+                () -> assertThat(responseCache.get(key(SIBLING_PATH))).isNotNull()
+        );
+    }
+
+    @Test
+    void purgeWhenPathsAreExactTest() {
+        putAll(ORDERS_PATH, ORDERS_PATH + "?statuses=NEW", ORDER_PATH, ORDER_ITEMS_PATH);
+
+        int purged = responseCache.purge(List.of(ORDER_PATH), List.of(ORDERS_PATH));
+
+        assertAll(
+                () -> assertThat(purged).isEqualTo(4),
+                () -> assertThat(responseCache.get(key(ORDERS_PATH + "?statuses=NEW"))).isNull()
+        );
+    }
+
+    @Test
+    void purgeWhenExactPathHasSubpathsTest() {
+        putAll(ORDERS_PATH, ORDER_PATH);
+
+        int purged = responseCache.purge(List.of(), List.of(ORDERS_PATH));
+
+        assertAll(
+                () -> assertThat(purged).isEqualTo(1),
+                () -> assertThat(responseCache.get(key(ORDERS_PATH))).isNull(),
+                () -> assertThat(responseCache.get(key(ORDER_PATH))).isNotNull()
+        );
+    }
+
+    @Test
+    void purgeWhenNothingMatchesTest() {
+        putAll(SIBLING_PATH);
+
+        assertAll(
+                () -> assertThat(responseCache.purge(ORDERS_PATH)).isZero(),
+                () -> assertThat(responseCache.get(key(SIBLING_PATH))).isNotNull()
+        );
+    }
+
+    private void putAll(String... pathsWithQuery) {
+        for (String pathWithQuery : pathsWithQuery) {
+            responseCache.put(key(pathWithQuery), CACHED_RESPONSE);
+        }
+    }
+
+    private static String key(String pathWithQuery) {
+        return ResponseCache.key(ROUTE_ID, USER_ID, pathWithQuery);
+    }
+}
@@ -0,0 +1,151 @@
+package com.innowise.apigateway.capture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class CapturingResponseDecoratorTest {
+    private final MockServerWebExchange exchange =
+            MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/orders"));
+    private final CapturingResponseDecorator decorator = new CapturingResponseDecorator(exchange);
+
+    private static final String FIRST_CHUNK = "{\"id\":1,";
+    private static final String SECOND_CHUNK = "\"status\":\"NEW\"}";
+    private static final String BODY = FIRST_CHUNK + SECOND_CHUNK;
+    private static final String ON_RESPONSE = "onResponse";
+    private static final String ON_BODY_TOO_LARGE = "onBodyTooLarge";
+    private static final String ON_EXCHANGE_END = "onExchangeEnd";
+
+    @Test
+    void writeWithWhenThereAreNoListenersTest() {
+        decorator.writeWith(chunks()).block();
+
+        assertThat(writtenBody()).isEqualTo(BODY);
+    }
+
+    @Test
+    void writeWithWhenBodyIsUnlimitedTest() {
+        RecordingListener listener = new RecordingListener();
+        CapturingResponseDecorator.addListener(exchange, listener, CapturingResponseDecorator.UNLIMITED);
+
+        decorator.writeWith(chunks()).block();
+
+        assertAll(
+                () -> assertThat(listener.events).containsExactly(ON_RESPONSE),
+                () -> assertThat(listener.body).isEqualTo(BODY),
+                () -> assertThat(writtenBody()).isEqualTo(BODY)
+        );
+    }
+
+    @Test
+    void writeWithWhenBodyIsWithinLimitTest() {
+        RecordingListener first = new RecordingListener();
+        RecordingListener second = new RecordingListener();
+        CapturingResponseDecorator.addListener(exchange, first, 1);
+        CapturingResponseDecorator.addListener(exchange, second, BODY.length());
+
+        decorator.writeWith(chunks()).block();
+
+        assertAll(
+                () -> assertThat(first.body).isEqualTo(BODY),
+                () -> assertThat(second.body).isEqualTo(BODY),
+                () -> assertThat(writtenBody()).isEqualTo(BODY)
+        );
+    }
+
+    @Test
+    void writeWithWhenBodyChunksExceedLimitTest() {
+        RecordingListener listener = new RecordingListener();
+        CapturingResponseDecorator.addListener(exchange, listener, FIRST_CHUNK.length());
+
+        decorator.writeWith(chunks()).block();
+
+        assertAll(
+                () -> assertThat(listener.events).containsExactly(ON_BODY_TOO_LARGE),
+                () -> assertThat(writtenBody()).isEqualTo(BODY)
+        );
+    }
+
+    @Test
+    void writeWithWhenContentLengthExceedsLimitTest() {
+        RecordingListener listener = new RecordingListener();
+        CapturingResponseDecorator.addListener(exchange, listener, FIRST_CHUNK.length());
+        decorator.getHeaders().setContentLength(BODY.length());
+
+        decorator.writeWith(chunks()).block();
+
+        assertAll(
+                () -> assertThat(listener.events).containsExactly(ON_BODY_TOO_LARGE),
+                () -> assertThat(writtenBody()).isEqualTo(BODY)
+        );
+    }
+
+    @Test
+    void setCompleteWhenResponseHasNoBodyTest() {
+        RecordingListener listener = new RecordingListener();
+        CapturingResponseDecorator.addListener(exchange, listener, CapturingResponseDecorator.UNLIMITED);
+
+        decorator.setComplete().block();
+
+        assertAll(
+                () -> assertThat(listener.events).containsExactly(ON_RESPONSE),
+                () -> assertThat(listener.body).isNull()
+        );
+    }
+
+    @Test
+    void endWhenCalledTwiceTest() {
+        RecordingListener listener = new RecordingListener();
+        CapturingResponseDecorator.addListener(exchange, listener, CapturingResponseDecorator.UNLIMITED);
+
+        decorator.writeWith(chunks()).block();
+        decorator.end().block();
+        decorator.end().block();
+
+        assertThat(listener.events).containsExactly(ON_RESPONSE, ON_EXCHANGE_END);
+    }
+
+    private static Flux<DataBuffer> chunks() {
+        return Flux.just(FIRST_CHUNK, SECOND_CHUNK)
+                .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String writtenBody() {
+        return ((MockServerHttpResponse) exchange.getResponse()).getBodyAsString().block();
+    }
+
+    private static class RecordingListener implements ResponseCaptureListener {
+        private final List<String> events = new ArrayList<>();
+        private String body;
+
+        @Override
+        public void onResponse(ServerHttpResponse response, DataBuffer body) {
+            events.add(ON_RESPONSE);
+            this.body = body != null ? body.toString(StandardCharsets.UTF_8) : null;
+        }
+
+        @Override
+        public void onBodyTooLarge(ServerHttpResponse response) {
+            events.add(ON_BODY_TOO_LARGE);
+        }
+
+        @Override
+        public Mono<Void> onExchangeEnd() {
+            events.add(ON_EXCHANGE_END);
+            return Mono.empty();
+        }
+    }
+}
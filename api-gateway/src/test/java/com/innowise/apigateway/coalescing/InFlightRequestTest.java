@@ -0,0 +1,85 @@
+package com.innowise.apigateway.coalescing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class InFlightRequestTest {
+    private final InFlightRequest inFlightRequest = new InFlightRequest(START_NANOS);
+
+    private static final long START_NANOS = 1_000_000;
+    private static final long WINDOW_NANOS = 50_000;
+    private static final int MAX_WAITERS = 2;
+    private static final String BODY = "{\"id\":1}";
+
+    @Test
+    void tryJoinWhenWindowHasPassedTest() {
+        assertAll(
+                () -> assertThat(inFlightRequest.tryJoin(START_NANOS + WINDOW_NANOS, WINDOW_NANOS, MAX_WAITERS))
+                        .isTrue(),
+                () -> assertThat(inFlightRequest.tryJoin(START_NANOS + WINDOW_NANOS + 1, WINDOW_NANOS, MAX_WAITERS))
+                        .isFalse()
+        );
+    }
+
+    @Test
+    void tryJoinWhenWaitersAreFullTest() {
+        assertAll(
+                () -> assertThat(inFlightRequest.tryJoin(START_NANOS, WINDOW_NANOS, MAX_WAITERS)).isTrue(),
+                () -> assertThat(inFlightRequest.tryJoin(START_NANOS, WINDOW_NANOS, MAX_WAITERS)).isTrue(),
+                () -> assertThat(inFlightRequest.tryJoin(START_NANOS, WINDOW_NANOS, MAX_WAITERS)).isFalse(),
+                () -> assertThat(inFlightRequest.tryJoin(START_NANOS, WINDOW_NANOS, MAX_WAITERS + 1)).isTrue()
+        );
+    }
+
+    @Test
+    void responseWhenCallIsCompletedTest() {
+        MockServerHttpResponse upstreamResponse = new MockServerHttpResponse();
+        upstreamResponse.setStatusCode(HttpStatus.OK);
+        upstreamResponse.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        upstreamResponse.getHeaders().setContentLength(BODY.length());
+        upstreamResponse.getHeaders().set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+
+        inFlightRequest.complete(upstreamResponse,
+                DefaultDataBufferFactory.sharedInstance.wrap(BODY.getBytes(StandardCharsets.UTF_8)));
+        inFlightRequest.abandon();
+        InFlightRequest.Response response = inFlightRequest.response().block().orElseThrow();
+
+        assertAll(
+                () -> assertThat(response.status()).isEqualTo(HttpStatus.OK),
+                () -> assertThat(response.headers().getContentType()).isEqualTo(MediaType.APPLICATION_JSON),
+                () -> assertThat(response.headers()).doesNotContainKeys(HttpHeaders.CONTENT_LENGTH,
+                        HttpHeaders.TRANSFER_ENCODING),
+                () -> assertThat(new String(response.body(), StandardCharsets.UTF_8)).isEqualTo(BODY),
+                () -> assertThatThrownBy(() -> response.headers().set(HttpHeaders.ETAG, "\"etag\""))
+                        .isInstanceOf(UnsupportedOperationException.class)
+        );
+    }
+
+    @Test
+    void responseWhenCallHasNoBodyTest() {
+        MockServerHttpResponse upstreamResponse = new MockServerHttpResponse();
+        upstreamResponse.setStatusCode(HttpStatus.NO_CONTENT);
+
+        inFlightRequest.complete(upstreamResponse, null);
+
+        assertThat(inFlightRequest.response().block().orElseThrow().body()).isEmpty();
+    }
+
+    @Test
+    void responseWhenCallIsAbandonedTest() {
+        inFlightRequest.abandon();
+
+        assertThat(inFlightRequest.response().block()).isEqualTo(Optional.empty());
+    }
+}
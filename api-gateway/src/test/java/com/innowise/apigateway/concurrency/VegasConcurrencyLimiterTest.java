@@ -0,0 +1,120 @@
+package com.innowise.apigateway.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class VegasConcurrencyLimiterTest {
+    private static final int INITIAL_LIMIT = 20;
+    private static final int MIN_LIMIT = 10;
+    private static final int MAX_LIMIT = 100;
+    private static final long NO_LOAD_RTT_NANOS = 10_000_000;
+    private static final int SAMPLES = 50;
+
+    @Test
+    void tryAcquireWhenLimitIsReachedTest() {
+        VegasConcurrencyLimiter limiter = new VegasConcurrencyLimiter(INITIAL_LIMIT, MIN_LIMIT, MAX_LIMIT);
+
+        long acquired = IntStream.range(0, INITIAL_LIMIT * 2)
+                .filter(i -> limiter.tryAcquire())
+                .count();
+        limiter.onIgnored();
+
+        assertAll(
+                () -> assertThat(acquired).isEqualTo(INITIAL_LIMIT),
+                () -> assertThat(limiter.getInFlight()).isEqualTo(INITIAL_LIMIT - 1),
+                () -> assertThat(limiter.tryAcquire()).isTrue(),
+                () -> assertThat(limiter.getLimit()).isEqualTo(INITIAL_LIMIT)
+        );
+    }
+
+    @Test
+    void onSuccessWhenLatencyStaysLowTest() {
+        VegasConcurrencyLimiter limiter = new VegasConcurrencyLimiter(INITIAL_LIMIT, MIN_LIMIT, MAX_LIMIT);
+
+        completeUnderFullLoad(limiter, NO_LOAD_RTT_NANOS, SAMPLES);
+
+        assertThat(limiter.getLimit()).isGreaterThan(INITIAL_LIMIT);
+    }
+
+    @Test
+    void onSuccessWhenLatencyGrowsTest() {
+        VegasConcurrencyLimiter limiter = new VegasConcurrencyLimiter(INITIAL_LIMIT, MIN_LIMIT, MAX_LIMIT);
+        completeUnderFullLoad(limiter, NO_LOAD_RTT_NANOS, 1);
+
+        completeUnderFullLoad(limiter, NO_LOAD_RTT_NANOS * 10, SAMPLES);
+
+        assertThat(limiter.getLimit()).isLessThan(INITIAL_LIMIT).isGreaterThanOrEqualTo(MIN_LIMIT);
+    }
+
+    @Test
+    void onSuccessWhenLoadIsLowTest() {
+        VegasConcurrencyLimiter limiter = new VegasConcurrencyLimiter(INITIAL_LIMIT, MIN_LIMIT, MAX_LIMIT);
+
+        IntStream.range(0, SAMPLES).forEach(i -> {
+            limiter.tryAcquire();
+            limiter.onSuccess(NO_LOAD_RTT_NANOS);
+        });
+
+        assertAll(
+                () -> assertThat(limiter.getLimit()).isEqualTo(INITIAL_LIMIT),
+                () -> assertThat(limiter.getInFlight()).isZero()
+        );
+    }
+
+    @Test
+    void onSuccessWhenLimitReachesBoundsTest() {
+        VegasConcurrencyLimiter growing = new VegasConcurrencyLimiter(INITIAL_LIMIT, MIN_LIMIT, MAX_LIMIT);
+        VegasConcurrencyLimiter shrinking = new VegasConcurrencyLimiter(INITIAL_LIMIT, MIN_LIMIT, MAX_LIMIT);
+        completeUnderFullLoad(shrinking, NO_LOAD_RTT_NANOS, 1);
+
+        completeUnderFullLoad(growing, NO_LOAD_RTT_NANOS, SAMPLES * 10);
+        completeUnderFullLoad(shrinking, NO_LOAD_RTT_NANOS * 10, SAMPLES * 10);
+
+        assertAll(
+                () -> assertThat(growing.getLimit()).isEqualTo(MAX_LIMIT),
+                () -> assertThat(shrinking.getLimit()).isEqualTo(MIN_LIMIT)
+        );
+    }
+
+    @Test
+    void onDroppedTest() {
+        VegasConcurrencyLimiter limiter = new VegasConcurrencyLimiter(INITIAL_LIMIT, MIN_LIMIT, MAX_LIMIT);
+        limiter.tryAcquire();
+
+        limiter.onDropped();
+
+        assertAll(
+                () -> assertThat(limiter.getLimit()).isEqualTo(18),
+                () -> assertThat(limiter.getInFlight()).isZero()
+        );
+    }
+
+    @Test
+    void constructorWhenLimitsAreInvalidTest() {
+        assertAll(
+                () -> assertThatThrownBy(() -> new VegasConcurrencyLimiter(INITIAL_LIMIT, 0, MAX_LIMIT))
+                        .isInstanceOf(IllegalArgumentException.class),
+                () -> assertThatThrownBy(() -> new VegasConcurrencyLimiter(MIN_LIMIT - 1, MIN_LIMIT, MAX_LIMIT))
+                        .isInstanceOf(IllegalArgumentException.class),
+                () -> assertThatThrownBy(() -> new VegasConcurrencyLimiter(MAX_LIMIT + 1, MIN_LIMIT, MAX_LIMIT))
+                        .isInstanceOf(IllegalArgumentException.class)
+        );
+    }
+
+    /**
+     * Keeps the limiter saturated, completing one request with the latency every time all slots are taken.
+     */
+    private static void completeUnderFullLoad(VegasConcurrencyLimiter limiter, long rttNanos, int samples) {
+        for (int i = 0; i < samples; i++) {
+            while (limiter.tryAcquire()) {
+                // take all free slots
+            }
+            limiter.onSuccess(rttNanos);
+        }
+    }
+}
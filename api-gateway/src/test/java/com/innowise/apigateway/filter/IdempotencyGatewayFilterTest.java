@@ -0,0 +1,178 @@
+package com.innowise.apigateway.filter;
+
+import com.innowise.apigateway.capture.CapturingResponseDecorator;
+import com.innowise.apigateway.idempotency.InMemoryIdempotencyStore;
+import com.innowise.securitystarter.jwt.JwtPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class IdempotencyGatewayFilterTest {
+    private final GatewayFilter filter = new IdempotencyGatewayFilter(new InMemoryIdempotencyStore(MAX_ENTRIES))
+            .apply(buildConfig());
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private static final long MAX_ENTRIES = 100;
+    private static final String ROUTE_ID = "order-service";
+    private static final String ORDERS_PATH = "/api/v1/orders";
+    private static final String ORDER_LOCATION = ORDERS_PATH + "/1";
+    private static final String IDEMPOTENCY_KEY = "6f1c2a8e-7d2b-4c1e-9a55-0b6a3f0d2e11";
+    private static final String REQUEST_BODY = "{\"items\":[{\"itemId\":1,\"quantity\":2}]}";
+    private static final String OTHER_REQUEST_BODY = "{\"items\":[{\"itemId\":2,\"quantity\":1}]}";
+    private static final String RESPONSE_BODY = "{\"id\":1,\"status\":\"NEW\"}";
+    private static final JwtPrincipal PRINCIPAL = JwtPrincipal.builder()
+            .userId(1L)
+            .role("USER")
+            .build();
+
+    @Test
+    void filterWhenRequestIsRepeatedTest() {
+        MockServerWebExchange first = buildExchange(IDEMPOTENCY_KEY, REQUEST_BODY);
+        MockServerWebExchange retry = buildExchange(IDEMPOTENCY_KEY, REQUEST_BODY);
+
+        runExchange(first, HttpStatus.CREATED, true);
+        runExchange(retry, HttpStatus.CREATED, true);
+
+        HttpHeaders headers = retry.getResponse().getHeaders();
+        assertAll(
+                () -> assertThat(upstreamCalls).hasValue(1),
+                () -> assertThat(retry.getResponse().getStatusCode()).isEqualTo(HttpStatus.CREATED),
+                () -> assertThat(headers.getFirst(IdempotencyGatewayFilter.IDEMPOTENT_REPLAYED_HEADER))
+                        .isEqualTo("true"),
+                () -> assertThat(headers.getFirst(HttpHeaders.LOCATION)).isEqualTo(ORDER_LOCATION),
+                () -> assertThat(headers.getContentType()).isEqualTo(MediaType.APPLICATION_JSON),
+                () -> assertThat(responseBody(retry)).isEqualTo(RESPONSE_BODY)
+        );
+    }
+
+    @Test
+    void filterWhenKeyIsReusedForOtherRequestTest() {
+        MockServerWebExchange first = buildExchange(IDEMPOTENCY_KEY, REQUEST_BODY);
+        MockServerWebExchange other = buildExchange(IDEMPOTENCY_KEY, OTHER_REQUEST_BODY);
+
+        runExchange(first, HttpStatus.CREATED, true);
+        runExchange(other, HttpStatus.CREATED, true);
+
+        assertAll(
+                () -> assertThat(upstreamCalls).hasValue(1),
+                () -> assertThat(other.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+        );
+    }
+
+    @Test
+    void filterWhenRequestIsInProgressTest() {
+        MockServerWebExchange first = buildExchange(IDEMPOTENCY_KEY, REQUEST_BODY);
+        MockServerWebExchange retry = buildExchange(IDEMPOTENCY_KEY, REQUEST_BODY);
+
+        runExchange(first, HttpStatus.CREATED, false);
+        runExchange(retry, HttpStatus.CREATED, true);
+
+        assertAll(
+                () -> assertThat(upstreamCalls).hasValue(1),
+                () -> assertThat(retry.getResponse().getStatusCode()).isEqualTo(HttpStatus.CONFLICT)
+        );
+    }
+
+    @Test
+    void filterWhenResponseIsServerErrorTest() {
+        MockServerWebExchange first = buildExchange(IDEMPOTENCY_KEY, REQUEST_BODY);
+        MockServerWebExchange retry = buildExchange(IDEMPOTENCY_KEY, REQUEST_BODY);
+
+        runExchange(first, HttpStatus.SERVICE_UNAVAILABLE, true);
+        runExchange(retry, HttpStatus.CREATED, true);
+
+        assertAll(
+                () -> assertThat(upstreamCalls).hasValue(2),
+                () -> assertThat(retry.getResponse().getStatusCode()).isEqualTo(HttpStatus.CREATED),
+                () -> assertThat(retry.getResponse().getHeaders())
+                        .doesNotContainKey(IdempotencyGatewayFilter.IDEMPOTENT_REPLAYED_HEADER)
+        );
+    }
+
+    @Test
+    void filterWhenKeyIsBlankTest() {
+        MockServerWebExchange exchange = buildExchange(" ", REQUEST_BODY);
+
+        runExchange(exchange, HttpStatus.CREATED, true);
+
+        assertAll(
+                () -> assertThat(upstreamCalls).hasValue(0),
+                () -> assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST)
+        );
+    }
+
+    @Test
+    void filterWhenRequestHasNoKeyTest() {
+        MockServerWebExchange first = buildExchange(null, REQUEST_BODY);
+        MockServerWebExchange second = buildExchange(null, REQUEST_BODY);
+
+        runExchange(first, HttpStatus.CREATED, true);
+        runExchange(second, HttpStatus.CREATED, true);
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    private static IdempotencyGatewayFilter.Config buildConfig() {
+        IdempotencyGatewayFilter.Config config = new IdempotencyGatewayFilter.Config();
+        config.setRouteId(ROUTE_ID);
+        return config;
+    }
+
+    private static MockServerWebExchange buildExchange(String idempotencyKey, String body) {
+        MockServerHttpRequest.BodyBuilder request = MockServerHttpRequest.post(ORDERS_PATH)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (idempotencyKey != null) {
+            request.header(IdempotencyGatewayFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request.body(body));
+        exchange.getAttributes().put(JwtAuthenticationGatewayFilter.PRINCIPAL_ATTRIBUTE, PRINCIPAL);
+        return exchange;
+    }
+
+    /**
+     * Runs the exchange through the filter the way {@link ResponseCaptureGlobalFilter} does,
+     * with an upstream service answering with the status.
+     *
+     * @param ended whether the exchange ends, completing or releasing the reservation
+     */
+    private void runExchange(MockServerWebExchange exchange, HttpStatus upstreamStatus, boolean ended) {
+        CapturingResponseDecorator decorator = new CapturingResponseDecorator(exchange);
+        GatewayFilterChain upstream = upstreamExchange -> {
+            upstreamCalls.incrementAndGet();
+            return respond(upstreamExchange, upstreamStatus);
+        };
+
+        filter.filter(exchange.mutate().response(decorator).build(), upstream)
+                .then(ended ? Mono.defer(decorator::end) : Mono.empty())
+                .block();
+    }
+
+    private static Mono<Void> respond(ServerWebExchange exchange, HttpStatus status) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.LOCATION, ORDER_LOCATION);
+
+        return response.writeWith(Mono.just(response.bufferFactory()
+                .wrap(RESPONSE_BODY.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static String responseBody(MockServerWebExchange exchange) {
+        return ((MockServerHttpResponse) exchange.getResponse()).getBodyAsString().block();
+    }
+}
@@ -0,0 +1,63 @@
+package com.innowise.apigateway.hedging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class HedgeBudgetTest {
+    private static final double RATIO = 0.1;
+    private static final int MAX_BURST = 3;
+
+    @Test
+    void tryWithdrawWhenBudgetIsFullTest() {
+        HedgeBudget budget = new HedgeBudget(RATIO, MAX_BURST);
+
+        assertAll(
+                () -> assertThat(IntStream.range(0, MAX_BURST).filter(i -> budget.tryWithdraw()).count())
+                        .isEqualTo(MAX_BURST),
+                () -> assertThat(budget.tryWithdraw()).isFalse()
+        );
+    }
+
+    @Test
+    void tryWithdrawWhenRequestsHaveRefilledBudgetTest() {
+        HedgeBudget budget = new HedgeBudget(RATIO, MAX_BURST);
+        IntStream.range(0, MAX_BURST).forEach(i -> budget.tryWithdraw());
+
+        IntStream.range(0, 9).forEach(i -> budget.onRequest());
+        boolean withdrawnBeforeRefill = budget.tryWithdraw();
+        budget.onRequest();
+
+        assertAll(
+                () -> assertThat(withdrawnBeforeRefill).isFalse(),
+                () -> assertThat(budget.tryWithdraw()).isTrue(),
+                () -> assertThat(budget.tryWithdraw()).isFalse()
+        );
+    }
+
+    @Test
+    void onRequestWhenBudgetIsFullTest() {
+        HedgeBudget budget = new HedgeBudget(RATIO, MAX_BURST);
+
+        IntStream.range(0, 100).forEach(i -> budget.onRequest());
+
+        assertThat(IntStream.range(0, MAX_BURST * 2).filter(i -> budget.tryWithdraw()).count())
+                .isEqualTo(MAX_BURST);
+    }
+
+    @Test
+    void constructorWhenBudgetIsInvalidTest() {
+        assertAll(
+                () -> assertThatThrownBy(() -> new HedgeBudget(0, MAX_BURST))
+                        .isInstanceOf(IllegalArgumentException.class),
+                () -> assertThatThrownBy(() -> new HedgeBudget(1.5, MAX_BURST))
+                        .isInstanceOf(IllegalArgumentException.class),
+                () -> assertThatThrownBy(() -> new HedgeBudget(RATIO, 0))
+                        .isInstanceOf(IllegalArgumentException.class)
+        );
+    }
+}
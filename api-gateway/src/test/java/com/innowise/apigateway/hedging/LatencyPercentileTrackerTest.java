@@ -0,0 +1,56 @@
+package com.innowise.apigateway.hedging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class LatencyPercentileTrackerTest {
+    private static final double PERCENTILE = 0.95;
+
+    @Test
+    void getPercentileNanosWhenThereAreTooFewSamplesTest() {
+        LatencyPercentileTracker tracker = new LatencyPercentileTracker(PERCENTILE);
+
+        LongStream.rangeClosed(1, 63).forEach(tracker::record);
+
+        assertThat(tracker.getPercentileNanos()).isEqualTo(-1);
+    }
+
+    @Test
+    void getPercentileNanosWhenSamplesAreRecordedTest() {
+        LatencyPercentileTracker tracker = new LatencyPercentileTracker(PERCENTILE);
+
+        LongStream.rangeClosed(1, 100).map(i -> 101 - i).forEach(tracker::record);
+        long percentileOfFirst64 = tracker.getPercentileNanos();
+        LongStream.rangeClosed(1, 28).forEach(tracker::record);
+
+        assertAll(
+                () -> assertThat(percentileOfFirst64).isEqualTo(97),
+                () -> assertThat(tracker.getPercentileNanos()).isEqualTo(94)
+        );
+    }
+
+    @Test
+    void getPercentileNanosWhenRingBufferIsOverwrittenTest() {
+        LatencyPercentileTracker tracker = new LatencyPercentileTracker(PERCENTILE);
+
+        LongStream.range(0, 1024).forEach(i -> tracker.record(1_000_000));
+        LongStream.range(0, 1024).forEach(i -> tracker.record(1_000));
+
+        assertThat(tracker.getPercentileNanos()).isEqualTo(1_000);
+    }
+
+    @Test
+    void constructorWhenPercentileIsInvalidTest() {
+        assertAll(
+                () -> assertThatThrownBy(() -> new LatencyPercentileTracker(0))
+                        .isInstanceOf(IllegalArgumentException.class),
+                () -> assertThatThrownBy(() -> new LatencyPercentileTracker(1))
+                        .isInstanceOf(IllegalArgumentException.class)
+        );
+    }
+}
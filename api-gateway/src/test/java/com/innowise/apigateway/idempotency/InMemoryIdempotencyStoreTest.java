@@ -0,0 +1,106 @@
+package com.innowise.apigateway.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class InMemoryIdempotencyStoreTest {
+    private final InMemoryIdempotencyStore idempotencyStore = new InMemoryIdempotencyStore(MAX_ENTRIES);
+
+    private static final long MAX_ENTRIES = 100;
+    private static final String KEY = "order-service:1:key";
+    private static final String FINGERPRINT = "fingerprint";
+    private static final String OWNER = "owner";
+    private static final String OTHER_OWNER = "other-owner";
+    private static final Duration LOCK_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration TTL = Duration.ofHours(24);
+    private static final IdempotencyRecord.StoredResponse STORED_RESPONSE =
+            new IdempotencyRecord.StoredResponse(201, "application/json", "/api/v1/orders/1", new byte[0]);
+
+    @Test
+    void reserveWhenKeyIsFreeTest() {
+        assertAll(
+                () -> assertThat(idempotencyStore.reserve(KEY, FINGERPRINT, OWNER, LOCK_TIMEOUT).block()).isTrue(),
+                () -> assertThat(idempotencyStore.get(KEY).block())
+                        .isEqualTo(new IdempotencyRecord(FINGERPRINT, OWNER, null))
+        );
+    }
+
+    @Test
+    void reserveWhenKeyIsReservedTest() {
+        idempotencyStore.reserve(KEY, FINGERPRINT, OWNER, LOCK_TIMEOUT).block();
+
+        assertAll(
+                () -> assertThat(idempotencyStore.reserve(KEY, FINGERPRINT, OTHER_OWNER, LOCK_TIMEOUT).block())
+                        .isFalse(),
+                () -> assertThat(idempotencyStore.get(KEY).block().owner()).isEqualTo(OWNER)
+        );
+    }
+
+    @Test
+    void completeWhenOwnerHoldsReservationTest() {
+        idempotencyStore.reserve(KEY, FINGERPRINT, OWNER, LOCK_TIMEOUT).block();
+
+        idempotencyStore.complete(KEY, completedRecord(OWNER), TTL).block();
+
+        assertThat(idempotencyStore.get(KEY).block().isCompleted()).isTrue();
+    }
+
+    @Test
+    void completeWhenOtherOwnerHoldsReservationTest() {
+        idempotencyStore.reserve(KEY, FINGERPRINT, OTHER_OWNER, LOCK_TIMEOUT).block();
+
+        idempotencyStore.complete(KEY, completedRecord(OWNER), TTL).block();
+
+        assertAll(
+                () -> assertThat(idempotencyStore.get(KEY).block().isCompleted()).isFalse(),
+                () -> assertThat(idempotencyStore.get(KEY).block().owner()).isEqualTo(OTHER_OWNER)
+        );
+    }
+
+    @Test
+    void completeWhenReservationHasExpiredTest() {
+        idempotencyStore.complete(KEY, completedRecord(OWNER), TTL).block();
+
+        assertThat(idempotencyStore.get(KEY).block()).isNull();
+    }
+
+    @Test
+    void releaseWhenOwnerHoldsReservationTest() {
+        idempotencyStore.reserve(KEY, FINGERPRINT, OWNER, LOCK_TIMEOUT).block();
+
+        idempotencyStore.release(KEY, OWNER).block();
+
+        assertAll(
+                () -> assertThat(idempotencyStore.get(KEY).block()).isNull(),
+                () -> assertThat(idempotencyStore.reserve(KEY, FINGERPRINT, OTHER_OWNER, LOCK_TIMEOUT).block())
+                        .isTrue()
+        );
+    }
+
+    @Test
+    void releaseWhenOtherOwnerHoldsReservationTest() {
+        idempotencyStore.reserve(KEY, FINGERPRINT, OTHER_OWNER, LOCK_TIMEOUT).block();
+
+        idempotencyStore.release(KEY, OWNER).block();
+
+        assertThat(idempotencyStore.get(KEY).block().owner()).isEqualTo(OTHER_OWNER);
+    }
+
+    @Test
+    void releaseWhenReservationIsCompletedTest() {
+        idempotencyStore.reserve(KEY, FINGERPRINT, OWNER, LOCK_TIMEOUT).block();
+        idempotencyStore.complete(KEY, completedRecord(OWNER), TTL).block();
+
+        idempotencyStore.release(KEY, OWNER).block();
+
+        assertThat(idempotencyStore.get(KEY).block().isCompleted()).isTrue();
+    }
+
+    private static IdempotencyRecord completedRecord(String owner) {
+        return new IdempotencyRecord(FINGERPRINT, owner, STORED_RESPONSE);
+    }
+}
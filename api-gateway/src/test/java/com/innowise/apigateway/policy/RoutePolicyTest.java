@@ -0,0 +1,154 @@
+package com.innowise.apigateway.policy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class RoutePolicyTest {
+    private static final String ADMIN = "ADMIN";
+    private static final String USER = "USER";
+    private static final String SERVICE = "SERVICE";
+    private static final String USERS_PATH = "/api/v1/users";
+    private static final String ORDERS_PATH = "/api/v1/orders";
+    private static final String STATUSES_PARAM = "statuses";
+    private static final MultiValueMap<String, String> NO_PARAMS = new LinkedMultiValueMap<>();
+
+    @Test
+    void findRuleWhenExactAndSubtreeRulesMatchTest() {
+        RoutePolicy policy = RoutePolicy.compile(List.of(), List.of(
+                buildRule(USERS_PATH + "/**", List.of(), null, SERVICE),
+                buildRule(USERS_PATH, List.of(), null, ADMIN)
+        ));
+
+        assertAll(
+                () -> assertThat(policy.findRule(USERS_PATH, HttpMethod.GET, NO_PARAMS).allows(ADMIN)).isTrue(),
+                () -> assertThat(policy.findRule(USERS_PATH + "/1", HttpMethod.GET, NO_PARAMS).allows(SERVICE))
+                        .isTrue(),
+                () -> assertThat(policy.findRule(USERS_PATH + "/1/cards", HttpMethod.GET, NO_PARAMS).allows(SERVICE))
+                        .isTrue()
+        );
+    }
+
+    @Test
+    void findRuleWhenSubtreeRulesAreNestedTest() {
+        RoutePolicy policy = RoutePolicy.compile(List.of(), List.of(
+                buildRule("/api/**", List.of(), null, USER),
+                buildRule(USERS_PATH + "/**", List.of(), null, ADMIN)
+        ));
+
+        assertAll(
+                () -> assertThat(policy.findRule(USERS_PATH + "/1", HttpMethod.GET, NO_PARAMS).allows(ADMIN)).isTrue(),
+                () -> assertThat(policy.findRule(ORDERS_PATH + "/1", HttpMethod.GET, NO_PARAMS).allows(USER)).isTrue()
+        );
+    }
+
+    @Test
+    void findRuleWhenLiteralAndWildcardSegmentsMatchTest() {
+        RoutePolicy policy = RoutePolicy.compile(List.of(), List.of(
+                buildRule(USERS_PATH + "/*/cards", List.of(), null, USER),
+                buildRule(USERS_PATH + "/me/cards", List.of(), null, ADMIN)
+        ));
+
+        assertAll(
+                () -> assertThat(policy.findRule(USERS_PATH + "/me/cards", HttpMethod.GET, NO_PARAMS).allows(ADMIN))
+                        .isTrue(),
+                () -> assertThat(policy.findRule(USERS_PATH + "/1/cards", HttpMethod.GET, NO_PARAMS).allows(USER))
+                        .isTrue(),
+                () -> assertThat(policy.findRule(USERS_PATH + "/1/orders", HttpMethod.GET, NO_PARAMS)).isNull()
+        );
+    }
+
+    @Test
+    void findRuleWhenRuleHasQueryParamTest() {
+        RoutePolicy policy = RoutePolicy.compile(List.of(), List.of(
+                buildRule(ORDERS_PATH, List.of(), null, USER),
+                buildRule(ORDERS_PATH, List.of(HttpMethod.GET.name()), STATUSES_PARAM, ADMIN)
+        ));
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add(STATUSES_PARAM, "NEW");
+
+        assertAll(
+                () -> assertThat(policy.findRule(ORDERS_PATH, HttpMethod.GET, params).allows(ADMIN)).isTrue(),
+                () -> assertThat(policy.findRule(ORDERS_PATH, HttpMethod.GET, NO_PARAMS).allows(USER)).isTrue(),
+                () -> assertThat(policy.findRule(ORDERS_PATH, HttpMethod.POST, params).allows(USER)).isTrue()
+        );
+    }
+
+    @Test
+    void findRuleWhenMethodDoesNotMatchTest() {
+        RoutePolicy policy = RoutePolicy.compile(List.of(), List.of(
+                buildRule(USERS_PATH, List.of(HttpMethod.DELETE.name()), null, ADMIN)
+        ));
+
+        assertAll(
+                () -> assertThat(policy.findRule(USERS_PATH, HttpMethod.DELETE, NO_PARAMS).allows(ADMIN)).isTrue(),
+                () -> assertThat(policy.findRule(USERS_PATH, HttpMethod.GET, NO_PARAMS)).isNull()
+        );
+    }
+
+    @Test
+    void findRuleWhenPathHasExtraSlashesTest() {
+        RoutePolicy policy = RoutePolicy.compile(List.of(), List.of(
+                buildRule(USERS_PATH, List.of(), null, ADMIN)
+        ));
+
+        assertThat(policy.findRule("//api/v1//users/", HttpMethod.GET, NO_PARAMS).allows(ADMIN)).isTrue();
+    }
+
+    @Test
+    void allowsWhenRoleIsNotInRuleTest() {
+        RoutePolicy policy = RoutePolicy.compile(List.of(), List.of(
+                buildRule(USERS_PATH, List.of(), null, ADMIN)
+        ));
+        RoutePolicy.CompiledRule rule = policy.findRule(USERS_PATH, HttpMethod.GET, NO_PARAMS);
+
+        assertAll(
+                () -> assertThat(rule.allows(USER)).isFalse(),
+                () -> assertThat(rule.allows(null)).isFalse()
+        );
+    }
+
+    @Test
+    void isPublicWhenPathIsUnderPublicPathTest() {
+        RoutePolicy policy = RoutePolicy.compile(List.of("/api/v1/auth/login", "/actuator"), List.of());
+
+        assertAll(
+                () -> assertThat(policy.isPublic("/api/v1/auth/login")).isTrue(),
+                () -> assertThat(policy.isPublic("/actuator/health/liveness")).isTrue(),
+                () -> assertThat(policy.isPublic("/api/v1/auth")).isFalse(),
+                () -> assertThat(policy.isPublic("/api/v1/auth/logout")).isFalse(),
+                () -> assertThat(policy.isPublic("/actuators")).isFalse()
+        );
+    }
+
+    @Test
+    void compileWhenRuleIsInvalidTest() {
+        assertAll(
+                () -> assertThatThrownBy(() -> RoutePolicy.compile(List.of(), List.of(
+                        buildRule(null, List.of(), null, ADMIN))))
+                        .isInstanceOf(IllegalArgumentException.class),
+                () -> assertThatThrownBy(() -> RoutePolicy.compile(List.of(), List.of(
+                        buildRule(USERS_PATH, List.of(), null))))
+                        .isInstanceOf(IllegalArgumentException.class),
+                () -> assertThatThrownBy(() -> RoutePolicy.compile(List.of(), List.of(
+                        buildRule("/api/**/users", List.of(), null, ADMIN))))
+                        .isInstanceOf(IllegalArgumentException.class)
+        );
+    }
+
+    private static PolicyRule buildRule(String path, List<String> methods, String queryParam, String... roles) {
+        PolicyRule rule = new PolicyRule();
+        rule.setPath(path);
+        rule.setMethods(methods);
+        rule.setQueryParam(queryParam);
+        rule.setRoles(List.of(roles));
+        return rule;
+    }
+}
@@ -0,0 +1,64 @@
+package com.innowise.apigateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class InMemoryTokenBucketStoreTest {
+    private final InMemoryTokenBucketStore tokenBucketStore =
+            new InMemoryTokenBucketStore(Duration.ofMinutes(1), MAX_BUCKETS);
+
+    private static final long MAX_BUCKETS = 100;
+    private static final int BURST_CAPACITY = 5;
+    private static final int REPLENISH_RATE = 1;
+    private static final int FAST_REPLENISH_RATE = 100;
+    private static final String KEY = "orders:1";
+    private static final String OTHER_KEY = "orders:2";
+
+    @Test
+    void tryConsumeWhenBucketIsFullTest() {
+        assertThat(IntStream.range(0, BURST_CAPACITY).mapToObj(i -> tryConsume(KEY)))
+                .containsOnly(Duration.ZERO);
+    }
+
+    @Test
+    void tryConsumeWhenBucketIsEmptyTest() {
+        IntStream.range(0, BURST_CAPACITY).forEach(i -> tryConsume(KEY));
+
+        Duration wait = tryConsume(KEY);
+
+        assertThat(wait).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void tryConsumeWhenOtherBucketIsEmptyTest() {
+        IntStream.range(0, BURST_CAPACITY).forEach(i -> tryConsume(KEY));
+
+        assertAll(
+                () -> assertThat(tryConsume(KEY)).isPositive(),
+                () -> assertThat(tryConsume(OTHER_KEY)).isZero()
+        );
+    }
+
+    @Test
+    void tryConsumeWhenTokenIsReplenishedTest() throws InterruptedException {
+        IntStream.range(0, BURST_CAPACITY).forEach(i -> tryConsume(KEY, FAST_REPLENISH_RATE));
+        Duration wait = tryConsume(KEY, FAST_REPLENISH_RATE);
+
+        Thread.sleep(wait.toMillis() + 1);
+
+        assertThat(tryConsume(KEY, FAST_REPLENISH_RATE)).isZero();
+    }
+
+    private Duration tryConsume(String key) {
+        return tryConsume(key, REPLENISH_RATE);
+    }
+
+    private Duration tryConsume(String key, int replenishRate) {
+        return tokenBucketStore.tryConsume(key, BURST_CAPACITY, replenishRate).block();
+    }
+}
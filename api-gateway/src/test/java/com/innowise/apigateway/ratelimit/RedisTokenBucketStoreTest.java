@@ -0,0 +1,64 @@
+package com.innowise.apigateway.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class RedisTokenBucketStoreTest {
+    private final ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+    private final RedisTokenBucketStore tokenBucketStore = new RedisTokenBucketStore(redisTemplate);
+
+    private static final String KEY = "orders:1";
+    private static final int BURST_CAPACITY = 5;
+    private static final int REPLENISH_RATE = 10;
+    private static final List<String> SCRIPT_KEYS = List.of("rate-limit:" + KEY);
+    private static final List<String> SCRIPT_ARGS = List.of("100000", "500000");
+
+    @Test
+    void tryConsumeWhenRequestIsAllowedTest() {
+        when(redisTemplate.<Long>execute(any(), eq(SCRIPT_KEYS), eq(SCRIPT_ARGS))).thenReturn(Flux.just(0L));
+
+        assertThat(tokenBucketStore.tryConsume(KEY, BURST_CAPACITY, REPLENISH_RATE).block()).isZero();
+
+        verify(redisTemplate, times(1)).execute(any(), eq(SCRIPT_KEYS), eq(SCRIPT_ARGS));
+    }
+
+    @Test
+    void tryConsumeWhenRequestIsDeniedTest() {
+        when(redisTemplate.<Long>execute(any(), eq(SCRIPT_KEYS), eq(SCRIPT_ARGS))).thenReturn(Flux.just(250_000L));
+
+        assertThat(tokenBucketStore.tryConsume(KEY, BURST_CAPACITY, REPLENISH_RATE).block())
+                .isEqualTo(Duration.ofMillis(250));
+
+        verify(redisTemplate, times(1)).execute(any(), eq(SCRIPT_KEYS), eq(SCRIPT_ARGS));
+    }
+
+    @Test
+    void tryConsumeWhenRedisIsUnavailableTest() {
+        when(redisTemplate.<Long>execute(any(), eq(SCRIPT_KEYS), eq(SCRIPT_ARGS)))
+                .thenReturn(Flux.error(new RedisConnectionFailureException("Connection refused")));
+
+        assertThat(tokenBucketStore.tryConsume(KEY, BURST_CAPACITY, REPLENISH_RATE).block()).isZero();
+
+        verify(redisTemplate, times(1)).execute(any(), eq(SCRIPT_KEYS), eq(SCRIPT_ARGS));
+    }
+
+    @AfterEach
+    void tearDown() {
+        verifyNoMoreInteractions(redisTemplate);
+    }
+}
@@ -3,7 +3,11 @@ package com.innowise.authservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableKafka
+@EnableScheduling
 @EnableFeignClients
 @SpringBootApplication
 public class AuthServiceApplication {
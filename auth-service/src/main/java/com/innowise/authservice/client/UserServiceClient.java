@@ -1,12 +1,19 @@
 package com.innowise.authservice.client;
 
 import com.innowise.authservice.config.ServiceFeignConfig;
+import com.innowise.authservice.model.dto.BatchUserRequestDto;
+import com.innowise.authservice.model.dto.BatchUserResultDto;
 import com.innowise.authservice.model.dto.RegisterRequestDto;
 import com.innowise.authservice.model.dto.RegisterDto;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.List;
+import java.util.UUID;
+
 @FeignClient(
         name = "user-service",
         configuration = ServiceFeignConfig.class
@@ -14,4 +21,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 public interface UserServiceClient {
     @PostMapping("/users")
     RegisterDto createUser(@RequestBody RegisterRequestDto requestDto);
+
+    @PostMapping("/users/batch")
+    List<BatchUserResultDto> createUsers(@RequestBody BatchUserRequestDto requestDto);
+
+    @DeleteMapping("/users/registrations/{registrationId}")
+    void deleteRegisteredUser(@PathVariable("registrationId") UUID registrationId);
 }
\ No newline at end of file
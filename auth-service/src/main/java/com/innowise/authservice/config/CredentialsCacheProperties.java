@@ -0,0 +1,24 @@
+package com.innowise.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the local credentials cache.
+ * <pre>{@code
+ * auth:
+ *   credentials-cache:
+ *     max-size: 100000
+ *     expire-after-write: 10m
+ * }</pre>
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "auth.credentials-cache")
+public class CredentialsCacheProperties {
+    private long maxSize = 100_000;
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+}
@@ -0,0 +1,35 @@
+package com.innowise.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties of the bulk user import.
+ * <pre>{@code
+ * auth:
+ *   imports:
+ *     max-rows: 100000
+ *     chunk-size: 500
+ *     hashing-threads: 0
+ *     concurrent-jobs: 1
+ *     queued-jobs: 2
+ * }</pre>
+ * Zero hashing threads means half of the available cores, so an import can't take all of them.
+ * Logins hash on their own bounded pool ({@code auth.password-hashing.*}) and compete with the import for the rest.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "auth.imports")
+public class ImportProperties {
+    private int maxRows = 100_000;
+
+    /** Rows sent to user-service in one batch, at most 1000. */
+    private int chunkSize = 500;
+
+    private int hashingThreads = 0;
+    private int concurrentJobs = 1;
+
+    /** Jobs waiting for a free slot. Each of them holds its parsed rows in memory, so further imports are rejected. */
+    private int queuedJobs = 2;
+}
@@ -0,0 +1,58 @@
+package com.innowise.authservice.config;
+
+import com.innowise.securitystarter.config.JwtProperties;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+@Configuration
+@RequiredArgsConstructor
+public class KafkaConfig {
+    private final JwtProperties jwtProperties;
+
+    @Value("${registrations.events.topic}")
+    private String registrationsEventsTopic;
+
+    @Value("${kafka.topic.properties.partitions}")
+    private Integer partitions;
+
+    @Value("${kafka.topic.properties.replication-factor}")
+    private Integer replicationFactor;
+
+    @Bean
+    KafkaTemplate<String, Object> kafkaTemplate(
+            @Autowired(required = false) ProducerFactory<String, Object> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    /**
+     * Revocation events are kept as long as the longest-living token, so services can rebuild
+     * their deny-lists by reading the topic from the beginning.
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "createRevocationEventsTopic")
+    NewTopic createRevocationEventsTopic() {
+        return TopicBuilder.name(jwtProperties.getRevocation().getTopic())
+                .partitions(partitions)
+                .replicas(replicationFactor)
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(jwtProperties.getRefreshTokenExpiration()))
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "createRegistrationsEventsTopic")
+    NewTopic createRegistrationsEventsTopic() {
+        return TopicBuilder.name(registrationsEventsTopic)
+                .partitions(partitions)
+                .replicas(replicationFactor)
+                .build();
+    }
+}
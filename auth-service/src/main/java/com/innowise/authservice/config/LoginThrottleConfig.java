@@ -0,0 +1,30 @@
+package com.innowise.authservice.config;
+
+import com.innowise.authservice.throttle.InMemoryLoginFailureStore;
+import com.innowise.authservice.throttle.LoginFailureStore;
+import com.innowise.authservice.throttle.RedisLoginFailureStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Selects the failure store of the login throttle.
+ * In-memory counters are used by default. With several auth-service replicas an attacker could spread attempts
+ * over them, so {@code auth.login-throttle.redis.enabled} switches to counters shared through Redis.
+ */
+@Configuration
+public class LoginThrottleConfig {
+    @Bean
+    @ConditionalOnProperty(prefix = "auth.login-throttle.redis", name = "enabled", havingValue = "true")
+    public LoginFailureStore redisLoginFailureStore(StringRedisTemplate redisTemplate) {
+        return new RedisLoginFailureStore(redisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "auth.login-throttle.redis", name = "enabled", havingValue = "false",
+            matchIfMissing = true)
+    public LoginFailureStore inMemoryLoginFailureStore(LoginThrottleProperties properties) {
+        return new InMemoryLoginFailureStore(properties.getMaxEntries());
+    }
+}
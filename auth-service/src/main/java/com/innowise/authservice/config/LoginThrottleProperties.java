@@ -0,0 +1,30 @@
+package com.innowise.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the failed login throttle.
+ * <pre>{@code
+ * auth:
+ *   login-throttle:
+ *     window: 15m
+ *     max-failures-per-phone: 5
+ *     max-failures-per-ip: 50
+ *     max-entries: 100000
+ *     redis:
+ *       enabled: false
+ * }</pre>
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "auth.login-throttle")
+public class LoginThrottleProperties {
+    private Duration window = Duration.ofMinutes(15);
+    private int maxFailuresPerPhone = 5;
+    private int maxFailuresPerIp = 50;
+    private long maxEntries = 100_000;
+}
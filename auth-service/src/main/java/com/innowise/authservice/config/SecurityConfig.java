@@ -1,28 +1,53 @@
 package com.innowise.authservice.config;
 
+import com.innowise.authservice.security.BoundedPasswordEncoder;
+import com.innowise.securitystarter.jwt.IdentityHeaderCodec;
+import com.innowise.securitystarter.jwt.JwtAuthenticationWebMvcFilter;
+import com.innowise.securitystarter.jwt.JwtProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
+@EnableMethodSecurity
+@RequiredArgsConstructor
 public class SecurityConfig {
+    private final JwtProvider jwtProvider;
+    private final IdentityHeaderCodec identityHeaderCodec;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
-                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+                .addFilterBefore(new JwtAuthenticationWebMvcFilter(jwtProvider, identityHeaderCodec), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
+    /**
+     * BCrypt encoder running on its own bounded pool, sized to the available cores unless configured.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password-hashing.threads:0}") int threads,
+                                           @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(),
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                queueCapacity,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
     }
-}
\ No newline at end of file
+}
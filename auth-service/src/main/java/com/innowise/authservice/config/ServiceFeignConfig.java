@@ -1,7 +1,7 @@
 package com.innowise.authservice.config;
 
-import com.innowise.authservice.model.entity.enums.Role;
-import com.innowise.securitystarter.jwt.JwtProvider;
+import com.innowise.securitystarter.jwt.ServiceTokenSupplier;
+import com.innowise.securitystarter.util.SecurityConstant;
 import feign.RequestInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -10,13 +10,12 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 public class ServiceFeignConfig {
-    private final JwtProvider jwtProvider;
+    private final ServiceTokenSupplier serviceTokenSupplier;
 
     @Bean
     public RequestInterceptor serviceRequestInterceptor() {
-        return requestTemplate -> {
-            String serviceToken = jwtProvider.generateAccessToken(null, 0L, Role.SERVICE.name());
-            requestTemplate.header("Authorization", "Bearer %s".formatted(serviceToken));
-        };
+        return requestTemplate -> requestTemplate.header(
+                SecurityConstant.AUTH_HEADER, serviceTokenSupplier.getAuthorizationHeader()
+        );
     }
 }
\ No newline at end of file
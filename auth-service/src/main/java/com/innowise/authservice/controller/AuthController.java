@@ -1,31 +1,72 @@
 package com.innowise.authservice.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.innowise.authservice.exception.ImportJobNotFoundException;
+import com.innowise.authservice.exception.ImportQueueFullException;
+import com.innowise.authservice.exception.InvalidImportFileException;
+import com.innowise.authservice.exception.LoginThrottledException;
 import com.innowise.authservice.exception.PhoneNumberAlreadyExistsException;
+import com.innowise.authservice.exception.RegistrationNotFoundException;
 import com.innowise.authservice.model.dto.AuthResponseDto;
+import com.innowise.authservice.model.dto.BatchTokenRequestDto;
+import com.innowise.authservice.model.dto.ImportJobResponseDto;
 import com.innowise.authservice.model.dto.LoginRequestDto;
 import com.innowise.authservice.model.dto.RegisterRequestDto;
+import com.innowise.authservice.model.dto.RegistrationResponseDto;
 import com.innowise.authservice.model.dto.TokenRequestDto;
 import com.innowise.authservice.model.dto.TokenResponseDto;
 import com.innowise.authservice.service.AuthService;
+import com.innowise.authservice.service.ImportService;
+import com.innowise.authservice.service.RegistrationService;
+import com.innowise.authservice.service.TokenRevocationService;
+import com.innowise.authservice.service.imports.ImportFormat;
+import com.innowise.securitystarter.util.SecurityConstant;
+import com.innowise.securitystarter.web.ClientIpResolver;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * REST controller for authentication and authorization operations.
- * Provides endpoints for user registration, login, token validation and refresh.
+ * Provides endpoints for user registration (synchronous, asynchronous and bulk import), login, logout,
+ * token validation (single and batch), refresh and revocation.
  *
  * @see AuthService
+ * @see TokenRevocationService
+ * @see RegistrationService
+ * @see ImportService
  * @see RegisterRequestDto
  * @see LoginRequestDto
  * @see AuthResponseDto
  * @see TokenRequestDto
+ * @see BatchTokenRequestDto
  * @see TokenResponseDto
  */
 @RestController
@@ -33,6 +74,18 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class AuthController {
     private final AuthService authService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RegistrationService registrationService;
+    private final ImportService importService;
+    private final ObjectMapper objectMapper;
+    private final ClientIpResolver clientIpResolver;
+
+    @Value("${auth.validate-stream.timeout-ms:600000}")
+    private long validateStreamTimeoutMs;
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final int STREAM_CHUNK_SIZE = 256;
+    private static final int NDJSON_SEPARATOR = '\n';
 
     /**
      * Registers a new user in the system. Creates user profile and authentication credentials.
@@ -48,20 +101,101 @@ public class AuthController {
         return ResponseEntity.status(HttpStatus.CREATED).body(authResponseDto);
     }
 
+    /**
+     * Starts asynchronous registration. Credentials are saved at once, the user profile is created
+     * by user-service later; the client polls the registration and logs in when it is completed.
+     *
+     * @param registerRequestDto the user data to create and register
+     * @return the registration identifier with PENDING status
+     * @throws PhoneNumberAlreadyExistsException if phone number is already registered
+     */
+    @PostMapping("/registrations")
+    public ResponseEntity<RegistrationResponseDto> startRegistration(
+            @RequestBody @Valid RegisterRequestDto registerRequestDto) {
+        RegistrationResponseDto registrationResponseDto = registrationService.startRegistration(registerRequestDto);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(registrationResponseDto);
+    }
+
+    /**
+     * Retrieves the state of asynchronous registration.
+     *
+     * @param registrationId the registration identifier
+     * @return the registration status
+     * @throws RegistrationNotFoundException if there is no such registration
+     */
+    @GetMapping("/registrations/{registrationId}")
+    public ResponseEntity<RegistrationResponseDto> getRegistration(@PathVariable UUID registrationId) {
+        RegistrationResponseDto registrationResponseDto = registrationService.getRegistration(registrationId);
+
+        return ResponseEntity.ok(registrationResponseDto);
+    }
+
+    /**
+     * Starts bulk user import from a CSV file with a header row or from NDJSON. Accessible only to ADMIN.
+     * The file is read at once, the users are imported in the background.
+     *
+     * @param body the import file
+     * @param contentType the format of the file, text/csv or application/x-ndjson
+     * @return the import job identifier with PENDING status
+     * @throws InvalidImportFileException if the file can't be parsed, is empty or has too many rows
+     * @throws ImportQueueFullException if too many imports are already running and queued
+     * @throws AccessDeniedException if user does not have ADMIN role
+     */
+    @PostMapping(value = "/imports", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportJobResponseDto> startImport(InputStream body,
+                                                            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType) {
+        ImportFormat format = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? ImportFormat.NDJSON
+                : ImportFormat.CSV;
+        ImportJobResponseDto importJobResponseDto = importService.startImport(body, format);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobResponseDto);
+    }
+
+    /**
+     * Retrieves the progress of the bulk user import with the rows failed so far. Accessible only to ADMIN.
+     *
+     * @param jobId the import job identifier
+     * @return the import job progress
+     * @throws ImportJobNotFoundException if there is no such job
+     * @throws AccessDeniedException if user does not have ADMIN role
+     */
+    @GetMapping("/imports/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportJobResponseDto> getImportJob(@PathVariable UUID jobId) {
+        ImportJobResponseDto importJobResponseDto = importService.getImportJob(jobId);
+
+        return ResponseEntity.ok(importJobResponseDto);
+    }
+
     /**
      * Authenticates user with credentials. Verifies phone number and password.
      *
      * @param loginRequestDto login credentials
+     * @param request the HTTP request to take the client IP from
      * @return generated JWT tokens
      * @throws BadCredentialsException if authentication fails
+     * @throws LoginThrottledException if there were too many failed attempts
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDto> login(@RequestBody @Valid LoginRequestDto loginRequestDto) {
-        AuthResponseDto authResponseDto = authService.authenticateUser(loginRequestDto);
+    public ResponseEntity<AuthResponseDto> login(@RequestBody @Valid LoginRequestDto loginRequestDto,
+                                                 HttpServletRequest request) {
+        AuthResponseDto authResponseDto = authService.authenticateUser(loginRequestDto, clientIp(request));
 
         return ResponseEntity.ok(authResponseDto);
     }
 
+    /**
+     * The service is reached through api-gateway and possibly other proxies, so the client is the right-most
+     * X-Forwarded-For entry which is not a trusted proxy, the same address the gateway rate limits by.
+     */
+    private String clientIp(HttpServletRequest request) {
+        return clientIpResolver.resolve(Collections.list(request.getHeaders(ClientIpResolver.FORWARDED_FOR_HEADER)),
+                request.getRemoteAddr());
+    }
+
     /**
      * Validates JWT token and returns its status and claims.
      *
@@ -75,6 +209,71 @@ public class AuthController {
         return ResponseEntity.ok(tokenResponseDto);
     }
 
+    /**
+     * Validates a batch of JWT tokens. Accessible only to ADMIN and SERVICE.
+     *
+     * @param batchTokenRequestDto JWT tokens to validate, at most {@link BatchTokenRequestDto#MAX_BATCH_SIZE}
+     * @return token validation results in the order of the tokens
+     * @throws AccessDeniedException if user does not have ADMIN or SERVICE role
+     */
+    @PostMapping(value = "/validate/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'SERVICE')")
+    public ResponseEntity<List<TokenResponseDto>> validateBatch(
+            @RequestBody @Valid BatchTokenRequestDto batchTokenRequestDto) {
+        List<TokenResponseDto> tokenResponseDtos = authService.validateTokens(batchTokenRequestDto.getTokens());
+
+        return ResponseEntity.ok(tokenResponseDtos);
+    }
+
+    /**
+     * Validates a stream of JWT tokens of any size. Accessible only to ADMIN and SERVICE.
+     * The request body is NDJSON with one JSON string token per line; results are written as NDJSON in the order
+     * of the tokens while the request is still being read, so neither side is held in memory.
+     * The stream has its own async timeout ({@code auth.validate-stream.timeout-ms}), other async requests keep
+     * the default one.
+     *
+     * @param request the current request
+     * @param tokens the request body
+     * @return streamed token validation results
+     * @throws AccessDeniedException if user does not have ADMIN or SERVICE role
+     */
+    @PostMapping(value = "/validate/batch",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'SERVICE')")
+    public ResponseEntity<StreamingResponseBody> validateBatchStream(HttpServletRequest request, InputStream tokens) {
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(validateStreamTimeoutMs);
+
+        StreamingResponseBody responseBody = outputStream -> {
+            ObjectWriter resultWriter = objectMapper.writerFor(TokenResponseDto.class);
+            List<String> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+
+            try (MappingIterator<String> tokenIterator = objectMapper.readerFor(String.class).readValues(tokens)) {
+                while (tokenIterator.hasNextValue()) {
+                    chunk.add(tokenIterator.nextValue());
+                    if (chunk.size() == STREAM_CHUNK_SIZE) {
+                        writeResults(chunk, resultWriter, outputStream);
+                    }
+                }
+            }
+            writeResults(chunk, resultWriter, outputStream);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(responseBody);
+    }
+
+    private void writeResults(List<String> chunk, ObjectWriter resultWriter,
+                              OutputStream outputStream) throws IOException {
+        for (TokenResponseDto result : authService.validateTokens(chunk)) {
+            outputStream.write(resultWriter.writeValueAsBytes(result));
+            outputStream.write(NDJSON_SEPARATOR);
+        }
+        outputStream.flush();
+        chunk.clear();
+    }
+
     /**
      * Refreshes authentication tokens using valid refresh token.
      *
@@ -88,4 +287,38 @@ public class AuthController {
 
         return ResponseEntity.ok(authResponseDto);
     }
-}
\ No newline at end of file
+
+    /**
+     * Logs the user out by revoking the access token from the request and the given refresh token.
+     *
+     * @param authorizationHeader the "Bearer" header with access token
+     * @param tokenRequestDto refresh token to revoke
+     * @return empty response
+     * @throws BadCredentialsException if any token is invalid or the tokens belong to different users
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(SecurityConstant.AUTH_HEADER) String authorizationHeader,
+                                       @RequestBody @Valid TokenRequestDto tokenRequestDto) {
+        String accessToken = authorizationHeader.startsWith(SecurityConstant.BEARER_PREFIX)
+                ? authorizationHeader.substring(SecurityConstant.BEARER_PREFIX.length()).trim()
+                : authorizationHeader;
+        tokenRevocationService.logout(accessToken, tokenRequestDto);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Revokes all tokens of the user issued up to now. Accessible only to ADMIN.
+     *
+     * @param userId the identifier of the user
+     * @return empty response
+     * @throws AccessDeniedException if user does not have ADMIN role
+     */
+    @PostMapping("/users/{userId}/revoke")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> revokeUserTokens(@PathVariable Long userId) {
+        tokenRevocationService.revokeUserTokens(userId);
+
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,11 +1,19 @@
 package com.innowise.authservice.controller;
 
+import com.innowise.authservice.exception.ImportJobNotFoundException;
+import com.innowise.authservice.exception.ImportQueueFullException;
+import com.innowise.authservice.exception.InvalidImportFileException;
+import com.innowise.authservice.exception.LoginThrottledException;
+import com.innowise.authservice.exception.PasswordHashingRejectedException;
 import com.innowise.authservice.exception.PhoneNumberAlreadyExistsException;
+import com.innowise.authservice.exception.RegistrationNotFoundException;
 import com.innowise.authservice.model.dto.ErrorResponseDto;
 import feign.FeignException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -20,9 +28,15 @@ import java.util.List;
  *
  * @see ErrorResponseDto
  * @see PhoneNumberAlreadyExistsException
+ * @see RegistrationNotFoundException
+ * @see PasswordHashingRejectedException
+ * @see LoginThrottledException
+ * @see ImportQueueFullException
  */
 @RestControllerAdvice
 public class GlobalControllerAdvice {
+    private static final String IMPORT_RETRY_AFTER_SECONDS = "60";
+
     @ExceptionHandler(FeignException.class)
     public ResponseEntity<String> handleFeignException(FeignException e) {
         return ResponseEntity.status(e.status())
@@ -40,6 +54,72 @@ public class GlobalControllerAdvice {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    @ExceptionHandler(RegistrationNotFoundException.class)
+    public ResponseEntity<ErrorResponseDto> handleRegistrationNotFoundException(RegistrationNotFoundException ex) {
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .status(HttpStatus.NOT_FOUND.value())
+                .errorMessage(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<ErrorResponseDto> handleImportJobNotFoundException(ImportJobNotFoundException ex) {
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .status(HttpStatus.NOT_FOUND.value())
+                .errorMessage(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidImportFileException(InvalidImportFileException ex) {
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .status(HttpStatus.BAD_REQUEST.value())
+                .errorMessage(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<ErrorResponseDto> handlePasswordHashingRejectedException(PasswordHashingRejectedException ex) {
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .errorMessage(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(ImportQueueFullException.class)
+    public ResponseEntity<ErrorResponseDto> handleImportQueueFullException(ImportQueueFullException ex) {
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .errorMessage(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, IMPORT_RETRY_AFTER_SECONDS)
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<ErrorResponseDto> handleLoginThrottledException(LoginThrottledException ex) {
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .errorMessage(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfter().toSeconds()))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorResponseDto> handleBadCredentialsException(BadCredentialsException ex) {
         ErrorResponseDto errorResponse = ErrorResponseDto.builder()
@@ -50,6 +130,16 @@ public class GlobalControllerAdvice {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
     }
 
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponseDto> handleAccessDeniedException(AccessDeniedException ex) {
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .status(HttpStatus.FORBIDDEN.value())
+                .errorMessage(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponseDto> handleValidationException(MethodArgumentNotValidException ex) {
         List<String> errorDetails = ex.getBindingResult()
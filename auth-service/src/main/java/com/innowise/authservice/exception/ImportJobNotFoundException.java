@@ -0,0 +1,13 @@
+package com.innowise.authservice.exception;
+
+import java.io.Serial;
+import java.util.UUID;
+
+public class ImportJobNotFoundException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 4470398125930274163L;
+
+    public ImportJobNotFoundException(UUID jobId) {
+        super("Import job not found with id: " + jobId);
+    }
+}
@@ -0,0 +1,12 @@
+package com.innowise.authservice.exception;
+
+import java.io.Serial;
+
+public class ImportQueueFullException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 7204518836290417153L;
+
+    public ImportQueueFullException() {
+        super("Too many imports are in progress, please retry later");
+    }
+}
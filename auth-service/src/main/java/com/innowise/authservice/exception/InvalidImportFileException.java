@@ -0,0 +1,16 @@
+package com.innowise.authservice.exception;
+
+import java.io.Serial;
+
+public class InvalidImportFileException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = -2819463572048315517L;
+
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+
+    public InvalidImportFileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,19 @@
+package com.innowise.authservice.exception;
+
+import lombok.Getter;
+
+import java.io.Serial;
+import java.time.Duration;
+
+@Getter
+public class LoginThrottledException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = -2318459603741277014L;
+
+    private final Duration retryAfter;
+
+    public LoginThrottledException(Duration retryAfter) {
+        super("Too many failed login attempts, please retry later");
+        this.retryAfter = retryAfter;
+    }
+}
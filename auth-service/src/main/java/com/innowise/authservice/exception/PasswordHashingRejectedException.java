@@ -0,0 +1,12 @@
+package com.innowise.authservice.exception;
+
+import java.io.Serial;
+
+public class PasswordHashingRejectedException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 3958127731086104562L;
+
+    public PasswordHashingRejectedException() {
+        super("Too many authentication requests, please retry later");
+    }
+}
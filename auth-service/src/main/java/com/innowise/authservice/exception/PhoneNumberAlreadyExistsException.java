@@ -7,6 +7,10 @@ public class PhoneNumberAlreadyExistsException extends RuntimeException {
     private static final long serialVersionUID = 7602694045328871787L;
 
     public PhoneNumberAlreadyExistsException(String phoneNumber) {
-        super("Phone number already exists in the database: " + phoneNumber);
+        super(message(phoneNumber));
+    }
+
+    public static String message(String phoneNumber) {
+        return "Phone number already exists in the database: " + phoneNumber;
     }
 }
\ No newline at end of file
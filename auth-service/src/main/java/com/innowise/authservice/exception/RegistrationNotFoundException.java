@@ -0,0 +1,13 @@
+package com.innowise.authservice.exception;
+
+import java.io.Serial;
+import java.util.UUID;
+
+public class RegistrationNotFoundException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = -6020178125370341896L;
+
+    public RegistrationNotFoundException(UUID registrationId) {
+        super("Registration not found with id: " + registrationId);
+    }
+}
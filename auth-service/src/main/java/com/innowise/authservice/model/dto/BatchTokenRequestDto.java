@@ -0,0 +1,28 @@
+package com.innowise.authservice.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for batch token validation request.
+ * Larger batches are sent as a stream of tokens instead (see {@code POST /auth/validate/batch} with NDJSON).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTokenRequestDto {
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    /** JWT tokens to validate, results are returned in the same order. */
+    @NotEmpty(message = "Tokens are required")
+    @Size(max = MAX_BATCH_SIZE, message = "Batch must contain at most " + MAX_BATCH_SIZE + " tokens")
+    private List<@NotBlank(message = "Token is required") String> tokens;
+}
@@ -0,0 +1,21 @@
+package com.innowise.authservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for creating users in bulk.
+ * Transfers user profiles of an import chunk from AuthService to UserService.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUserRequestDto {
+    /** User profiles to create, at most 1000. */
+    private List<UserProfileDto> users;
+}
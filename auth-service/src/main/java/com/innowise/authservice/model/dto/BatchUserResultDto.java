@@ -0,0 +1,25 @@
+package com.innowise.authservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the result of one user of the batch creation.
+ * Transfers created user identifier or the reason of the failure from UserService to AuthService.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUserResultDto {
+    /** Unique user identifier received from UserService, null if the user was not created. */
+    private Long userId;
+
+    /** Email of the requested user. */
+    private String email;
+
+    /** Reason why the user was not created, null for created users. */
+    private String errorMessage;
+}
@@ -0,0 +1,35 @@
+package com.innowise.authservice.model.dto;
+
+import com.innowise.authservice.model.entity.UserCredentials;
+import com.innowise.authservice.model.entity.enums.CredentialsStatus;
+import com.innowise.authservice.model.entity.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable projection of {@link UserCredentials} with the fields needed for login and token refresh.
+ * Read without loading the entity into the persistence context, and cached by {@code CredentialsCache}.
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class CredentialsView {
+    String phoneNumber;
+
+    /** Null while the registration is pending. */
+    Long userId;
+
+    /** BCrypt hashed password. */
+    String password;
+
+    Role role;
+    CredentialsStatus status;
+
+    /** Version of the credentials, incremented on every update. */
+    Long version;
+
+    public boolean isPending() {
+        return status == CredentialsStatus.PENDING;
+    }
+}
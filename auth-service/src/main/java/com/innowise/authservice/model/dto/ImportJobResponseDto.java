@@ -0,0 +1,36 @@
+package com.innowise.authservice.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.innowise.authservice.model.entity.enums.ImportJobStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for bulk user import job response.
+ * Transfers the progress of the import and the rows which failed.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportJobResponseDto {
+    /** Identifier to poll the job with. */
+    private UUID jobId;
+
+    private ImportJobStatus status;
+    private int totalRows;
+    private int importedRows;
+    private int failedRows;
+
+    /** Reason why the whole job failed, null unless the status is FAILED. */
+    private String errorMessage;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+
+    /** Rows which failed so far, ordered by row number. */
+    private List<ImportRowErrorDto> errors;
+}
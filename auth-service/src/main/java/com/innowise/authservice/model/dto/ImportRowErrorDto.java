@@ -0,0 +1,22 @@
+package com.innowise.authservice.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Data Transfer Object for a row of a bulk user import which failed.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportRowErrorDto {
+    /** Number of the row in the imported file, starting from 1 for the first data row. */
+    private int row;
+
+    /** Phone number of the row, null if the row couldn't be read. */
+    private String phoneNumber;
+
+    /** Reason why the row was not imported. */
+    private String message;
+}
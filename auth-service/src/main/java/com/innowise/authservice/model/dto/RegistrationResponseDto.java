@@ -0,0 +1,26 @@
+package com.innowise.authservice.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.innowise.authservice.model.entity.enums.RegistrationStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for asynchronous registration status.
+ * Once the registration is completed, the user logs in with the registered credentials.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RegistrationResponseDto {
+    /** Identifier of the registration to poll its status. */
+    private UUID registrationId;
+
+    /** Current state of the registration. */
+    private RegistrationStatus status;
+
+    /** Reason of the failure, only for failed registrations. */
+    private String errorMessage;
+}
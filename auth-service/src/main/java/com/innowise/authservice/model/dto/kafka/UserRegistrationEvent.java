@@ -0,0 +1,29 @@
+package com.innowise.authservice.model.dto.kafka;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Data transfer object representing a registration event, asking user-service to create the user profile.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRegistrationEvent {
+    /** Identifier of the registration, returned back in the result event. */
+    private UUID registrationId;
+
+    /** Phone number of the registering user. */
+    private String phoneNumber;
+
+    private String name;
+    private String surname;
+    private LocalDate birthDate;
+    private String email;
+}
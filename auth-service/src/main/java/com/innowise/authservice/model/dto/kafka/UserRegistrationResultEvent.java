@@ -0,0 +1,30 @@
+package com.innowise.authservice.model.dto.kafka;
+
+import com.innowise.authservice.model.entity.enums.RegistrationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Data transfer object representing the result of a registration, sent by user-service.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRegistrationResultEvent {
+    /** Identifier of the registration. */
+    private UUID registrationId;
+
+    /** Identifier of the created user, null if the registration failed. */
+    private Long userId;
+
+    /** COMPLETED or FAILED. */
+    private RegistrationStatus status;
+
+    /** Reason of the failure, null if the registration is completed. */
+    private String errorMessage;
+}
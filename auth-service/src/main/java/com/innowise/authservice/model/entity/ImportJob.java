@@ -0,0 +1,69 @@
+package com.innowise.authservice.model.entity;
+
+import com.innowise.authservice.model.entity.enums.ImportJobStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity class which represents a bulk user import job.
+ * <p>
+ * This class maps to the "import_jobs" table in the database.
+ * Holds the progress of the import, while the failed rows are kept in {@link ImportJobError}.
+ * </p>
+ */
+@Entity
+@Table(name = "import_jobs")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJob {
+    /** Primary key, returned to the client to poll the job. */
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    /** State of the job. */
+    @Column(name = "status")
+    @Enumerated(EnumType.STRING)
+    private ImportJobStatus status;
+
+    /** Number of rows in the imported file. */
+    @Column(name = "total_rows")
+    private int totalRows;
+
+    /** Number of rows imported so far. */
+    @Column(name = "imported_rows")
+    private int importedRows;
+
+    /** Number of rows failed so far. */
+    @Column(name = "failed_rows")
+    private int failedRows;
+
+    /** Reason why the whole job failed, null unless the status is FAILED. */
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    /** Timestamp of when the job was created. */
+    @Column(name = "created_at")
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    /** Timestamp of when the job was completed or failed. */
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,51 @@
+package com.innowise.authservice.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Entity class which represents a row of a bulk user import which failed.
+ * <p>
+ * This class maps to the "import_job_errors" table in the database.
+ * </p>
+ */
+@Entity
+@Table(name = "import_job_errors")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobError {
+    /** Unique identifier of the error. Automatically generated by the database. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Identifier of the job the row belongs to. */
+    @Column(name = "job_id")
+    private UUID jobId;
+
+    /** Number of the row in the imported file, starting from 1 for the first data row. */
+    @Column(name = "row_number")
+    private int rowNumber;
+
+    /** Phone number of the row, null if the row couldn't be read. */
+    @Column(name = "phone_number")
+    private String phoneNumber;
+
+    /** Reason why the row was not imported. */
+    @Column(name = "message")
+    private String message;
+}
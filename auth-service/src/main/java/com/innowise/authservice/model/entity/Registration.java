@@ -0,0 +1,71 @@
+package com.innowise.authservice.model.entity;
+
+import com.innowise.authservice.model.entity.enums.RegistrationStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity class which represents an asynchronous user registration.
+ * <p>
+ * This class maps to the "registrations" table in the database, which also serves as the transactional outbox:
+ * a registration is saved together with pending credentials, and the relay publishes its payload to Kafka
+ * afterwards, setting the publication timestamp. While the relay is sending the payload, the registration
+ * is leased to it, so other relay instances skip it without the row staying locked for the send.
+ * </p>
+ */
+@Entity
+@Table(name = "registrations")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Registration {
+    /** Primary key, returned to the client to poll the registration status. */
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    /** Phone number of the registering user, the key of the pending credentials. */
+    @Column(name = "phone_number")
+    private String phoneNumber;
+
+    /** JSON of the registration event to publish. */
+    @Column(name = "payload")
+    private String payload;
+
+    /** State of the registration. */
+    @Column(name = "status")
+    @Enumerated(EnumType.STRING)
+    private RegistrationStatus status;
+
+    /** Reason of the failed registration. */
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    /** Timestamp of when the registration was created. */
+    @Column(name = "created_at")
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    /** Timestamp of when the registration event was published to Kafka, null if not yet. */
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    /** End of the lease of the relay instance sending the registration event, null if it was never sent. */
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+}
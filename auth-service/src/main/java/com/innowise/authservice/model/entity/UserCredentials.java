@@ -1,5 +1,6 @@
 package com.innowise.authservice.model.entity;
 
+import com.innowise.authservice.model.entity.enums.CredentialsStatus;
 import com.innowise.authservice.model.entity.enums.Role;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -8,6 +9,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -40,6 +42,7 @@ public class UserCredentials {
     /**
      * User identifier linking to User entity in separate UserService database.
      * Used for cross-service correlation without foreign key constraints.
+     * Null while the registration is pending.
      */
     @Column(name = "user_id")
     private Long userId;
@@ -53,6 +56,16 @@ public class UserCredentials {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    /** State of the credentials. Automatically defaults to ACTIVE if not specified. */
+    @Column(name = "status")
+    @Enumerated(EnumType.STRING)
+    private CredentialsStatus status;
+
+    /** Optimistic locking version, incremented on every update. */
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     /** Timestamp of when the credentials were created. */
     @Column(name = "created_at")
     @CreationTimestamp
@@ -63,5 +76,12 @@ public class UserCredentials {
         if (role == null) {
             role = Role.USER;
         }
+        if (status == null) {
+            status = CredentialsStatus.ACTIVE;
+        }
+    }
+
+    public boolean isPending() {
+        return status == CredentialsStatus.PENDING;
     }
 }
\ No newline at end of file
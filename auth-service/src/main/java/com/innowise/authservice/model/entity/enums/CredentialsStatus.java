@@ -0,0 +1,9 @@
+package com.innowise.authservice.model.entity.enums;
+
+/**
+ * Enumeration defining states of user credentials.
+ * Credentials of an asynchronous registration stay PENDING until user-service creates the user profile.
+ */
+public enum CredentialsStatus {
+    PENDING, ACTIVE
+}
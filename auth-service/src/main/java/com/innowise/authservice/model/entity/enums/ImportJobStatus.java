@@ -0,0 +1,8 @@
+package com.innowise.authservice.model.entity.enums;
+
+/**
+ * Enumeration defining states of a bulk user import job.
+ */
+public enum ImportJobStatus {
+    PENDING, RUNNING, COMPLETED, FAILED
+}
@@ -0,0 +1,8 @@
+package com.innowise.authservice.model.entity.enums;
+
+/**
+ * Enumeration defining states of an asynchronous registration.
+ */
+public enum RegistrationStatus {
+    PENDING, COMPLETED, FAILED
+}
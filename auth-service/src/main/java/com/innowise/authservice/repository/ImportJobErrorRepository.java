@@ -0,0 +1,11 @@
+package com.innowise.authservice.repository;
+
+import com.innowise.authservice.model.entity.ImportJobError;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ImportJobErrorRepository extends JpaRepository<ImportJobError, Long> {
+    List<ImportJobError> findByJobIdOrderByRowNumber(UUID jobId);
+}
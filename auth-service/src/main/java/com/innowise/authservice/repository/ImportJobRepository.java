@@ -0,0 +1,9 @@
+package com.innowise.authservice.repository;
+
+import com.innowise.authservice.model.entity.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, UUID> {
+}
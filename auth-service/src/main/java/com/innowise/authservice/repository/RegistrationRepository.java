@@ -0,0 +1,52 @@
+package com.innowise.authservice.repository;
+
+import com.innowise.authservice.model.entity.Registration;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RegistrationRepository extends JpaRepository<Registration, UUID> {
+    /**
+     * Locks the oldest unpublished pending registrations which aren't leased to a relay instance.
+     * Rows locked by another relay instance are skipped, so instances publish different batches.
+     */
+    @Query(value = """
+            SELECT * FROM registrations
+            WHERE published_at IS NULL AND status = 'PENDING' AND (locked_until IS NULL OR locked_until < :now)
+            ORDER BY created_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Registration> lockUnpublished(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Locks the oldest pending registrations created before the given time. Rows locked by another
+     * instance are skipped.
+     */
+    @Query(value = """
+            SELECT * FROM registrations
+            WHERE status = 'PENDING' AND created_at < :createdBefore
+            ORDER BY created_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Registration> lockPendingCreatedBefore(@Param("createdBefore") LocalDateTime createdBefore,
+                                                @Param("limit") int limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Registration r WHERE r.id = :id")
+    Optional<Registration> findRegistrationForUpdate(@Param("id") UUID id);
+
+    @Modifying
+    @Query("UPDATE Registration r SET r.publishedAt = :publishedAt WHERE r.id IN :ids")
+    void markPublished(@Param("ids") Collection<UUID> ids, @Param("publishedAt") LocalDateTime publishedAt);
+}
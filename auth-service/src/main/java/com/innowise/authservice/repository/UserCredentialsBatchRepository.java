@@ -0,0 +1,59 @@
+package com.innowise.authservice.repository;
+
+import com.innowise.authservice.model.entity.UserCredentials;
+import com.innowise.authservice.model.entity.enums.CredentialsStatus;
+import com.innowise.authservice.model.entity.enums.Role;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk writes of credentials through JDBC batches, which skip the select that
+ * {@code save} does for every entity with an assigned identifier.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserCredentialsBatchRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO user_credentials (phone_number, user_id, password, role, status)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+
+    /**
+     * Inserts active credentials with the USER role in one JDBC batch.
+     * Credentials whose phone number is already registered are skipped instead of failing the batch.
+     *
+     * @param credentials the credentials to insert, with hashed passwords
+     * @return phone numbers of the inserted credentials
+     */
+    public Set<String> insertSkippingTakenPhoneNumbers(List<UserCredentials> credentials) {
+        if (credentials.isEmpty()) {
+            return Set.of();
+        }
+
+        int[][] updateCounts = jdbcTemplate.batchUpdate(INSERT_SQL, credentials, credentials.size(),
+                (preparedStatement, userCredentials) -> {
+                    preparedStatement.setString(1, userCredentials.getPhoneNumber());
+                    preparedStatement.setLong(2, userCredentials.getUserId());
+                    preparedStatement.setString(3, userCredentials.getPassword());
+                    preparedStatement.setString(4, Role.USER.name());
+                    preparedStatement.setString(5, CredentialsStatus.ACTIVE.name());
+                });
+
+        Set<String> insertedPhoneNumbers = new HashSet<>(credentials.size() * 2);
+        for (int i = 0; i < credentials.size(); i++) {
+            if (updateCounts[0][i] > 0) {
+                insertedPhoneNumbers.add(credentials.get(i).getPhoneNumber());
+            }
+        }
+
+        return insertedPhoneNumbers;
+    }
+}
@@ -1,8 +1,12 @@
 package com.innowise.authservice.repository;
 
+import com.innowise.authservice.model.dto.CredentialsView;
 import com.innowise.authservice.model.entity.UserCredentials;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserCredentialsRepository extends JpaRepository<UserCredentials, String> {
@@ -11,4 +15,23 @@ public interface UserCredentialsRepository extends JpaRepository<UserCredentials
     Optional<UserCredentials> findCredentialsByPhoneNumber(String phoneNumber);
 
     Optional<UserCredentials> findCredentialsByUserId(Long userId);
-}
\ No newline at end of file
+
+    @Query("SELECT c.phoneNumber FROM UserCredentials c WHERE c.phoneNumber IN :phoneNumbers")
+    List<String> findExistingPhoneNumbers(Collection<String> phoneNumbers);
+
+    @Query("""
+            SELECT new com.innowise.authservice.model.dto.CredentialsView(
+                c.phoneNumber, c.userId, c.password, c.role, c.status, c.version)
+            FROM UserCredentials c
+            WHERE c.phoneNumber = :phoneNumber
+            """)
+    Optional<CredentialsView> findViewByPhoneNumber(String phoneNumber);
+
+    @Query("""
+            SELECT new com.innowise.authservice.model.dto.CredentialsView(
+                c.phoneNumber, c.userId, c.password, c.role, c.status, c.version)
+            FROM UserCredentials c
+            WHERE c.userId = :userId
+            """)
+    Optional<CredentialsView> findViewByUserId(Long userId);
+}
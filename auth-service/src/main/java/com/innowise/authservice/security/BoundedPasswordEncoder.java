@@ -0,0 +1,127 @@
+package com.innowise.authservice.security;
+
+import com.innowise.authservice.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link PasswordEncoder} which runs the hashing of the delegate on a dedicated bounded thread pool.
+ * Request threads only wait for the result, so a login storm can't occupy all of them with CPU-bound
+ * BCrypt work, and cheap token endpoints keep being served. When all workers are busy and the queue is full,
+ * the call fails immediately with {@link PasswordHashingRejectedException}.
+ * <p>
+ * Metrics: {@code auth.password.hashing.queue.wait} and {@code auth.password.hashing.time} timers, tagged
+ * with {@code operation} ({@code encode} or {@code matches}), {@code auth.password.hashing.rejected} counter and
+ * {@code auth.password.hashing.queue.size} gauge.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Meters encodeMeters;
+    private final Meters matchesMeters;
+
+    /**
+     * @param delegate      encoder doing the actual hashing
+     * @param threads       number of hashing threads
+     * @param queueCapacity number of hashing tasks which may wait for a free thread
+     * @param meterRegistry registry for the hashing metrics
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.encodeMeters = new Meters("encode", meterRegistry);
+        this.matchesMeters = new Meters("matches", meterRegistry);
+
+        meterRegistry.gauge("auth.password.hashing.queue.size", executor, e -> e.getQueue().size());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(encodeMeters, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(matchesMeters, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Meters meters, Callable<T> hashing) {
+        long submitted = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                long started = System.nanoTime();
+                meters.queueWait.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return hashing.call();
+                } finally {
+                    meters.hashTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            meters.rejected.increment();
+            throw new PasswordHashingRejectedException();
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static class Meters {
+        private final Timer queueWait;
+        private final Timer hashTime;
+        private final Counter rejected;
+
+        Meters(String operation, MeterRegistry meterRegistry) {
+            this.queueWait = Timer.builder("auth.password.hashing.queue.wait")
+                    .tag("operation", operation)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+            this.hashTime = Timer.builder("auth.password.hashing.time")
+                    .tag("operation", operation)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("auth.password.hashing.rejected")
+                    .tag("operation", operation)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.innowise.authservice.service;
 
 import com.innowise.authservice.client.UserServiceClient;
+import com.innowise.authservice.exception.LoginThrottledException;
 import com.innowise.authservice.exception.PhoneNumberAlreadyExistsException;
 import com.innowise.authservice.model.dto.AuthResponseDto;
 import com.innowise.authservice.model.dto.LoginRequestDto;
@@ -11,6 +12,8 @@ import com.innowise.authservice.model.entity.UserCredentials;
 import com.innowise.securitystarter.jwt.JwtProvider;
 import org.springframework.security.authentication.BadCredentialsException;
 
+import java.util.List;
+
 /**
  * Service handling authentication and authorization business logic.
  * Provides user registration, login, token validation and refresh capabilities.
@@ -38,13 +41,16 @@ public interface AuthService {
 
     /**
      * Authenticates user with phone number and password.
-     * Verifies credentials and returns JWT tokens.
+     * Verifies credentials and returns JWT tokens. Attempts are rejected without checking credentials
+     * after too many recent failures for the phone number or the client IP.
      *
      * @param loginRequestDto the login credentials
+     * @param clientIp the IP address of the client, null if unknown
      * @return authentication response with access and refresh tokens
      * @throws BadCredentialsException if phone number not found or password doesn't match
+     * @throws LoginThrottledException if login attempts are throttled
      */
-    AuthResponseDto authenticateUser(LoginRequestDto loginRequestDto);
+    AuthResponseDto authenticateUser(LoginRequestDto loginRequestDto, String clientIp);
 
     /**
      * Validates JWT token and extracts user information.
@@ -54,6 +60,14 @@ public interface AuthService {
      */
     TokenResponseDto validateToken(TokenRequestDto tokenRequestDto);
 
+    /**
+     * Validates JWT tokens in bulk. Every token is verified exactly once.
+     *
+     * @param tokens the JWT tokens to validate
+     * @return token validation responses in the order of the tokens
+     */
+    List<TokenResponseDto> validateTokens(List<String> tokens);
+
     /**
      * Issues new access and refresh tokens using valid refresh token.
      *
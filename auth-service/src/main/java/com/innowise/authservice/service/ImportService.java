@@ -0,0 +1,40 @@
+package com.innowise.authservice.service;
+
+import com.innowise.authservice.exception.ImportJobNotFoundException;
+import com.innowise.authservice.exception.ImportQueueFullException;
+import com.innowise.authservice.exception.InvalidImportFileException;
+import com.innowise.authservice.model.dto.ImportJobResponseDto;
+import com.innowise.authservice.model.entity.ImportJob;
+import com.innowise.authservice.service.imports.ImportFormat;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Service handling bulk user import.
+ * The import file is read and the job is saved synchronously, the users are imported in the background
+ * and the progress with failed rows is reported through the job.
+ *
+ * @see ImportJob
+ */
+public interface ImportService {
+    /**
+     * Reads the import file and starts the import job.
+     *
+     * @param body   the import file
+     * @param format the format of the file
+     * @return the job identifier with PENDING status
+     * @throws InvalidImportFileException if the file can't be parsed, is empty or has too many rows
+     * @throws ImportQueueFullException if too many imports are already running and queued
+     */
+    ImportJobResponseDto startImport(InputStream body, ImportFormat format);
+
+    /**
+     * Retrieves the progress of the import job with the rows failed so far.
+     *
+     * @param jobId the job identifier
+     * @return the job progress
+     * @throws ImportJobNotFoundException if there is no such job
+     */
+    ImportJobResponseDto getImportJob(UUID jobId);
+}
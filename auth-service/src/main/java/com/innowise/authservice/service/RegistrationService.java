@@ -0,0 +1,60 @@
+package com.innowise.authservice.service;
+
+import com.innowise.authservice.exception.PhoneNumberAlreadyExistsException;
+import com.innowise.authservice.exception.RegistrationNotFoundException;
+import com.innowise.authservice.model.dto.RegisterRequestDto;
+import com.innowise.authservice.model.dto.RegistrationResponseDto;
+import com.innowise.authservice.model.dto.kafka.UserRegistrationEvent;
+import com.innowise.authservice.model.dto.kafka.UserRegistrationResultEvent;
+import com.innowise.authservice.model.entity.Registration;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Service handling asynchronous user registration.
+ * Credentials and the registration are saved in one local transaction, user-service creates the profile
+ * after the registration event is relayed to Kafka and reports the result back.
+ *
+ * @see Registration
+ * @see UserRegistrationEvent
+ * @see UserRegistrationResultEvent
+ */
+public interface RegistrationService {
+    /**
+     * Saves pending credentials and the registration to publish.
+     *
+     * @param registerRequestDto the user registration data
+     * @return the registration identifier with PENDING status
+     * @throws PhoneNumberAlreadyExistsException if phone number is already registered
+     */
+    RegistrationResponseDto startRegistration(RegisterRequestDto registerRequestDto);
+
+    /**
+     * Retrieves the current state of the registration.
+     *
+     * @param registrationId the registration identifier
+     * @return the registration status, with the reason if it failed
+     * @throws RegistrationNotFoundException if there is no such registration
+     */
+    RegistrationResponseDto getRegistration(UUID registrationId);
+
+    /**
+     * Applies the result of the registration from user-service: activates the credentials when the user is created,
+     * or removes them if the registration failed. Repeated results of a finished registration are ignored,
+     * except for a user created after the registration has failed (e.g. expired): that user is deleted in user-service.
+     *
+     * @param resultEvent the result event received from Kafka
+     */
+    void completeRegistration(UserRegistrationResultEvent resultEvent);
+
+    /**
+     * Fails pending registrations which haven't got a result in time and removes their pending credentials,
+     * so the phone number can be registered again. Results coming for them later are ignored.
+     *
+     * @param createdBefore the creation time before which pending registrations are expired
+     * @param limit the maximum number of registrations to expire
+     * @return the number of expired registrations
+     */
+    int expirePendingRegistrations(LocalDateTime createdBefore, int limit);
+}
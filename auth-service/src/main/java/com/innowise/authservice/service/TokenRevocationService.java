@@ -0,0 +1,29 @@
+package com.innowise.authservice.service;
+
+import com.innowise.authservice.model.dto.TokenRequestDto;
+import com.innowise.securitystarter.revocation.TokenRevocationEvent;
+import org.springframework.security.authentication.BadCredentialsException;
+
+/**
+ * Service revoking JWT tokens before their expiration.
+ * Revocations are published to Kafka, and every service rejects revoked tokens using its local deny-list.
+ *
+ * @see TokenRevocationEvent
+ */
+public interface TokenRevocationService {
+    /**
+     * Logs the user out by revoking the access token and the refresh token of the same user.
+     *
+     * @param accessToken the access token used for the request
+     * @param tokenRequestDto the request containing refresh token
+     * @throws BadCredentialsException if any token is invalid or the tokens belong to different users
+     */
+    void logout(String accessToken, TokenRequestDto tokenRequestDto);
+
+    /**
+     * Revokes all tokens of the user issued up to now (e.g. on password change or ban).
+     *
+     * @param userId the identifier of the user
+     */
+    void revokeUserTokens(Long userId);
+}
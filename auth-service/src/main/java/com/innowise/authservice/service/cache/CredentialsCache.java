@@ -0,0 +1,130 @@
+package com.innowise.authservice.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.innowise.authservice.config.CredentialsCacheProperties;
+import com.innowise.authservice.model.dto.CredentialsView;
+import com.innowise.authservice.repository.UserCredentialsRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * Local cache of {@link CredentialsView} projections for login and token refresh, keyed by phone number
+ * and by user ID. Only active credentials are cached, so a completed registration is visible at once.
+ * Entries are evicted after the commit of a credentials change on this instance; other instances see the change
+ * after {@code auth.credentials-cache.expire-after-write}.
+ * Cache statistics are exposed as {@code cache.*} meters and {@code auth.credentials.cache.hit.ratio} gauge,
+ * tagged by cache name.
+ */
+@Component
+public class CredentialsCache {
+    private static final String BY_PHONE_CACHE_NAME = "auth.credentials.by-phone";
+    private static final String BY_USER_ID_CACHE_NAME = "auth.credentials.by-user-id";
+
+    private final UserCredentialsRepository credentialsRepository;
+    private final Cache<String, CredentialsView> byPhoneNumber;
+    private final Cache<Long, CredentialsView> byUserId;
+
+    public CredentialsCache(UserCredentialsRepository credentialsRepository,
+                            CredentialsCacheProperties properties,
+                            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.credentialsRepository = credentialsRepository;
+        this.byPhoneNumber = buildCache(properties);
+        this.byUserId = buildCache(properties);
+
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        monitor(meterRegistry, byPhoneNumber, BY_PHONE_CACHE_NAME);
+        monitor(meterRegistry, byUserId, BY_USER_ID_CACHE_NAME);
+    }
+
+    public Optional<CredentialsView> getByPhoneNumber(String phoneNumber) {
+        CredentialsView cached = byPhoneNumber.getIfPresent(phoneNumber);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<CredentialsView> loaded = credentialsRepository.findViewByPhoneNumber(phoneNumber);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    public Optional<CredentialsView> getByUserId(Long userId) {
+        CredentialsView cached = byUserId.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<CredentialsView> loaded = credentialsRepository.findViewByUserId(userId);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    /**
+     * Evicts the credentials from both caches. Within a transaction the eviction is deferred until the commit,
+     * so a concurrent lookup can't put the old state back from a not yet committed read.
+     *
+     * @param phoneNumber the phone number of the changed credentials
+     * @param userId the user ID of the changed credentials, null if not assigned yet
+     */
+    public void evict(String phoneNumber, Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(phoneNumber, userId);
+                }
+            });
+        } else {
+            evictNow(phoneNumber, userId);
+        }
+    }
+
+    public void invalidateAll() {
+        byPhoneNumber.invalidateAll();
+        byUserId.invalidateAll();
+    }
+
+    private void put(CredentialsView view) {
+        if (view.isPending() || view.getUserId() == null) {
+            return;
+        }
+
+        byPhoneNumber.asMap().merge(view.getPhoneNumber(), view, CredentialsCache::newerVersion);
+        byUserId.asMap().merge(view.getUserId(), view, CredentialsCache::newerVersion);
+    }
+
+    private void evictNow(String phoneNumber, Long userId) {
+        byPhoneNumber.invalidate(phoneNumber);
+        if (userId != null) {
+            byUserId.invalidate(userId);
+        }
+    }
+
+    private static CredentialsView newerVersion(CredentialsView cached, CredentialsView loaded) {
+        return loaded.getVersion() >= cached.getVersion() ? loaded : cached;
+    }
+
+    private static <K> Cache<K, CredentialsView> buildCache(CredentialsCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+    }
+
+    private static void monitor(MeterRegistry meterRegistry, Cache<?, ?> cache, String cacheName) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, cacheName);
+        Gauge.builder("auth.credentials.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", cacheName)
+                .description("Share of credentials lookups served from the local cache")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,34 @@
+package com.innowise.authservice.service.handler;
+
+import com.innowise.authservice.model.dto.kafka.UserRegistrationResultEvent;
+import com.innowise.authservice.service.RegistrationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.annotation.KafkaHandler;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kafka consumer component which listens to the registration results topic and finishes
+ * asynchronous registrations.
+ *
+ * @see UserRegistrationResultEvent
+ */
+@Component
+@KafkaListener(topics = "${registrations.results.topic}", properties = {
+        "spring.json.use.type.headers=false",
+        "spring.json.value.default.type=com.innowise.authservice.model.dto.kafka.UserRegistrationResultEvent"
+})
+@RequiredArgsConstructor
+public class RegistrationResultEventHandler {
+    private final RegistrationService registrationService;
+
+    /**
+     * Processes the result of user profile creation.
+     *
+     * @param resultEvent the event received from Kafka
+     */
+    @KafkaHandler
+    public void handleRegistrationResultEvent(UserRegistrationResultEvent resultEvent) {
+        registrationService.completeRegistration(resultEvent);
+    }
+}
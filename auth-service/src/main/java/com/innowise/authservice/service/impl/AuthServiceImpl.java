@@ -3,6 +3,7 @@ package com.innowise.authservice.service.impl;
 import com.innowise.authservice.client.UserServiceClient;
 import com.innowise.authservice.exception.PhoneNumberAlreadyExistsException;
 import com.innowise.authservice.model.dto.AuthResponseDto;
+import com.innowise.authservice.model.dto.CredentialsView;
 import com.innowise.authservice.model.dto.LoginRequestDto;
 import com.innowise.authservice.model.dto.RegisterRequestDto;
 import com.innowise.authservice.model.dto.RegisterDto;
@@ -11,6 +12,9 @@ import com.innowise.authservice.model.dto.TokenResponseDto;
 import com.innowise.authservice.model.entity.UserCredentials;
 import com.innowise.authservice.repository.UserCredentialsRepository;
 import com.innowise.authservice.service.AuthService;
+import com.innowise.authservice.service.cache.CredentialsCache;
+import com.innowise.authservice.throttle.LoginThrottle;
+import com.innowise.securitystarter.jwt.JwtPrincipal;
 import com.innowise.securitystarter.jwt.JwtProvider;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
@@ -18,7 +22,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -27,9 +32,10 @@ public class AuthServiceImpl implements AuthService {
     private final UserServiceClient userServiceClient;
     private final PasswordEncoder passwordEncoder;
     private final JwtProvider jwtProvider;
+    private final LoginThrottle loginThrottle;
+    private final CredentialsCache credentialsCache;
 
     @Override
-    @Transactional
     public AuthResponseDto registerUser(RegisterRequestDto registerRequestDto) {
         if (credentialsRepository.existsByPhoneNumber(registerRequestDto.getPhoneNumber())) {
             throw new PhoneNumberAlreadyExistsException(registerRequestDto.getPhoneNumber());
@@ -45,75 +51,99 @@ public class AuthServiceImpl implements AuthService {
 
         UserCredentials savedCredentials = credentialsRepository.save(newCredentials);
 
-        return generateTokens(savedCredentials);
+        return generateTokens(savedCredentials.getPhoneNumber(), savedCredentials.getUserId(),
+                savedCredentials.getRole().name());
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public AuthResponseDto authenticateUser(LoginRequestDto loginRequestDto) {
-        UserCredentials credentials = credentialsRepository.findCredentialsByPhoneNumber(loginRequestDto.getPhoneNumber())
-                .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
+    public AuthResponseDto authenticateUser(LoginRequestDto loginRequestDto, String clientIp) {
+        String phoneNumber = loginRequestDto.getPhoneNumber();
+        loginThrottle.checkAllowed(phoneNumber, clientIp);
+
+        CredentialsView credentials = credentialsCache.getByPhoneNumber(phoneNumber)
+                .orElseThrow(() -> failedLogin(phoneNumber, clientIp));
 
         if (!passwordEncoder.matches(loginRequestDto.getPassword(), credentials.getPassword())) {
-            throw new BadCredentialsException("Invalid credentials");
+            throw failedLogin(phoneNumber, clientIp);
+        }
+
+        if (credentials.isPending()) {
+            throw new BadCredentialsException("Registration is not completed yet");
         }
 
+        loginThrottle.recordSuccess(phoneNumber);
         return generateTokens(credentials);
     }
 
+    private BadCredentialsException failedLogin(String phoneNumber, String clientIp) {
+        loginThrottle.recordFailure(phoneNumber, clientIp);
+        return new BadCredentialsException("Invalid credentials");
+    }
+
     @Override
     public TokenResponseDto validateToken(TokenRequestDto tokenRequestDto) {
-        String token = tokenRequestDto.getToken();
+        return introspect(tokenRequestDto.getToken());
+    }
+
+    @Override
+    public List<TokenResponseDto> validateTokens(List<String> tokens) {
+        return tokens.stream()
+                .map(this::introspect)
+                .toList();
+    }
+
+    private TokenResponseDto introspect(String token) {
         TokenResponseDto responseDto = new TokenResponseDto();
 
         try {
-            responseDto.setValid(jwtProvider.validateToken(token));
-            extractUserAndRole(token, responseDto);
+            JwtPrincipal principal = jwtProvider.verify(token);
+            responseDto.setValid(true);
+            setUserAndRole(principal, responseDto);
         } catch (ExpiredJwtException ex) {
             responseDto.setErrorMessage("Token is expired");
-            extractUserAndRole(token, responseDto);
-        } catch (JwtException ex) {
+            setUserAndRole(jwtProvider.principalOf(ex), responseDto);
+        } catch (JwtException | IllegalArgumentException ex) {
             responseDto.setErrorMessage("Invalid token: %s".formatted(ex.getMessage()));
         }
 
         return responseDto;
     }
 
-    private void extractUserAndRole(String token, TokenResponseDto responseDto) {
-        responseDto.setUserId(jwtProvider.extractUserId(token));
-        responseDto.setRole(jwtProvider.extractRole(token));
+    private void setUserAndRole(JwtPrincipal principal, TokenResponseDto responseDto) {
+        responseDto.setUserId(principal.getUserId());
+        responseDto.setRole(principal.getRole());
     }
 
     @Override
-    @Transactional(readOnly = true)
     public AuthResponseDto refreshToken(TokenRequestDto tokenRequestDto) {
         String refreshToken = tokenRequestDto.getToken();
 
-        if (!jwtProvider.validateToken(refreshToken)) {
+        JwtPrincipal principal;
+        try {
+            principal = jwtProvider.verify(refreshToken);
+        } catch (JwtException | IllegalArgumentException ex) {
             throw new BadCredentialsException("Invalid refresh token");
         }
 
-        if (!jwtProvider.isRefreshToken(refreshToken)) {
+        // Refresh tokens are the ones without a role claim.
+        if (principal.getRole() != null) {
             throw new BadCredentialsException("Not a refresh token");
         }
 
-        Long userId = jwtProvider.extractUserId(refreshToken);
-        UserCredentials credentials = credentialsRepository.findCredentialsByUserId(userId)
+        Long userId = principal.getUserId();
+        CredentialsView credentials = credentialsCache.getByUserId(userId)
                 .orElseThrow(() -> new BadCredentialsException("User not found with id: %d".formatted(userId)));
 
         return generateTokens(credentials);
     }
 
-    private AuthResponseDto generateTokens(UserCredentials credentials) {
-        String accessToken = jwtProvider.generateAccessToken(
-                credentials.getPhoneNumber(),
-                credentials.getUserId(),
-                credentials.getRole().name()
-        );
-        String refreshToken = jwtProvider.generateRefreshToken(
-                credentials.getPhoneNumber(),
-                credentials.getUserId()
-        );
+    private AuthResponseDto generateTokens(CredentialsView credentials) {
+        return generateTokens(credentials.getPhoneNumber(), credentials.getUserId(), credentials.getRole().name());
+    }
+
+    private AuthResponseDto generateTokens(String phoneNumber, Long userId, String role) {
+        String accessToken = jwtProvider.generateAccessToken(phoneNumber, userId, role);
+        String refreshToken = jwtProvider.generateRefreshToken(phoneNumber, userId);
 
         return AuthResponseDto.builder()
                 .accessToken(accessToken)
@@ -0,0 +1,82 @@
+package com.innowise.authservice.service.impl;
+
+import com.innowise.authservice.config.ImportProperties;
+import com.innowise.authservice.exception.ImportJobNotFoundException;
+import com.innowise.authservice.exception.ImportQueueFullException;
+import com.innowise.authservice.model.dto.ImportJobResponseDto;
+import com.innowise.authservice.model.dto.ImportRowErrorDto;
+import com.innowise.authservice.model.entity.ImportJob;
+import com.innowise.authservice.model.entity.ImportJobError;
+import com.innowise.authservice.model.entity.enums.ImportJobStatus;
+import com.innowise.authservice.repository.ImportJobErrorRepository;
+import com.innowise.authservice.repository.ImportJobRepository;
+import com.innowise.authservice.service.ImportService;
+import com.innowise.authservice.service.imports.ImportFileReader;
+import com.innowise.authservice.service.imports.ImportFormat;
+import com.innowise.authservice.service.imports.ImportJobRunner;
+import com.innowise.authservice.service.imports.ImportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class ImportServiceImpl implements ImportService {
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobErrorRepository importJobErrorRepository;
+    private final ImportFileReader importFileReader;
+    private final ImportJobRunner importJobRunner;
+    private final ImportProperties importProperties;
+
+    @Override
+    public ImportJobResponseDto startImport(InputStream body, ImportFormat format) {
+        List<ImportRow> rows = importFileReader.read(body, format, importProperties.getMaxRows());
+
+        ImportJob job = importJobRepository.save(ImportJob.builder()
+                .id(UUID.randomUUID())
+                .status(ImportJobStatus.PENDING)
+                .totalRows(rows.size())
+                .build());
+        try {
+            importJobRunner.submit(job.getId(), rows);
+        } catch (ImportQueueFullException ex) {
+            importJobRepository.delete(job);
+            throw ex;
+        }
+
+        return toResponseDto(job, List.of());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ImportJobResponseDto getImportJob(UUID jobId) {
+        ImportJob job = importJobRepository.findById(jobId)
+                .orElseThrow(() -> new ImportJobNotFoundException(jobId));
+
+        return toResponseDto(job, importJobErrorRepository.findByJobIdOrderByRowNumber(jobId));
+    }
+
+    private static ImportJobResponseDto toResponseDto(ImportJob job, List<ImportJobError> errors) {
+        return ImportJobResponseDto.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .totalRows(job.getTotalRows())
+                .importedRows(job.getImportedRows())
+                .failedRows(job.getFailedRows())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .finishedAt(job.getFinishedAt())
+                .errors(errors.stream()
+                        .map(error -> ImportRowErrorDto.builder()
+                                .row(error.getRowNumber())
+                                .phoneNumber(error.getPhoneNumber())
+                                .message(error.getMessage())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.innowise.authservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.authservice.client.UserServiceClient;
+import com.innowise.authservice.exception.PhoneNumberAlreadyExistsException;
+import com.innowise.authservice.exception.RegistrationNotFoundException;
+import com.innowise.authservice.model.dto.RegisterRequestDto;
+import com.innowise.authservice.model.dto.RegistrationResponseDto;
+import com.innowise.authservice.model.dto.kafka.UserRegistrationEvent;
+import com.innowise.authservice.model.dto.kafka.UserRegistrationResultEvent;
+import com.innowise.authservice.model.entity.Registration;
+import com.innowise.authservice.model.entity.UserCredentials;
+import com.innowise.authservice.model.entity.enums.CredentialsStatus;
+import com.innowise.authservice.model.entity.enums.RegistrationStatus;
+import com.innowise.authservice.repository.RegistrationRepository;
+import com.innowise.authservice.repository.UserCredentialsRepository;
+import com.innowise.authservice.service.RegistrationService;
+import com.innowise.authservice.service.cache.CredentialsCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RegistrationServiceImpl implements RegistrationService {
+    private final UserCredentialsRepository credentialsRepository;
+    private final RegistrationRepository registrationRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final CredentialsCache credentialsCache;
+    private final UserServiceClient userServiceClient;
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 255;
+    private static final String REGISTRATION_EXPIRED_ERROR_MESSAGE = "Registration hasn't been completed in time";
+    private static final String CREDENTIALS_REMOVED_ERROR_MESSAGE = "Pending credentials have been removed";
+
+    @Override
+    @Transactional
+    public RegistrationResponseDto startRegistration(RegisterRequestDto registerRequestDto) {
+        if (credentialsRepository.existsByPhoneNumber(registerRequestDto.getPhoneNumber())) {
+            throw new PhoneNumberAlreadyExistsException(registerRequestDto.getPhoneNumber());
+        }
+
+        UserCredentials pendingCredentials = UserCredentials.builder()
+                .phoneNumber(registerRequestDto.getPhoneNumber())
+                .password(passwordEncoder.encode(registerRequestDto.getPassword()))
+                .status(CredentialsStatus.PENDING)
+                .build();
+        credentialsRepository.save(pendingCredentials);
+
+        UUID registrationId = UUID.randomUUID();
+        UserRegistrationEvent event = UserRegistrationEvent.builder()
+                .registrationId(registrationId)
+                .phoneNumber(registerRequestDto.getPhoneNumber())
+                .name(registerRequestDto.getName())
+                .surname(registerRequestDto.getSurname())
+                .birthDate(registerRequestDto.getBirthDate())
+                .email(registerRequestDto.getEmail())
+                .build();
+
+        Registration registration = Registration.builder()
+                .id(registrationId)
+                .phoneNumber(registerRequestDto.getPhoneNumber())
+                .payload(toJson(event))
+                .status(RegistrationStatus.PENDING)
+                .build();
+        registrationRepository.save(registration);
+
+        return toResponseDto(registration);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RegistrationResponseDto getRegistration(UUID registrationId) {
+        Registration registration = registrationRepository.findById(registrationId)
+                .orElseThrow(() -> new RegistrationNotFoundException(registrationId));
+
+        return toResponseDto(registration);
+    }
+
+    @Override
+    @Transactional
+    public void completeRegistration(UserRegistrationResultEvent resultEvent) {
+        Registration registration = registrationRepository.findRegistrationForUpdate(resultEvent.getRegistrationId())
+                .orElseThrow(() -> new RegistrationNotFoundException(resultEvent.getRegistrationId()));
+
+        if (registration.getStatus() != RegistrationStatus.PENDING) {
+            if (registration.getStatus() == RegistrationStatus.FAILED
+                    && resultEvent.getStatus() == RegistrationStatus.COMPLETED) {
+                deleteRegisteredUser(registration);
+            } else {
+                log.info("Registration {} is already {}, repeated result is ignored",
+                        registration.getId(), registration.getStatus());
+            }
+            return;
+        }
+
+        UserCredentials credentials = findPendingCredentials(registration);
+
+        if (resultEvent.getStatus() == RegistrationStatus.COMPLETED && credentials != null) {
+            credentials.setUserId(resultEvent.getUserId());
+            credentials.setStatus(CredentialsStatus.ACTIVE);
+            registration.setStatus(RegistrationStatus.COMPLETED);
+            credentialsCache.evict(credentials.getPhoneNumber(), credentials.getUserId());
+        } else if (resultEvent.getStatus() == RegistrationStatus.COMPLETED) {
+            fail(registration, null, CREDENTIALS_REMOVED_ERROR_MESSAGE);
+            deleteRegisteredUser(registration);
+        } else {
+            fail(registration, credentials, resultEvent.getErrorMessage());
+        }
+
+        log.info("Registration {} is {}", registration.getId(), registration.getStatus());
+    }
+
+    @Override
+    @Transactional
+    public int expirePendingRegistrations(LocalDateTime createdBefore, int limit) {
+        List<Registration> registrations = registrationRepository.lockPendingCreatedBefore(createdBefore, limit);
+        for (Registration registration : registrations) {
+            fail(registration, findPendingCredentials(registration), REGISTRATION_EXPIRED_ERROR_MESSAGE);
+            log.info("Registration {} has expired", registration.getId());
+        }
+
+        return registrations.size();
+    }
+
+    /**
+     * The registration has failed in the meantime, so the user created for it would hold the email forever.
+     * The deletion is idempotent, and if it fails the result is redelivered and the deletion is retried.
+     */
+    private void deleteRegisteredUser(Registration registration) {
+        userServiceClient.deleteRegisteredUser(registration.getId());
+        log.info("Registration {} has completed after it failed, the created user is deleted", registration.getId());
+    }
+
+    private UserCredentials findPendingCredentials(Registration registration) {
+        return credentialsRepository.findCredentialsByPhoneNumber(registration.getPhoneNumber())
+                .filter(UserCredentials::isPending)
+                .orElse(null);
+    }
+
+    private void fail(Registration registration, UserCredentials credentials, String errorMessage) {
+        if (credentials != null) {
+            credentialsRepository.delete(credentials);
+            credentialsCache.evict(credentials.getPhoneNumber(), credentials.getUserId());
+        }
+        registration.setStatus(RegistrationStatus.FAILED);
+        registration.setErrorMessage(truncate(errorMessage));
+    }
+
+    private String toJson(UserRegistrationEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Registration event can't be serialized", ex);
+        }
+    }
+
+    private static String truncate(String errorMessage) {
+        if (errorMessage == null || errorMessage.length() <= MAX_ERROR_MESSAGE_LENGTH) {
+            return errorMessage;
+        }
+        return errorMessage.substring(0, MAX_ERROR_MESSAGE_LENGTH);
+    }
+
+    private static RegistrationResponseDto toResponseDto(Registration registration) {
+        return RegistrationResponseDto.builder()
+                .registrationId(registration.getId())
+                .status(registration.getStatus())
+                .errorMessage(registration.getErrorMessage())
+                .build();
+    }
+}
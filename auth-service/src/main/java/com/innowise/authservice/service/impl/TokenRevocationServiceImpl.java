@@ -0,0 +1,74 @@
+package com.innowise.authservice.service.impl;
+
+import com.innowise.authservice.model.dto.TokenRequestDto;
+import com.innowise.authservice.service.TokenRevocationService;
+import com.innowise.authservice.service.producer.TokenRevocationProducer;
+import com.innowise.securitystarter.jwt.JwtPrincipal;
+import com.innowise.securitystarter.jwt.JwtProvider;
+import com.innowise.securitystarter.revocation.TokenRevocationEvent;
+import com.innowise.securitystarter.revocation.TokenRevocationRegistry;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+    private final JwtProvider jwtProvider;
+    private final TokenRevocationProducer revocationProducer;
+    private final ObjectProvider<TokenRevocationRegistry> revocationRegistry;
+
+    @Override
+    public void logout(String accessToken, TokenRequestDto tokenRequestDto) {
+        JwtPrincipal accessPrincipal = verify(accessToken);
+        JwtPrincipal refreshPrincipal = verify(tokenRequestDto.getToken());
+
+        if (!Objects.equals(accessPrincipal.getUserId(), refreshPrincipal.getUserId())) {
+            throw new BadCredentialsException("Tokens belong to different users");
+        }
+
+        publish(accessPrincipal.getUserId(), TokenRevocationEvent.builder()
+                .type(TokenRevocationEvent.Type.TOKEN)
+                .tokenId(accessPrincipal.getTokenId())
+                .expiresAt(accessPrincipal.getExpiration().getEpochSecond())
+                .revokedAt(Instant.now().toEpochMilli())
+                .build());
+        publish(refreshPrincipal.getUserId(), TokenRevocationEvent.builder()
+                .type(TokenRevocationEvent.Type.TOKEN)
+                .tokenId(refreshPrincipal.getTokenId())
+                .expiresAt(refreshPrincipal.getExpiration().getEpochSecond())
+                .revokedAt(Instant.now().toEpochMilli())
+                .build());
+    }
+
+    @Override
+    public void revokeUserTokens(Long userId) {
+        publish(userId, TokenRevocationEvent.builder()
+                .type(TokenRevocationEvent.Type.USER)
+                .userId(userId)
+                .revokedAt(Instant.now().toEpochMilli())
+                .build());
+    }
+
+    private JwtPrincipal verify(String token) {
+        try {
+            return jwtProvider.verify(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            throw new BadCredentialsException("Invalid token");
+        }
+    }
+
+    /**
+     * Applies the revocation locally once the event is acknowledged by Kafka, without waiting for it
+     * to come back from the topic. If sending fails, the revocation is applied nowhere.
+     */
+    private void publish(Long userId, TokenRevocationEvent event) {
+        revocationProducer.sendRevocationEvent(userId, event);
+        revocationRegistry.ifAvailable(registry -> registry.apply(event));
+    }
+}
@@ -0,0 +1,70 @@
+package com.innowise.authservice.service.imports;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.innowise.authservice.exception.InvalidImportFileException;
+import com.innowise.authservice.model.dto.RegisterRequestDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the bulk user import file row by row. Both formats are first read into plain maps, so a row with
+ * a bad value (e.g. unparsable birth date) becomes a failed row, while a file which can't be parsed at all
+ * is rejected as a whole.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImportFileReader {
+    private final ObjectMapper objectMapper;
+
+    private static final ObjectReader CSV_READER = new CsvMapper()
+            .readerFor(Map.class)
+            .with(CsvSchema.emptySchema().withHeader());
+
+    /**
+     * @param body    the import file
+     * @param format  the format of the file
+     * @param maxRows the maximum number of data rows
+     * @return rows of the file in their order
+     * @throws InvalidImportFileException if the file can't be parsed or has too many rows
+     */
+    public List<ImportRow> read(InputStream body, ImportFormat format, int maxRows) {
+        ObjectReader reader = format == ImportFormat.CSV ? CSV_READER : objectMapper.readerFor(Map.class);
+        List<ImportRow> rows = new ArrayList<>();
+
+        try (MappingIterator<Map<String, Object>> iterator = reader.readValues(body)) {
+            while (iterator.hasNextValue()) {
+                if (rows.size() == maxRows) {
+                    throw new InvalidImportFileException("Import file must contain at most %d rows".formatted(maxRows));
+                }
+                rows.add(toRow(rows.size() + 1, iterator.nextValue()));
+            }
+        } catch (IOException | RuntimeJsonMappingException ex) {
+            throw new InvalidImportFileException("Import file can't be parsed after row %d: %s"
+                    .formatted(rows.size(), ex.getMessage()), ex);
+        }
+
+        if (rows.isEmpty()) {
+            throw new InvalidImportFileException("Import file contains no rows");
+        }
+        return rows;
+    }
+
+    private ImportRow toRow(int rowNumber, Map<String, Object> values) {
+        try {
+            return new ImportRow(rowNumber, objectMapper.convertValue(values, RegisterRequestDto.class), null);
+        } catch (IllegalArgumentException ex) {
+            return new ImportRow(rowNumber, null, "Row can't be read: " + ex.getMessage());
+        }
+    }
+}
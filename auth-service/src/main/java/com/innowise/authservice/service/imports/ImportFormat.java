@@ -0,0 +1,12 @@
+package com.innowise.authservice.service.imports;
+
+/**
+ * Formats of the bulk user import file.
+ */
+public enum ImportFormat {
+    /** Comma-separated values with a header row naming the fields of {@code RegisterRequestDto}. */
+    CSV,
+
+    /** Newline-delimited JSON, one {@code RegisterRequestDto} object per line. */
+    NDJSON
+}
@@ -0,0 +1,275 @@
+package com.innowise.authservice.service.imports;
+
+import com.innowise.authservice.client.UserServiceClient;
+import com.innowise.authservice.config.ImportProperties;
+import com.innowise.authservice.exception.ImportJobNotFoundException;
+import com.innowise.authservice.exception.ImportQueueFullException;
+import com.innowise.authservice.exception.PhoneNumberAlreadyExistsException;
+import com.innowise.authservice.model.dto.BatchUserRequestDto;
+import com.innowise.authservice.model.dto.BatchUserResultDto;
+import com.innowise.authservice.model.dto.RegisterRequestDto;
+import com.innowise.authservice.model.dto.UserProfileDto;
+import com.innowise.authservice.model.entity.ImportJob;
+import com.innowise.authservice.model.entity.ImportJobError;
+import com.innowise.authservice.model.entity.UserCredentials;
+import com.innowise.authservice.model.entity.enums.ImportJobStatus;
+import com.innowise.authservice.repository.ImportJobErrorRepository;
+import com.innowise.authservice.repository.ImportJobRepository;
+import com.innowise.authservice.repository.UserCredentialsBatchRepository;
+import com.innowise.authservice.repository.UserCredentialsRepository;
+import com.innowise.authservice.util.ValidationMessages;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs bulk user import jobs in the background, chunk by chunk. For every chunk the passwords are hashed
+ * in parallel on a dedicated pool while user-service creates the profiles with one batch insert, then
+ * the credentials are written with one JDBC batch and the progress of the job is saved.
+ * <p>
+ * Jobs run on the instance which accepted them; a job interrupted by a restart stays unfinished.
+ */
+@Slf4j
+@Component
+public class ImportJobRunner {
+    private final UserCredentialsRepository credentialsRepository;
+    private final UserCredentialsBatchRepository credentialsBatchRepository;
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobErrorRepository importJobErrorRepository;
+    private final UserServiceClient userServiceClient;
+    private final Validator validator;
+    private final int chunkSize;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService hashingExecutor;
+
+    /** Same algorithm and strength as the login encoder, without its pool, which is kept for logins. */
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 255;
+    private static final int MAX_ROW_ERROR_MESSAGE_LENGTH = 1000;
+
+    public ImportJobRunner(UserCredentialsRepository credentialsRepository,
+                           UserCredentialsBatchRepository credentialsBatchRepository,
+                           ImportJobRepository importJobRepository,
+                           ImportJobErrorRepository importJobErrorRepository,
+                           UserServiceClient userServiceClient,
+                           Validator validator,
+                           ImportProperties properties) {
+        this.credentialsRepository = credentialsRepository;
+        this.credentialsBatchRepository = credentialsBatchRepository;
+        this.importJobRepository = importJobRepository;
+        this.importJobErrorRepository = importJobErrorRepository;
+        this.userServiceClient = userServiceClient;
+        this.validator = validator;
+        this.chunkSize = properties.getChunkSize();
+
+        int hashingThreads = properties.getHashingThreads() > 0
+                ? properties.getHashingThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        BlockingQueue<Runnable> jobQueue = properties.getQueuedJobs() > 0
+                ? new ArrayBlockingQueue<>(properties.getQueuedJobs())
+                : new SynchronousQueue<>();
+        this.jobExecutor = new ThreadPoolExecutor(properties.getConcurrentJobs(), properties.getConcurrentJobs(),
+                0L, TimeUnit.MILLISECONDS, jobQueue, threadFactory("import-job-"));
+        this.hashingExecutor = Executors.newFixedThreadPool(hashingThreads, threadFactory("import-hashing-"));
+    }
+
+    /**
+     * Queues the job to be run in the background. The queue is bounded, because every queued job keeps
+     * the rows of its file in memory until it runs.
+     *
+     * @param jobId the identifier of the saved job
+     * @param rows  rows of the import file
+     * @throws ImportQueueFullException if the maximum number of jobs is already running and queued
+     */
+    public void submit(UUID jobId, List<ImportRow> rows) {
+        try {
+            jobExecutor.execute(() -> run(jobId, rows));
+        } catch (RejectedExecutionException ex) {
+            throw new ImportQueueFullException();
+        }
+    }
+
+    /**
+     * Runs the job in the calling thread. Failed rows don't stop the job; it fails as a whole only
+     * if a chunk can't be processed, e.g. when user-service is unavailable.
+     *
+     * @param jobId the identifier of the saved job
+     * @param rows  rows of the import file
+     */
+    public void run(UUID jobId, List<ImportRow> rows) {
+        ImportJob job = importJobRepository.findById(jobId)
+                .orElseThrow(() -> new ImportJobNotFoundException(jobId));
+        job.setStatus(ImportJobStatus.RUNNING);
+        importJobRepository.save(job);
+
+        Set<String> seenPhoneNumbers = new HashSet<>();
+        try {
+            for (int from = 0; from < rows.size(); from += chunkSize) {
+                importChunk(job, rows.subList(from, Math.min(from + chunkSize, rows.size())), seenPhoneNumbers);
+                importJobRepository.save(job);
+            }
+            job.setStatus(ImportJobStatus.COMPLETED);
+        } catch (RuntimeException ex) {
+            log.error("Import job {} failed", jobId, ex);
+            job.setStatus(ImportJobStatus.FAILED);
+            job.setErrorMessage(truncate(ex.getMessage(), MAX_ERROR_MESSAGE_LENGTH));
+        }
+
+        job.setFinishedAt(LocalDateTime.now());
+        importJobRepository.save(job);
+        log.info("Import job {} is {}: {} imported, {} failed",
+                jobId, job.getStatus(), job.getImportedRows(), job.getFailedRows());
+    }
+
+    private void importChunk(ImportJob job, List<ImportRow> chunk, Set<String> seenPhoneNumbers) {
+        List<ImportJobError> errors = new ArrayList<>();
+        List<ImportRow> validRows = new ArrayList<>(chunk.size());
+
+        for (ImportRow row : chunk) {
+            String errorMessage = row.errorMessage() != null
+                    ? row.errorMessage()
+                    : ValidationMessages.validationErrorMessage(validator, row.request());
+            if (errorMessage == null && !seenPhoneNumbers.add(row.phoneNumber())) {
+                errorMessage = "Phone number is repeated in the import file: " + row.phoneNumber();
+            }
+
+            if (errorMessage != null) {
+                errors.add(toError(job, row, errorMessage));
+            } else {
+                validRows.add(row);
+            }
+        }
+
+        Set<String> existingPhoneNumbers = validRows.isEmpty() ? Set.of() : new HashSet<>(
+                credentialsRepository.findExistingPhoneNumbers(validRows.stream().map(ImportRow::phoneNumber).toList()));
+        List<ImportRow> newRows = new ArrayList<>(validRows.size());
+        for (ImportRow row : validRows) {
+            if (existingPhoneNumbers.contains(row.phoneNumber())) {
+                errors.add(toError(job, row, PhoneNumberAlreadyExistsException.message(row.phoneNumber())));
+            } else {
+                newRows.add(row);
+            }
+        }
+
+        int importedRows = newRows.isEmpty() ? 0 : importRows(job, newRows, errors);
+
+        importJobErrorRepository.saveAll(errors);
+        job.setImportedRows(job.getImportedRows() + importedRows);
+        job.setFailedRows(job.getFailedRows() + errors.size());
+    }
+
+    /**
+     * Creates the profiles and the credentials of the rows. Passwords are hashed while user-service
+     * is creating the profiles, and hashes of the rows it rejected are thrown away.
+     */
+    private int importRows(ImportJob job, List<ImportRow> rows, List<ImportJobError> errors) {
+        List<CompletableFuture<String>> passwordHashes = rows.stream()
+                .map(row -> CompletableFuture.supplyAsync(
+                        () -> passwordEncoder.encode(row.request().getPassword()), hashingExecutor))
+                .toList();
+
+        List<BatchUserResultDto> results;
+        try {
+            results = userServiceClient.createUsers(new BatchUserRequestDto(rows.stream()
+                    .map(ImportRow::request)
+                    .map(ImportJobRunner::toProfile)
+                    .toList()));
+        } catch (RuntimeException ex) {
+            passwordHashes.forEach(passwordHash -> passwordHash.cancel(false));
+            throw ex;
+        }
+
+        List<UserCredentials> credentials = new ArrayList<>(rows.size());
+        List<ImportRow> credentialsRows = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            BatchUserResultDto result = results.get(i);
+            if (result.getUserId() == null) {
+                passwordHashes.get(i).cancel(false);
+                errors.add(toError(job, rows.get(i),
+                        Objects.requireNonNullElse(result.getErrorMessage(), "User was not created")));
+                continue;
+            }
+
+            credentials.add(UserCredentials.builder()
+                    .phoneNumber(rows.get(i).phoneNumber())
+                    .userId(result.getUserId())
+                    .password(passwordHashes.get(i).join())
+                    .build());
+            credentialsRows.add(rows.get(i));
+        }
+
+        Set<String> insertedPhoneNumbers = credentialsBatchRepository.insertSkippingTakenPhoneNumbers(credentials);
+        for (int i = 0; i < credentials.size(); i++) {
+            if (!insertedPhoneNumbers.contains(credentials.get(i).getPhoneNumber())) {
+                errors.add(toError(job, credentialsRows.get(i), "%s; user %d was created without credentials"
+                        .formatted(PhoneNumberAlreadyExistsException.message(credentials.get(i).getPhoneNumber()),
+                                credentials.get(i).getUserId())));
+            }
+        }
+
+        return insertedPhoneNumbers.size();
+    }
+
+    private static UserProfileDto toProfile(RegisterRequestDto request) {
+        return UserProfileDto.builder()
+                .name(request.getName())
+                .surname(request.getSurname())
+                .birthDate(request.getBirthDate())
+                .email(request.getEmail())
+                .build();
+    }
+
+    private static ImportJobError toError(ImportJob job, ImportRow row, String message) {
+        return ImportJobError.builder()
+                .jobId(job.getId())
+                .rowNumber(row.rowNumber())
+                .phoneNumber(truncate(row.phoneNumber(), MAX_ERROR_MESSAGE_LENGTH))
+                .message(truncate(message, MAX_ROW_ERROR_MESSAGE_LENGTH))
+                .build();
+    }
+
+    private static String truncate(String message, int maxLength) {
+        if (message == null || message.length() <= maxLength) {
+            return message;
+        }
+        return message.substring(0, maxLength);
+    }
+
+    private static ThreadFactory threadFactory(String namePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        hashingExecutor.shutdownNow();
+    }
+}
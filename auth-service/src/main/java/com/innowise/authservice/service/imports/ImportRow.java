@@ -0,0 +1,16 @@
+package com.innowise.authservice.service.imports;
+
+import com.innowise.authservice.model.dto.RegisterRequestDto;
+
+/**
+ * Row of the bulk user import file.
+ *
+ * @param rowNumber    number of the row, starting from 1 for the first data row
+ * @param request      the user to register, null if the row couldn't be converted
+ * @param errorMessage the reason why the row couldn't be converted, null otherwise
+ */
+public record ImportRow(int rowNumber, RegisterRequestDto request, String errorMessage) {
+    public String phoneNumber() {
+        return request != null ? request.getPhoneNumber() : null;
+    }
+}
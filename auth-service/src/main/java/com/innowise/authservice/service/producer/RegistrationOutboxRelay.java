@@ -0,0 +1,119 @@
+package com.innowise.authservice.service.producer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.authservice.model.dto.kafka.UserRegistrationEvent;
+import com.innowise.authservice.model.entity.Registration;
+import com.innowise.authservice.repository.RegistrationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Relay of the registrations outbox. Periodically publishes unpublished registration events to Kafka
+ * and marks them as published. A batch is leased to the relay instance in a short transaction, so the rows
+ * aren't locked while the events are sent; registrations left unpublished are sent again after the lease.
+ * Delivery is at-least-once: an event sent right before a failure is sent again by a later run,
+ * user-service handles repeated events idempotently.
+ *
+ * @see Registration
+ * @see UserRegistrationEvent
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RegistrationOutboxRelay {
+    private final RegistrationRepository registrationRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${registrations.events.topic}")
+    private String registrationsEventsTopic;
+
+    @Value("${registrations.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${registrations.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${registrations.outbox.lease-ms:60000}")
+    private long leaseMs;
+
+    /**
+     * Sends a batch of the oldest unpublished events keyed by phone number and waits for the confirmations
+     * up to the send timeout. Events are marked as published up to the first failed or unconfirmed one,
+     * the rest stay for a run after the lease.
+     */
+    @Scheduled(fixedDelayString = "${registrations.outbox.poll-interval-ms:1000}")
+    public void publishPending() {
+        List<Registration> registrations = transactionTemplate.execute(status -> leaseUnpublished());
+        if (registrations == null || registrations.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<SendResult<String, Object>>> results = new ArrayList<>(registrations.size());
+        for (Registration registration : registrations) {
+            results.add(kafkaTemplate.send(registrationsEventsTopic, registration.getPhoneNumber(),
+                    toEvent(registration)));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        List<UUID> publishedIds = new ArrayList<>(registrations.size());
+        try {
+            for (CompletableFuture<SendResult<String, Object>> result : results) {
+                result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                publishedIds.add(registrations.get(publishedIds.size()).getId());
+            }
+        } catch (ExecutionException ex) {
+            log.warn("Registration event {} hasn't been sent, will retry: {}",
+                    registrations.get(publishedIds.size()).getId(), ex.getCause().getMessage());
+        } catch (TimeoutException ex) {
+            log.warn("Registration event {} hasn't been confirmed in {} ms, will retry",
+                    registrations.get(publishedIds.size()).getId(), sendTimeoutMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!publishedIds.isEmpty()) {
+            LocalDateTime publishedAt = LocalDateTime.now();
+            transactionTemplate.executeWithoutResult(
+                    status -> registrationRepository.markPublished(publishedIds, publishedAt));
+        }
+
+        log.info("{} of {} registration events have been sent", publishedIds.size(), registrations.size());
+    }
+
+    private List<Registration> leaseUnpublished() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Registration> registrations = registrationRepository.lockUnpublished(now, batchSize);
+
+        LocalDateTime lockedUntil = now.plus(Duration.ofMillis(leaseMs));
+        registrations.forEach(registration -> registration.setLockedUntil(lockedUntil));
+
+        return registrations;
+    }
+
+    private UserRegistrationEvent toEvent(Registration registration) {
+        try {
+            return objectMapper.readValue(registration.getPayload(), UserRegistrationEvent.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Registration %s has invalid payload".formatted(registration.getId()), ex);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.innowise.authservice.service.producer;
+
+import com.innowise.securitystarter.config.JwtProperties;
+import com.innowise.securitystarter.revocation.TokenRevocationEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Producer for sending token revocation events to Kafka. All services read these events
+ * to fill their local deny-lists of revoked tokens.
+ *
+ * @see TokenRevocationEvent
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationProducer {
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final JwtProperties jwtProperties;
+
+    /**
+     * Sends a revocation event keyed by user ID, so events of one user stay ordered.
+     * Blocks until confirmation or timeout/error, throwing an exception if failed.
+     *
+     * @param userId the identifier of the user whose token(s) are revoked
+     * @param event the revocation event
+     */
+    public void sendRevocationEvent(Long userId, TokenRevocationEvent event) {
+        try {
+            kafkaTemplate.send(jwtProperties.getRevocation().getTopic(), String.valueOf(userId), event).get();
+
+            log.info("{} revocation event for user with id {} has been sent successfully", event.getType(), userId);
+        } catch (ExecutionException | InterruptedException ex) {
+            throw new KafkaException("Token revocation is temporarily unavailable.", ex);
+        }
+    }
+}
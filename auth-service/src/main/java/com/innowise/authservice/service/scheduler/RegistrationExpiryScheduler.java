@@ -0,0 +1,40 @@
+package com.innowise.authservice.service.scheduler;
+
+import com.innowise.authservice.service.RegistrationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Periodically expires asynchronous registrations which haven't got a result from user-service within
+ * the pending timeout, e.g. because the event or the result was lost, so their pending credentials
+ * don't hold the phone number forever.
+ *
+ * @see RegistrationService#expirePendingRegistrations
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RegistrationExpiryScheduler {
+    private final RegistrationService registrationService;
+
+    @Value("${registrations.pending-timeout-ms:900000}")
+    private long pendingTimeoutMs;
+
+    @Value("${registrations.expiry.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${registrations.expiry.poll-interval-ms:60000}")
+    public void expirePending() {
+        LocalDateTime createdBefore = LocalDateTime.now().minus(pendingTimeoutMs, ChronoUnit.MILLIS);
+        int expired = registrationService.expirePendingRegistrations(createdBefore, batchSize);
+        if (expired > 0) {
+            log.info("{} pending registrations have expired", expired);
+        }
+    }
+}
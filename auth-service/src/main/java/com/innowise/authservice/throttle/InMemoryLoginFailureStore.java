@@ -0,0 +1,106 @@
+package com.innowise.authservice.throttle;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Failure counters kept in the memory of a single auth-service instance.
+ * Keys are spread over lock stripes, so concurrent logins for different phone numbers and IPs rarely contend.
+ * Every stripe is an access-ordered map bounded by its share of {@code maxEntries}, which evicts the least
+ * recently used counters first.
+ */
+public class InMemoryLoginFailureStore implements LoginFailureStore {
+    private static final int STRIPES = 64;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final Map<String, Window>[] windows;
+
+    @SuppressWarnings("unchecked")
+    public InMemoryLoginFailureStore(long maxEntries) {
+        int maxEntriesPerStripe = (int) Math.max(1, maxEntries / STRIPES);
+        this.windows = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+            windows[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                    return size() > maxEntriesPerStripe;
+                }
+            };
+        }
+    }
+
+    @Override
+    public double countFailures(String key, Duration window) {
+        int stripe = stripe(key);
+        locks[stripe].lock();
+        try {
+            Window counter = windows[stripe].get(key);
+            return counter == null ? 0 : counter.estimate(System.nanoTime(), window.toNanos());
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    @Override
+    public void recordFailure(String key, Duration window) {
+        int stripe = stripe(key);
+        locks[stripe].lock();
+        try {
+            windows[stripe].computeIfAbsent(key, k -> new Window()).increment(System.nanoTime(), window.toNanos());
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    @Override
+    public void reset(String key, Duration window) {
+        int stripe = stripe(key);
+        locks[stripe].lock();
+        try {
+            windows[stripe].remove(key);
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    private static int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    /**
+     * Counts of the current and the previous fixed window; guarded by the lock of its stripe.
+     */
+    private static class Window {
+        private long start = Long.MIN_VALUE;
+        private long current;
+        private long previous;
+
+        void increment(long now, long length) {
+            roll(now, length);
+            current++;
+        }
+
+        double estimate(long now, long length) {
+            roll(now, length);
+            double previousWeight = 1 - (double) (now - start) / length;
+            return current + previous * previousWeight;
+        }
+
+        private void roll(long now, long length) {
+            if (start == Long.MIN_VALUE) {
+                start = now;
+                return;
+            }
+            long elapsedWindows = (now - start) / length;
+            if (elapsedWindows > 0) {
+                previous = elapsedWindows == 1 ? current : 0;
+                current = 0;
+                start += elapsedWindows * length;
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.innowise.authservice.throttle;
+
+import java.time.Duration;
+
+/**
+ * Storage of failed login counters used by {@link LoginThrottle}.
+ * Counters are sliding windows approximated by two fixed windows: the count of the previous window is weighted
+ * by the part of it still covered by the sliding window, so each key keeps only two numbers.
+ */
+public interface LoginFailureStore {
+    /**
+     * Estimates the number of failures for the key within the last window.
+     *
+     * @param key the counter key
+     * @param window the length of the sliding window
+     * @return the estimated number of failures
+     */
+    double countFailures(String key, Duration window);
+
+    /**
+     * Adds one failure to the counter of the key.
+     *
+     * @param key the counter key
+     * @param window the length of the sliding window
+     */
+    void recordFailure(String key, Duration window);
+
+    /**
+     * Removes the counter of the key.
+     *
+     * @param key the counter key
+     * @param window the length of the sliding window
+     */
+    void reset(String key, Duration window);
+}
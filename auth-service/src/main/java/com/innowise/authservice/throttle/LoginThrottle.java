@@ -0,0 +1,67 @@
+package com.innowise.authservice.throttle;
+
+import com.innowise.authservice.config.LoginThrottleProperties;
+import com.innowise.authservice.exception.LoginThrottledException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Throttles logins after repeated failures, separately per phone number and per client IP.
+ * Phone number limit stops brute force of one account, IP limit stops credential stuffing over many accounts.
+ * The check costs a counter lookup, so throttled requests never reach the database or BCrypt.
+ */
+@Component
+public class LoginThrottle {
+    private static final String PHONE_PREFIX = "phone:";
+    private static final String IP_PREFIX = "ip:";
+
+    private final LoginFailureStore failureStore;
+    private final Duration window;
+    private final int maxFailuresPerPhone;
+    private final int maxFailuresPerIp;
+
+    public LoginThrottle(LoginFailureStore failureStore, LoginThrottleProperties properties) {
+        this.failureStore = failureStore;
+        this.window = properties.getWindow();
+        this.maxFailuresPerPhone = properties.getMaxFailuresPerPhone();
+        this.maxFailuresPerIp = properties.getMaxFailuresPerIp();
+    }
+
+    /**
+     * Checks whether a login attempt is allowed.
+     *
+     * @param phoneNumber the phone number from the login request
+     * @param clientIp the IP address of the client, null if unknown
+     * @throws LoginThrottledException if there were too many recent failures for the phone number or the IP
+     */
+    public void checkAllowed(String phoneNumber, String clientIp) {
+        if (failureStore.countFailures(PHONE_PREFIX + phoneNumber, window) >= maxFailuresPerPhone
+                || clientIp != null && failureStore.countFailures(IP_PREFIX + clientIp, window) >= maxFailuresPerIp) {
+            throw new LoginThrottledException(window);
+        }
+    }
+
+    /**
+     * Records a failed login attempt.
+     *
+     * @param phoneNumber the phone number from the login request
+     * @param clientIp the IP address of the client, null if unknown
+     */
+    public void recordFailure(String phoneNumber, String clientIp) {
+        failureStore.recordFailure(PHONE_PREFIX + phoneNumber, window);
+        if (clientIp != null) {
+            failureStore.recordFailure(IP_PREFIX + clientIp, window);
+        }
+    }
+
+    /**
+     * Clears failures of the phone number after a successful login. Failures of the IP are kept,
+     * otherwise one valid account would be enough to reset the limit for stuffing the others.
+     *
+     * @param phoneNumber the phone number from the login request
+     */
+    public void recordSuccess(String phoneNumber) {
+        failureStore.reset(PHONE_PREFIX + phoneNumber, window);
+    }
+}
@@ -0,0 +1,81 @@
+package com.innowise.authservice.throttle;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Failure counters shared by all auth-service instances.
+ * Every fixed window is a separate Redis counter, which expires when it can't be the previous window anymore,
+ * so a check is one MGET and a failure is one Lua script call doing INCR with PEXPIRE. The script is atomic
+ * in Redis, so a counter can't be left without expiration if the instance fails between the two commands.
+ * If Redis is unavailable, logins are allowed: throttling is a protection, not a reason for an outage.
+ */
+@Slf4j
+public class RedisLoginFailureStore implements LoginFailureStore {
+    private static final String KEY_PREFIX = "login-failures:";
+    private static final RedisScript<Long> RECORD_FAILURE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/login-failure.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisLoginFailureStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public double countFailures(String key, Duration window) {
+        long now = System.currentTimeMillis();
+        long length = window.toMillis();
+        long index = now / length;
+
+        try {
+            List<String> counts = redisTemplate.opsForValue()
+                    .multiGet(List.of(windowKey(key, index), windowKey(key, index - 1)));
+            if (counts == null) {
+                return 0;
+            }
+            double previousWeight = 1 - (double) (now - index * length) / length;
+            return parse(counts.get(0)) + parse(counts.get(1)) * previousWeight;
+        } catch (RuntimeException ex) {
+            log.warn("Login failures check failed for key {}, login is allowed: {}", key, ex.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public void recordFailure(String key, Duration window) {
+        long length = window.toMillis();
+        String windowKey = windowKey(key, System.currentTimeMillis() / length);
+
+        try {
+            redisTemplate.execute(RECORD_FAILURE_SCRIPT, List.of(windowKey),
+                    Long.toString(window.multipliedBy(2).toMillis()));
+        } catch (RuntimeException ex) {
+            log.warn("Login failure wasn't recorded for key {}: {}", key, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void reset(String key, Duration window) {
+        long index = System.currentTimeMillis() / window.toMillis();
+
+        try {
+            redisTemplate.delete(List.of(windowKey(key, index), windowKey(key, index - 1)));
+        } catch (RuntimeException ex) {
+            log.warn("Login failures weren't reset for key {}: {}", key, ex.getMessage());
+        }
+    }
+
+    private static String windowKey(String key, long index) {
+        return KEY_PREFIX + key + ":" + index;
+    }
+
+    private static long parse(String count) {
+        return count == null ? 0 : Long.parseLong(count);
+    }
+}
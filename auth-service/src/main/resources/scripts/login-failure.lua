@@ -0,0 +1,7 @@
+-- Counts a login failure in a fixed window.
+-- KEYS[1]: window counter key
+-- ARGV[1]: counter TTL in milliseconds
+-- Returns the number of failures in the window.
+local count = redis.call('INCR', KEYS[1])
+redis.call('PEXPIRE', KEYS[1], ARGV[1])
+return count
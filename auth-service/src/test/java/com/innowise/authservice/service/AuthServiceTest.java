@@ -1,10 +1,15 @@
 package com.innowise.authservice.service;
 
 import com.innowise.authservice.client.UserServiceClient;
+import com.innowise.authservice.config.CredentialsCacheProperties;
+import com.innowise.authservice.config.LoginThrottleProperties;
 import com.innowise.authservice.config.SecurityConfig;
 import com.innowise.authservice.config.TestJwtConfig;
+import com.innowise.authservice.exception.LoginThrottledException;
+import com.innowise.authservice.exception.PasswordHashingRejectedException;
 import com.innowise.authservice.exception.PhoneNumberAlreadyExistsException;
 import com.innowise.authservice.model.dto.AuthResponseDto;
+import com.innowise.authservice.model.dto.CredentialsView;
 import com.innowise.authservice.model.dto.LoginRequestDto;
 import com.innowise.authservice.model.dto.RegisterDto;
 import com.innowise.authservice.model.dto.RegisterRequestDto;
@@ -12,14 +17,22 @@ import com.innowise.authservice.model.dto.TokenRequestDto;
 import com.innowise.authservice.model.dto.TokenResponseDto;
 import com.innowise.authservice.model.entity.UserCredentials;
 import com.innowise.authservice.repository.UserCredentialsRepository;
+import com.innowise.authservice.security.BoundedPasswordEncoder;
+import com.innowise.authservice.service.cache.CredentialsCache;
 import com.innowise.authservice.service.impl.AuthServiceImpl;
+import com.innowise.authservice.throttle.LoginFailureStore;
+import com.innowise.authservice.throttle.LoginThrottle;
 import com.innowise.authservice.util.DtoBuilder;
 import com.innowise.authservice.util.TokenGenerator;
 import com.innowise.authservice.util.TestConstant;
 import com.innowise.securitystarter.config.JwtProperties;
+import com.innowise.securitystarter.jwt.IdentityHeaderCodec;
 import com.innowise.securitystarter.jwt.JwtProvider;
 import feign.FeignException;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,16 +40,23 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -48,6 +68,11 @@ import static org.mockito.Mockito.when;
         SecurityConfig.class,
         JwtProperties.class,
         JwtProvider.class,
+        IdentityHeaderCodec.class,
+        LoginThrottle.class,
+        LoginThrottleProperties.class,
+        CredentialsCache.class,
+        CredentialsCacheProperties.class,
         TestJwtConfig.class
 })
 public class AuthServiceTest {
@@ -57,6 +82,15 @@ public class AuthServiceTest {
     @MockitoBean
     private UserServiceClient userServiceClient;
 
+    @MockitoBean
+    private LoginFailureStore loginFailureStore;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private CredentialsCache credentialsCache;
+
     @Autowired
     private JwtProvider jwtProvider;
 
@@ -66,6 +100,9 @@ public class AuthServiceTest {
     @Autowired
     private AuthService authService;
 
+    private static final String PHONE_KEY = "phone:" + TestConstant.PHONE_NUMBER;
+    private static final String IP_KEY = "ip:" + TestConstant.CLIENT_IP;
+
     @Test
     void registerUserSuccessfulTest() {
         RegisterRequestDto registerRequestDto = DtoBuilder.buildRegisterRequestDto();
@@ -116,45 +153,163 @@ public class AuthServiceTest {
     @Test
     void authenticateUserSuccessfulTest() {
         LoginRequestDto loginRequestDto = DtoBuilder.buildLoginRequestDto(TestConstant.PASSWORD);
-        UserCredentials userCredentials = DtoBuilder.buildUserCredentials();
+        CredentialsView credentials = DtoBuilder.buildCredentialsView();
 
-        when(credentialsRepository.findCredentialsByPhoneNumber(TestConstant.PHONE_NUMBER))
-                .thenReturn(Optional.of(userCredentials));
+        when(credentialsRepository.findViewByPhoneNumber(TestConstant.PHONE_NUMBER))
+                .thenReturn(Optional.of(credentials));
 
-        AuthResponseDto authResponseDto = authService.authenticateUser(loginRequestDto);
+        AuthResponseDto authResponseDto = authService.authenticateUser(loginRequestDto, TestConstant.CLIENT_IP);
 
         assertGeneratedTokens(authResponseDto);
 
-        verify(credentialsRepository, times(1)).findCredentialsByPhoneNumber(TestConstant.PHONE_NUMBER);
+        verify(credentialsRepository, times(1)).findViewByPhoneNumber(TestConstant.PHONE_NUMBER);
+        verify(loginFailureStore, times(1)).reset(eq(PHONE_KEY), any(Duration.class));
     }
 
     @Test
     void authenticateUserWhenUserNotRegisteredTest() {
         LoginRequestDto loginRequestDto = DtoBuilder.buildLoginRequestDto(TestConstant.PASSWORD);
 
-        when(credentialsRepository.findCredentialsByPhoneNumber(TestConstant.PHONE_NUMBER))
+        when(credentialsRepository.findViewByPhoneNumber(TestConstant.PHONE_NUMBER))
                 .thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> authService.authenticateUser(loginRequestDto))
+        assertThatThrownBy(() -> authService.authenticateUser(loginRequestDto, TestConstant.CLIENT_IP))
                 .isInstanceOf(BadCredentialsException.class)
                 .hasMessageContaining("Invalid credentials");
 
-        verify(credentialsRepository, times(1)).findCredentialsByPhoneNumber(TestConstant.PHONE_NUMBER);
+        verify(credentialsRepository, times(1)).findViewByPhoneNumber(TestConstant.PHONE_NUMBER);
     }
 
     @Test
     void authenticateUserWhenPasswordIsWrongTest() {
         LoginRequestDto loginRequestDto = DtoBuilder.buildLoginRequestDto(TestConstant.WRONG_PASSWORD);
-        UserCredentials userCredentials = DtoBuilder.buildUserCredentials();
+        CredentialsView credentials = DtoBuilder.buildCredentialsView();
 
-        when(credentialsRepository.findCredentialsByPhoneNumber(TestConstant.PHONE_NUMBER))
-                .thenReturn(Optional.of(userCredentials));
+        when(credentialsRepository.findViewByPhoneNumber(TestConstant.PHONE_NUMBER))
+                .thenReturn(Optional.of(credentials));
 
-        assertThatThrownBy(() -> authService.authenticateUser(loginRequestDto))
+        assertThatThrownBy(() -> authService.authenticateUser(loginRequestDto, TestConstant.CLIENT_IP))
                 .isInstanceOf(BadCredentialsException.class)
                 .hasMessageContaining("Invalid credentials");
 
-        verify(credentialsRepository, times(1)).findCredentialsByPhoneNumber(TestConstant.PHONE_NUMBER);
+        verify(credentialsRepository, times(1)).findViewByPhoneNumber(TestConstant.PHONE_NUMBER);
+        verify(loginFailureStore, times(1)).recordFailure(eq(PHONE_KEY), any(Duration.class));
+        verify(loginFailureStore, times(1)).recordFailure(eq(IP_KEY), any(Duration.class));
+    }
+
+    @Test
+    void authenticateUserWhenRegistrationIsPendingTest() {
+        LoginRequestDto loginRequestDto = DtoBuilder.buildLoginRequestDto(TestConstant.PASSWORD);
+        CredentialsView credentials = DtoBuilder.buildPendingCredentialsView();
+
+        when(credentialsRepository.findViewByPhoneNumber(TestConstant.PHONE_NUMBER))
+                .thenReturn(Optional.of(credentials));
+
+        assertThatThrownBy(() -> authService.authenticateUser(loginRequestDto, TestConstant.CLIENT_IP))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessageContaining("Registration is not completed yet");
+
+        verify(credentialsRepository, times(1)).findViewByPhoneNumber(TestConstant.PHONE_NUMBER);
+        verify(loginFailureStore, never()).recordFailure(any(), any());
+    }
+
+    @Test
+    void authenticateUserWhenCredentialsAreCachedTest() {
+        LoginRequestDto loginRequestDto = DtoBuilder.buildLoginRequestDto(TestConstant.PASSWORD);
+        CredentialsView credentials = DtoBuilder.buildCredentialsView();
+
+        when(credentialsRepository.findViewByPhoneNumber(TestConstant.PHONE_NUMBER))
+                .thenReturn(Optional.of(credentials));
+
+        assertGeneratedTokens(authService.authenticateUser(loginRequestDto, TestConstant.CLIENT_IP));
+        assertGeneratedTokens(authService.authenticateUser(loginRequestDto, TestConstant.CLIENT_IP));
+
+        verify(credentialsRepository, times(1)).findViewByPhoneNumber(TestConstant.PHONE_NUMBER);
+    }
+
+    @Test
+    void authenticateUserAfterCredentialsEvictionTest() {
+        LoginRequestDto loginRequestDto = DtoBuilder.buildLoginRequestDto(TestConstant.PASSWORD);
+        CredentialsView credentials = DtoBuilder.buildCredentialsView();
+
+        when(credentialsRepository.findViewByPhoneNumber(TestConstant.PHONE_NUMBER))
+                .thenReturn(Optional.of(credentials));
+
+        authService.authenticateUser(loginRequestDto, TestConstant.CLIENT_IP);
+        credentialsCache.evict(TestConstant.PHONE_NUMBER, TestConstant.ID);
+        authService.authenticateUser(loginRequestDto, TestConstant.CLIENT_IP);
+
+        verify(credentialsRepository, times(2)).findViewByPhoneNumber(TestConstant.PHONE_NUMBER);
+    }
+
+    @Test
+    void authenticateUserWhenPhoneNumberIsThrottledTest() {
+        LoginRequestDto loginRequestDto = DtoBuilder.buildLoginRequestDto(TestConstant.PASSWORD);
+
+        when(loginFailureStore.countFailures(eq(PHONE_KEY), any(Duration.class))).thenReturn(5.0);
+
+        assertThatThrownBy(() -> authService.authenticateUser(loginRequestDto, TestConstant.CLIENT_IP))
+                .isInstanceOf(LoginThrottledException.class)
+                .hasMessageContaining("Too many failed login attempts");
+
+        verify(loginFailureStore, never()).recordFailure(any(), any());
+    }
+
+    @Test
+    void authenticateUserWhenClientIpIsThrottledTest() {
+        LoginRequestDto loginRequestDto = DtoBuilder.buildLoginRequestDto(TestConstant.PASSWORD);
+
+        when(loginFailureStore.countFailures(eq(PHONE_KEY), any(Duration.class))).thenReturn(1.5);
+        when(loginFailureStore.countFailures(eq(IP_KEY), any(Duration.class))).thenReturn(50.0);
+
+        assertThatThrownBy(() -> authService.authenticateUser(loginRequestDto, TestConstant.CLIENT_IP))
+                .isInstanceOf(LoginThrottledException.class)
+                .hasMessageContaining("Too many failed login attempts");
+
+        verify(loginFailureStore, never()).recordFailure(any(), any());
+    }
+
+    @Test
+    void authenticateUserWhenPasswordHashingIsSaturatedTest() throws InterruptedException {
+        LoginRequestDto loginRequestDto = DtoBuilder.buildLoginRequestDto(TestConstant.PASSWORD);
+        CredentialsView credentials = DtoBuilder.buildCredentialsView();
+        CountDownLatch hashingStarted = new CountDownLatch(1);
+        CountDownLatch releaseHashing = new CountDownLatch(1);
+
+        PasswordEncoder blockingEncoder = Mockito.mock(PasswordEncoder.class);
+        when(blockingEncoder.matches(any(), any())).thenAnswer(invocation -> {
+            hashingStarted.countDown();
+            releaseHashing.await();
+            return true;
+        });
+
+        when(credentialsRepository.findViewByPhoneNumber(TestConstant.PHONE_NUMBER))
+                .thenReturn(Optional.of(credentials));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        try (BoundedPasswordEncoder passwordEncoder =
+                     new BoundedPasswordEncoder(blockingEncoder, 1, 1, meterRegistry)) {
+            authService = new AuthServiceImpl(credentialsRepository, userServiceClient, passwordEncoder,
+                    jwtProvider, loginThrottle, credentialsCache);
+
+            Thread running = Thread.ofVirtual().start(() -> authService.authenticateUser(loginRequestDto, TestConstant.CLIENT_IP));
+            hashingStarted.await();
+            Thread queued = Thread.ofVirtual().start(() -> authService.authenticateUser(loginRequestDto, TestConstant.CLIENT_IP));
+            while (meterRegistry.get("auth.password.hashing.queue.size").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThatThrownBy(() -> authService.authenticateUser(loginRequestDto, TestConstant.CLIENT_IP))
+                    .isInstanceOf(PasswordHashingRejectedException.class);
+            assertThat(meterRegistry.get("auth.password.hashing.rejected").tag("operation", "matches")
+                    .counter().count()).isEqualTo(1);
+
+            releaseHashing.countDown();
+            running.join();
+            queued.join();
+        }
+
+        verify(credentialsRepository, times(1)).findViewByPhoneNumber(TestConstant.PHONE_NUMBER);
     }
 
     @Test
@@ -182,11 +337,17 @@ public class AuthServiceTest {
 
         JwtProvider spyJwtProvider = Mockito.spy(jwtProvider);
 
-        when(spyJwtProvider.validateToken(requestDto.getToken()))
-                .thenThrow(new ExpiredJwtException(null, null, "Expired"));
+        Claims expiredClaims = Jwts.claims()
+                .add("userId", TestConstant.ID)
+                .add("role", TestConstant.ROLE_USER.name())
+                .expiration(new Date())
+                .build();
+
+        when(spyJwtProvider.verify(requestDto.getToken()))
+                .thenThrow(new ExpiredJwtException(null, expiredClaims, "Expired"));
 
         authService = new AuthServiceImpl(credentialsRepository, userServiceClient,
-                new BCryptPasswordEncoder(), spyJwtProvider);
+                new BCryptPasswordEncoder(), spyJwtProvider, loginThrottle, credentialsCache);
 
         TokenResponseDto responseDto = authService.validateToken(requestDto);
 
@@ -216,22 +377,99 @@ public class AuthServiceTest {
         );
     }
 
+    @Test
+    void validateTokensTest() {
+        List<String> tokens = List.of(
+                tokenGenerator.generateAccessToken(),
+                tokenGenerator.generateAccessToken().toUpperCase(),
+                tokenGenerator.generateRefreshToken()
+        );
+
+        List<TokenResponseDto> responseDtos = authService.validateTokens(tokens);
+
+        assertAll(
+                () -> assertThat(responseDtos).hasSize(3),
+                () -> assertThat(responseDtos.get(0).isValid()).isTrue(),
+                () -> assertThat(responseDtos.get(0).getUserId()).isEqualTo(TestConstant.ID),
+                () -> assertThat(responseDtos.get(0).getRole()).isEqualTo(TestConstant.ROLE_USER.name()),
+                () -> assertThat(responseDtos.get(1).isValid()).isFalse(),
+                () -> assertThat(responseDtos.get(1).getErrorMessage()).contains("Invalid token"),
+                () -> assertThat(responseDtos.get(2).isValid()).isTrue(),
+                () -> assertThat(responseDtos.get(2).getUserId()).isEqualTo(TestConstant.ID),
+                () -> assertThat(responseDtos.get(2).getRole()).isNull()
+        );
+    }
+
+    @Test
+    void validateTokensVerifiesEachTokenOnceTest() {
+        List<String> tokens = List.of(tokenGenerator.generateAccessToken(), tokenGenerator.generateRefreshToken());
+        JwtProvider spyJwtProvider = Mockito.spy(jwtProvider);
+
+        authService = new AuthServiceImpl(credentialsRepository, userServiceClient,
+                new BCryptPasswordEncoder(), spyJwtProvider, loginThrottle, credentialsCache);
+
+        authService.validateTokens(tokens);
+
+        verify(spyJwtProvider, times(1)).verify(tokens.get(0));
+        verify(spyJwtProvider, times(1)).verify(tokens.get(1));
+        verify(spyJwtProvider, never()).extractUserId(any());
+        verify(spyJwtProvider, never()).extractRole(any());
+    }
 
     @Test
     void refreshTokenSuccessfulTest() {
         TokenRequestDto requestDto = TokenRequestDto.builder()
                 .token(tokenGenerator.generateRefreshToken())
                 .build();
-        UserCredentials userCredentials = DtoBuilder.buildUserCredentials();
+        CredentialsView credentials = DtoBuilder.buildCredentialsView();
+
+        when(credentialsRepository.findViewByUserId(TestConstant.ID))
+                .thenReturn(Optional.of(credentials));
+
+        AuthResponseDto responseDto = authService.refreshToken(requestDto);
+
+        assertGeneratedTokens(responseDto);
+
+        verify(credentialsRepository, times(1)).findViewByUserId(TestConstant.ID);
+    }
+
+    @Test
+    void refreshTokenVerifiesTokenOnceTest() {
+        String refreshToken = tokenGenerator.generateRefreshToken();
+        JwtProvider spyJwtProvider = Mockito.spy(jwtProvider);
+
+        authService = new AuthServiceImpl(credentialsRepository, userServiceClient,
+                new BCryptPasswordEncoder(), spyJwtProvider, loginThrottle, credentialsCache);
+
+        when(credentialsRepository.findViewByUserId(TestConstant.ID))
+                .thenReturn(Optional.of(DtoBuilder.buildCredentialsView()));
+
+        authService.refreshToken(TokenRequestDto.builder().token(refreshToken).build());
+
+        verify(spyJwtProvider, times(1)).verify(refreshToken);
+        verify(spyJwtProvider, never()).isRefreshToken(any());
+        verify(spyJwtProvider, never()).extractUserId(any());
+        verify(credentialsRepository, times(1)).findViewByUserId(TestConstant.ID);
+    }
+
+    @Test
+    void refreshTokenWhenCredentialsAreCachedByLoginTest() {
+        LoginRequestDto loginRequestDto = DtoBuilder.buildLoginRequestDto(TestConstant.PASSWORD);
+        TokenRequestDto requestDto = TokenRequestDto.builder()
+                .token(tokenGenerator.generateRefreshToken())
+                .build();
+        CredentialsView credentials = DtoBuilder.buildCredentialsView();
 
-        when(credentialsRepository.findCredentialsByUserId(TestConstant.ID))
-                .thenReturn(Optional.of(userCredentials));
+        when(credentialsRepository.findViewByPhoneNumber(TestConstant.PHONE_NUMBER))
+                .thenReturn(Optional.of(credentials));
 
+        authService.authenticateUser(loginRequestDto, TestConstant.CLIENT_IP);
         AuthResponseDto responseDto = authService.refreshToken(requestDto);
 
         assertGeneratedTokens(responseDto);
 
-        verify(credentialsRepository, times(1)).findCredentialsByUserId(TestConstant.ID);
+        verify(credentialsRepository, times(1)).findViewByPhoneNumber(TestConstant.PHONE_NUMBER);
+        verify(credentialsRepository, never()).findViewByUserId(any());
     }
 
     @Test
@@ -262,7 +500,7 @@ public class AuthServiceTest {
                 .token(tokenGenerator.generateRefreshToken())
                 .build();
 
-        when(credentialsRepository.findCredentialsByUserId(TestConstant.ID))
+        when(credentialsRepository.findViewByUserId(TestConstant.ID))
                 .thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> authService.refreshToken(requestDto))
@@ -270,11 +508,12 @@ public class AuthServiceTest {
                 .hasMessageContaining("User not found")
                 .hasMessageContaining(String.valueOf(TestConstant.ID));
 
-        verify(credentialsRepository, times(1)).findCredentialsByUserId(TestConstant.ID);
+        verify(credentialsRepository, times(1)).findViewByUserId(TestConstant.ID);
     }
 
     @AfterEach
     void tearDown() {
+        credentialsCache.invalidateAll();
         verifyNoMoreInteractions(credentialsRepository, userServiceClient);
     }
 
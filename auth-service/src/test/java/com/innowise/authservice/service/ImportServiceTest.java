@@ -0,0 +1,409 @@
+package com.innowise.authservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.innowise.authservice.client.UserServiceClient;
+import com.innowise.authservice.config.ImportProperties;
+import com.innowise.authservice.exception.ImportJobNotFoundException;
+import com.innowise.authservice.exception.ImportQueueFullException;
+import com.innowise.authservice.exception.InvalidImportFileException;
+import com.innowise.authservice.model.dto.BatchUserRequestDto;
+import com.innowise.authservice.model.dto.BatchUserResultDto;
+import com.innowise.authservice.model.dto.ImportJobResponseDto;
+import com.innowise.authservice.model.dto.RegisterRequestDto;
+import com.innowise.authservice.model.entity.ImportJob;
+import com.innowise.authservice.model.entity.ImportJobError;
+import com.innowise.authservice.model.entity.UserCredentials;
+import com.innowise.authservice.model.entity.enums.ImportJobStatus;
+import com.innowise.authservice.repository.ImportJobErrorRepository;
+import com.innowise.authservice.repository.ImportJobRepository;
+import com.innowise.authservice.repository.UserCredentialsBatchRepository;
+import com.innowise.authservice.repository.UserCredentialsRepository;
+import com.innowise.authservice.service.impl.ImportServiceImpl;
+import com.innowise.authservice.service.imports.ImportFileReader;
+import com.innowise.authservice.service.imports.ImportFormat;
+import com.innowise.authservice.service.imports.ImportJobRunner;
+import com.innowise.authservice.service.imports.ImportRow;
+import com.innowise.authservice.util.DtoBuilder;
+import com.innowise.authservice.util.TestConstant;
+import feign.FeignException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {
+        ImportServiceImpl.class,
+        ImportFileReader.class,
+        ImportJobRunner.class,
+        ImportProperties.class,
+        LocalValidatorFactoryBean.class,
+        ImportServiceTest.Config.class
+})
+class ImportServiceTest {
+    @MockitoBean
+    private ImportJobRepository importJobRepository;
+
+    @MockitoBean
+    private ImportJobErrorRepository importJobErrorRepository;
+
+    @MockitoBean
+    private UserCredentialsRepository credentialsRepository;
+
+    @MockitoBean
+    private UserCredentialsBatchRepository credentialsBatchRepository;
+
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+
+    @MockitoSpyBean
+    private ImportJobRunner importJobRunner;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private LocalValidatorFactoryBean validator;
+
+    private static final UUID JOB_ID = UUID.randomUUID();
+    private static final String SECOND_PHONE_NUMBER = "+375291234567";
+    private static final String THIRD_PHONE_NUMBER = "+375331234567";
+    private static final String FOURTH_PHONE_NUMBER = "+375441234567";
+    private static final String INVALID_PHONE_NUMBER = "12345";
+    private static final String EMAIL_TAKEN_MESSAGE = "User with this email already exists";
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void startImportFromCsvTest() {
+        String csv = """
+                name,surname,birthDate,email,phoneNumber,password
+                Ivan,Ivanov,1990-01-01,ivan@test.com,%s,%s
+                Petr,Petrov,not-a-date,petr@test.com,%s,%s
+                """.formatted(TestConstant.PHONE_NUMBER, TestConstant.PASSWORD,
+                SECOND_PHONE_NUMBER, TestConstant.PASSWORD);
+
+        when(importJobRepository.save(any(ImportJob.class))).then(returnsFirstArg());
+        doNothing().when(importJobRunner).submit(any(), anyList());
+
+        ImportJobResponseDto responseDto = importService.startImport(toStream(csv), ImportFormat.CSV);
+
+        ArgumentCaptor<List<ImportRow>> rowsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(importJobRepository, times(1)).save(any(ImportJob.class));
+        verify(importJobRunner, times(1)).submit(eq(responseDto.getJobId()), rowsCaptor.capture());
+
+        List<ImportRow> rows = rowsCaptor.getValue();
+        assertAll(
+                () -> assertThat(responseDto.getJobId()).isNotNull(),
+                () -> assertThat(responseDto.getStatus()).isEqualTo(ImportJobStatus.PENDING),
+                () -> assertThat(responseDto.getTotalRows()).isEqualTo(2),
+                () -> assertThat(responseDto.getErrors()).isEmpty(),
+                () -> assertThat(rows).hasSize(2),
+                () -> assertThat(rows.get(0).rowNumber()).isEqualTo(1),
+                () -> assertThat(rows.get(0).phoneNumber()).isEqualTo(TestConstant.PHONE_NUMBER),
+                () -> assertThat(rows.get(0).errorMessage()).isNull(),
+                () -> assertThat(rows.get(1).rowNumber()).isEqualTo(2),
+                () -> assertThat(rows.get(1).errorMessage()).isNotNull()
+        );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void startImportFromNdjsonTest() {
+        String ndjson = """
+                {"name":"Ivan","surname":"Ivanov","birthDate":"1990-01-01","email":"ivan@test.com","phoneNumber":"%s","password":"%s"}
+                {"name":"Petr","surname":"Petrov","birthDate":"1991-02-02","email":"petr@test.com","phoneNumber":"%s","password":"%s"}
+                """.formatted(TestConstant.PHONE_NUMBER, TestConstant.PASSWORD,
+                SECOND_PHONE_NUMBER, TestConstant.PASSWORD);
+
+        when(importJobRepository.save(any(ImportJob.class))).then(returnsFirstArg());
+        doNothing().when(importJobRunner).submit(any(), anyList());
+
+        ImportJobResponseDto responseDto = importService.startImport(toStream(ndjson), ImportFormat.NDJSON);
+
+        ArgumentCaptor<List<ImportRow>> rowsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(importJobRunner, times(1)).submit(eq(responseDto.getJobId()), rowsCaptor.capture());
+
+        List<ImportRow> rows = rowsCaptor.getValue();
+        assertAll(
+                () -> assertThat(responseDto.getStatus()).isEqualTo(ImportJobStatus.PENDING),
+                () -> assertThat(responseDto.getTotalRows()).isEqualTo(2),
+                () -> assertThat(rows).extracting(ImportRow::phoneNumber)
+                        .containsExactly(TestConstant.PHONE_NUMBER, SECOND_PHONE_NUMBER),
+                () -> assertThat(rows).extracting(ImportRow::errorMessage).containsOnlyNulls()
+        );
+    }
+
+    @Test
+    void startImportWhenFileIsMalformedTest() {
+        String ndjson = """
+                {"name":"Ivan","phoneNumber":"%s"}
+                {"name":
+                """.formatted(TestConstant.PHONE_NUMBER);
+
+        assertThatThrownBy(() -> importService.startImport(toStream(ndjson), ImportFormat.NDJSON))
+                .isInstanceOf(InvalidImportFileException.class)
+                .hasMessageContaining("after row 1");
+
+        verify(importJobRepository, never()).save(any(ImportJob.class));
+        verify(importJobRunner, never()).submit(any(), anyList());
+    }
+
+    @Test
+    void startImportWhenFileIsEmptyTest() {
+        assertThatThrownBy(() -> importService.startImport(toStream("name,phoneNumber\n"), ImportFormat.CSV))
+                .isInstanceOf(InvalidImportFileException.class)
+                .hasMessageContaining("no rows");
+
+        verify(importJobRepository, never()).save(any(ImportJob.class));
+    }
+
+    @Test
+    void startImportWhenQueueIsFullTest() {
+        String csv = """
+                name,surname,birthDate,email,phoneNumber,password
+                Ivan,Ivanov,1990-01-01,ivan@test.com,%s,%s
+                """.formatted(TestConstant.PHONE_NUMBER, TestConstant.PASSWORD);
+
+        when(importJobRepository.save(any(ImportJob.class))).then(returnsFirstArg());
+        doThrow(new ImportQueueFullException()).when(importJobRunner).submit(any(), anyList());
+
+        assertThatThrownBy(() -> importService.startImport(toStream(csv), ImportFormat.CSV))
+                .isInstanceOf(ImportQueueFullException.class);
+
+        verify(importJobRepository, times(1)).save(any(ImportJob.class));
+        verify(importJobRepository, times(1)).delete(any(ImportJob.class));
+    }
+
+    @Test
+    void submitWhenQueueIsFullTest() throws InterruptedException {
+        ImportProperties properties = new ImportProperties();
+        properties.setConcurrentJobs(1);
+        properties.setQueuedJobs(1);
+        ImportJobRunner boundedRunner = new ImportJobRunner(credentialsRepository, credentialsBatchRepository,
+                importJobRepository, importJobErrorRepository, userServiceClient, validator, properties);
+        CountDownLatch jobStarted = new CountDownLatch(1);
+        CountDownLatch jobReleased = new CountDownLatch(1);
+        List<ImportRow> rows = List.of(buildImportRow(1, TestConstant.PHONE_NUMBER));
+
+        when(importJobRepository.findById(JOB_ID)).thenAnswer(invocation -> {
+            jobStarted.countDown();
+            jobReleased.await();
+            return Optional.of(buildImportJob(1));
+        });
+
+        try {
+            boundedRunner.submit(JOB_ID, rows);
+            jobStarted.await();
+            boundedRunner.submit(UUID.randomUUID(), rows);
+
+            assertThatThrownBy(() -> boundedRunner.submit(UUID.randomUUID(), rows))
+                    .isInstanceOf(ImportQueueFullException.class);
+        } finally {
+            jobReleased.countDown();
+            boundedRunner.shutdown();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void runImportTest() {
+        ImportJob job = buildImportJob(5);
+        List<ImportRow> rows = List.of(
+                buildImportRow(1, TestConstant.PHONE_NUMBER),
+                buildImportRow(2, SECOND_PHONE_NUMBER),
+                buildImportRow(3, INVALID_PHONE_NUMBER),
+                buildImportRow(4, TestConstant.PHONE_NUMBER),
+                buildImportRow(5, THIRD_PHONE_NUMBER)
+        );
+
+        when(importJobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+        when(credentialsRepository.findExistingPhoneNumbers(anyList())).thenReturn(List.of(THIRD_PHONE_NUMBER));
+        when(userServiceClient.createUsers(any(BatchUserRequestDto.class))).thenReturn(List.of(
+                BatchUserResultDto.builder().userId(TestConstant.ID).build(),
+                BatchUserResultDto.builder().errorMessage(EMAIL_TAKEN_MESSAGE).build()
+        ));
+        when(credentialsBatchRepository.insertSkippingTakenPhoneNumbers(anyList()))
+                .thenReturn(Set.of(TestConstant.PHONE_NUMBER));
+
+        importJobRunner.run(JOB_ID, rows);
+
+        ArgumentCaptor<BatchUserRequestDto> requestCaptor = ArgumentCaptor.forClass(BatchUserRequestDto.class);
+        ArgumentCaptor<List<UserCredentials>> credentialsCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<ImportJobError>> errorsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(userServiceClient, times(1)).createUsers(requestCaptor.capture());
+        verify(credentialsBatchRepository, times(1)).insertSkippingTakenPhoneNumbers(credentialsCaptor.capture());
+        verify(importJobErrorRepository, times(1)).saveAll(errorsCaptor.capture());
+
+        List<UserCredentials> credentials = credentialsCaptor.getValue();
+        List<ImportJobError> errors = errorsCaptor.getValue();
+        assertAll(
+                () -> assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED),
+                () -> assertThat(job.getImportedRows()).isEqualTo(1),
+                () -> assertThat(job.getFailedRows()).isEqualTo(4),
+                () -> assertThat(job.getFinishedAt()).isNotNull(),
+                () -> assertThat(requestCaptor.getValue().getUsers()).hasSize(2),
+                () -> assertThat(credentials).hasSize(1),
+                () -> assertThat(credentials.getFirst().getPhoneNumber()).isEqualTo(TestConstant.PHONE_NUMBER),
+                () -> assertThat(credentials.getFirst().getUserId()).isEqualTo(TestConstant.ID),
+                () -> assertThat(new BCryptPasswordEncoder()
+                        .matches(TestConstant.PASSWORD, credentials.getFirst().getPassword())).isTrue(),
+                () -> assertThat(errors).extracting(ImportJobError::getRowNumber).containsExactlyInAnyOrder(2, 3, 4, 5),
+                () -> assertThat(errors).allMatch(error -> JOB_ID.equals(error.getJobId())),
+                () -> assertThat(findError(errors, 2).getMessage()).isEqualTo(EMAIL_TAKEN_MESSAGE),
+                () -> assertThat(findError(errors, 3).getMessage()).startsWith("phoneNumber: "),
+                () -> assertThat(findError(errors, 4).getMessage()).contains("repeated"),
+                () -> assertThat(findError(errors, 5).getMessage()).contains(THIRD_PHONE_NUMBER)
+        );
+    }
+
+    @Test
+    void runImportWhenCredentialsWereTakenConcurrentlyTest() {
+        ImportJob job = buildImportJob(1);
+
+        when(importJobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+        when(credentialsRepository.findExistingPhoneNumbers(anyList())).thenReturn(List.of());
+        when(userServiceClient.createUsers(any(BatchUserRequestDto.class))).thenReturn(List.of(
+                BatchUserResultDto.builder().userId(TestConstant.ID).build()
+        ));
+        when(credentialsBatchRepository.insertSkippingTakenPhoneNumbers(anyList())).thenReturn(Set.of());
+
+        importJobRunner.run(JOB_ID, List.of(buildImportRow(1, FOURTH_PHONE_NUMBER)));
+
+        ArgumentCaptor<List<ImportJobError>> errorsCaptor = ArgumentCaptor.captor();
+        verify(importJobErrorRepository, times(1)).saveAll(errorsCaptor.capture());
+
+        assertAll(
+                () -> assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED),
+                () -> assertThat(job.getImportedRows()).isZero(),
+                () -> assertThat(job.getFailedRows()).isEqualTo(1),
+                () -> assertThat(errorsCaptor.getValue().getFirst().getMessage())
+                        .contains(FOURTH_PHONE_NUMBER)
+                        .contains("user %d was created without credentials".formatted(TestConstant.ID))
+        );
+    }
+
+    @Test
+    void runImportWhenUserServiceIsUnavailableTest() {
+        ImportJob job = buildImportJob(1);
+
+        when(importJobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+        when(credentialsRepository.findExistingPhoneNumbers(anyList())).thenReturn(List.of());
+        when(userServiceClient.createUsers(any(BatchUserRequestDto.class))).thenThrow(FeignException.class);
+
+        importJobRunner.run(JOB_ID, List.of(buildImportRow(1, TestConstant.PHONE_NUMBER)));
+
+        verify(credentialsBatchRepository, never()).insertSkippingTakenPhoneNumbers(anyList());
+
+        assertAll(
+                () -> assertThat(job.getStatus()).isEqualTo(ImportJobStatus.FAILED),
+                () -> assertThat(job.getImportedRows()).isZero(),
+                () -> assertThat(job.getFinishedAt()).isNotNull()
+        );
+    }
+
+    @Test
+    void getImportJobSuccessfulTest() {
+        ImportJob job = buildImportJob(2);
+        job.setStatus(ImportJobStatus.COMPLETED);
+        job.setImportedRows(1);
+        job.setFailedRows(1);
+        ImportJobError error = ImportJobError.builder()
+                .jobId(JOB_ID)
+                .rowNumber(2)
+                .phoneNumber(SECOND_PHONE_NUMBER)
+                .message(EMAIL_TAKEN_MESSAGE)
+                .build();
+
+        when(importJobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+        when(importJobErrorRepository.findByJobIdOrderByRowNumber(JOB_ID)).thenReturn(List.of(error));
+
+        ImportJobResponseDto responseDto = importService.getImportJob(JOB_ID);
+
+        assertAll(
+                () -> assertThat(responseDto.getJobId()).isEqualTo(JOB_ID),
+                () -> assertThat(responseDto.getStatus()).isEqualTo(ImportJobStatus.COMPLETED),
+                () -> assertThat(responseDto.getImportedRows()).isEqualTo(1),
+                () -> assertThat(responseDto.getFailedRows()).isEqualTo(1),
+                () -> assertThat(responseDto.getErrors()).hasSize(1),
+                () -> assertThat(responseDto.getErrors().getFirst().getRow()).isEqualTo(2),
+                () -> assertThat(responseDto.getErrors().getFirst().getMessage()).isEqualTo(EMAIL_TAKEN_MESSAGE)
+        );
+    }
+
+    @Test
+    void getImportJobWhenNotFoundTest() {
+        when(importJobRepository.findById(JOB_ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> importService.getImportJob(JOB_ID))
+                .isInstanceOf(ImportJobNotFoundException.class)
+                .hasMessageContaining(JOB_ID.toString());
+
+        verify(importJobRepository, times(1)).findById(JOB_ID);
+    }
+
+    private static InputStream toStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ImportJob buildImportJob(int totalRows) {
+        return ImportJob.builder()
+                .id(JOB_ID)
+                .status(ImportJobStatus.PENDING)
+                .totalRows(totalRows)
+                .build();
+    }
+
+    private static ImportRow buildImportRow(int rowNumber, String phoneNumber) {
+        RegisterRequestDto request = DtoBuilder.buildRegisterRequestDto();
+        request.setPhoneNumber(phoneNumber);
+        request.setEmail("user%d@test.com".formatted(rowNumber));
+        return new ImportRow(rowNumber, request, null);
+    }
+
+    private static ImportJobError findError(List<ImportJobError> errors, int rowNumber) {
+        return errors.stream()
+                .filter(error -> error.getRowNumber() == rowNumber)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        public ObjectMapper objectMapper() {
+            return new ObjectMapper().registerModule(new JavaTimeModule());
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.innowise.authservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.innowise.authservice.client.UserServiceClient;
+import com.innowise.authservice.exception.PhoneNumberAlreadyExistsException;
+import com.innowise.authservice.exception.RegistrationNotFoundException;
+import com.innowise.authservice.model.dto.RegisterRequestDto;
+import com.innowise.authservice.model.dto.RegistrationResponseDto;
+import com.innowise.authservice.model.dto.kafka.UserRegistrationEvent;
+import com.innowise.authservice.model.dto.kafka.UserRegistrationResultEvent;
+import com.innowise.authservice.model.entity.Registration;
+import com.innowise.authservice.model.entity.UserCredentials;
+import com.innowise.authservice.model.entity.enums.CredentialsStatus;
+import com.innowise.authservice.model.entity.enums.RegistrationStatus;
+import com.innowise.authservice.repository.RegistrationRepository;
+import com.innowise.authservice.repository.UserCredentialsRepository;
+import com.innowise.authservice.service.cache.CredentialsCache;
+import com.innowise.authservice.service.impl.RegistrationServiceImpl;
+import com.innowise.authservice.util.DtoBuilder;
+import com.innowise.authservice.util.TestConstant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {
+        RegistrationServiceImpl.class,
+        RegistrationServiceTest.Config.class
+})
+class RegistrationServiceTest {
+    @MockitoBean
+    private UserCredentialsRepository credentialsRepository;
+
+    @MockitoBean
+    private RegistrationRepository registrationRepository;
+
+    @MockitoBean
+    private CredentialsCache credentialsCache;
+
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private static final UUID REGISTRATION_ID = UUID.randomUUID();
+
+    @Test
+    void startRegistrationSuccessfulTest() throws Exception {
+        RegisterRequestDto registerRequestDto = DtoBuilder.buildRegisterRequestDto();
+
+        when(credentialsRepository.existsByPhoneNumber(TestConstant.PHONE_NUMBER)).thenReturn(false);
+
+        RegistrationResponseDto responseDto = registrationService.startRegistration(registerRequestDto);
+
+        ArgumentCaptor<UserCredentials> credentialsCaptor = ArgumentCaptor.forClass(UserCredentials.class);
+        ArgumentCaptor<Registration> registrationCaptor = ArgumentCaptor.forClass(Registration.class);
+        verify(credentialsRepository, times(1)).existsByPhoneNumber(TestConstant.PHONE_NUMBER);
+        verify(credentialsRepository, times(1)).save(credentialsCaptor.capture());
+        verify(registrationRepository, times(1)).save(registrationCaptor.capture());
+
+        UserCredentials credentials = credentialsCaptor.getValue();
+        Registration registration = registrationCaptor.getValue();
+        UserRegistrationEvent event = objectMapper.readValue(registration.getPayload(), UserRegistrationEvent.class);
+
+        assertAll(
+                () -> assertThat(responseDto.getRegistrationId()).isNotNull().isEqualTo(registration.getId()),
+                () -> assertThat(responseDto.getStatus()).isEqualTo(RegistrationStatus.PENDING),
+                () -> assertThat(credentials.getStatus()).isEqualTo(CredentialsStatus.PENDING),
+                () -> assertThat(credentials.getUserId()).isNull(),
+                () -> assertThat(passwordEncoder.matches(TestConstant.PASSWORD, credentials.getPassword())).isTrue(),
+                () -> assertThat(registration.getPublishedAt()).isNull(),
+                () -> assertThat(event.getRegistrationId()).isEqualTo(registration.getId()),
+                () -> assertThat(event.getPhoneNumber()).isEqualTo(TestConstant.PHONE_NUMBER)
+        );
+    }
+
+    @Test
+    void startRegistrationWhenPhoneNumberAlreadyExistsTest() {
+        RegisterRequestDto registerRequestDto = DtoBuilder.buildRegisterRequestDto();
+
+        when(credentialsRepository.existsByPhoneNumber(TestConstant.PHONE_NUMBER)).thenReturn(true);
+
+        assertThatThrownBy(() -> registrationService.startRegistration(registerRequestDto))
+                .isInstanceOf(PhoneNumberAlreadyExistsException.class)
+                .hasMessageContaining(TestConstant.PHONE_NUMBER);
+
+        verify(credentialsRepository, times(1)).existsByPhoneNumber(TestConstant.PHONE_NUMBER);
+    }
+
+    @Test
+    void getRegistrationWhenNotFoundTest() {
+        when(registrationRepository.findById(REGISTRATION_ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> registrationService.getRegistration(REGISTRATION_ID))
+                .isInstanceOf(RegistrationNotFoundException.class)
+                .hasMessageContaining(REGISTRATION_ID.toString());
+
+        verify(registrationRepository, times(1)).findById(REGISTRATION_ID);
+    }
+
+    @Test
+    void completeRegistrationSuccessfulTest() {
+        Registration registration = buildRegistration(RegistrationStatus.PENDING);
+        UserCredentials credentials = buildPendingCredentials();
+
+        when(registrationRepository.findRegistrationForUpdate(REGISTRATION_ID)).thenReturn(Optional.of(registration));
+        when(credentialsRepository.findCredentialsByPhoneNumber(TestConstant.PHONE_NUMBER))
+                .thenReturn(Optional.of(credentials));
+
+        registrationService.completeRegistration(buildResultEvent(RegistrationStatus.COMPLETED));
+
+        assertAll(
+                () -> assertThat(registration.getStatus()).isEqualTo(RegistrationStatus.COMPLETED),
+                () -> assertThat(credentials.getStatus()).isEqualTo(CredentialsStatus.ACTIVE),
+                () -> assertThat(credentials.getUserId()).isEqualTo(TestConstant.ID)
+        );
+
+        verify(registrationRepository, times(1)).findRegistrationForUpdate(REGISTRATION_ID);
+        verify(credentialsRepository, times(1)).findCredentialsByPhoneNumber(TestConstant.PHONE_NUMBER);
+        verify(credentialsCache, times(1)).evict(TestConstant.PHONE_NUMBER, TestConstant.ID);
+    }
+
+    @Test
+    void completeRegistrationWhenUserCreationFailedTest() {
+        Registration registration = buildRegistration(RegistrationStatus.PENDING);
+        UserCredentials credentials = buildPendingCredentials();
+
+        when(registrationRepository.findRegistrationForUpdate(REGISTRATION_ID)).thenReturn(Optional.of(registration));
+        when(credentialsRepository.findCredentialsByPhoneNumber(TestConstant.PHONE_NUMBER))
+                .thenReturn(Optional.of(credentials));
+
+        registrationService.completeRegistration(buildResultEvent(RegistrationStatus.FAILED));
+
+        assertAll(
+                () -> assertThat(registration.getStatus()).isEqualTo(RegistrationStatus.FAILED),
+                () -> assertThat(registration.getErrorMessage()).isEqualTo(ERROR_MESSAGE)
+        );
+
+        verify(registrationRepository, times(1)).findRegistrationForUpdate(REGISTRATION_ID);
+        verify(credentialsRepository, times(1)).findCredentialsByPhoneNumber(TestConstant.PHONE_NUMBER);
+        verify(credentialsRepository, times(1)).delete(credentials);
+        verify(credentialsCache, times(1)).evict(TestConstant.PHONE_NUMBER, null);
+    }
+
+    @Test
+    void completeRegistrationWhenAlreadyCompletedTest() {
+        Registration registration = buildRegistration(RegistrationStatus.COMPLETED);
+
+        when(registrationRepository.findRegistrationForUpdate(REGISTRATION_ID)).thenReturn(Optional.of(registration));
+
+        registrationService.completeRegistration(buildResultEvent(RegistrationStatus.FAILED));
+
+        assertThat(registration.getStatus()).isEqualTo(RegistrationStatus.COMPLETED);
+
+        verify(registrationRepository, times(1)).findRegistrationForUpdate(REGISTRATION_ID);
+        verify(credentialsRepository, never()).delete(any());
+        verify(credentialsCache, never()).evict(any(), any());
+    }
+
+    @Test
+    void completeRegistrationWhenResultArrivesAfterExpiryTest() {
+        Registration registration = buildRegistration(RegistrationStatus.FAILED);
+
+        when(registrationRepository.findRegistrationForUpdate(REGISTRATION_ID)).thenReturn(Optional.of(registration));
+
+        registrationService.completeRegistration(buildResultEvent(RegistrationStatus.COMPLETED));
+
+        assertThat(registration.getStatus()).isEqualTo(RegistrationStatus.FAILED);
+
+        verify(registrationRepository, times(1)).findRegistrationForUpdate(REGISTRATION_ID);
+        verify(userServiceClient, times(1)).deleteRegisteredUser(REGISTRATION_ID);
+        verify(credentialsCache, never()).evict(any(), any());
+    }
+
+    @Test
+    void completeRegistrationWhenPendingCredentialsAreRemovedTest() {
+        Registration registration = buildRegistration(RegistrationStatus.PENDING);
+
+        when(registrationRepository.findRegistrationForUpdate(REGISTRATION_ID)).thenReturn(Optional.of(registration));
+        when(credentialsRepository.findCredentialsByPhoneNumber(TestConstant.PHONE_NUMBER))
+                .thenReturn(Optional.empty());
+
+        registrationService.completeRegistration(buildResultEvent(RegistrationStatus.COMPLETED));
+
+        assertAll(
+                () -> assertThat(registration.getStatus()).isEqualTo(RegistrationStatus.FAILED),
+                () -> assertThat(registration.getErrorMessage()).isNotBlank()
+        );
+
+        verify(registrationRepository, times(1)).findRegistrationForUpdate(REGISTRATION_ID);
+        verify(credentialsRepository, times(1)).findCredentialsByPhoneNumber(TestConstant.PHONE_NUMBER);
+        verify(userServiceClient, times(1)).deleteRegisteredUser(REGISTRATION_ID);
+    }
+
+    @Test
+    void expirePendingRegistrationsSuccessfulTest() {
+        Registration registration = buildRegistration(RegistrationStatus.PENDING);
+        UserCredentials credentials = buildPendingCredentials();
+        LocalDateTime createdBefore = LocalDateTime.now();
+
+        when(registrationRepository.lockPendingCreatedBefore(createdBefore, EXPIRY_BATCH_SIZE))
+                .thenReturn(List.of(registration));
+        when(credentialsRepository.findCredentialsByPhoneNumber(TestConstant.PHONE_NUMBER))
+                .thenReturn(Optional.of(credentials));
+
+        int expired = registrationService.expirePendingRegistrations(createdBefore, EXPIRY_BATCH_SIZE);
+
+        assertAll(
+                () -> assertThat(expired).isEqualTo(1),
+                () -> assertThat(registration.getStatus()).isEqualTo(RegistrationStatus.FAILED),
+                () -> assertThat(registration.getErrorMessage()).isNotBlank()
+        );
+
+        verify(registrationRepository, times(1)).lockPendingCreatedBefore(createdBefore, EXPIRY_BATCH_SIZE);
+        verify(credentialsRepository, times(1)).findCredentialsByPhoneNumber(TestConstant.PHONE_NUMBER);
+        verify(credentialsRepository, times(1)).delete(credentials);
+        verify(credentialsCache, times(1)).evict(TestConstant.PHONE_NUMBER, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        verifyNoMoreInteractions(credentialsRepository, registrationRepository, userServiceClient);
+    }
+
+    private static final String ERROR_MESSAGE = "Email already exists";
+    private static final int EXPIRY_BATCH_SIZE = 100;
+
+    private static Registration buildRegistration(RegistrationStatus status) {
+        return Registration.builder()
+                .id(REGISTRATION_ID)
+                .phoneNumber(TestConstant.PHONE_NUMBER)
+                .status(status)
+                .build();
+    }
+
+    private static UserCredentials buildPendingCredentials() {
+        return UserCredentials.builder()
+                .phoneNumber(TestConstant.PHONE_NUMBER)
+                .status(CredentialsStatus.PENDING)
+                .build();
+    }
+
+    private static UserRegistrationResultEvent buildResultEvent(RegistrationStatus status) {
+        return UserRegistrationResultEvent.builder()
+                .registrationId(REGISTRATION_ID)
+                .userId(status == RegistrationStatus.COMPLETED ? TestConstant.ID : null)
+                .status(status)
+                .errorMessage(status == RegistrationStatus.FAILED ? ERROR_MESSAGE : null)
+                .build();
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().registerModule(new JavaTimeModule());
+        }
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+}
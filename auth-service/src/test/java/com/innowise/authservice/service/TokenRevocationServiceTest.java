@@ -0,0 +1,133 @@
+package com.innowise.authservice.service;
+
+import com.innowise.authservice.config.TestJwtConfig;
+import com.innowise.authservice.model.dto.TokenRequestDto;
+import com.innowise.authservice.service.impl.TokenRevocationServiceImpl;
+import com.innowise.authservice.service.producer.TokenRevocationProducer;
+import com.innowise.authservice.util.TestConstant;
+import com.innowise.authservice.util.TokenGenerator;
+import com.innowise.securitystarter.config.JwtProperties;
+import com.innowise.securitystarter.jwt.JwtProvider;
+import com.innowise.securitystarter.revocation.TokenRevocationEvent;
+import com.innowise.securitystarter.revocation.TokenRevocationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.KafkaException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {
+        TokenRevocationServiceImpl.class,
+        JwtProperties.class,
+        JwtProvider.class,
+        TestJwtConfig.class
+})
+class TokenRevocationServiceTest {
+    @MockitoBean
+    private TokenRevocationProducer revocationProducer;
+
+    @MockitoBean
+    private TokenRevocationRegistry revocationRegistry;
+
+    @Autowired
+    private TokenGenerator tokenGenerator;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Test
+    void logoutSuccessfulTest() {
+        TokenRequestDto tokenRequestDto = TokenRequestDto.builder()
+                .token(tokenGenerator.generateRefreshToken())
+                .build();
+
+        tokenRevocationService.logout(tokenGenerator.generateAccessToken(), tokenRequestDto);
+
+        ArgumentCaptor<TokenRevocationEvent> eventCaptor = ArgumentCaptor.forClass(TokenRevocationEvent.class);
+        InOrder inOrder = inOrder(revocationProducer, revocationRegistry);
+        inOrder.verify(revocationProducer).sendRevocationEvent(eq(TestConstant.ID), eventCaptor.capture());
+        inOrder.verify(revocationRegistry).apply(eventCaptor.getAllValues().get(0));
+        inOrder.verify(revocationProducer).sendRevocationEvent(eq(TestConstant.ID), eventCaptor.capture());
+        inOrder.verify(revocationRegistry).apply(eventCaptor.getAllValues().get(1));
+
+        assertThat(eventCaptor.getAllValues())
+                .allSatisfy(event -> assertAll(
+                        () -> assertThat(event.getType()).isEqualTo(TokenRevocationEvent.Type.TOKEN),
+                        () -> assertThat(event.getTokenId()).isNotBlank(),
+                        () -> assertThat(event.getExpiresAt()).isGreaterThan(Instant.now().getEpochSecond())
+                ))
+                .extracting(TokenRevocationEvent::getTokenId)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void logoutWhenSendingFailsTest() {
+        TokenRequestDto tokenRequestDto = TokenRequestDto.builder()
+                .token(tokenGenerator.generateRefreshToken())
+                .build();
+
+        doThrow(new KafkaException("Token revocation is temporarily unavailable."))
+                .when(revocationProducer).sendRevocationEvent(eq(TestConstant.ID), any());
+
+        assertThatThrownBy(() -> tokenRevocationService.logout(tokenGenerator.generateAccessToken(), tokenRequestDto))
+                .isInstanceOf(KafkaException.class);
+
+        verify(revocationProducer, times(1)).sendRevocationEvent(eq(TestConstant.ID), any());
+        verify(revocationRegistry, never()).apply(any());
+    }
+
+    @Test
+    void logoutWhenTokenIsInvalidTest() {
+        TokenRequestDto tokenRequestDto = TokenRequestDto.builder()
+                .token("invalid.refresh.token")
+                .build();
+
+        assertThatThrownBy(() -> tokenRevocationService.logout(tokenGenerator.generateAccessToken(), tokenRequestDto))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void revokeUserTokensTest() {
+        long before = Instant.now().toEpochMilli();
+
+        tokenRevocationService.revokeUserTokens(TestConstant.ID);
+
+        ArgumentCaptor<TokenRevocationEvent> eventCaptor = ArgumentCaptor.forClass(TokenRevocationEvent.class);
+        InOrder inOrder = inOrder(revocationProducer, revocationRegistry);
+        inOrder.verify(revocationProducer).sendRevocationEvent(eq(TestConstant.ID), eventCaptor.capture());
+        inOrder.verify(revocationRegistry).apply(eventCaptor.getValue());
+
+        TokenRevocationEvent event = eventCaptor.getValue();
+        assertAll(
+                () -> assertThat(event.getType()).isEqualTo(TokenRevocationEvent.Type.USER),
+                () -> assertThat(event.getUserId()).isEqualTo(TestConstant.ID),
+                () -> assertThat(event.getRevokedAt()).isBetween(before, Instant.now().toEpochMilli())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        verifyNoMoreInteractions(revocationProducer, revocationRegistry);
+    }
+}
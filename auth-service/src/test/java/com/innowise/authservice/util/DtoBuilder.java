@@ -1,9 +1,11 @@
 package com.innowise.authservice.util;
 
+import com.innowise.authservice.model.dto.CredentialsView;
 import com.innowise.authservice.model.dto.LoginRequestDto;
 import com.innowise.authservice.model.dto.RegisterDto;
 import com.innowise.authservice.model.dto.RegisterRequestDto;
 import com.innowise.authservice.model.entity.UserCredentials;
+import com.innowise.authservice.model.entity.enums.CredentialsStatus;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -33,6 +35,27 @@ public class DtoBuilder {
                 .build();
     }
 
+    public static CredentialsView buildCredentialsView() {
+        return CredentialsView.builder()
+                .phoneNumber(TestConstant.PHONE_NUMBER)
+                .userId(TestConstant.ID)
+                .password(encoder.encode(TestConstant.PASSWORD))
+                .role(TestConstant.ROLE_USER)
+                .status(CredentialsStatus.ACTIVE)
+                .version(0L)
+                .build();
+    }
+
+    public static CredentialsView buildPendingCredentialsView() {
+        return CredentialsView.builder()
+                .phoneNumber(TestConstant.PHONE_NUMBER)
+                .password(encoder.encode(TestConstant.PASSWORD))
+                .role(TestConstant.ROLE_USER)
+                .status(CredentialsStatus.PENDING)
+                .version(0L)
+                .build();
+    }
+
     public static LoginRequestDto buildLoginRequestDto(String password) {
         return LoginRequestDto.builder()
                 .phoneNumber(TestConstant.PHONE_NUMBER)
@@ -8,6 +8,7 @@ public final class TestConstant {
     public static final Long ID = 1L;
     public static final String PHONE_NUMBER = "+375251234567";
     public static final String PASSWORD = "TestPassword";
+    public static final String CLIENT_IP = "192.168.0.10";
     public static final Role ROLE_USER = Role.USER;
     public static final LocalDateTime CREATION_TIMESTAMP = LocalDateTime.now();
 
@@ -1,7 +1,7 @@
 package com.innowise.orderservice.config;
 
-import com.innowise.orderservice.util.Constant;
-import com.innowise.securitystarter.jwt.JwtProvider;
+import com.innowise.securitystarter.jwt.ServiceTokenSupplier;
+import com.innowise.securitystarter.util.SecurityConstant;
 import feign.RequestInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -10,13 +10,12 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 public class ServiceFeignConfig {
-    private final JwtProvider jwtProvider;
+    private final ServiceTokenSupplier serviceTokenSupplier;
 
     @Bean
     public RequestInterceptor serviceRequestInterceptor() {
-        return requestTemplate -> {
-            String serviceToken = jwtProvider.generateAccessToken(null, 0L, Constant.ROLE_SERVICE);
-            requestTemplate.header("Authorization", "Bearer %s".formatted(serviceToken));
-        };
+        return requestTemplate -> requestTemplate.header(
+                SecurityConstant.AUTH_HEADER, serviceTokenSupplier.getAuthorizationHeader()
+        );
     }
 }
\ No newline at end of file
@@ -48,17 +48,20 @@ public class OrderController {
      * Retrieves a specific order by its unique identifier.
      * Accessible to USER for own orders and ADMIN with full rights.
      *
-     * @param id     the unique identifier of the order to retrieve
-     * @param userId the authenticated user's identifier (injected automatically)
-     * @return the order details with items and customer information
+     * @param id              the unique identifier of the order to retrieve
+     * @param includeCustomer whether to request the customer from user-service; callers which already
+     *                        have the customer, like the gateway order view, pass {@code false}
+     * @param userId          the authenticated user's identifier (injected automatically)
+     * @return the order details with items and customer information, if requested
      * @throws ResourceNotFoundException if the order with given ID does not exist
      * @throws AccessDeniedException     if user does not have permission to access the order
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public ResponseEntity<OrderResponseDto> getOrderById(@PathVariable("id") Long id,
+                                                         @RequestParam(defaultValue = "true") boolean includeCustomer,
                                                          @AuthenticationPrincipal Long userId) {
-        OrderResponseDto retrievedOrder = orderService.getOrderById(id, userId);
+        OrderResponseDto retrievedOrder = orderService.getOrderById(id, userId, includeCustomer);
 
         return ResponseEntity.ok(retrievedOrder);
     }
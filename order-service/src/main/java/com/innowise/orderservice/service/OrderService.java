@@ -25,11 +25,12 @@ public interface OrderService {
      *
      * @param orderId the unique identifier of the order to retrieve
      * @param userId the authenticated user's identifier
-     * @return the order details with items and customer information
+     * @param includeCustomer whether to request the customer information from user-service
+     * @return the order details with items and customer information, if requested
      * @throws ResourceNotFoundException if the order with given ID does not exist
      * @throws AccessDeniedException if user does not have permission to access the order
      */
-    OrderResponseDto getOrderById(Long orderId, Long userId);
+    OrderResponseDto getOrderById(Long orderId, Long userId, boolean includeCustomer);
 
     /**
      * Retrieves multiple orders by their identifiers.
@@ -39,11 +39,13 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN') or @orderRepository.existsOrderByIdAndUserId(#orderId, #userId)")
-    public OrderResponseDto getOrderById(Long orderId, Long userId) {
+    public OrderResponseDto getOrderById(Long orderId, Long userId, boolean includeCustomer) {
         Order retrievedOrder = orderRepository.findOrderById(orderId)
                 .orElseThrow(() -> ResourceNotFoundException.orderNotFound(orderId));
 
-        CustomerDto customer = circuitBreaker.getCustomerInfoOrFallback(retrievedOrder.getUserId());
+        CustomerDto customer = includeCustomer
+                ? circuitBreaker.getCustomerInfoOrFallback(retrievedOrder.getUserId())
+                : null;
 
         return orderMapper.toDto(retrievedOrder, customer);
     }
@@ -3,7 +3,6 @@ package com.innowise.orderservice.util;
 public final class Constant {
     public static final String ID = "id";
     public static final String ROLE_ADMIN = "ROLE_ADMIN";
-    public static final String ROLE_SERVICE = "SERVICE";
 
     private Constant() {
     }
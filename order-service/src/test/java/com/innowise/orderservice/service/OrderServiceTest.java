@@ -119,7 +119,7 @@ class OrderServiceTest {
         when(orderRepository.findOrderById(TestConstant.LONG_ID)).thenReturn(Optional.of(testOrder));
         when(circuitBreaker.getCustomerInfoOrFallback(TestConstant.LONG_ID)).thenReturn(testCustomer);
 
-        OrderResponseDto resultDto = orderService.getOrderById(TestConstant.LONG_ID, TestConstant.LONG_ID);
+        OrderResponseDto resultDto = orderService.getOrderById(TestConstant.LONG_ID, TestConstant.LONG_ID, true);
 
         assertOrderResponseDtoFields(resultDto, testCustomer);
 
@@ -128,12 +128,32 @@ class OrderServiceTest {
         verify(circuitBreaker, times(1)).getCustomerInfoOrFallback(TestConstant.LONG_ID);
     }
 
+    @Test
+    @WithMockUser(roles = TestConstant.ROLE_USER_WITHOUT_PREFIX)
+    void getOrderByIdWhenCustomerIsNotIncludedTest() {
+        when(orderRepository.existsOrderByIdAndUserId(TestConstant.LONG_ID, TestConstant.LONG_ID))
+                .thenReturn(true);
+        when(orderRepository.findOrderById(TestConstant.LONG_ID)).thenReturn(Optional.of(testOrder));
+
+        OrderResponseDto resultDto = orderService.getOrderById(TestConstant.LONG_ID, TestConstant.LONG_ID, false);
+
+        assertAll(
+                () -> assertThat(resultDto).isNotNull(),
+                () -> assertThat(resultDto.getCustomer()).isNull(),
+                () -> assertThat(resultDto.getStatus()).isEqualTo(OrderStatus.PROCESSING)
+        );
+
+        verify(orderRepository, times(1)).existsOrderByIdAndUserId(TestConstant.LONG_ID, TestConstant.LONG_ID);
+        verify(orderRepository, times(1)).findOrderById(TestConstant.LONG_ID);
+        verify(circuitBreaker, never()).getCustomerInfoOrFallback(any());
+    }
+
     @Test
     @WithMockUser(roles = TestConstant.ROLE_USER_WITHOUT_PREFIX)
     void getOrderByIdWhenUserIsNotOwnerTest() {
         when(orderRepository.existsOrderByIdAndUserId(TestConstant.LONG_ID, TestConstant.LONG_ID)).thenReturn(false);
 
-        assertThatThrownBy(() -> orderService.getOrderById(TestConstant.LONG_ID, TestConstant.LONG_ID))
+        assertThatThrownBy(() -> orderService.getOrderById(TestConstant.LONG_ID, TestConstant.LONG_ID, true))
                 .isInstanceOf(AccessDeniedException.class)
                 .hasMessageContaining("Access Denied");
 
@@ -149,7 +169,7 @@ class OrderServiceTest {
         when(orderRepository.findOrderById(TestConstant.LONG_ID)).thenReturn(Optional.of(testOrder));
         when(circuitBreaker.getCustomerInfoOrFallback(TestConstant.LONG_ID)).thenReturn(testCustomer);
 
-        OrderResponseDto resultDto = orderService.getOrderById(TestConstant.LONG_ID, adminId);
+        OrderResponseDto resultDto = orderService.getOrderById(TestConstant.LONG_ID, adminId, true);
 
         assertOrderResponseDtoFields(resultDto, testCustomer);
 
@@ -162,7 +182,7 @@ class OrderServiceTest {
     void getOrderByIdWhenOrderDoesNotExistTest() {
         when(orderRepository.findOrderById(TestConstant.LONG_ID)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> orderService.getOrderById(TestConstant.LONG_ID, TestConstant.LONG_ID))
+        assertThatThrownBy(() -> orderService.getOrderById(TestConstant.LONG_ID, TestConstant.LONG_ID, true))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Order not found")
                 .hasMessageContaining(String.valueOf(TestConstant.LONG_ID));
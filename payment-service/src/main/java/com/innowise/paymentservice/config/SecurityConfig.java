@@ -0,0 +1,66 @@
+package com.innowise.paymentservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.paymentservice.model.dto.ErrorResponseDto;
+import com.innowise.securitystarter.jwt.IdentityHeaderCodec;
+import com.innowise.securitystarter.jwt.JwtAuthenticationWebMvcFilter;
+import com.innowise.securitystarter.jwt.JwtProvider;
+import com.innowise.securitystarter.util.SecurityConstant;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+@Configuration
+@EnableWebSecurity
+@EnableMethodSecurity
+@RequiredArgsConstructor
+public class SecurityConfig {
+    private final JwtProvider jwtProvider;
+    private final IdentityHeaderCodec identityHeaderCodec;
+    private final ObjectMapper objectMapper;
+
+    @Bean
+    @SuppressWarnings("java:S4502")
+    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        http
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .anyRequest().authenticated()
+                )
+                .addFilterBefore(new JwtAuthenticationWebMvcFilter(jwtProvider, identityHeaderCodec), UsernamePasswordAuthenticationFilter.class)
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(this::handleAuthException)
+                )
+                .csrf(AbstractHttpConfigurer::disable);
+
+        return http.build();
+    }
+
+    private void handleAuthException(HttpServletRequest request,
+                                     HttpServletResponse response,
+                                     AuthenticationException ex) throws IOException {
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .status(HttpStatus.UNAUTHORIZED.value())
+                .errorMessage(SecurityConstant.INVALID_TOKEN_ERROR_MESSAGE)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        response.setStatus(errorResponse.getStatus());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.innowise.paymentservice.controller;
+
+import com.innowise.paymentservice.exception.ResourceNotFoundException;
+import com.innowise.paymentservice.model.dto.PaymentResponseDto;
+import com.innowise.paymentservice.service.PaymentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PostAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for payment lookups.
+ * Payments are created from order events only, so the controller is read-only.
+ *
+ * @see PaymentService
+ * @see PaymentResponseDto
+ */
+@RestController
+@RequestMapping("/payments")
+@RequiredArgsConstructor
+public class PaymentController {
+    private final PaymentService paymentService;
+
+    /**
+     * Retrieves the latest payment attempt of the order.
+     * Accessible to ADMIN and SERVICE, or to USER who placed the order.
+     *
+     * @param orderId the identifier of the order
+     * @return the latest payment attempt of the order
+     * @throws ResourceNotFoundException if the order has no payment attempts
+     * @throws AccessDeniedException     if user does not have permission to access the payment
+     */
+    @GetMapping(params = "orderId")
+    @PostAuthorize("hasAnyRole('ADMIN', 'SERVICE') " +
+            "or (hasRole('USER') and returnObject.body.userId == authentication.principal)")
+    public ResponseEntity<PaymentResponseDto> getPaymentByOrderId(@RequestParam Long orderId) {
+        PaymentResponseDto retrievedPayment = paymentService.getPaymentByOrderId(orderId);
+
+        return ResponseEntity.ok(retrievedPayment);
+    }
+}
@@ -0,0 +1,16 @@
+package com.innowise.paymentservice.exception;
+
+import java.io.Serial;
+
+public class ResourceNotFoundException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 5914382065419307256L;
+
+    private ResourceNotFoundException(String message) {
+        super(message);
+    }
+
+    public static ResourceNotFoundException paymentNotFound(Long orderId) {
+        return new ResourceNotFoundException("Payment not found for order with id: %d".formatted(orderId));
+    }
+}
@@ -0,0 +1,34 @@
+package com.innowise.paymentservice.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.innowise.paymentservice.controller.GlobalControllerAdvice;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for standardized error responses.
+ * Provides consistent error format across all API endpoints.
+ * Used by {@link GlobalControllerAdvice} to handle exceptions.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ErrorResponseDto {
+    /**
+     * HTTP status code of the error response.
+     */
+    private int status;
+
+    /**
+     * Human-readable error message describing the issue.
+     */
+    private String errorMessage;
+
+    /**
+     * Timestamp when the error occurred. Automatically set to current time.
+     */
+    @Builder.Default
+    private LocalDateTime timestamp = LocalDateTime.now();
+}
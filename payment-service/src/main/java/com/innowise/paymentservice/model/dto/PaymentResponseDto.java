@@ -0,0 +1,41 @@
+package com.innowise.paymentservice.model.dto;
+
+import com.innowise.paymentservice.model.entity.enums.PaymentStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object representing a payment attempt of an order.
+ * Uses as a response body in payment lookup endpoint.
+ */
+@Data
+@Builder
+public class PaymentResponseDto {
+    /**
+     * Identifier of the paid order.
+     */
+    private Long orderId;
+
+    /**
+     * Identifier of the user who placed the order.
+     */
+    private Long userId;
+
+    /**
+     * Outcome of the payment attempt.
+     */
+    private PaymentStatus status;
+
+    /**
+     * Total amount to be paid for the order.
+     */
+    private BigDecimal paymentAmount;
+
+    /**
+     * Timestamp when the payment attempt was made.
+     */
+    private LocalDateTime timestamp;
+}
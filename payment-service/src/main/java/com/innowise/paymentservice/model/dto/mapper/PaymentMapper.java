@@ -1,5 +1,6 @@
 package com.innowise.paymentservice.model.dto.mapper;
 
+import com.innowise.paymentservice.model.dto.PaymentResponseDto;
 import com.innowise.paymentservice.model.dto.kafka.OrderCreatedEvent;
 import com.innowise.paymentservice.model.dto.kafka.PaymentProcessedEvent;
 import com.innowise.paymentservice.model.entity.Payment;
@@ -12,4 +13,6 @@ public interface PaymentMapper {
     Payment toEntity(OrderCreatedEvent event);
 
     PaymentProcessedEvent toEvent(Payment payment);
+
+    PaymentResponseDto toResponseDto(Payment payment);
 }
\ No newline at end of file
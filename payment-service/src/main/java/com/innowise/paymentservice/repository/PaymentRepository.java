@@ -11,5 +11,7 @@ import java.util.Optional;
 public interface PaymentRepository extends MongoRepository<Payment, String> {
     Optional<Payment> findPaymentByOrderId(Long orderId);
 
+    Optional<Payment> findFirstByOrderIdOrderByTimestampDesc(Long orderId);
+
     boolean existsByOrderIdAndStatus(Long orderId, PaymentStatus status);
 }
\ No newline at end of file
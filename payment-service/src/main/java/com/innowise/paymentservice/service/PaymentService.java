@@ -1,6 +1,8 @@
 package com.innowise.paymentservice.service;
 
 import com.innowise.paymentservice.client.RandomNumberApiClient;
+import com.innowise.paymentservice.exception.ResourceNotFoundException;
+import com.innowise.paymentservice.model.dto.PaymentResponseDto;
 import com.innowise.paymentservice.model.dto.kafka.OrderCreatedEvent;
 import com.innowise.paymentservice.model.entity.Payment;
 
@@ -19,4 +21,13 @@ public interface PaymentService {
      * @param event the order creation event containing payment details
      */
     void createPayment(OrderCreatedEvent event);
+
+    /**
+     * Retrieves the latest payment attempt of the order.
+     *
+     * @param orderId the identifier of the order
+     * @return the latest payment attempt
+     * @throws ResourceNotFoundException if the order has no payment attempts
+     */
+    PaymentResponseDto getPaymentByOrderId(Long orderId);
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.innowise.paymentservice.service.impl;
 
 import com.innowise.paymentservice.client.RandomNumberApiClient;
+import com.innowise.paymentservice.exception.ResourceNotFoundException;
+import com.innowise.paymentservice.model.dto.PaymentResponseDto;
 import com.innowise.paymentservice.model.dto.kafka.OrderCreatedEvent;
 import com.innowise.paymentservice.model.dto.mapper.PaymentMapper;
 import com.innowise.paymentservice.model.entity.Payment;
@@ -39,4 +41,12 @@ public class PaymentServiceImpl implements PaymentService {
 
         paymentEventProducer.sendPaymentProcessedEvent(createdPayment);
     }
+
+    @Override
+    public PaymentResponseDto getPaymentByOrderId(Long orderId) {
+        Payment retrievedPayment = paymentRepository.findFirstByOrderIdOrderByTimestampDesc(orderId)
+                .orElseThrow(() -> ResourceNotFoundException.paymentNotFound(orderId));
+
+        return paymentMapper.toResponseDto(retrievedPayment);
+    }
 }
\ No newline at end of file
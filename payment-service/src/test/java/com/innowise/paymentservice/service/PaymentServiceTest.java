@@ -1,6 +1,8 @@
 package com.innowise.paymentservice.service;
 
 import com.innowise.paymentservice.client.RandomNumberApiClient;
+import com.innowise.paymentservice.exception.ResourceNotFoundException;
+import com.innowise.paymentservice.model.dto.PaymentResponseDto;
 import com.innowise.paymentservice.model.dto.kafka.OrderCreatedEvent;
 import com.innowise.paymentservice.model.dto.mapper.PaymentMapperImpl;
 import com.innowise.paymentservice.model.entity.Payment;
@@ -20,7 +22,9 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.math.BigDecimal;
+import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
@@ -114,6 +118,39 @@ class PaymentServiceTest {
         verify(paymentEventProducer, times(1)).sendPaymentProcessedEvent(any(Payment.class));
     }
 
+    @Test
+    void getPaymentByOrderIdWhenPaymentExistsTest() {
+        Payment existingPayment = Payment.builder()
+                .orderId(TestConstants.ID)
+                .userId(TestConstants.ID)
+                .status(PaymentStatus.SUCCESS)
+                .paymentAmount(BigDecimal.TEN)
+                .build();
+        when(paymentRepository.findFirstByOrderIdOrderByTimestampDesc(TestConstants.ID))
+                .thenReturn(Optional.of(existingPayment));
+
+        PaymentResponseDto result = paymentService.getPaymentByOrderId(TestConstants.ID);
+
+        assertThat(result).isNotNull();
+        assertThat(result.getOrderId()).isEqualTo(TestConstants.ID);
+        assertThat(result.getUserId()).isEqualTo(TestConstants.ID);
+        assertThat(result.getStatus()).isEqualTo(PaymentStatus.SUCCESS);
+        assertThat(result.getPaymentAmount()).isEqualTo(BigDecimal.TEN);
+
+        verify(paymentRepository, times(1)).findFirstByOrderIdOrderByTimestampDesc(TestConstants.ID);
+    }
+
+    @Test
+    void getPaymentByOrderIdWhenPaymentDoesNotExistTest() {
+        when(paymentRepository.findFirstByOrderIdOrderByTimestampDesc(TestConstants.ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> paymentService.getPaymentByOrderId(TestConstants.ID))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Payment not found for order with id: %d".formatted(TestConstants.ID));
+
+        verify(paymentRepository, times(1)).findFirstByOrderIdOrderByTimestampDesc(TestConstants.ID);
+    }
+
     @AfterEach
     void tearDown() {
         verifyNoMoreInteractions(randomNumberApiClient, paymentRepository, paymentEventProducer);
@@ -0,0 +1,116 @@
+package com.innowise.securitybenchmark;
+
+import com.innowise.securitystarter.jwt.JwtAuthenticationWebMvcFilter;
+import com.innowise.securitystarter.jwt.JwtProvider;
+import com.innowise.securitystarter.util.SecurityConstant;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of a full {@link JwtAuthenticationWebMvcFilter} invocation against mock servlet objects.
+ * The filter and provider are shared between threads, while requests are thread-local as in a servlet container.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class JwtFilterBenchmark {
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private JwtAuthenticationWebMvcFilter filter;
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Setup
+    public void setUp() {
+        filter = new JwtAuthenticationWebMvcFilter(JwtFixture.provider(cacheEnabled), JwtFixture.identityHeaderCodec());
+    }
+
+    /**
+     * Per-thread servlet objects, one request for each kind of token.
+     * Tokens are signed with the same secret as the filter's provider.
+     */
+    @State(Scope.Thread)
+    public static class Requests {
+        MockHttpServletRequest valid;
+        MockHttpServletRequest expired;
+        MockHttpServletRequest identity;
+        MockHttpServletRequest anonymous;
+        MockHttpServletResponse response;
+
+        @Setup
+        public void setUp() {
+            JwtProvider jwtProvider = JwtFixture.provider(false);
+            String accessToken = jwtProvider.generateAccessToken(
+                    JwtFixture.PHONE_NUMBER, JwtFixture.USER_ID, JwtFixture.ROLE);
+            valid = bearerRequest(accessToken);
+            expired = bearerRequest(JwtFixture.expiredAccessToken());
+            identity = bearerRequest(accessToken);
+            identity.addHeader(SecurityConstant.IDENTITY_HEADER,
+                    JwtFixture.identityHeaderCodec().encode(jwtProvider.verify(accessToken)));
+            anonymous = new MockHttpServletRequest("GET", "/api/v1/users");
+            response = new MockHttpServletResponse();
+        }
+
+        private static MockHttpServletRequest bearerRequest(String token) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users");
+            request.addHeader(SecurityConstant.AUTH_HEADER, SecurityConstant.BEARER_PREFIX + token);
+            return request;
+        }
+    }
+
+    @Benchmark
+    public Authentication validToken(Requests requests) throws ServletException, IOException {
+        return doFilter(requests.valid, requests);
+    }
+
+    @Benchmark
+    public Authentication expiredToken(Requests requests) throws ServletException, IOException {
+        return doFilter(requests.expired, requests);
+    }
+
+    /**
+     * Request forwarded by the gateway with identity header mode enabled.
+     */
+    @Benchmark
+    public Authentication identityHeader(Requests requests) throws ServletException, IOException {
+        return doFilter(requests.identity, requests);
+    }
+
+    @Benchmark
+    public Authentication noToken(Requests requests) throws ServletException, IOException {
+        return doFilter(requests.anonymous, requests);
+    }
+
+    private Authentication doFilter(MockHttpServletRequest request, Requests requests)
+            throws ServletException, IOException {
+        try {
+            filter.doFilter(request, requests.response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
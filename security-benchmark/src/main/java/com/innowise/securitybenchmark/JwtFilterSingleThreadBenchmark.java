@@ -0,0 +1,7 @@
+package com.innowise.securitybenchmark;
+
+import org.openjdk.jmh.annotations.Threads;
+
+@Threads(1)
+public class JwtFilterSingleThreadBenchmark extends JwtFilterBenchmark {
+}
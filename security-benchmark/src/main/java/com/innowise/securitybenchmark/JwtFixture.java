@@ -0,0 +1,57 @@
+package com.innowise.securitybenchmark;
+
+import com.innowise.securitystarter.config.JwtProperties;
+import com.innowise.securitystarter.jwt.IdentityHeaderCodec;
+import com.innowise.securitystarter.jwt.JwtProvider;
+
+/**
+ * Shared test data for the benchmarks: providers configured the same way as in services and pre-generated tokens.
+ */
+public final class JwtFixture {
+    public static final String SECRET = "benchmark-secret-key-which-is-long-enough-for-hmac-sha-256";
+    public static final String IDENTITY_HEADER_SECRET = "benchmark-identity-header-key-long-enough-for-hmac";
+    public static final String PHONE_NUMBER = "+375291234567";
+    public static final Long USER_ID = 42L;
+    public static final String ROLE = "USER";
+
+    private JwtFixture() {
+    }
+
+    /**
+     * Creates a provider with default token lifetimes.
+     *
+     * @param cacheEnabled whether verified tokens are cached
+     * @return JwtProvider instance
+     */
+    public static JwtProvider provider(boolean cacheEnabled) {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(SECRET);
+        jwtProperties.getCache().setEnabled(cacheEnabled);
+        return new JwtProvider(jwtProperties);
+    }
+
+    /**
+     * Generates an access token signed with the benchmark secret which is already expired.
+     *
+     * @return expired JWT access token
+     */
+    public static String expiredAccessToken() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(SECRET);
+        jwtProperties.setAccessTokenExpiration(-60_000L);
+        return new JwtProvider(jwtProperties).generateAccessToken(PHONE_NUMBER, USER_ID, ROLE);
+    }
+
+    /**
+     * Creates an identity header codec with enabled identity header mode.
+     *
+     * @return IdentityHeaderCodec instance
+     */
+    public static IdentityHeaderCodec identityHeaderCodec() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(SECRET);
+        jwtProperties.getIdentityHeader().setEnabled(true);
+        jwtProperties.getIdentityHeader().setSecret(IDENTITY_HEADER_SECRET);
+        return new IdentityHeaderCodec(jwtProperties);
+    }
+}
@@ -0,0 +1,103 @@
+package com.innowise.securitybenchmark;
+
+import com.innowise.securitystarter.jwt.JwtPrincipal;
+import com.innowise.securitystarter.jwt.JwtProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link JwtProvider} operations performed on every request.
+ * Thread count is defined by subclasses, so the same set runs in single- and multi-thread modes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class JwtProviderBenchmark {
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private JwtProvider jwtProvider;
+    private String accessToken;
+    private String refreshToken;
+    private String expiredToken;
+
+    @Setup
+    public void setUp() {
+        jwtProvider = JwtFixture.provider(cacheEnabled);
+        accessToken = jwtProvider.generateAccessToken(JwtFixture.PHONE_NUMBER, JwtFixture.USER_ID, JwtFixture.ROLE);
+        refreshToken = jwtProvider.generateRefreshToken(JwtFixture.PHONE_NUMBER, JwtFixture.USER_ID);
+        expiredToken = JwtFixture.expiredAccessToken();
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtProvider.generateAccessToken(JwtFixture.PHONE_NUMBER, JwtFixture.USER_ID, JwtFixture.ROLE);
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return jwtProvider.generateRefreshToken(JwtFixture.PHONE_NUMBER, JwtFixture.USER_ID);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtProvider.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public JwtPrincipal verify() {
+        return jwtProvider.verify(accessToken);
+    }
+
+    @Benchmark
+    public Long extractUserId() {
+        return jwtProvider.extractUserId(accessToken);
+    }
+
+    @Benchmark
+    public String extractRole() {
+        return jwtProvider.extractRole(accessToken);
+    }
+
+    @Benchmark
+    public List<GrantedAuthority> extractAuthorities() {
+        return jwtProvider.extractAuthorities(accessToken);
+    }
+
+    @Benchmark
+    public boolean isRefreshToken() {
+        return jwtProvider.isRefreshToken(refreshToken);
+    }
+
+    /**
+     * Expired tokens are rejected by throwing {@link io.jsonwebtoken.ExpiredJwtException}, which is never cached.
+     */
+    @Benchmark
+    public boolean validateExpiredToken() {
+        return jwtProvider.validateToken(expiredToken);
+    }
+
+    /**
+     * Claims of expired tokens are read from {@link io.jsonwebtoken.ExpiredJwtException}, as auth-service does on refresh.
+     */
+    @Benchmark
+    public Long extractUserIdFromExpiredToken() {
+        return jwtProvider.extractUserId(expiredToken);
+    }
+}
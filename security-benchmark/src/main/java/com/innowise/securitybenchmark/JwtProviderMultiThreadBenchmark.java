@@ -0,0 +1,7 @@
+package com.innowise.securitybenchmark;
+
+import org.openjdk.jmh.annotations.Threads;
+
+@Threads(Threads.MAX)
+public class JwtProviderMultiThreadBenchmark extends JwtProviderBenchmark {
+}
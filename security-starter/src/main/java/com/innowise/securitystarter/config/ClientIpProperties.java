@@ -0,0 +1,29 @@
+package com.innowise.securitystarter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for resolving the client IP address behind proxies.
+ * Configure via application.yml:
+ * <pre>{@code
+ * client-ip:
+ *   trusted-proxies:
+ *     - 10.0.0.0/8
+ *     - 127.0.0.1
+ * }</pre>
+ * By default, loopback and private network addresses are trusted, which covers the ingress controller
+ * and the gateway inside the cluster or the Docker network.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "client-ip")
+public class ClientIpProperties {
+    private List<String> trustedProxies = new ArrayList<>(List.of(
+            "127.0.0.0/8", "10.0.0.0/8", "172.16.0.0/12", "192.168.0.0/16", "::1/128", "fc00::/7"
+    ));
+}
@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * Configuration properties for JWT token generation and validation.
  * Configure via application.yml:
@@ -13,6 +15,18 @@ import org.springframework.stereotype.Component;
  *   access-token-expiration: 900000
  *   refresh-token-expiration: 86400000
  *   issuer: "auth-service"
+ *   cache:
+ *     enabled: true
+ *     maximum-size: 10000
+ *   identity-header:
+ *     enabled: false
+ *     secret: "separate-identity-header-key"
+ *   revocation:
+ *     enabled: false
+ *     topic: "tokens-revocation-events"
+ *     expected-revocations: 100000
+ *     false-positive-probability: 0.01
+ *     prune-interval: 10m
  * }</pre>
  */
 @Data
@@ -22,4 +36,38 @@ public class JwtProperties {
     private String secret;
     private Long accessTokenExpiration = 3_600_000L; // 1 hour
     private Long refreshTokenExpiration = 604_800_000L; // 1 week
-}
\ No newline at end of file
+    private Cache cache = new Cache();
+    private IdentityHeader identityHeader = new IdentityHeader();
+    private Revocation revocation = new Revocation();
+
+    /**
+     * Settings of the verified tokens cache. Entries live until the token expiration.
+     */
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        private long maximumSize = 10_000L;
+    }
+
+    /**
+     * Settings of the signed identity header forwarded by the gateway. The secret is required when the header
+     * is enabled and must differ from the JWT secret.
+     */
+    @Data
+    public static class IdentityHeader {
+        private boolean enabled = false;
+        private String secret;
+    }
+
+    /**
+     * Settings of the revoked tokens deny-list, which is filled from the revocation events topic.
+     */
+    @Data
+    public static class Revocation {
+        private boolean enabled = false;
+        private String topic = "tokens-revocation-events";
+        private long expectedRevocations = 100_000L;
+        private double falsePositiveProbability = 0.01;
+        private Duration pruneInterval = Duration.ofMinutes(10);
+    }
+}
@@ -1,21 +1,139 @@
 package com.innowise.securitystarter.config;
 
+import com.innowise.securitystarter.jwt.IdentityHeaderCodec;
 import com.innowise.securitystarter.jwt.JwtProvider;
+import com.innowise.securitystarter.jwt.ServiceTokenSupplier;
+import com.innowise.securitystarter.metrics.AuthMetrics;
+import com.innowise.securitystarter.metrics.MicrometerAuthMetrics;
+import com.innowise.securitystarter.revocation.TokenRevocationEvent;
+import com.innowise.securitystarter.revocation.TokenRevocationRegistry;
+import com.innowise.securitystarter.web.ClientIpResolver;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.ssl.SslBundles;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Autoconfiguration for JWT security components.
  *
  * @see JwtProvider
+ * @see ServiceTokenSupplier
+ * @see IdentityHeaderCodec
+ * @see TokenRevocationRegistry
+ * @see ClientIpResolver
+ * @see AuthMetrics
  * @see JwtProperties
  */
 @Configuration
-@EnableConfigurationProperties(JwtProperties.class)
+@EnableConfigurationProperties({JwtProperties.class, ClientIpProperties.class})
 public class SecurityStarterAutoConfiguration {
     @Bean
-    public JwtProvider jwtProvider(JwtProperties jwtProperties) {
-        return new JwtProvider(jwtProperties);
+    public JwtProvider jwtProvider(JwtProperties jwtProperties,
+                                   ObjectProvider<TokenRevocationRegistry> revocationRegistry,
+                                   ObjectProvider<AuthMetrics> authMetrics) {
+        JwtProvider jwtProvider = new JwtProvider(jwtProperties);
+        revocationRegistry.ifAvailable(jwtProvider::setRevocationRegistry);
+        authMetrics.ifAvailable(jwtProvider::setAuthMetrics);
+        return jwtProvider;
+    }
+
+    @Bean
+    public ServiceTokenSupplier serviceTokenSupplier(JwtProvider jwtProvider, JwtProperties jwtProperties) {
+        return new ServiceTokenSupplier(jwtProvider, jwtProperties);
+    }
+
+    @Bean
+    public IdentityHeaderCodec identityHeaderCodec(JwtProperties jwtProperties) {
+        return new IdentityHeaderCodec(jwtProperties);
+    }
+
+    @Bean
+    public ClientIpResolver clientIpResolver(ClientIpProperties clientIpProperties) {
+        return new ClientIpResolver(clientIpProperties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "jwt.revocation", name = "enabled", havingValue = "true")
+    public TokenRevocationRegistry tokenRevocationRegistry(JwtProperties jwtProperties) {
+        return new TokenRevocationRegistry(jwtProperties);
+    }
+
+    /**
+     * Records authentication metrics to the application's meter registry, tagged by {@code spring.application.name}.
+     */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class AuthMetricsConfiguration {
+        @Bean
+        public AuthMetrics authMetrics(ObjectProvider<MeterRegistry> meterRegistry,
+                                       @Value("${spring.application.name:application}") String applicationName) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            return registry != null ? new MicrometerAuthMetrics(registry, applicationName) : AuthMetrics.NOOP;
+        }
+
+        @Bean
+        public MeterBinder serviceTokenMetrics(ServiceTokenSupplier serviceTokenSupplier,
+                                               @Value("${spring.application.name:application}") String applicationName) {
+            return registry -> FunctionCounter.builder("auth.service.tokens.issued", serviceTokenSupplier,
+                            ServiceTokenSupplier::getIssuedTokenCount)
+                    .description("SERVICE tokens minted for internal requests")
+                    .tag("service", applicationName)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Fills the revocation registry from the revocation events topic.
+     * Every service instance reads the whole topic from the beginning under a unique consumer group,
+     * so the registry is rebuilt on startup and each instance receives all events.
+     */
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.kafka.listener.KafkaMessageListenerContainer")
+    @ConditionalOnProperty(prefix = "jwt.revocation", name = "enabled", havingValue = "true")
+    static class TokenRevocationKafkaConfiguration {
+        @Bean
+        public KafkaMessageListenerContainer<String, TokenRevocationEvent> tokenRevocationListenerContainer(
+                KafkaProperties kafkaProperties,
+                SslBundles sslBundles,
+                JwtProperties jwtProperties,
+                TokenRevocationRegistry revocationRegistry,
+                @Value("${spring.application.name:application}") String applicationName) {
+            Map<String, Object> consumerProperties = kafkaProperties.buildConsumerProperties(sslBundles);
+            consumerProperties.put(ConsumerConfig.GROUP_ID_CONFIG,
+                    "%s-revocation-%s".formatted(applicationName, UUID.randomUUID()));
+            consumerProperties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+            consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+            DefaultKafkaConsumerFactory<String, TokenRevocationEvent> consumerFactory = new DefaultKafkaConsumerFactory<>(
+                    consumerProperties,
+                    new StringDeserializer(),
+                    new ErrorHandlingDeserializer<>(new JsonDeserializer<>(TokenRevocationEvent.class, false))
+            );
+
+            ContainerProperties containerProperties = new ContainerProperties(jwtProperties.getRevocation().getTopic());
+            containerProperties.setMessageListener((MessageListener<String, TokenRevocationEvent>) event ->
+                    revocationRegistry.apply(event.value()));
+
+            return new KafkaMessageListenerContainer<>(consumerFactory, containerProperties);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,8 @@
 package com.innowise.securitystarter.jwt;
 
+import com.innowise.securitystarter.metrics.RejectionReason;
 import com.innowise.securitystarter.util.SecurityConstant;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,27 +16,77 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates requests by the identity header forwarded by the gateway or, when it is absent, by the bearer token.
+ * A present but invalid identity header, as well as a header of a revoked token, leaves the request unauthenticated.
+ *
+ * @see IdentityHeaderCodec
+ */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationWebMvcFilter extends OncePerRequestFilter {
     private final JwtProvider jwtProvider;
+    private final IdentityHeaderCodec identityHeaderCodec;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
-        String token = resolveToken(request);
+        String identityHeader = identityHeaderCodec.isEnabled()
+                ? request.getHeader(SecurityConstant.IDENTITY_HEADER)
+                : null;
 
-        if (token != null && jwtProvider.validateToken(token)) {
-            UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                    jwtProvider.extractUserId(token), null, jwtProvider.extractAuthorities(token)
-            );
-            SecurityContextHolder.getContext().setAuthentication(auth);
+        if (identityHeader != null) {
+            authenticateByIdentityHeader(identityHeader);
+        } else {
+            String token = resolveToken(request);
+
+            if (token != null) {
+                authenticate(token);
+            }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private void authenticateByIdentityHeader(String identityHeader) {
+        JwtPrincipal principal = identityHeaderCodec.decode(identityHeader);
+
+        if (principal == null) {
+            jwtProvider.getAuthMetrics().recordRejection(RejectionReason.INVALID_IDENTITY_HEADER);
+            return;
+        }
+
+        if (jwtProvider.isRevoked(principal)) {
+            jwtProvider.getAuthMetrics().recordRejection(RejectionReason.REVOKED);
+            return;
+        }
+
+        authenticate(principal);
+    }
+
+    private void authenticate(String token) {
+        JwtPrincipal principal;
+        try {
+            principal = jwtProvider.verify(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return;
+        }
+
+        authenticate(principal);
+    }
+
+    private void authenticate(JwtPrincipal principal) {
+        if (principal == null) {
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                principal.getUserId(), null, principal.getAuthorities()
+        );
+        SecurityContextHolder.getContext().setAuthentication(auth);
+    }
+
     private String resolveToken(HttpServletRequest request) {
         String bearerToken = request.getHeader(SecurityConstant.AUTH_HEADER);
         if (bearerToken != null && bearerToken.startsWith(SecurityConstant.BEARER_PREFIX)) {
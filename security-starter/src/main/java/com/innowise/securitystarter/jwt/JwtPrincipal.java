@@ -0,0 +1,46 @@
+package com.innowise.securitystarter.jwt;
+
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable result of a single JWT verification.
+ * Holds everything the authentication filters need, so a token is parsed and its signature checked only once.
+ *
+ * @see JwtProvider#verify(String)
+ */
+@Value
+@Builder
+public class JwtPrincipal {
+    /** Token ID (jti), null if the token has none. */
+    String tokenId;
+
+    /** User identifier from the token claims. */
+    Long userId;
+
+    /** User role from the token claims, null for refresh tokens. */
+    String role;
+
+    /** Spring Security authorities derived from the role, empty for refresh tokens. */
+    List<GrantedAuthority> authorities;
+
+    /** Moment when the token was issued, null if the token has no issue time. */
+    Instant issuedAt;
+
+    /** Moment when the token stops being valid. */
+    Instant expiration;
+
+    /**
+     * Checks whether the token has already expired at the given moment.
+     *
+     * @param now the moment to check against
+     * @return true if the token is expired
+     */
+    public boolean isExpiredAt(Instant now) {
+        return !expiration.isAfter(now);
+    }
+}
@@ -1,31 +1,85 @@
 package com.innowise.securitystarter.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.innowise.securitystarter.config.JwtProperties;
+import com.innowise.securitystarter.metrics.AuthMetrics;
+import com.innowise.securitystarter.metrics.RejectionReason;
+import com.innowise.securitystarter.revocation.RevokedTokenException;
+import com.innowise.securitystarter.revocation.TokenRevocationRegistry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Main component for JWT token operations.
  * Provides methods for token generation, validation and data extraction.
  */
-@RequiredArgsConstructor
 public class JwtProvider {
     private final JwtProperties jwtProperties;
+    private final Cache<String, JwtPrincipal> principalCache;
     private SecretKey secretKey;
+    private JwtParser jwtParser;
+    private TokenRevocationRegistry revocationRegistry;
+    private AuthMetrics authMetrics = AuthMetrics.NOOP;
 
     private static final String USER_ID_CLAIM = "userId";
     private static final String ROLE_CLAIM = "role";
+    private static final String ISSUED_AT_MILLIS_CLAIM = "iatMs";
+    private static final String TOKEN_DIGEST_ALGORITHM = "SHA-256";
+
+    public JwtProvider(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.principalCache = jwtProperties.getCache().isEnabled()
+                ? buildPrincipalCache(jwtProperties.getCache().getMaximumSize())
+                : null;
+    }
+
+    /**
+     * Enables the revocation check of verified tokens.
+     *
+     * @param revocationRegistry the local deny-list of revoked tokens
+     */
+    public void setRevocationRegistry(TokenRevocationRegistry revocationRegistry) {
+        this.revocationRegistry = revocationRegistry;
+    }
+
+    /**
+     * Enables recording of token generation, validation and rejection metrics.
+     *
+     * @param authMetrics the metrics to record to
+     */
+    public void setAuthMetrics(AuthMetrics authMetrics) {
+        this.authMetrics = authMetrics;
+    }
+
+    /**
+     * Gets the metrics which this provider records to.
+     *
+     * @return AuthMetrics instance, no-op one if metrics are not enabled
+     */
+    public AuthMetrics getAuthMetrics() {
+        return authMetrics;
+    }
 
     /**
      * Lazily initializes and gets the key from configured secret.
@@ -39,6 +93,21 @@ public class JwtProvider {
         return secretKey;
     }
 
+    /**
+     * Lazily initializes and gets the parser bound to the signing key.
+     * The parser is immutable and thread-safe, so a single instance serves all requests.
+     *
+     * @return JwtParser instance verifying HMAC-SHA signatures
+     */
+    private JwtParser getParser() {
+        if (jwtParser == null) {
+            jwtParser = Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build();
+        }
+        return jwtParser;
+    }
+
     /**
      * Generates a JWT access token with user information and role claims.
      *
@@ -48,14 +117,21 @@ public class JwtProvider {
      * @return signed JWT access token
      */
     public String generateAccessToken(String phoneNumber, Long userId, String role) {
-        return Jwts.builder()
+        long start = System.nanoTime();
+        long issuedAt = System.currentTimeMillis();
+        String token = Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(phoneNumber)
                 .claim(USER_ID_CLAIM, userId)
                 .claim(ROLE_CLAIM, role)
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + jwtProperties.getAccessTokenExpiration()))
+                .claim(ISSUED_AT_MILLIS_CLAIM, issuedAt)
+                .issuedAt(new Date(issuedAt))
+                .expiration(new Date(issuedAt + jwtProperties.getAccessTokenExpiration()))
                 .signWith(getSigningKey())
                 .compact();
+
+        authMetrics.recordTokenGeneration(AuthMetrics.ACCESS_TOKEN, System.nanoTime() - start);
+        return token;
     }
 
     /**
@@ -66,13 +142,85 @@ public class JwtProvider {
      * @return signed JWT refresh token string
      */
     public String generateRefreshToken(String phoneNumber, Long userId) {
-        return Jwts.builder()
+        long start = System.nanoTime();
+        long issuedAt = System.currentTimeMillis();
+        String token = Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(phoneNumber)
                 .claim(USER_ID_CLAIM, userId)
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + jwtProperties.getRefreshTokenExpiration()))
+                .claim(ISSUED_AT_MILLIS_CLAIM, issuedAt)
+                .issuedAt(new Date(issuedAt))
+                .expiration(new Date(issuedAt + jwtProperties.getRefreshTokenExpiration()))
                 .signWith(getSigningKey())
                 .compact();
+
+        authMetrics.recordTokenGeneration(AuthMetrics.REFRESH_TOKEN, System.nanoTime() - start);
+        return token;
+    }
+
+    /**
+     * Verifies the token once and returns everything needed for authentication.
+     * Successfully verified tokens are cached by their digest until expiration, so repeated
+     * requests with the same token skip signature verification and claims parsing.
+     * If revocation is enabled, every call also checks the token against the local deny-list.
+     *
+     * @param token the JWT token to verify
+     * @return verified principal with user ID, role, authorities and expiration
+     * @throws io.jsonwebtoken.JwtException if the token is expired, malformed, revoked or has invalid signature
+     * @throws IllegalArgumentException if the token is null or blank
+     */
+    public JwtPrincipal verify(String token) {
+        long start = System.nanoTime();
+
+        try {
+            if (token == null || token.isBlank()) {
+                throw new IllegalArgumentException("Token must not be null or blank");
+            }
+
+            JwtPrincipal principal = verifySignedPrincipal(token);
+
+            if (isRevoked(principal)) {
+                throw new RevokedTokenException();
+            }
+
+            authMetrics.recordTokenValidation(System.nanoTime() - start, true);
+            return principal;
+        } catch (JwtException | IllegalArgumentException ex) {
+            authMetrics.recordTokenValidation(System.nanoTime() - start, false);
+            authMetrics.recordRejection(RejectionReason.of(ex));
+            throw ex;
+        }
+    }
+
+    /**
+     * Checks the principal against the local deny-list, e.g. the one restored from the identity header.
+     *
+     * @param principal the verified principal
+     * @return true if revocation is enabled and the token or all tokens of its user are revoked
+     */
+    public boolean isRevoked(JwtPrincipal principal) {
+        return revocationRegistry != null && revocationRegistry.isRevoked(principal);
+    }
+
+    private JwtPrincipal verifySignedPrincipal(String token) {
+        if (principalCache == null) {
+            return parsePrincipal(token);
+        }
+
+        String tokenDigest = digest(token);
+        JwtPrincipal cachedPrincipal = principalCache.getIfPresent(tokenDigest);
+
+        if (cachedPrincipal != null && !cachedPrincipal.isExpiredAt(Instant.now())) {
+            authMetrics.recordCacheLookup(true);
+            return cachedPrincipal;
+        }
+
+        authMetrics.recordCacheLookup(false);
+
+        JwtPrincipal principal = parsePrincipal(token);
+        principalCache.put(tokenDigest, principal);
+
+        return principal;
     }
 
     /**
@@ -83,10 +231,7 @@ public class JwtProvider {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            verify(token);
             return true;
         } catch (Exception ex) {
             return false;
@@ -135,24 +280,104 @@ public class JwtProvider {
      * @return list of GrantedAuthority objects with "ROLE_" prefix
      */
     public List<GrantedAuthority> extractAuthorities(String token) {
-        String role = extractClaims(token).get(ROLE_CLAIM, String.class);
-
-        if (role == null || role.isBlank()) {
-            return Collections.emptyList();
-        }
+        return toAuthorities(extractClaims(token).get(ROLE_CLAIM, String.class));
+    }
 
-        return List.of(new SimpleGrantedAuthority("ROLE_%s".formatted(role)));
+    /**
+     * Restores the principal of an expired token from the claims of the exception, without parsing the token again.
+     * The signature of the token was checked before the expiration, so the claims can be trusted.
+     *
+     * @param ex the exception thrown by {@link #verify(String)} for the expired token
+     * @return principal of the expired token
+     */
+    public JwtPrincipal principalOf(ExpiredJwtException ex) {
+        return toPrincipal(ex.getClaims());
     }
 
     private Claims extractClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
+            return getParser()
                     .parseSignedClaims(token)
                     .getPayload();
         } catch (ExpiredJwtException ex) {
             return ex.getClaims();
         }
     }
-}
\ No newline at end of file
+
+    private JwtPrincipal parsePrincipal(String token) {
+        return toPrincipal(getParser()
+                .parseSignedClaims(token)
+                .getPayload());
+    }
+
+    private JwtPrincipal toPrincipal(Claims claims) {
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("Token has no expiration");
+        }
+
+        String role = claims.get(ROLE_CLAIM, String.class);
+
+        return JwtPrincipal.builder()
+                .tokenId(claims.getId())
+                .userId(claims.get(USER_ID_CLAIM, Long.class))
+                .role(role)
+                .authorities(toAuthorities(role))
+                .issuedAt(issuedAt(claims))
+                .expiration(claims.getExpiration().toInstant())
+                .build();
+    }
+
+    /**
+     * Gets the issue time with millisecond precision, which the standard claim (whole seconds) lacks.
+     * Falls back to the standard claim for tokens without the millisecond one.
+     */
+    private static Instant issuedAt(Claims claims) {
+        Long issuedAtMillis = claims.get(ISSUED_AT_MILLIS_CLAIM, Long.class);
+        if (issuedAtMillis != null) {
+            return Instant.ofEpochMilli(issuedAtMillis);
+        }
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+    }
+
+    static List<GrantedAuthority> toAuthorities(String role) {
+        if (role == null || role.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        return List.of(new SimpleGrantedAuthority("ROLE_%s".formatted(role)));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance(TOKEN_DIGEST_ALGORITHM)
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("%s is not supported by the JVM".formatted(TOKEN_DIGEST_ALGORITHM), ex);
+        }
+    }
+
+    private static Cache<String, JwtPrincipal> buildPrincipalCache(long maximumSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+                        return Math.max(0L, Duration.between(Instant.now(), principal.getExpiration()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtPrincipal principal,
+                                                  long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, principal, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtPrincipal principal,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.innowise.securitystarter.jwt;
+
+import com.innowise.securitystarter.config.JwtProperties;
+import com.innowise.securitystarter.util.SecurityConstant;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Supplies the SERVICE token for internal (service-to-service) requests.
+ * The token is minted once and reused by all outgoing requests. A background task re-mints it
+ * when {@value #REFRESH_RATIO} of its lifetime has passed, so callers never wait for signing.
+ * If the background refresh didn't happen in time, the token is re-minted synchronously by the caller.
+ */
+@Slf4j
+public class ServiceTokenSupplier implements AutoCloseable {
+    private final JwtProvider jwtProvider;
+    private final long tokenLifetimeMillis;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong issuedTokens = new AtomicLong();
+    private volatile IssuedToken current;
+
+    private static final double REFRESH_RATIO = 0.8;
+    private static final double STALE_RATIO = 0.9;
+    private static final long SERVICE_USER_ID = 0L;
+
+    public ServiceTokenSupplier(JwtProvider jwtProvider, JwtProperties jwtProperties) {
+        this.jwtProvider = jwtProvider;
+        this.tokenLifetimeMillis = jwtProperties.getAccessTokenExpiration();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "service-token-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the current SERVICE token, minting a new one if there is no fresh token yet.
+     *
+     * @return signed JWT access token with SERVICE role
+     */
+    public String getToken() {
+        return currentToken().token();
+    }
+
+    /**
+     * Gets the ready-to-use value of the Authorization header with the current SERVICE token.
+     *
+     * @return "Bearer" header value
+     */
+    public String getAuthorizationHeader() {
+        return currentToken().header();
+    }
+
+    /**
+     * Gets the number of SERVICE tokens minted by this supplier since startup.
+     *
+     * @return issued tokens count
+     */
+    public long getIssuedTokenCount() {
+        return issuedTokens.get();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private IssuedToken currentToken() {
+        IssuedToken token = current;
+        if (token == null || token.isStaleAt(System.currentTimeMillis())) {
+            token = mint(token);
+        }
+        return token;
+    }
+
+    /**
+     * Mints a new token unless another thread has already replaced the observed one.
+     */
+    private synchronized IssuedToken mint(IssuedToken observed) {
+        if (current != observed) {
+            return current;
+        }
+
+        long issuedAt = System.currentTimeMillis();
+        String token = jwtProvider.generateAccessToken(null, SERVICE_USER_ID, SecurityConstant.ROLE_SERVICE);
+        IssuedToken issued = new IssuedToken(token, SecurityConstant.BEARER_PREFIX + token,
+                issuedAt + (long) (tokenLifetimeMillis * STALE_RATIO));
+
+        current = issued;
+        issuedTokens.incrementAndGet();
+        scheduleRefresh(issued);
+
+        return issued;
+    }
+
+    private void scheduleRefresh(IssuedToken issued) {
+        if (scheduler.isShutdown()) {
+            return;
+        }
+
+        scheduler.schedule(() -> {
+            try {
+                mint(issued);
+            } catch (RuntimeException ex) {
+                log.warn("Background refresh of service token failed, it will be re-minted on demand", ex);
+            }
+        }, (long) (tokenLifetimeMillis * REFRESH_RATIO), TimeUnit.MILLISECONDS);
+    }
+
+    private record IssuedToken(String token, String header, long staleAtMillis) {
+        boolean isStaleAt(long nowMillis) {
+            return nowMillis >= staleAtMillis;
+        }
+    }
+}
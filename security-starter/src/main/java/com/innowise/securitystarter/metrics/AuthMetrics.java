@@ -0,0 +1,50 @@
+package com.innowise.securitystarter.metrics;
+
+/**
+ * Instrumentation surface of the authentication work. The default implementation records nothing,
+ * {@link MicrometerAuthMetrics} is configured automatically when Micrometer is available.
+ */
+public interface AuthMetrics {
+    String ACCESS_TOKEN = "access";
+    String REFRESH_TOKEN = "refresh";
+
+    /**
+     * Implementation which records nothing.
+     */
+    AuthMetrics NOOP = new AuthMetrics() {
+    };
+
+    /**
+     * Records the time spent on signing a new token.
+     *
+     * @param tokenType the type of the token ("access" or "refresh")
+     * @param durationNanos the duration in nanoseconds
+     */
+    default void recordTokenGeneration(String tokenType, long durationNanos) {
+    }
+
+    /**
+     * Records the time spent on token verification, including cache lookup and revocation check.
+     *
+     * @param durationNanos the duration in nanoseconds
+     * @param valid whether the token was accepted
+     */
+    default void recordTokenValidation(long durationNanos, boolean valid) {
+    }
+
+    /**
+     * Records the reason why a request was not authenticated.
+     *
+     * @param reason the rejection reason
+     */
+    default void recordRejection(RejectionReason reason) {
+    }
+
+    /**
+     * Records a lookup in the verified tokens cache.
+     *
+     * @param hit whether the token was found in the cache
+     */
+    default void recordCacheLookup(boolean hit) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.innowise.securitystarter.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer implementation of {@link AuthMetrics}. All meters are registered once on startup,
+ * so recording doesn't look up meters or allocate tags on the request path.
+ * Every meter is tagged with the service name.
+ */
+public class MicrometerAuthMetrics implements AuthMetrics {
+    public static final String TOKEN_GENERATION = "auth.token.generation";
+    public static final String TOKEN_VALIDATION = "auth.token.validation";
+    public static final String REJECTIONS = "auth.rejections";
+    public static final String TOKEN_CACHE = "auth.token.cache";
+
+    private final Timer accessTokenGeneration;
+    private final Timer refreshTokenGeneration;
+    private final Timer validValidation;
+    private final Timer invalidValidation;
+    private final Map<RejectionReason, Counter> rejections = new EnumMap<>(RejectionReason.class);
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public MicrometerAuthMetrics(MeterRegistry meterRegistry, String serviceName) {
+        Tags serviceTag = Tags.of("service", serviceName);
+
+        this.accessTokenGeneration = generationTimer(meterRegistry, serviceTag, ACCESS_TOKEN);
+        this.refreshTokenGeneration = generationTimer(meterRegistry, serviceTag, REFRESH_TOKEN);
+        this.validValidation = validationTimer(meterRegistry, serviceTag, "valid");
+        this.invalidValidation = validationTimer(meterRegistry, serviceTag, "invalid");
+
+        for (RejectionReason reason : RejectionReason.values()) {
+            rejections.put(reason, Counter.builder(REJECTIONS)
+                    .description("Requests which were not authenticated, by reason")
+                    .tags(serviceTag)
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+
+        this.cacheHits = cacheCounter(meterRegistry, serviceTag, "hit");
+        this.cacheMisses = cacheCounter(meterRegistry, serviceTag, "miss");
+    }
+
+    @Override
+    public void recordTokenGeneration(String tokenType, long durationNanos) {
+        Timer timer = REFRESH_TOKEN.equals(tokenType) ? refreshTokenGeneration : accessTokenGeneration;
+        timer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordTokenValidation(long durationNanos, boolean valid) {
+        (valid ? validValidation : invalidValidation).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordRejection(RejectionReason reason) {
+        rejections.get(reason).increment();
+    }
+
+    @Override
+    public void recordCacheLookup(boolean hit) {
+        (hit ? cacheHits : cacheMisses).increment();
+    }
+
+    private static Timer generationTimer(MeterRegistry meterRegistry, Tags serviceTag, String tokenType) {
+        return Timer.builder(TOKEN_GENERATION)
+                .description("Time spent on signing new JWT tokens")
+                .tags(serviceTag)
+                .tag("type", tokenType)
+                .register(meterRegistry);
+    }
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, Tags serviceTag, String outcome) {
+        return Timer.builder(TOKEN_VALIDATION)
+                .description("Time spent on JWT token verification")
+                .tags(serviceTag)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, Tags serviceTag, String result) {
+        return Counter.builder(TOKEN_CACHE)
+                .description("Lookups in the verified tokens cache")
+                .tags(serviceTag)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,44 @@
+package com.innowise.securitystarter.metrics;
+
+import com.innowise.securitystarter.revocation.RevokedTokenException;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SecurityException;
+
+/**
+ * Reasons why a request was not authenticated or, for {@link #FORBIDDEN}, not authorized.
+ */
+public enum RejectionReason {
+    EXPIRED,
+    BAD_SIGNATURE,
+    MALFORMED,
+    REVOKED,
+    MISSING_HEADER,
+    INVALID_IDENTITY_HEADER,
+    FORBIDDEN,
+    INVALID;
+
+    /**
+     * Maps the exception thrown on token verification to the rejection reason.
+     *
+     * @param ex the verification exception
+     * @return the rejection reason
+     */
+    public static RejectionReason of(RuntimeException ex) {
+        if (ex instanceof ExpiredJwtException) {
+            return EXPIRED;
+        }
+        if (ex instanceof SecurityException) {
+            return BAD_SIGNATURE;
+        }
+        if (ex instanceof MalformedJwtException || ex instanceof UnsupportedJwtException
+                || ex instanceof IllegalArgumentException) {
+            return MALFORMED;
+        }
+        if (ex instanceof RevokedTokenException) {
+            return REVOKED;
+        }
+        return INVALID;
+    }
+}
@@ -0,0 +1,17 @@
+package com.innowise.securitystarter.revocation;
+
+import io.jsonwebtoken.JwtException;
+
+import java.io.Serial;
+
+/**
+ * Thrown when a token with valid signature has been revoked before its expiration.
+ */
+public class RevokedTokenException extends JwtException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public RevokedTokenException() {
+        super("Token has been revoked");
+    }
+}
@@ -0,0 +1,46 @@
+package com.innowise.securitystarter.revocation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data transfer object representing a token revocation event.
+ * Either a single token (by its ID) or all tokens of a user issued up to the cut-off moment are revoked.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocationEvent {
+    /**
+     * What is revoked: a single token or all user's tokens.
+     */
+    private Type type;
+
+    /**
+     * ID (jti) of the revoked token, set for {@link Type#TOKEN} events.
+     */
+    private String tokenId;
+
+    /**
+     * Identifier of the user whose tokens are revoked, set for {@link Type#USER} events.
+     */
+    private Long userId;
+
+    /**
+     * Expiration of the revoked token in epoch seconds, set for {@link Type#TOKEN} events.
+     */
+    private Long expiresAt;
+
+    /**
+     * Moment of revocation in epoch milliseconds. For {@link Type#USER} events, it is the cut-off moment:
+     * tokens issued strictly before it are revoked.
+     */
+    private Long revokedAt;
+
+    public enum Type {
+        TOKEN, USER
+    }
+}
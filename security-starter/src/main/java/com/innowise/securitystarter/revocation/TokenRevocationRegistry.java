@@ -0,0 +1,144 @@
+package com.innowise.securitystarter.revocation;
+
+import com.innowise.securitystarter.config.JwtProperties;
+import com.innowise.securitystarter.jwt.JwtPrincipal;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local deny-list of revoked tokens, filled from the revocation events topic.
+ * Revoked token IDs are held in a Bloom filter backed by an exact map, so the check of a non-revoked token
+ * (the common case) is a few bit lookups without allocations. User cut-offs are held in an exact map.
+ * Entries are pruned once the revoked tokens expire, and the Bloom filter is rebuilt from the remaining ones.
+ * <p>
+ * Principals restored from the identity header carry the token ID and issue time, so they are checked the same way.
+ *
+ * @see TokenRevocationEvent
+ */
+@Slf4j
+public class TokenRevocationRegistry implements AutoCloseable {
+    private final JwtProperties.Revocation properties;
+    private final long maxTokenLifetimeMillis;
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<Long, Long> userCutOffs = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService pruner;
+    private volatile BloomFilter revokedTokensFilter;
+
+    public TokenRevocationRegistry(JwtProperties jwtProperties) {
+        this.properties = jwtProperties.getRevocation();
+        this.maxTokenLifetimeMillis = Math.max(jwtProperties.getAccessTokenExpiration(),
+                jwtProperties.getRefreshTokenExpiration());
+        this.revokedTokensFilter = newFilter();
+
+        long pruneIntervalMillis = properties.getPruneInterval().toMillis();
+        this.pruner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-pruner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pruner.scheduleWithFixedDelay(this::pruneExpired,
+                pruneIntervalMillis, pruneIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Applies the revocation event received from the topic.
+     *
+     * @param event the revocation event
+     */
+    public void apply(TokenRevocationEvent event) {
+        if (event == null || event.getType() == null) {
+            return;
+        }
+
+        switch (event.getType()) {
+            case TOKEN -> revokeToken(event.getTokenId(), event.getExpiresAt());
+            case USER -> revokeUser(event.getUserId(), event.getRevokedAt());
+        }
+    }
+
+    /**
+     * Revokes a single token until its expiration.
+     *
+     * @param tokenId the token ID (jti)
+     * @param expiresAt the token expiration in epoch seconds
+     */
+    public synchronized void revokeToken(String tokenId, Long expiresAt) {
+        if (tokenId == null || expiresAt == null) {
+            return;
+        }
+
+        revokedTokens.put(tokenId, expiresAt);
+        revokedTokensFilter.add(tokenId);
+    }
+
+    /**
+     * Revokes all tokens of the user issued before the cut-off moment. Issue times have millisecond precision,
+     * so a token issued right after the revocation, e.g. on the next login, stays valid.
+     *
+     * @param userId the user identifier
+     * @param cutOff the cut-off moment in epoch milliseconds
+     */
+    public void revokeUser(Long userId, Long cutOff) {
+        if (userId == null || cutOff == null) {
+            return;
+        }
+
+        userCutOffs.merge(userId, cutOff, Math::max);
+    }
+
+    /**
+     * Checks whether the verified token has been revoked.
+     *
+     * @param principal the principal of a token with valid signature
+     * @return true if the token itself or all tokens of its user are revoked
+     */
+    public boolean isRevoked(JwtPrincipal principal) {
+        String tokenId = principal.getTokenId();
+        if (tokenId != null && revokedTokensFilter.mightContain(tokenId) && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+
+        if (principal.getUserId() == null || principal.getIssuedAt() == null || userCutOffs.isEmpty()) {
+            return false;
+        }
+
+        Long cutOff = userCutOffs.get(principal.getUserId());
+        return cutOff != null && principal.getIssuedAt().toEpochMilli() < cutOff;
+    }
+
+    /**
+     * Removes entries which can't match any non-expired token and rebuilds the Bloom filter.
+     */
+    public synchronized void pruneExpired() {
+        Instant now = Instant.now();
+        long nowSeconds = now.getEpochSecond();
+        long nowMillis = now.toEpochMilli();
+
+        boolean tokensRemoved = revokedTokens.values().removeIf(expiresAt -> expiresAt <= nowSeconds);
+        userCutOffs.values().removeIf(cutOff -> cutOff + maxTokenLifetimeMillis <= nowMillis);
+
+        if (tokensRemoved) {
+            BloomFilter filter = newFilter();
+            revokedTokens.keySet().forEach(filter::add);
+            revokedTokensFilter = filter;
+        }
+
+        log.debug("Token revocation registry pruned: {} tokens and {} users revoked",
+                revokedTokens.size(), userCutOffs.size());
+    }
+
+    @Override
+    public void close() {
+        pruner.shutdownNow();
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(properties.getExpectedRevocations(), properties.getFalsePositiveProbability());
+    }
+}
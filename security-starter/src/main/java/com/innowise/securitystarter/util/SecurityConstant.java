@@ -3,6 +3,8 @@ package com.innowise.securitystarter.util;
 public final class SecurityConstant {
     public static final String AUTH_HEADER = "Authorization";
     public static final String BEARER_PREFIX = "Bearer ";
+    public static final String IDENTITY_HEADER = "X-Authenticated-Identity";
+    public static final String ROLE_SERVICE = "SERVICE";
     public static final String INVALID_TOKEN_ERROR_MESSAGE = "Invalid authentication token";
 
     private SecurityConstant() {
@@ -0,0 +1,88 @@
+package com.innowise.securitystarter.web;
+
+import com.innowise.securitystarter.config.ClientIpProperties;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves the address of the client which sent the request through a chain of proxies.
+ * Every proxy appends the address of its peer to {@code X-Forwarded-For}, so the entries are walked from the right
+ * (starting with the direct peer) and the first address which is not a trusted proxy is the client.
+ * Entries left of it could have been sent by the client itself and are never used.
+ * If the whole chain is trusted, the left-most address is the client.
+ *
+ * @see ClientIpProperties
+ */
+public class ClientIpResolver {
+    public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private final List<IpAddressMatcher> trustedProxies;
+
+    private static final String UNKNOWN_ADDRESS = "unknown";
+
+    public ClientIpResolver(ClientIpProperties properties) {
+        this.trustedProxies = properties.getTrustedProxies().stream()
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    /**
+     * Resolves the client address.
+     *
+     * @param forwardedFor the X-Forwarded-For header values, may be empty
+     * @param remoteAddress the address of the direct peer, may be null
+     * @return the client address, "unknown" if there is no address at all
+     */
+    public String resolve(List<String> forwardedFor, String remoteAddress) {
+        List<String> chain = new ArrayList<>();
+        for (String header : forwardedFor) {
+            for (String entry : header.split(",")) {
+                if (!entry.isBlank()) {
+                    chain.add(entry.trim());
+                }
+            }
+        }
+        if (remoteAddress != null && !remoteAddress.isBlank()) {
+            chain.add(remoteAddress);
+        }
+
+        if (chain.isEmpty()) {
+            return UNKNOWN_ADDRESS;
+        }
+
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            if (!isTrustedProxy(chain.get(i))) {
+                return chain.get(i);
+            }
+        }
+        return chain.getFirst();
+    }
+
+    private boolean isTrustedProxy(String address) {
+        if (!isIpAddress(address)) {
+            return false;
+        }
+
+        for (IpAddressMatcher trustedProxy : trustedProxies) {
+            if (trustedProxy.matches(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Accepts only IP literals, so a forged host name is never resolved through DNS.
+     */
+    private static boolean isIpAddress(String address) {
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if (Character.digit(c, 16) < 0 && c != '.' && c != ':') {
+                return false;
+            }
+        }
+        return address.indexOf('.') >= 0 || address.indexOf(':') >= 0;
+    }
+}
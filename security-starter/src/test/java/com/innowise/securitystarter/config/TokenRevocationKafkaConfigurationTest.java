@@ -0,0 +1,127 @@
+package com.innowise.securitystarter.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.securitystarter.jwt.JwtPrincipal;
+import com.innowise.securitystarter.revocation.TokenRevocationEvent;
+import com.innowise.securitystarter.revocation.TokenRevocationRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.DefaultSslBundleRegistry;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class TokenRevocationKafkaConfigurationTest {
+    private JwtProperties jwtProperties;
+    private TokenRevocationRegistry registry;
+    private KafkaMessageListenerContainer<String, TokenRevocationEvent> container;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String TOPIC = "tokens-revocation-test-events";
+    private static final Long USER_ID = 1L;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = new JwtProperties();
+        jwtProperties.getRevocation().setEnabled(true);
+        jwtProperties.getRevocation().setTopic(TOPIC);
+
+        registry = new TokenRevocationRegistry(jwtProperties);
+        container = new SecurityStarterAutoConfiguration.TokenRevocationKafkaConfiguration()
+                .tokenRevocationListenerContainer(new KafkaProperties(), new DefaultSslBundleRegistry(),
+                        jwtProperties, registry, "test-service");
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.close();
+    }
+
+    @Test
+    void tokenRevocationListenerContainerTopicTest() {
+        assertThat(container.getContainerProperties().getTopics()).containsExactly(TOPIC);
+    }
+
+    @Test
+    void tokenRevocationListenerContainerWhenTokenIsRevokedTest() throws Exception {
+        JwtPrincipal principal = buildPrincipal(Instant.now());
+
+        consume(TokenRevocationEvent.builder()
+                .type(TokenRevocationEvent.Type.TOKEN)
+                .tokenId(principal.getTokenId())
+                .expiresAt(principal.getExpiration().getEpochSecond())
+                .revokedAt(Instant.now().toEpochMilli())
+                .build());
+
+        assertAll(
+                () -> assertThat(registry.isRevoked(principal)).isTrue(),
+                () -> assertThat(registry.isRevoked(buildPrincipal(Instant.now()))).isFalse()
+        );
+    }
+
+    @Test
+    void tokenRevocationListenerContainerWhenUserIsRevokedTest() throws Exception {
+        Instant cutOff = Instant.now();
+
+        consume(TokenRevocationEvent.builder()
+                .type(TokenRevocationEvent.Type.USER)
+                .userId(USER_ID)
+                .revokedAt(cutOff.toEpochMilli())
+                .build());
+
+        assertAll(
+                () -> assertThat(registry.isRevoked(buildPrincipal(cutOff.minusMillis(1)))).isTrue(),
+                () -> assertThat(registry.isRevoked(buildPrincipal(cutOff.plusMillis(1)))).isFalse()
+        );
+    }
+
+    @Test
+    void tokenRevocationListenerContainerWhenEventIsMalformedTest() {
+        TokenRevocationEvent event = deserialize("not a revocation event".getBytes());
+
+        ((MessageListener<String, TokenRevocationEvent>) container.getContainerProperties().getMessageListener())
+                .onMessage(new ConsumerRecord<>(TOPIC, 0, 0L, String.valueOf(USER_ID), event));
+
+        assertThat(event).isNull();
+    }
+
+    /**
+     * Passes the event through the container's deserializer and message listener, as the consumer would.
+     */
+    @SuppressWarnings("unchecked")
+    private void consume(TokenRevocationEvent event) throws Exception {
+        TokenRevocationEvent receivedEvent = deserialize(objectMapper.writeValueAsBytes(event));
+
+        ((MessageListener<String, TokenRevocationEvent>) container.getContainerProperties().getMessageListener())
+                .onMessage(new ConsumerRecord<>(TOPIC, 0, 0L, String.valueOf(USER_ID), receivedEvent));
+    }
+
+    @SuppressWarnings("unchecked")
+    private TokenRevocationEvent deserialize(byte[] value) {
+        ConsumerFactory<String, TokenRevocationEvent> consumerFactory =
+                (ConsumerFactory<String, TokenRevocationEvent>) ReflectionTestUtils.getField(container, "consumerFactory");
+
+        return consumerFactory.getValueDeserializer().deserialize(TOPIC, new RecordHeaders(), value);
+    }
+
+    private static JwtPrincipal buildPrincipal(Instant issuedAt) {
+        return JwtPrincipal.builder()
+                .tokenId(UUID.randomUUID().toString())
+                .userId(USER_ID)
+                .issuedAt(issuedAt)
+                .expiration(Instant.now().plusSeconds(3600))
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.innowise.securitystarter.jwt;
+
+import com.innowise.securitystarter.config.JwtProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class IdentityHeaderCodecTest {
+    private static final String JWT_SECRET = "security-starter-test-secret-of-at-least-256-bits";
+    private static final String IDENTITY_HEADER_SECRET = "identity-header-test-secret-of-at-least-256-bits";
+    private static final Long USER_ID = 1L;
+    private static final String ROLE_USER = "USER";
+
+    @Test
+    void decodeWhenHeaderIsValidTest() {
+        IdentityHeaderCodec codec = buildCodec(IDENTITY_HEADER_SECRET);
+        JwtPrincipal principal = buildPrincipal();
+
+        JwtPrincipal decodedPrincipal = codec.decode(codec.encode(principal));
+
+        assertAll(
+                () -> assertThat(decodedPrincipal).isNotNull(),
+                () -> assertThat(decodedPrincipal.getTokenId()).isEqualTo(principal.getTokenId()),
+                () -> assertThat(decodedPrincipal.getUserId()).isEqualTo(USER_ID),
+                () -> assertThat(decodedPrincipal.getRole()).isEqualTo(ROLE_USER),
+                () -> assertThat(decodedPrincipal.getAuthorities()).isEqualTo(principal.getAuthorities()),
+                () -> assertThat(decodedPrincipal.getIssuedAt()).isEqualTo(principal.getIssuedAt()),
+                () -> assertThat(decodedPrincipal.getExpiration()).isEqualTo(principal.getExpiration())
+        );
+    }
+
+    @Test
+    void decodeWhenTokenIdAndIssuedAtAreAbsentTest() {
+        IdentityHeaderCodec codec = buildCodec(IDENTITY_HEADER_SECRET);
+        JwtPrincipal principal = buildPrincipal(null, null, Instant.now().plusSeconds(3600));
+
+        JwtPrincipal decodedPrincipal = codec.decode(codec.encode(principal));
+
+        assertAll(
+                () -> assertThat(decodedPrincipal.getTokenId()).isNull(),
+                () -> assertThat(decodedPrincipal.getIssuedAt()).isNull(),
+                () -> assertThat(decodedPrincipal.getUserId()).isEqualTo(USER_ID)
+        );
+    }
+
+    @Test
+    void decodeWhenHeaderIsTamperedTest() {
+        IdentityHeaderCodec codec = buildCodec(IDENTITY_HEADER_SECRET);
+        byte[] header = Base64.getUrlDecoder().decode(codec.encode(buildPrincipal()));
+        header[Long.BYTES] ^= 1;
+
+        assertThat(codec.decode(Base64.getUrlEncoder().withoutPadding().encodeToString(header))).isNull();
+    }
+
+    @Test
+    void decodeWhenHeaderIsSignedWithOtherKeyTest() {
+        String header = buildCodec(IDENTITY_HEADER_SECRET).encode(buildPrincipal());
+
+        assertThat(buildCodec("another-identity-header-secret-of-256-bits-too").decode(header)).isNull();
+    }
+
+    @Test
+    void decodeWhenPrincipalIsExpiredTest() {
+        IdentityHeaderCodec codec = buildCodec(IDENTITY_HEADER_SECRET);
+        JwtPrincipal principal = buildPrincipal(UUID.randomUUID().toString(), Instant.now(),
+                Instant.now().minusSeconds(60));
+
+        assertThat(codec.decode(codec.encode(principal))).isNull();
+    }
+
+    @Test
+    void createWhenSecretIsMissingTest() {
+        assertThatThrownBy(() -> buildCodec(null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("jwt.identity-header.secret");
+    }
+
+    @Test
+    void createWhenSecretIsJwtSecretTest() {
+        assertThatThrownBy(() -> buildCodec(JWT_SECRET))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("must differ");
+    }
+
+    private static IdentityHeaderCodec buildCodec(String identityHeaderSecret) {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(JWT_SECRET);
+        jwtProperties.getIdentityHeader().setEnabled(true);
+        jwtProperties.getIdentityHeader().setSecret(identityHeaderSecret);
+        return new IdentityHeaderCodec(jwtProperties);
+    }
+
+    private static JwtPrincipal buildPrincipal() {
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        return buildPrincipal(UUID.randomUUID().toString(), issuedAt,
+                issuedAt.plusSeconds(3600).truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    private static JwtPrincipal buildPrincipal(String tokenId, Instant issuedAt, Instant expiration) {
+        return JwtPrincipal.builder()
+                .tokenId(tokenId)
+                .userId(USER_ID)
+                .role(ROLE_USER)
+                .authorities(JwtProvider.toAuthorities(ROLE_USER))
+                .issuedAt(issuedAt)
+                .expiration(expiration)
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.innowise.securitystarter.jwt;
+
+import com.innowise.securitystarter.config.JwtProperties;
+import com.innowise.securitystarter.revocation.TokenRevocationRegistry;
+import com.innowise.securitystarter.util.SecurityConstant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationWebMvcFilterTest {
+    private JwtProvider jwtProvider;
+    private IdentityHeaderCodec identityHeaderCodec;
+    private TokenRevocationRegistry revocationRegistry;
+    private JwtAuthenticationWebMvcFilter filter;
+
+    private static final String SECRET = "security-starter-test-secret-of-at-least-256-bits";
+    private static final String IDENTITY_HEADER_SECRET = "identity-header-test-secret-of-at-least-256-bits";
+    private static final String PHONE_NUMBER = "+375291234567";
+    private static final Long USER_ID = 1L;
+    private static final String ROLE_USER = "USER";
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(SECRET);
+        jwtProperties.getIdentityHeader().setEnabled(true);
+        jwtProperties.getIdentityHeader().setSecret(IDENTITY_HEADER_SECRET);
+
+        revocationRegistry = new TokenRevocationRegistry(jwtProperties);
+        jwtProvider = new JwtProvider(jwtProperties);
+        jwtProvider.setRevocationRegistry(revocationRegistry);
+        identityHeaderCodec = new IdentityHeaderCodec(jwtProperties);
+        filter = new JwtAuthenticationWebMvcFilter(jwtProvider, identityHeaderCodec);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        revocationRegistry.close();
+    }
+
+    @Test
+    void doFilterWhenIdentityHeaderIsValidTest() throws Exception {
+        JwtPrincipal principal = jwtProvider.verify(jwtProvider.generateAccessToken(PHONE_NUMBER, USER_ID, ROLE_USER));
+
+        Authentication authentication = filter(identityHeaderCodec.encode(principal));
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal()).isEqualTo(USER_ID);
+    }
+
+    @Test
+    void doFilterWhenIdentityHeaderTokenIsRevokedTest() throws Exception {
+        JwtPrincipal principal = jwtProvider.verify(jwtProvider.generateAccessToken(PHONE_NUMBER, USER_ID, ROLE_USER));
+        String identityHeader = identityHeaderCodec.encode(principal);
+
+        revocationRegistry.revokeToken(principal.getTokenId(), principal.getExpiration().getEpochSecond());
+
+        assertThat(filter(identityHeader)).isNull();
+    }
+
+    @Test
+    void doFilterWhenIdentityHeaderIsInvalidTest() throws Exception {
+        assertThat(filter("not-an-identity-header")).isNull();
+    }
+
+    private Authentication filter(String identityHeader) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(SecurityConstant.IDENTITY_HEADER, identityHeader);
+
+        MockFilterChain filterChain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,176 @@
+package com.innowise.securitystarter.jwt;
+
+import com.innowise.securitystarter.config.JwtProperties;
+import com.innowise.securitystarter.metrics.MicrometerAuthMetrics;
+import com.innowise.securitystarter.revocation.RevokedTokenException;
+import com.innowise.securitystarter.revocation.TokenRevocationRegistry;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class JwtProviderTest {
+    private MeterRegistry meterRegistry;
+
+    private static final String SECRET = "security-starter-test-secret-of-at-least-256-bits";
+    private static final String OTHER_SECRET = "another-security-starter-secret-of-256-bits-too";
+    private static final String PHONE_NUMBER = "+375291234567";
+    private static final Long USER_ID = 1L;
+    private static final String ROLE_USER = "USER";
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void verifyWhenTokenIsValidTest() {
+        JwtProvider jwtProvider = buildJwtProvider(SECRET, true);
+        String token = jwtProvider.generateAccessToken(PHONE_NUMBER, USER_ID, ROLE_USER);
+
+        JwtPrincipal principal = jwtProvider.verify(token);
+
+        assertAll(
+                () -> assertThat(principal.getTokenId()).isNotBlank(),
+                () -> assertThat(principal.getUserId()).isEqualTo(USER_ID),
+                () -> assertThat(principal.getRole()).isEqualTo(ROLE_USER),
+                () -> assertThat(principal.getAuthorities()).extracting(Object::toString)
+                        .containsExactly("ROLE_USER"),
+                () -> assertThat(principal.getIssuedAt()).isNotNull(),
+                () -> assertThat(principal.getExpiration()).isAfter(principal.getIssuedAt())
+        );
+    }
+
+    @Test
+    void verifyWhenTokenIsRepeatedTest() {
+        JwtProvider jwtProvider = buildJwtProvider(SECRET, true);
+        String token = jwtProvider.generateAccessToken(PHONE_NUMBER, USER_ID, ROLE_USER);
+
+        JwtPrincipal firstPrincipal = jwtProvider.verify(token);
+        JwtPrincipal secondPrincipal = jwtProvider.verify(token);
+
+        assertAll(
+                () -> assertThat(secondPrincipal).isSameAs(firstPrincipal),
+                () -> assertThat(cacheLookups("miss")).isEqualTo(1),
+                () -> assertThat(cacheLookups("hit")).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void verifyWhenCacheIsDisabledTest() {
+        JwtProvider jwtProvider = buildJwtProvider(SECRET, false);
+        String token = jwtProvider.generateAccessToken(PHONE_NUMBER, USER_ID, ROLE_USER);
+
+        JwtPrincipal firstPrincipal = jwtProvider.verify(token);
+        JwtPrincipal secondPrincipal = jwtProvider.verify(token);
+
+        assertAll(
+                () -> assertThat(secondPrincipal).isNotSameAs(firstPrincipal).isEqualTo(firstPrincipal),
+                () -> assertThat(cacheLookups("miss")).isZero(),
+                () -> assertThat(cacheLookups("hit")).isZero()
+        );
+    }
+
+    @Test
+    void verifyWhenTokenIsNullTest() {
+        JwtProvider jwtProvider = buildJwtProvider(SECRET, true);
+
+        assertThatThrownBy(() -> jwtProvider.verify(null))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(rejections("malformed")).isEqualTo(1);
+    }
+
+    @Test
+    void verifyWhenTokenIsBlankTest() {
+        JwtProvider jwtProvider = buildJwtProvider(SECRET, true);
+
+        assertThatThrownBy(() -> jwtProvider.verify(" "))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(rejections("malformed")).isEqualTo(1);
+    }
+
+    @Test
+    void verifyWhenSignatureIsInvalidTest() {
+        JwtProvider jwtProvider = buildJwtProvider(SECRET, true);
+        String foreignToken = buildJwtProvider(OTHER_SECRET, true)
+                .generateAccessToken(PHONE_NUMBER, USER_ID, ROLE_USER);
+
+        assertThatThrownBy(() -> jwtProvider.verify(foreignToken))
+                .isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> jwtProvider.verify(foreignToken))
+                .isInstanceOf(SignatureException.class);
+
+        assertAll(
+                () -> assertThat(cacheLookups("hit")).isZero(),
+                () -> assertThat(rejections("bad_signature")).isEqualTo(2)
+        );
+    }
+
+    @Test
+    void verifyWhenTokenIsExpiredTest() {
+        JwtProvider jwtProvider = buildJwtProvider(SECRET, true);
+        String expiredToken = Jwts.builder()
+                .subject(PHONE_NUMBER)
+                .claim("userId", USER_ID)
+                .claim("role", ROLE_USER)
+                .issuedAt(new Date(System.currentTimeMillis() - 120_000L))
+                .expiration(new Date(System.currentTimeMillis() - 60_000L))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThatThrownBy(() -> jwtProvider.verify(expiredToken))
+                .isInstanceOf(ExpiredJwtException.class);
+
+        assertThat(rejections("expired")).isEqualTo(1);
+    }
+
+    @Test
+    void verifyWhenUserIsRevokedTest() throws Exception {
+        JwtProvider jwtProvider = buildJwtProvider(SECRET, true);
+        String revokedToken = jwtProvider.generateAccessToken(PHONE_NUMBER, USER_ID, ROLE_USER);
+        Thread.sleep(2);
+
+        try (TokenRevocationRegistry revocationRegistry = new TokenRevocationRegistry(new JwtProperties())) {
+            jwtProvider.setRevocationRegistry(revocationRegistry);
+            revocationRegistry.revokeUser(USER_ID, Instant.now().toEpochMilli());
+            String reissuedToken = jwtProvider.generateAccessToken(PHONE_NUMBER, USER_ID, ROLE_USER);
+
+            assertThatThrownBy(() -> jwtProvider.verify(revokedToken))
+                    .isInstanceOf(RevokedTokenException.class);
+            assertThat(jwtProvider.verify(reissuedToken).getUserId()).isEqualTo(USER_ID);
+            assertThat(rejections("revoked")).isEqualTo(1);
+        }
+    }
+
+    private JwtProvider buildJwtProvider(String secret, boolean cacheEnabled) {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(secret);
+        jwtProperties.getCache().setEnabled(cacheEnabled);
+
+        JwtProvider jwtProvider = new JwtProvider(jwtProperties);
+        jwtProvider.setAuthMetrics(new MicrometerAuthMetrics(meterRegistry, "test-service"));
+        return jwtProvider;
+    }
+
+    private double cacheLookups(String result) {
+        return meterRegistry.get(MicrometerAuthMetrics.TOKEN_CACHE).tag("result", result).counter().count();
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get(MicrometerAuthMetrics.REJECTIONS).tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,60 @@
+package com.innowise.securitystarter.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+    private static final int EXPECTED_INSERTIONS = 10_000;
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    @Test
+    void mightContainWhenValuesAreAddedTest() {
+        BloomFilter filter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+        List<String> values = randomValues(EXPECTED_INSERTIONS);
+
+        values.forEach(filter::add);
+
+        assertThat(values).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void mightContainWhenFilterIsOverfilledTest() {
+        BloomFilter filter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+        List<String> values = randomValues(EXPECTED_INSERTIONS * 5);
+
+        values.forEach(filter::add);
+
+        assertThat(values).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void mightContainWhenValuesAreNotAddedTest() {
+        BloomFilter filter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+        randomValues(EXPECTED_INSERTIONS).forEach(filter::add);
+
+        long falsePositives = randomValues(EXPECTED_INSERTIONS).stream()
+                .filter(filter::mightContain)
+                .count();
+
+        assertThat((double) falsePositives / EXPECTED_INSERTIONS).isLessThan(FALSE_POSITIVE_PROBABILITY * 2);
+    }
+
+    @Test
+    void mightContainWhenFilterIsEmptyTest() {
+        BloomFilter filter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+
+        assertThat(filter.mightContain(UUID.randomUUID().toString())).isFalse();
+        assertThat(filter.mightContain("")).isFalse();
+    }
+
+    private static List<String> randomValues(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toList();
+    }
+}
@@ -0,0 +1,124 @@
+package com.innowise.securitystarter.revocation;
+
+import com.innowise.securitystarter.config.JwtProperties;
+import com.innowise.securitystarter.jwt.JwtPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class TokenRevocationRegistryTest {
+    private TokenRevocationRegistry registry;
+
+    private static final Long USER_ID = 1L;
+    private static final Long OTHER_USER_ID = 2L;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TokenRevocationRegistry(new JwtProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.close();
+    }
+
+    @Test
+    void isRevokedWhenTokenIsRevokedTest() {
+        JwtPrincipal revokedPrincipal = buildPrincipal(USER_ID, Instant.now());
+        JwtPrincipal otherPrincipal = buildPrincipal(USER_ID, Instant.now());
+
+        registry.revokeToken(revokedPrincipal.getTokenId(), revokedPrincipal.getExpiration().getEpochSecond());
+
+        assertAll(
+                () -> assertThat(registry.isRevoked(revokedPrincipal)).isTrue(),
+                () -> assertThat(registry.isRevoked(otherPrincipal)).isFalse()
+        );
+    }
+
+    @Test
+    void isRevokedWhenUserIsRevokedTest() {
+        Instant cutOff = Instant.now();
+
+        registry.revokeUser(USER_ID, cutOff.toEpochMilli());
+
+        assertAll(
+                () -> assertThat(registry.isRevoked(buildPrincipal(USER_ID, cutOff.minusMillis(1)))).isTrue(),
+                () -> assertThat(registry.isRevoked(buildPrincipal(USER_ID, cutOff.minusSeconds(60)))).isTrue(),
+                () -> assertThat(registry.isRevoked(buildPrincipal(USER_ID, cutOff))).isFalse(),
+                () -> assertThat(registry.isRevoked(buildPrincipal(USER_ID, cutOff.plusMillis(1)))).isFalse(),
+                () -> assertThat(registry.isRevoked(buildPrincipal(OTHER_USER_ID, cutOff.minusSeconds(60)))).isFalse()
+        );
+    }
+
+    @Test
+    void isRevokedWhenUserIsRevokedTwiceTest() {
+        Instant cutOff = Instant.now();
+
+        registry.revokeUser(USER_ID, cutOff.toEpochMilli());
+        registry.revokeUser(USER_ID, cutOff.minusSeconds(60).toEpochMilli());
+
+        assertThat(registry.isRevoked(buildPrincipal(USER_ID, cutOff.minusSeconds(1)))).isTrue();
+    }
+
+    @Test
+    void isRevokedWhenIssuedAtIsAbsentTest() {
+        registry.revokeUser(USER_ID, Instant.now().toEpochMilli());
+
+        assertThat(registry.isRevoked(buildPrincipal(USER_ID, null))).isFalse();
+    }
+
+    @Test
+    void applyTest() {
+        JwtPrincipal revokedPrincipal = buildPrincipal(OTHER_USER_ID, Instant.now());
+        Instant cutOff = Instant.now();
+
+        registry.apply(TokenRevocationEvent.builder()
+                .type(TokenRevocationEvent.Type.TOKEN)
+                .tokenId(revokedPrincipal.getTokenId())
+                .expiresAt(revokedPrincipal.getExpiration().getEpochSecond())
+                .build());
+        registry.apply(TokenRevocationEvent.builder()
+                .type(TokenRevocationEvent.Type.USER)
+                .userId(USER_ID)
+                .revokedAt(cutOff.toEpochMilli())
+                .build());
+        registry.apply(new TokenRevocationEvent());
+        registry.apply(null);
+
+        assertAll(
+                () -> assertThat(registry.isRevoked(revokedPrincipal)).isTrue(),
+                () -> assertThat(registry.isRevoked(buildPrincipal(USER_ID, cutOff.minusSeconds(1)))).isTrue(),
+                () -> assertThat(registry.isRevoked(buildPrincipal(USER_ID, cutOff.plusSeconds(1)))).isFalse()
+        );
+    }
+
+    @Test
+    void pruneExpiredTest() {
+        JwtPrincipal expiredPrincipal = buildPrincipal(USER_ID, Instant.now().minusSeconds(120));
+        JwtPrincipal activePrincipal = buildPrincipal(USER_ID, Instant.now());
+
+        registry.revokeToken(expiredPrincipal.getTokenId(), Instant.now().minusSeconds(60).getEpochSecond());
+        registry.revokeToken(activePrincipal.getTokenId(), activePrincipal.getExpiration().getEpochSecond());
+        registry.pruneExpired();
+
+        assertAll(
+                () -> assertThat(registry.isRevoked(expiredPrincipal)).isFalse(),
+                () -> assertThat(registry.isRevoked(activePrincipal)).isTrue()
+        );
+    }
+
+    private static JwtPrincipal buildPrincipal(Long userId, Instant issuedAt) {
+        return JwtPrincipal.builder()
+                .tokenId(UUID.randomUUID().toString())
+                .userId(userId)
+                .issuedAt(issuedAt)
+                .expiration(Instant.now().plusSeconds(3600))
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.innowise.securitystarter.web;
+
+import com.innowise.securitystarter.config.ClientIpProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientIpResolverTest {
+    private final ClientIpResolver clientIpResolver = new ClientIpResolver(new ClientIpProperties());
+
+    private static final String CLIENT_IP = "203.0.113.7";
+    private static final String FORGED_IP = "198.51.100.1";
+    private static final String INGRESS_IP = "10.244.0.12";
+    private static final String GATEWAY_IP = "10.244.1.5";
+
+    @Test
+    void resolveWhenRequestIsDirectTest() {
+        assertThat(clientIpResolver.resolve(Collections.emptyList(), CLIENT_IP)).isEqualTo(CLIENT_IP);
+    }
+
+    @Test
+    void resolveWhenRequestPassedIngressTest() {
+        assertThat(clientIpResolver.resolve(List.of(CLIENT_IP), INGRESS_IP)).isEqualTo(CLIENT_IP);
+    }
+
+    @Test
+    void resolveWhenRequestPassedIngressAndGatewayTest() {
+        assertThat(clientIpResolver.resolve(List.of("%s, %s".formatted(CLIENT_IP, INGRESS_IP)), GATEWAY_IP))
+                .isEqualTo(CLIENT_IP);
+    }
+
+    @Test
+    void resolveWhenForwardedForIsForgedTest() {
+        assertThat(clientIpResolver.resolve(List.of("%s, %s".formatted(FORGED_IP, CLIENT_IP), INGRESS_IP), GATEWAY_IP))
+                .isEqualTo(CLIENT_IP);
+        assertThat(clientIpResolver.resolve(List.of("not-an-ip, %s".formatted(CLIENT_IP)), INGRESS_IP))
+                .isEqualTo(CLIENT_IP);
+    }
+
+    @Test
+    void resolveWhenPeerIsNotTrustedTest() {
+        assertThat(clientIpResolver.resolve(List.of(FORGED_IP), CLIENT_IP)).isEqualTo(CLIENT_IP);
+    }
+
+    @Test
+    void resolveWhenWholeChainIsTrustedTest() {
+        assertThat(clientIpResolver.resolve(List.of("%s,%s".formatted(INGRESS_IP, GATEWAY_IP)), "127.0.0.1"))
+                .isEqualTo(INGRESS_IP);
+    }
+
+    @Test
+    void resolveWhenHeaderIsRepeatedTest() {
+        assertThat(clientIpResolver.resolve(List.of(CLIENT_IP, INGRESS_IP), GATEWAY_IP)).isEqualTo(CLIENT_IP);
+    }
+
+    @Test
+    void resolveWhenAddressIsIpv6Test() {
+        assertThat(clientIpResolver.resolve(List.of("2001:db8::1"), "fd00::5")).isEqualTo("2001:db8::1");
+    }
+
+    @Test
+    void resolveWhenAddressIsUnknownTest() {
+        assertThat(clientIpResolver.resolve(Collections.emptyList(), null)).isEqualTo("unknown");
+    }
+
+    @Test
+    void resolveWhenTrustedProxiesAreConfiguredTest() {
+        ClientIpProperties properties = new ClientIpProperties();
+        properties.setTrustedProxies(List.of(GATEWAY_IP));
+        ClientIpResolver resolver = new ClientIpResolver(properties);
+
+        assertThat(resolver.resolve(List.of("%s, %s".formatted(CLIENT_IP, INGRESS_IP)), GATEWAY_IP))
+                .isEqualTo(INGRESS_IP);
+    }
+}
@@ -3,7 +3,9 @@ package com.innowise.userservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.kafka.annotation.EnableKafka;
 
+@EnableKafka
 @EnableCaching
 @SpringBootApplication
 public class UserServiceApplication {
@@ -0,0 +1,38 @@
+package com.innowise.userservice.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+@Configuration
+public class KafkaConfig {
+    @Value("${registrations.results.topic}")
+    private String registrationsResultsTopic;
+
+    @Value("${kafka.topic.properties.partitions}")
+    private Integer partitions;
+
+    @Value("${kafka.topic.properties.replication-factor}")
+    private Integer replicationFactor;
+
+    @Bean
+    KafkaTemplate<String, Object> kafkaTemplate(
+            @Autowired(required = false) ProducerFactory<String, Object> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "createRegistrationsResultsTopic")
+    NewTopic createRegistrationsResultsTopic() {
+        return TopicBuilder.name(registrationsResultsTopic)
+                .partitions(partitions)
+                .replicas(replicationFactor)
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.innowise.userservice.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.securitystarter.jwt.IdentityHeaderCodec;
 import com.innowise.securitystarter.jwt.JwtAuthenticationWebMvcFilter;
 import com.innowise.securitystarter.jwt.JwtProvider;
 import com.innowise.securitystarter.util.SecurityConstant;
@@ -29,6 +30,7 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class SecurityConfig {
     private final JwtProvider jwtProvider;
+    private final IdentityHeaderCodec identityHeaderCodec;
     private final ObjectMapper objectMapper;
 
     @Bean
@@ -39,7 +41,7 @@ public class SecurityConfig {
                         .requestMatchers("/actuator/health/**").permitAll()
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(new JwtAuthenticationWebMvcFilter(jwtProvider), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtAuthenticationWebMvcFilter(jwtProvider, identityHeaderCodec), UsernamePasswordAuthenticationFilter.class)
                 .exceptionHandling(exceptions -> exceptions
                         .authenticationEntryPoint(this::handleAuthException)
                 )
@@ -1,16 +1,27 @@
 package com.innowise.userservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.innowise.userservice.model.dto.BatchUserRequestDto;
+import com.innowise.userservice.model.dto.BatchUserResultDto;
+import com.innowise.userservice.model.dto.UserPageDto;
 import com.innowise.userservice.model.dto.UserRequestDto;
 import com.innowise.userservice.model.dto.UserResponseDto;
 import com.innowise.userservice.exception.EmailAlreadyExistsException;
+import com.innowise.userservice.exception.InvalidCursorException;
 import com.innowise.userservice.exception.ResourceNotFoundException;
 import com.innowise.userservice.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -24,8 +35,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * REST controller for managing users in the system.
@@ -41,6 +57,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final ObjectMapper objectMapper;
+
+    private static final int NDJSON_SEPARATOR = '\n';
+
+    @Value("${users.stream.timeout-ms:600000}")
+    private long streamTimeoutMs;
 
     /**
      * Retrieves a user by unique identifier.
@@ -93,19 +115,61 @@ public class UserController {
     }
 
     /**
-     * Retrieves all users in the system. Requires ADMIN role.
+     * Retrieves a page of users ordered by identifier. Requires ADMIN role.
      *
-     * @return list of all users, empty list if no users exist
+     * @param cursor the next page cursor of the previous page, absent for the first page
+     * @param limit  the maximum number of users on the page, from 1 to {@link UserPageDto#MAX_LIMIT}
+     * @return users of the page and the cursor of the next page, which is absent on the last page
+     * @throws InvalidCursorException if the cursor is malformed
      * @throws AccessDeniedException if user does not have ADMIN role
      */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserResponseDto>> getUsers() {
-        List<UserResponseDto> retrievedUsers = userService.getAllUsers();
+    public ResponseEntity<UserPageDto> getUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + UserPageDto.DEFAULT_LIMIT) @Min(1) @Max(UserPageDto.MAX_LIMIT) int limit) {
+        UserPageDto retrievedUsers = userService.getUsersPage(cursor, limit);
 
         return ResponseEntity.ok(retrievedUsers);
     }
 
+    /**
+     * Streams all users in the system as NDJSON, one user per line, ordered by identifier. Requires ADMIN role.
+     * Users are written while they are read from the database, so memory usage doesn't depend on their number.
+     * The stream has its own async timeout ({@code users.stream.timeout-ms}), other async requests keep the default one.
+     *
+     * @param request the current request
+     * @return streamed users
+     * @throws AccessDeniedException if user does not have ADMIN role
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamUsers(HttpServletRequest request) {
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(streamTimeoutMs);
+
+        StreamingResponseBody responseBody = outputStream -> {
+            ObjectWriter userWriter = objectMapper.writerFor(UserResponseDto.class);
+
+            try {
+                userService.streamUsers(user -> {
+                    try {
+                        outputStream.write(userWriter.writeValueAsBytes(user));
+                        outputStream.write(NDJSON_SEPARATOR);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            outputStream.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(responseBody);
+    }
+
     /**
      * Creates a new user with provided data.
      * Accessible only to SERVICE accounts (used by AuthService for user registration).
@@ -123,6 +187,23 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
     }
 
+    /**
+     * Creates users in bulk. Accessible only to SERVICE accounts (used by AuthService for user import).
+     * Users with already registered emails don't fail the batch, they are reported in the results.
+     *
+     * @param batchUserRequestDto the users data to create, at most {@link BatchUserRequestDto#MAX_BATCH_SIZE}
+     * @return created user IDs or failure reasons, in the order of the requested users
+     * @throws AccessDeniedException if caller does not have SERVICE role
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('SERVICE')")
+    public ResponseEntity<List<BatchUserResultDto>> createUsers(
+            @RequestBody @Valid BatchUserRequestDto batchUserRequestDto) {
+        List<BatchUserResultDto> results = userService.createUsers(batchUserRequestDto.getUsers());
+
+        return ResponseEntity.ok(results);
+    }
+
     /**
      * Updates an existing user's information. Automatically updates holder names in associated cards
      * data if user's name or surname changes.
@@ -160,4 +241,20 @@ public class UserController {
 
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Deletes the user created by an asynchronous registration which has failed in auth-service meanwhile.
+     * Accessible only to SERVICE accounts. Repeated calls succeed as well.
+     *
+     * @param registrationId the identifier of the registration in auth-service
+     * @return empty response
+     * @throws AccessDeniedException if user does not have SERVICE role
+     */
+    @DeleteMapping("/registrations/{registrationId}")
+    @PreAuthorize("hasRole('SERVICE')")
+    public ResponseEntity<Void> deleteRegisteredUser(@PathVariable("registrationId") UUID registrationId) {
+        userService.deleteRegisteredUser(registrationId);
+
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
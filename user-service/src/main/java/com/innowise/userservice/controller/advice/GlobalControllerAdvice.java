@@ -1,6 +1,7 @@
 package com.innowise.userservice.controller.advice;
 
 import com.innowise.userservice.exception.EmailAlreadyExistsException;
+import com.innowise.userservice.exception.InvalidCursorException;
 import com.innowise.userservice.exception.ResourceNotFoundException;
 import com.innowise.userservice.model.dto.ErrorResponseDto;
 import jakarta.validation.ConstraintViolationException;
@@ -20,6 +21,7 @@ import java.util.List;
  * @see ErrorResponseDto
  * @see ResourceNotFoundException
  * @see EmailAlreadyExistsException
+ * @see InvalidCursorException
  */
 @RestControllerAdvice
 public class GlobalControllerAdvice {
@@ -43,6 +45,16 @@ public class GlobalControllerAdvice {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidCursorException(InvalidCursorException ex) {
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .status(HttpStatus.BAD_REQUEST.value())
+                .errorMessage(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponseDto> handleValidationException(MethodArgumentNotValidException ex) {
         List<String> errorDetails = ex.getBindingResult()
@@ -7,6 +7,10 @@ public class EmailAlreadyExistsException extends RuntimeException {
     private static final long serialVersionUID = 533424169484196759L;
 
     public EmailAlreadyExistsException(String email) {
-        super("Email already exists in the database: " + email);
+        super(message(email));
+    }
+
+    public static String message(String email) {
+        return "Email already exists in the database: " + email;
     }
 }
\ No newline at end of file
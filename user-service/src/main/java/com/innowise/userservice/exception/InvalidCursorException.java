@@ -0,0 +1,12 @@
+package com.innowise.userservice.exception;
+
+import java.io.Serial;
+
+public class InvalidCursorException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = -3158004716260335915L;
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid page cursor: " + cursor);
+    }
+}
@@ -0,0 +1,27 @@
+package com.innowise.userservice.model.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for creating users in bulk.
+ * Used as request body of the batch user creation endpoint called by auth-service during user import.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUserRequestDto {
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    /** Users to create, results are returned in the same order. Invalid users are reported in the results. */
+    @NotEmpty(message = "Users are required")
+    @Size(max = MAX_BATCH_SIZE, message = "Batch must contain at most " + MAX_BATCH_SIZE + " users")
+    private List<UserRequestDto> users;
+}
@@ -0,0 +1,27 @@
+package com.innowise.userservice.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the result of one user of the batch creation.
+ * Maps the email of the requested user to the created user identifier or to the reason of the failure.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchUserResultDto {
+    /** System-generated unique identifier of the created user, null if the user was not created. */
+    private Long userId;
+
+    /** Email of the requested user. */
+    private String email;
+
+    /** Reason why the user was not created, null for created users. */
+    private String errorMessage;
+}
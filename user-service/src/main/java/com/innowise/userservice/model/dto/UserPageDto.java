@@ -0,0 +1,29 @@
+package com.innowise.userservice.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a page of users ordered by identifier.
+ * Uses as response body of the user listing endpoint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserPageDto {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    /** Users of the page with their cards, empty list if there are no more users. */
+    private List<UserResponseDto> users;
+
+    /** Opaque token to request the next page with, null on the last page. */
+    private String nextCursor;
+}
@@ -0,0 +1,26 @@
+package com.innowise.userservice.model.dto.kafka;
+
+import com.innowise.userservice.model.dto.kafka.enums.RegistrationStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * Data transfer object representing the result of user profile creation for a registration.
+ */
+@Data
+@Builder
+public class UserRegistrationResultEvent {
+    /** Identifier of the registration. */
+    private UUID registrationId;
+
+    /** Identifier of the created user, null if the registration failed. */
+    private Long userId;
+
+    /** COMPLETED or FAILED. */
+    private RegistrationStatus status;
+
+    /** Reason of the failure, null if the user is created. */
+    private String errorMessage;
+}
@@ -0,0 +1,8 @@
+package com.innowise.userservice.model.dto.kafka.enums;
+
+/**
+ * Enumeration defining results of user profile creation for a registration.
+ */
+public enum RegistrationStatus {
+    COMPLETED, FAILED
+}
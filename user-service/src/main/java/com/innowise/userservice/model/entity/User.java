@@ -16,6 +16,7 @@ import lombok.Setter;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Entity class which represents a user.
@@ -53,6 +54,10 @@ public class User {
     @Column(name = "email")
     private String email;
 
+    /** Identifier of the asynchronous registration in auth-service which created the user, null for other users. */
+    @Column(name = "registration_id")
+    private UUID registrationId;
+
     /** List of cards associated with this user. Each user can have multiple cards. */
     @OneToMany(mappedBy = "user", cascade = CascadeType.REMOVE)
     private List<Card> cards;
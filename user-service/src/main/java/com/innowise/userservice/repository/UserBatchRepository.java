@@ -0,0 +1,54 @@
+package com.innowise.userservice.repository;
+
+import com.innowise.userservice.model.entity.User;
+import com.innowise.userservice.util.Constant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk writes of users through plain JDBC, which skip the persistence context and the identity generation
+ * round trip per entity.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBatchRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String INSERT_PREFIX = "INSERT INTO users (name, surname, birth_date, email) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?)";
+    private static final String INSERT_SUFFIX = " ON CONFLICT (email) DO NOTHING RETURNING id, email";
+
+    /**
+     * Inserts users with one multi-row statement. Users whose email is already taken, including by an earlier
+     * user of the same batch, are skipped instead of failing the statement.
+     *
+     * @param users the users to insert
+     * @return identifiers of the inserted users by their emails
+     */
+    public Map<String, Long> insertSkippingTakenEmails(List<User> users) {
+        String sql = INSERT_PREFIX + String.join(", ", Collections.nCopies(users.size(), ROW_PLACEHOLDERS))
+                + INSERT_SUFFIX;
+        Map<String, Long> insertedIds = new HashMap<>(users.size() * 2);
+
+        jdbcTemplate.query(sql, preparedStatement -> {
+            int parameterIndex = 0;
+            for (User user : users) {
+                preparedStatement.setString(++parameterIndex, user.getName());
+                preparedStatement.setString(++parameterIndex, user.getSurname());
+                preparedStatement.setObject(++parameterIndex, user.getBirthDate());
+                preparedStatement.setString(++parameterIndex, user.getEmail());
+            }
+        }, resultSet -> {
+            insertedIds.put(resultSet.getString(Constant.EMAIL), resultSet.getLong(Constant.ID));
+        });
+
+        return insertedIds;
+    }
+
+}
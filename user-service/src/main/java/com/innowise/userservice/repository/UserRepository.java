@@ -2,6 +2,7 @@ package com.innowise.userservice.repository;
 
 import com.innowise.userservice.model.entity.User;
 import com.innowise.userservice.util.Constant;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -18,11 +20,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findUsersByIdIn(List<Long> ids);
 
+    @Query("SELECT u.id FROM User u WHERE u.id > :cursor ORDER BY u.id")
+    List<Long> findUserIdsAfter(@Param(Constant.CURSOR) Long cursor, Limit limit);
+
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.cards WHERE u.id IN :ids ORDER BY u.id")
+    List<User> findUsersWithCardsByIdIn(@Param(Constant.IDS) List<Long> ids);
+
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.cards WHERE u.email = :email")
     Optional<User> findUserByEmail(@Param(Constant.EMAIL) String email);
 
     boolean existsByEmail(String email);
 
+    Optional<User> findUserByRegistrationId(UUID registrationId);
+
     @Modifying
     @Query(value = """
             UPDATE users
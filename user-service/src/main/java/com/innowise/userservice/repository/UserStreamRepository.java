@@ -0,0 +1,94 @@
+package com.innowise.userservice.repository;
+
+import com.innowise.userservice.model.dto.CardResponseDto;
+import com.innowise.userservice.model.dto.UserResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Reads of all users through plain JDBC with a fetch size, so the rows are pulled from the database
+ * cursor in portions and never kept in the persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserStreamRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SELECT_USERS_WITH_CARDS_SQL = """
+            SELECT u.id, u.name, u.surname, u.birth_date, u.email, c.number, c.holder, c.expiration_date
+            FROM users u
+            LEFT JOIN card_info c ON c.user_id = u.id
+            ORDER BY u.id, c.id
+            """;
+
+    /**
+     * Passes every user with the cards to the consumer in the order of identifiers, one user at a time.
+     * PostgreSQL uses a cursor for the fetch size only inside a transaction, so the caller must open one.
+     *
+     * @param consumer receives users as soon as all their rows are read
+     */
+    public void forEachUser(Consumer<UserResponseDto> consumer) {
+        UserRowCallbackHandler rowCallbackHandler = new UserRowCallbackHandler(consumer);
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(SELECT_USERS_WITH_CARDS_SQL);
+            preparedStatement.setFetchSize(FETCH_SIZE);
+            return preparedStatement;
+        }, rowCallbackHandler);
+        rowCallbackHandler.flush();
+    }
+
+    /** Groups the consecutive rows of the same user into one user with cards. */
+    @RequiredArgsConstructor
+    private static class UserRowCallbackHandler implements RowCallbackHandler {
+        private final Consumer<UserResponseDto> consumer;
+        private UserResponseDto currentUser;
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            long userId = resultSet.getLong("id");
+            if (currentUser == null || currentUser.getUserId() != userId) {
+                flush();
+                currentUser = toUser(resultSet, userId);
+            }
+
+            String cardNumber = resultSet.getString("number");
+            if (cardNumber != null) {
+                CardResponseDto card = new CardResponseDto();
+                card.setNumber(cardNumber);
+                card.setHolder(resultSet.getString("holder"));
+                card.setExpirationDate(resultSet.getObject("expiration_date", LocalDate.class));
+                currentUser.getCards().add(card);
+            }
+        }
+
+        void flush() {
+            if (currentUser != null) {
+                consumer.accept(currentUser);
+                currentUser = null;
+            }
+        }
+
+        private static UserResponseDto toUser(ResultSet resultSet, long userId) throws SQLException {
+            UserResponseDto user = new UserResponseDto();
+            user.setUserId(userId);
+            user.setName(resultSet.getString("name"));
+            user.setSurname(resultSet.getString("surname"));
+            user.setBirthDate(resultSet.getObject("birth_date", LocalDate.class));
+            user.setEmail(resultSet.getString("email"));
+            user.setCards(new ArrayList<>());
+            return user;
+        }
+    }
+}
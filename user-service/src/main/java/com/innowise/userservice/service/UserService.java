@@ -1,12 +1,17 @@
 package com.innowise.userservice.service;
 
+import com.innowise.userservice.model.dto.BatchUserResultDto;
+import com.innowise.userservice.model.dto.UserPageDto;
 import com.innowise.userservice.model.dto.UserRequestDto;
 import com.innowise.userservice.model.dto.UserResponseDto;
 import com.innowise.userservice.model.entity.User;
 import com.innowise.userservice.exception.EmailAlreadyExistsException;
+import com.innowise.userservice.exception.InvalidCursorException;
 import com.innowise.userservice.exception.ResourceNotFoundException;
 
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service for managing users in the system.
@@ -19,11 +24,22 @@ import java.util.List;
  */
 public interface UserService {
     /**
-     * Retrieves all users from the system.
+     * Retrieves a page of users ordered by identifier, starting after the user the cursor points to.
      *
-     * @return list of all users, empty list if no users exist in the database
+     * @param cursor the cursor of the previous page, null for the first page
+     * @param limit  the maximum number of users on the page
+     * @return users of the page and the cursor of the next page, which is null on the last page
+     * @throws InvalidCursorException if the cursor was not issued by this service
      */
-    List<UserResponseDto> getAllUsers();
+    UserPageDto getUsersPage(String cursor, int limit);
+
+    /**
+     * Passes all users of the system to the consumer one by one, ordered by identifier,
+     * without loading them into memory at once.
+     *
+     * @param consumer receives every user with the cards
+     */
+    void streamUsers(Consumer<UserResponseDto> consumer);
 
     /**
      * Retrieves a user by unique identifier.
@@ -61,6 +77,26 @@ public interface UserService {
      */
     UserResponseDto createUser(UserRequestDto userRequestDto);
 
+    /**
+     * Creates the user of an asynchronous registration. Registration events are delivered at least once,
+     * so if the registration has already created a user, that user is returned instead.
+     *
+     * @param registrationId the identifier of the registration in auth-service
+     * @param userRequestDto the user data to create
+     * @return the created user data, or the user created by the registration before
+     * @throws EmailAlreadyExistsException if email is already registered by another user
+     */
+    UserResponseDto createRegisteredUser(UUID registrationId, UserRequestDto userRequestDto);
+
+    /**
+     * Creates users in bulk with a single insert. Invalid users and users with an email which is already registered,
+     * or repeated within the batch, are reported as failed instead of failing the whole batch.
+     *
+     * @param userRequestDtos the users data to create
+     * @return results with created user IDs or failure reasons, in the order of the requested users
+     */
+    List<BatchUserResultDto> createUsers(List<UserRequestDto> userRequestDtos);
+
     /**
      * Updates an existing user's information after verifying email uniqueness.
      * Automatically updates holder names in associated cards data if user's name or surname changes.
@@ -80,4 +116,12 @@ public interface UserService {
      * @throws ResourceNotFoundException if the user with given ID does not exist
      */
     void deleteUser(Long userId);
+
+    /**
+     * Deletes the user created by an asynchronous registration which has already failed in auth-service,
+     * e.g. because it expired before the user was created. Does nothing if the registration hasn't created a user.
+     *
+     * @param registrationId the identifier of the registration in auth-service
+     */
+    void deleteRegisteredUser(UUID registrationId);
 }
\ No newline at end of file
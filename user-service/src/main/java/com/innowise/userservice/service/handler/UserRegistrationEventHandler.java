@@ -0,0 +1,69 @@
+package com.innowise.userservice.service.handler;
+
+import com.innowise.userservice.exception.EmailAlreadyExistsException;
+import com.innowise.userservice.model.dto.UserRequestDto;
+import com.innowise.userservice.model.dto.UserResponseDto;
+import com.innowise.userservice.model.dto.kafka.UserRegistrationEvent;
+import com.innowise.userservice.model.dto.kafka.UserRegistrationResultEvent;
+import com.innowise.userservice.model.dto.kafka.enums.RegistrationStatus;
+import com.innowise.userservice.service.UserService;
+import com.innowise.userservice.service.producer.UserRegistrationResultProducer;
+import com.innowise.userservice.util.ValidationMessages;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.annotation.KafkaHandler;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kafka consumer component which listens to the registration events topic, creates user profiles
+ * and reports results back to auth-service.
+ *
+ * @see UserRegistrationEvent
+ * @see UserRegistrationResultEvent
+ */
+@Component
+@KafkaListener(topics = "${registrations.events.topic}", properties = {
+        "spring.json.use.type.headers=false",
+        "spring.json.value.default.type=com.innowise.userservice.model.dto.kafka.UserRegistrationEvent"
+})
+@RequiredArgsConstructor
+public class UserRegistrationEventHandler {
+    private final UserService userService;
+    private final UserRegistrationResultProducer resultProducer;
+    private final Validator validator;
+
+    /**
+     * Creates the user of the registration. Events are delivered at least once, so a repeated event is recognized
+     * by its registration ID and the user created by the first delivery is reported.
+     *
+     * @param event the event received from Kafka
+     */
+    @KafkaHandler
+    public void handleUserRegistrationEvent(UserRegistrationEvent event) {
+        UserRequestDto userRequestDto = UserRequestDto.builder()
+                .name(event.getName())
+                .surname(event.getSurname())
+                .birthDate(event.getBirthDate())
+                .email(event.getEmail())
+                .build();
+
+        UserRegistrationResultEvent.UserRegistrationResultEventBuilder result = UserRegistrationResultEvent.builder()
+                .registrationId(event.getRegistrationId());
+
+        String validationErrorMessage = ValidationMessages.validationErrorMessage(validator, userRequestDto);
+        if (validationErrorMessage != null) {
+            result.status(RegistrationStatus.FAILED).errorMessage(validationErrorMessage);
+        } else {
+            try {
+                UserResponseDto createdUser = userService.createRegisteredUser(event.getRegistrationId(),
+                        userRequestDto);
+                result.status(RegistrationStatus.COMPLETED).userId(createdUser.getUserId());
+            } catch (EmailAlreadyExistsException ex) {
+                result.status(RegistrationStatus.FAILED).errorMessage(ex.getMessage());
+            }
+        }
+
+        resultProducer.sendResultEvent(event.getPhoneNumber(), result.build());
+    }
+}
@@ -1,22 +1,39 @@
 package com.innowise.userservice.service.impl;
 
 import com.innowise.userservice.exception.EmailAlreadyExistsException;
+import com.innowise.userservice.exception.InvalidCursorException;
 import com.innowise.userservice.exception.ResourceNotFoundException;
+import com.innowise.userservice.model.dto.BatchUserResultDto;
+import com.innowise.userservice.model.dto.UserPageDto;
 import com.innowise.userservice.model.dto.UserRequestDto;
 import com.innowise.userservice.model.dto.UserResponseDto;
 import com.innowise.userservice.model.dto.mapper.UserMapper;
 import com.innowise.userservice.model.entity.User;
 import com.innowise.userservice.repository.CardRepository;
+import com.innowise.userservice.repository.UserBatchRepository;
 import com.innowise.userservice.repository.UserRepository;
+import com.innowise.userservice.repository.UserStreamRepository;
 import com.innowise.userservice.service.UserService;
 import com.innowise.userservice.service.cache.CacheEvictor;
 import com.innowise.userservice.util.CardFieldsGenerator;
+import com.innowise.userservice.util.ValidationMessages;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -25,13 +42,30 @@ public class UserServiceImpl implements UserService {
     private final CardRepository cardRepository;
     private final UserMapper userMapper;
     private final CacheEvictor cacheEvictor;
+    private final UserBatchRepository userBatchRepository;
+    private final UserStreamRepository userStreamRepository;
+    private final Validator validator;
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserResponseDto> getAllUsers() {
-        List<User> retrievedUsers = userRepository.findAll();
+    public UserPageDto getUsersPage(String cursor, int limit) {
+        List<Long> userIds = userRepository.findUserIdsAfter(decodeCursor(cursor), Limit.of(limit + 1));
+        boolean hasNextPage = userIds.size() > limit;
+        List<Long> pageUserIds = hasNextPage ? userIds.subList(0, limit) : userIds;
+        List<User> retrievedUsers = pageUserIds.isEmpty()
+                ? List.of()
+                : userRepository.findUsersWithCardsByIdIn(pageUserIds);
+
+        return UserPageDto.builder()
+                .users(userMapper.toResponseDtoList(retrievedUsers))
+                .nextCursor(hasNextPage ? encodeCursor(pageUserIds.getLast()) : null)
+                .build();
+    }
 
-        return userMapper.toResponseDtoList(retrievedUsers);
+    @Override
+    @Transactional(readOnly = true)
+    public void streamUsers(Consumer<UserResponseDto> consumer) {
+        userStreamRepository.forEachUser(consumer);
     }
 
     @Override
@@ -74,6 +108,61 @@ public class UserServiceImpl implements UserService {
         return userMapper.toResponseDto(createdUser);
     }
 
+    @Override
+    @Transactional
+    public UserResponseDto createRegisteredUser(UUID registrationId, UserRequestDto userRequestDto) {
+        Optional<User> registeredUser = userRepository.findUserByRegistrationId(registrationId);
+        if (registeredUser.isPresent()) {
+            return userMapper.toResponseDto(registeredUser.get());
+        }
+        if (userRepository.existsByEmail(userRequestDto.getEmail())) {
+            throw new EmailAlreadyExistsException(userRequestDto.getEmail());
+        }
+
+        User user = userMapper.toEntity(userRequestDto);
+        user.setRegistrationId(registrationId);
+        User createdUser = userRepository.save(user);
+
+        return userMapper.toResponseDto(createdUser);
+    }
+
+    @Override
+    @Transactional
+    public List<BatchUserResultDto> createUsers(List<UserRequestDto> userRequestDtos) {
+        List<String> errorMessages = userRequestDtos.stream()
+                .map(userRequestDto -> ValidationMessages.validationErrorMessage(validator, userRequestDto))
+                .toList();
+        List<User> validUsers = new ArrayList<>(userRequestDtos.size());
+        for (int i = 0; i < userRequestDtos.size(); i++) {
+            if (errorMessages.get(i) == null) {
+                validUsers.add(userMapper.toEntity(userRequestDtos.get(i)));
+            }
+        }
+
+        Map<String, Long> createdIds = validUsers.isEmpty()
+                ? Map.of()
+                : userBatchRepository.insertSkippingTakenEmails(validUsers);
+
+        List<BatchUserResultDto> results = new ArrayList<>(userRequestDtos.size());
+        Set<String> reportedEmails = new HashSet<>();
+        for (int i = 0; i < userRequestDtos.size(); i++) {
+            String email = userRequestDtos.get(i).getEmail();
+            Long userId = createdIds.get(email);
+            BatchUserResultDto.BatchUserResultDtoBuilder result = BatchUserResultDto.builder().email(email);
+
+            if (errorMessages.get(i) != null) {
+                result.errorMessage(errorMessages.get(i));
+            } else if (userId != null && reportedEmails.add(email)) {
+                result.userId(userId);
+            } else {
+                result.errorMessage(EmailAlreadyExistsException.message(email));
+            }
+            results.add(result.build());
+        }
+
+        return results;
+    }
+
     @Override
     @Transactional
     public UserResponseDto updateUser(Long userId, UserRequestDto userRequestDto) {
@@ -116,4 +205,32 @@ public class UserServiceImpl implements UserService {
 
         userRepository.deleteUserById(userId);
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional
+    public void deleteRegisteredUser(UUID registrationId) {
+        userRepository.findUserByRegistrationId(registrationId).ifPresent(registeredUser -> {
+            cacheEvictor.evictUser(registeredUser.getId(), registeredUser.getEmail());
+
+            userRepository.deleteUserById(registeredUser.getId());
+        });
+    }
+
+    /** Cursors are opaque to clients, so their format can change without changing the API. */
+    private static String encodeCursor(Long userId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(userId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null) {
+            return 0L;
+        }
+
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
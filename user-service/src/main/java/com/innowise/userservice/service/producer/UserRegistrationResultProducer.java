@@ -0,0 +1,45 @@
+package com.innowise.userservice.service.producer;
+
+import com.innowise.userservice.model.dto.kafka.UserRegistrationResultEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Producer for sending registration results back to auth-service.
+ *
+ * @see UserRegistrationResultEvent
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserRegistrationResultProducer {
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Value("${registrations.results.topic}")
+    private String registrationsResultsTopic;
+
+    /**
+     * Sends a registration result keyed by phone number.
+     * Blocks until confirmation or timeout/error, throwing an exception if failed, so the registration event
+     * is consumed again.
+     *
+     * @param phoneNumber the phone number of the registering user
+     * @param resultEvent the registration result
+     */
+    public void sendResultEvent(String phoneNumber, UserRegistrationResultEvent resultEvent) {
+        try {
+            kafkaTemplate.send(registrationsResultsTopic, phoneNumber, resultEvent).get();
+
+            log.info("Registration {} result {} has been sent successfully",
+                    resultEvent.getRegistrationId(), resultEvent.getStatus());
+        } catch (ExecutionException | InterruptedException ex) {
+            throw new KafkaException("Registration result can't be sent.", ex);
+        }
+    }
+}
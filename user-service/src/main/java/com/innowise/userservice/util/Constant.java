@@ -8,6 +8,8 @@ public class Constant {
     public static final String EMAIL = "email";
     public static final String USER_ID = "userId";
     public static final String HOLDER = "holder";
+    public static final String IDS = "ids";
+    public static final String CURSOR = "cursor";
 
     private Constant() {
     }
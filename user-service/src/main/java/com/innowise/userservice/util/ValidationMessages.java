@@ -0,0 +1,36 @@
+package com.innowise.userservice.util;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class for reporting bean validation failures of rows which are validated one by one
+ * instead of failing the whole request.
+ */
+public class ValidationMessages {
+    /**
+     * Validates the object and joins its violations into one message. Violations are sorted,
+     * so the message doesn't depend on the order the validator reports them in.
+     *
+     * @param validator the validator to use
+     * @param object the object to validate
+     * @return "property: message" pairs separated by "; ", or null if the object is valid
+     */
+    public static <T> String validationErrorMessage(Validator validator, T object) {
+        Set<ConstraintViolation<T>> violations = validator.validate(object);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(violation -> "%s: %s".formatted(violation.getPropertyPath(), violation.getMessage()))
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private ValidationMessages() {
+    }
+}
@@ -1,24 +1,33 @@
 package com.innowise.userservice.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.innowise.userservice.model.dto.UserRequestDto;
+import com.innowise.userservice.model.dto.UserResponseDto;
 import com.innowise.userservice.model.entity.User;
 import com.innowise.userservice.util.TestConstant;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.Mockito.doNothing;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class UserControllerTest extends BaseControllerTest {
@@ -163,8 +172,41 @@ class UserControllerTest extends BaseControllerTest {
                         .header(TestConstant.AUTHORIZATION, TestConstant.BEARER_PATTERN.formatted(testToken)))
                 .andExpectAll(
                         status().isOk(),
-                        jsonPath(TestConstant.JSON_PATH_COMMON_ARRAY).isArray(),
-                        jsonPath(TestConstant.JSON_PATH_COMMON_ARRAY, hasSize(1))
+                        jsonPath(TestConstant.JSON_PATH_PAGE_USERS).isArray(),
+                        jsonPath(TestConstant.JSON_PATH_PAGE_USERS, hasSize(1)),
+                        jsonPath(TestConstant.JSON_PATH_PAGE_NEXT_CURSOR).doesNotExist()
+                );
+    }
+
+    @Test
+    void getAllUsersWithNextPageIntegrationTest() throws Exception {
+        testUser = userRepository.save(buildTestUser());
+        User secondUser = buildTestUser();
+        secondUser.setEmail("second." + testUser.getEmail());
+        userRepository.save(secondUser);
+        testToken = jwtProvider.generateAccessToken(null, TestConstant.ID, TestConstant.ROLE_ADMIN);
+
+        mockMvc.perform(get(URL)
+                        .param("limit", "1")
+                        .header(TestConstant.AUTHORIZATION, TestConstant.BEARER_PATTERN.formatted(testToken)))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath(TestConstant.JSON_PATH_PAGE_USERS, hasSize(1)),
+                        jsonPath(TestConstant.JSON_PATH_PAGE_NEXT_CURSOR).isNotEmpty()
+                );
+    }
+
+    @Test
+    void getAllUsersWhenCursorIsInvalidIntegrationTest() throws Exception {
+        testToken = jwtProvider.generateAccessToken(null, TestConstant.ID, TestConstant.ROLE_ADMIN);
+
+        mockMvc.perform(get(URL)
+                        .param("cursor", "not a cursor")
+                        .header(TestConstant.AUTHORIZATION, TestConstant.BEARER_PATTERN.formatted(testToken)))
+                .andExpectAll(
+                        status().isBadRequest(),
+                        jsonPath(TestConstant.JSON_PATH_EXCEPTION_STATUS).value(HttpStatus.BAD_REQUEST.value()),
+                        jsonPath(TestConstant.JSON_PATH_EXCEPTION_ERROR_MESSAGE).value(containsString("cursor"))
                 );
     }
 
@@ -176,11 +218,48 @@ class UserControllerTest extends BaseControllerTest {
                         .header(TestConstant.AUTHORIZATION, TestConstant.BEARER_PATTERN.formatted(testToken)))
                 .andExpectAll(
                         status().isOk(),
-                        jsonPath(TestConstant.JSON_PATH_COMMON_ARRAY).isArray(),
-                        jsonPath(TestConstant.JSON_PATH_COMMON_ARRAY).isEmpty()
+                        jsonPath(TestConstant.JSON_PATH_PAGE_USERS).isArray(),
+                        jsonPath(TestConstant.JSON_PATH_PAGE_USERS).isEmpty(),
+                        jsonPath(TestConstant.JSON_PATH_PAGE_NEXT_CURSOR).doesNotExist()
                 );
     }
 
+    @Test
+    void streamUsersWhenUsersExistIntegrationTest() throws Exception {
+        testUser = userRepository.save(buildTestUser());
+        cardRepository.save(buildTestCard(testUser));
+        cardRepository.save(buildTestCard(testUser));
+        User userWithoutCards = buildTestUser();
+        userWithoutCards.setEmail("second." + testUser.getEmail());
+        userRepository.save(userWithoutCards);
+        testToken = jwtProvider.generateAccessToken(null, TestConstant.ID, TestConstant.ROLE_ADMIN);
+
+        MvcResult mvcResult = mockMvc.perform(get(URL)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .header(TestConstant.AUTHORIZATION, TestConstant.BEARER_PATTERN.formatted(testToken)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String responseBody = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                )
+                .andReturn().getResponse().getContentAsString();
+
+        List<UserResponseDto> streamedUsers = responseBody.lines()
+                .map(this::readUser)
+                .toList();
+
+        assertAll(
+                () -> assertThat(streamedUsers).hasSize(2),
+                () -> assertThat(streamedUsers.get(0).getEmail()).isEqualTo(testUser.getEmail()),
+                () -> assertThat(streamedUsers.get(0).getCards()).hasSize(2),
+                () -> assertThat(streamedUsers.get(1).getEmail()).isEqualTo(userWithoutCards.getEmail()),
+                () -> assertThat(streamedUsers.get(1).getCards()).isEmpty()
+        );
+    }
+
     @Test
     void getAllUsersWhenAccessDeniedByAuthorityIntegrationTest() throws Exception {
         testToken = jwtProvider.generateAccessToken(null, TestConstant.ID, TestConstant.ROLE_USER);
@@ -376,4 +455,12 @@ class UserControllerTest extends BaseControllerTest {
                         jsonPath(TestConstant.JSON_PATH_EXCEPTION_TIMESTAMP).exists()
                 );
     }
-}
\ No newline at end of file
+
+    private UserResponseDto readUser(String line) {
+        try {
+            return objectMapper.readValue(line, UserResponseDto.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.innowise.userservice.repository;
+
+import com.innowise.userservice.model.dto.UserResponseDto;
+import com.innowise.userservice.util.TestConstant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = UserStreamRepository.class)
+class UserStreamRepositoryTest {
+    @MockitoBean
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserStreamRepository userStreamRepository;
+
+    @Test
+    void forEachUserWhenUsersHaveMultipleCardsTest() {
+        mockRows(
+                buildRow(TestConstant.ID, FIRST_CARD_NUMBER),
+                buildRow(TestConstant.ID, SECOND_CARD_NUMBER),
+                buildRow(SECOND_USER_ID, THIRD_CARD_NUMBER)
+        );
+
+        List<UserResponseDto> users = new ArrayList<>();
+        userStreamRepository.forEachUser(users::add);
+
+        assertAll(
+                () -> assertThat(users).extracting(UserResponseDto::getUserId)
+                        .containsExactly(TestConstant.ID, SECOND_USER_ID),
+                () -> assertThat(users.get(0).getCards()).extracting("number")
+                        .containsExactly(FIRST_CARD_NUMBER, SECOND_CARD_NUMBER),
+                () -> assertThat(users.get(1).getCards()).extracting("number")
+                        .containsExactly(THIRD_CARD_NUMBER),
+                () -> assertThat(users.get(0).getEmail()).isEqualTo(TestConstant.USER_EMAIL)
+        );
+
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void forEachUserWhenUsersHaveNoCardsTest() {
+        mockRows(
+                buildRow(TestConstant.ID, null),
+                buildRow(SECOND_USER_ID, FIRST_CARD_NUMBER),
+                buildRow(THIRD_USER_ID, null)
+        );
+
+        List<UserResponseDto> users = new ArrayList<>();
+        userStreamRepository.forEachUser(users::add);
+
+        assertAll(
+                () -> assertThat(users).extracting(UserResponseDto::getUserId)
+                        .containsExactly(TestConstant.ID, SECOND_USER_ID, THIRD_USER_ID),
+                () -> assertThat(users.get(0).getCards()).isEmpty(),
+                () -> assertThat(users.get(1).getCards()).hasSize(1),
+                () -> assertThat(users.get(2).getCards()).isEmpty()
+        );
+
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void forEachUserWhenUsersDoNotExistTest() {
+        mockRows();
+
+        List<UserResponseDto> users = new ArrayList<>();
+        userStreamRepository.forEachUser(users::add);
+
+        assertThat(users).isEmpty();
+
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    private static final Long SECOND_USER_ID = 2L;
+    private static final Long THIRD_USER_ID = 3L;
+    private static final String FIRST_CARD_NUMBER = "1111222233334444";
+    private static final String SECOND_CARD_NUMBER = "5555666677778888";
+    private static final String THIRD_CARD_NUMBER = "9999000011112222";
+
+    @SafeVarargs
+    private void mockRows(Map<String, Object>... rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler rowCallbackHandler = invocation.getArgument(1);
+            for (Map<String, Object> row : rows) {
+                rowCallbackHandler.processRow(toResultSet(row));
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private static Map<String, Object> buildRow(Long userId, String cardNumber) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", userId);
+        row.put("name", TestConstant.USER_NAME);
+        row.put("surname", TestConstant.USER_NAME);
+        row.put("birth_date", TestConstant.LOCAL_DATE_YESTERDAY);
+        row.put("email", TestConstant.USER_EMAIL);
+        row.put("number", cardNumber);
+        row.put("holder", cardNumber == null ? null : TestConstant.USER_NAME);
+        row.put("expiration_date", cardNumber == null ? null : TestConstant.LOCAL_DATE_YESTERDAY);
+        return row;
+    }
+
+    private static ResultSet toResultSet(Map<String, Object> row) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong("id")).thenReturn((Long) row.get("id"));
+        when(resultSet.getString(anyString())).thenAnswer(invocation -> row.get(invocation.<String>getArgument(0)));
+        when(resultSet.getObject(anyString(), eq(LocalDate.class)))
+                .thenAnswer(invocation -> row.get(invocation.<String>getArgument(0)));
+        return resultSet;
+    }
+}
@@ -1,69 +1,134 @@
 package com.innowise.userservice.service;
 
 import com.innowise.userservice.exception.EmailAlreadyExistsException;
+import com.innowise.userservice.exception.InvalidCursorException;
 import com.innowise.userservice.exception.ResourceNotFoundException;
+import com.innowise.userservice.model.dto.BatchUserResultDto;
+import com.innowise.userservice.model.dto.UserPageDto;
 import com.innowise.userservice.model.dto.UserRequestDto;
 import com.innowise.userservice.model.dto.UserResponseDto;
 import com.innowise.userservice.model.entity.Card;
 import com.innowise.userservice.model.entity.User;
+import com.innowise.userservice.repository.UserBatchRepository;
+import com.innowise.userservice.repository.UserStreamRepository;
 import com.innowise.userservice.service.impl.UserServiceImpl;
 import com.innowise.userservice.util.TestConstant;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
-@ContextConfiguration(classes = UserServiceImpl.class)
+@ContextConfiguration(classes = {UserServiceImpl.class, LocalValidatorFactoryBean.class})
 class UserServiceTest extends BaseServiceTest {
+    @MockitoBean
+    private UserBatchRepository userBatchRepository;
+
+    @MockitoBean
+    private UserStreamRepository userStreamRepository;
+
     @Autowired
     private UserService userService;
 
     private static User testUser;
 
+    private static final Long NEW_USER_ID = 2L;
+    private static final String INVALID_CURSOR = "not a cursor";
+    private static final UUID REGISTRATION_ID = UUID.fromString("7d0c6f7e-3f4b-4a8e-9c1d-2b5e8f3a6c90");
+
     @BeforeAll
     static void beforeAll() {
         testUser = buildTestUser();
     }
 
     @Test
-    void getAllUsersWhenUsersExistTest() {
-        when(userRepository.findAll()).thenReturn(List.of(testUser));
+    void getUsersPageWhenNextPageExistsTest() {
+        when(userRepository.findUserIdsAfter(0L, Limit.of(2))).thenReturn(List.of(TestConstant.ID, NEW_USER_ID));
+        when(userRepository.findUsersWithCardsByIdIn(TestConstant.IDS)).thenReturn(List.of(testUser));
+        when(userRepository.findUserIdsAfter(TestConstant.ID, Limit.of(2))).thenReturn(List.of(NEW_USER_ID));
+        when(userRepository.findUsersWithCardsByIdIn(List.of(NEW_USER_ID))).thenReturn(List.of(testUser));
 
-        List<UserResponseDto> resultList = userService.getAllUsers();
+        UserPageDto firstPage = userService.getUsersPage(null, 1);
+        UserPageDto secondPage = userService.getUsersPage(firstPage.getNextCursor(), 1);
 
-        assertThat(resultList).isNotNull().isNotEmpty().hasSize(1);
+        assertAll(
+                () -> assertThat(firstPage.getUsers()).hasSize(1),
+                () -> assertUserResponseDtoFields(firstPage.getUsers().getFirst()),
+                () -> assertThat(firstPage.getNextCursor()).isNotBlank()
+                        .doesNotContain(String.valueOf(TestConstant.ID)),
+                () -> assertThat(secondPage.getUsers()).hasSize(1),
+                () -> assertThat(secondPage.getNextCursor()).isNull()
+        );
 
-        UserResponseDto resultDto = resultList.get(0);
+        verify(userRepository, times(1)).findUserIdsAfter(0L, Limit.of(2));
+        verify(userRepository, times(1)).findUserIdsAfter(TestConstant.ID, Limit.of(2));
+        verify(userRepository, times(1)).findUsersWithCardsByIdIn(TestConstant.IDS);
+        verify(userRepository, times(1)).findUsersWithCardsByIdIn(List.of(NEW_USER_ID));
+    }
 
-        assertUserResponseDtoFields(resultDto);
+    @Test
+    void getUsersPageWhenUsersDoNotExistTest() {
+        when(userRepository.findUserIdsAfter(0L, Limit.of(UserPageDto.DEFAULT_LIMIT + 1)))
+                .thenReturn(Collections.emptyList());
+
+        UserPageDto resultPage = userService.getUsersPage(null, UserPageDto.DEFAULT_LIMIT);
+
+        assertAll(
+                () -> assertThat(resultPage.getUsers()).isNotNull().isEmpty(),
+                () -> assertThat(resultPage.getNextCursor()).isNull()
+        );
 
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findUserIdsAfter(0L, Limit.of(UserPageDto.DEFAULT_LIMIT + 1));
     }
 
     @Test
-    void getAllUsersWhenUsersDoNotExistTest() {
-        when(userRepository.findAll()).thenReturn(Collections.emptyList());
+    void getUsersPageWhenCursorIsInvalidTest() {
+        assertThatThrownBy(() -> userService.getUsersPage(INVALID_CURSOR, UserPageDto.DEFAULT_LIMIT))
+                .isInstanceOf(InvalidCursorException.class)
+                .hasMessageContaining(INVALID_CURSOR);
+    }
 
-        List<UserResponseDto> resultDto = userService.getAllUsers();
+    @Test
+    void streamUsersTest() {
+        UserResponseDto streamedUser = new UserResponseDto();
+        streamedUser.setUserId(TestConstant.ID);
 
-        assertThat(resultDto).isNotNull().isEmpty();
+        doAnswer(invocation -> {
+            Consumer<UserResponseDto> consumer = invocation.getArgument(0);
+            consumer.accept(streamedUser);
+            return null;
+        }).when(userStreamRepository).forEachUser(any());
 
-        verify(userRepository, times(1)).findAll();
+        List<UserResponseDto> receivedUsers = new ArrayList<>();
+        userService.streamUsers(receivedUsers::add);
+
+        assertThat(receivedUsers).containsExactly(streamedUser);
+
+        verify(userStreamRepository, times(1)).forEachUser(any());
     }
 
     @Test
@@ -171,6 +236,129 @@ class UserServiceTest extends BaseServiceTest {
         verify(userRepository, times(1)).existsByEmail(TestConstant.USER_EMAIL);
     }
 
+    @Test
+    void createRegisteredUserSuccessfulTest() {
+        UserRequestDto requestDto = UserRequestDto.builder()
+                .email(TestConstant.USER_EMAIL)
+                .build();
+
+        when(userRepository.findUserByRegistrationId(REGISTRATION_ID)).thenReturn(Optional.empty());
+        when(userRepository.existsByEmail(TestConstant.USER_EMAIL)).thenReturn(false);
+        when(userRepository.save(argThat(user -> REGISTRATION_ID.equals(user.getRegistrationId()))))
+                .thenReturn(testUser);
+
+        UserResponseDto resultDto = userService.createRegisteredUser(REGISTRATION_ID, requestDto);
+
+        assertUserResponseDtoFields(resultDto);
+
+        verify(userRepository, times(1)).findUserByRegistrationId(REGISTRATION_ID);
+        verify(userRepository, times(1)).existsByEmail(TestConstant.USER_EMAIL);
+        verify(userRepository, times(1)).save(any(User.class));
+    }
+
+    @Test
+    void createRegisteredUserWhenRegistrationIsRepeatedTest() {
+        UserRequestDto requestDto = UserRequestDto.builder()
+                .email(TestConstant.USER_EMAIL)
+                .build();
+
+        when(userRepository.findUserByRegistrationId(REGISTRATION_ID)).thenReturn(Optional.of(testUser));
+
+        UserResponseDto resultDto = userService.createRegisteredUser(REGISTRATION_ID, requestDto);
+
+        assertUserResponseDtoFields(resultDto);
+
+        verify(userRepository, times(1)).findUserByRegistrationId(REGISTRATION_ID);
+    }
+
+    @Test
+    void createRegisteredUserWhenEmailBelongsToAnotherUserTest() {
+        UserRequestDto requestDto = UserRequestDto.builder()
+                .email(TestConstant.USER_EMAIL)
+                .build();
+
+        when(userRepository.findUserByRegistrationId(REGISTRATION_ID)).thenReturn(Optional.empty());
+        when(userRepository.existsByEmail(TestConstant.USER_EMAIL)).thenReturn(true);
+
+        assertThatThrownBy(() -> userService.createRegisteredUser(REGISTRATION_ID, requestDto))
+                .isInstanceOf(EmailAlreadyExistsException.class)
+                .hasMessageContaining(TestConstant.USER_EMAIL);
+
+        verify(userRepository, times(1)).findUserByRegistrationId(REGISTRATION_ID);
+        verify(userRepository, times(1)).existsByEmail(TestConstant.USER_EMAIL);
+    }
+
+    @Test
+    void createUsersSuccessfulTest() {
+        List<UserRequestDto> requestDtos = List.of(
+                buildUserRequestDto(TestConstant.USER_EMAIL),
+                buildUserRequestDto(TestConstant.NEW_USER_EMAIL)
+        );
+
+        when(userBatchRepository.insertSkippingTakenEmails(anyList()))
+                .thenReturn(Map.of(TestConstant.USER_EMAIL, TestConstant.ID, TestConstant.NEW_USER_EMAIL, NEW_USER_ID));
+
+        List<BatchUserResultDto> results = userService.createUsers(requestDtos);
+
+        assertAll(
+                () -> assertThat(results).hasSize(2),
+                () -> assertThat(results.get(0).getUserId()).isEqualTo(TestConstant.ID),
+                () -> assertThat(results.get(0).getEmail()).isEqualTo(TestConstant.USER_EMAIL),
+                () -> assertThat(results.get(0).getErrorMessage()).isNull(),
+                () -> assertThat(results.get(1).getUserId()).isEqualTo(NEW_USER_ID),
+                () -> assertThat(results.get(1).getEmail()).isEqualTo(TestConstant.NEW_USER_EMAIL),
+                () -> assertThat(results.get(1).getErrorMessage()).isNull()
+        );
+
+        verify(userBatchRepository, times(1)).insertSkippingTakenEmails(anyList());
+    }
+
+    @Test
+    void createUsersWhenEmailIsTakenOrRepeatedTest() {
+        List<UserRequestDto> requestDtos = List.of(
+                buildUserRequestDto(TestConstant.USER_EMAIL),
+                buildUserRequestDto(TestConstant.NEW_USER_EMAIL),
+                buildUserRequestDto(TestConstant.NEW_USER_EMAIL)
+        );
+
+        when(userBatchRepository.insertSkippingTakenEmails(anyList()))
+                .thenReturn(Map.of(TestConstant.NEW_USER_EMAIL, NEW_USER_ID));
+
+        List<BatchUserResultDto> results = userService.createUsers(requestDtos);
+
+        assertAll(
+                () -> assertThat(results).hasSize(3),
+                () -> assertThat(results.get(0).getUserId()).isNull(),
+                () -> assertThat(results.get(0).getErrorMessage()).contains("Email already exists in the database"),
+                () -> assertThat(results.get(1).getUserId()).isEqualTo(NEW_USER_ID),
+                () -> assertThat(results.get(2).getUserId()).isNull(),
+                () -> assertThat(results.get(2).getErrorMessage()).contains(TestConstant.NEW_USER_EMAIL)
+        );
+
+        verify(userBatchRepository, times(1)).insertSkippingTakenEmails(anyList());
+    }
+
+    @Test
+    void createUsersWhenUserIsNotValidTest() {
+        UserRequestDto invalidRequestDto = buildUserRequestDto(TestConstant.NEW_USER_EMAIL);
+        invalidRequestDto.setName(TestConstant.USER_NAME.toLowerCase());
+        List<UserRequestDto> requestDtos = List.of(buildUserRequestDto(TestConstant.USER_EMAIL), invalidRequestDto);
+
+        when(userBatchRepository.insertSkippingTakenEmails(anyList()))
+                .thenReturn(Map.of(TestConstant.USER_EMAIL, TestConstant.ID));
+
+        List<BatchUserResultDto> results = userService.createUsers(requestDtos);
+
+        assertAll(
+                () -> assertThat(results).hasSize(2),
+                () -> assertThat(results.get(0).getUserId()).isEqualTo(TestConstant.ID),
+                () -> assertThat(results.get(1).getUserId()).isNull(),
+                () -> assertThat(results.get(1).getErrorMessage()).startsWith("name: ")
+        );
+
+        verify(userBatchRepository, times(1)).insertSkippingTakenEmails(argThat(users -> users.size() == 1));
+    }
+
     @Test
     void updateUserWithNewRequestDataTest() {
         User testUser = buildTestUser();
@@ -267,9 +455,39 @@ class UserServiceTest extends BaseServiceTest {
         verify(userRepository, times(1)).findUserById(TestConstant.ID);
     }
 
+    @Test
+    void deleteRegisteredUserSuccessfulTest() {
+        when(userRepository.findUserByRegistrationId(REGISTRATION_ID)).thenReturn(Optional.of(testUser));
+        doNothing().when(cacheEvictor).evictUser(TestConstant.ID, TestConstant.USER_EMAIL);
+
+        userService.deleteRegisteredUser(REGISTRATION_ID);
+
+        verify(userRepository, times(1)).findUserByRegistrationId(REGISTRATION_ID);
+        verify(cacheEvictor, times(1)).evictUser(TestConstant.ID, TestConstant.USER_EMAIL);
+        verify(userRepository, times(1)).deleteUserById(TestConstant.ID);
+    }
+
+    @Test
+    void deleteRegisteredUserWhenUserDoesNotExistTest() {
+        when(userRepository.findUserByRegistrationId(REGISTRATION_ID)).thenReturn(Optional.empty());
+
+        userService.deleteRegisteredUser(REGISTRATION_ID);
+
+        verify(userRepository, times(1)).findUserByRegistrationId(REGISTRATION_ID);
+    }
+
     @AfterEach
     void tearDown() {
-        verifyNoMoreInteractions(userRepository, cardRepository, cacheEvictor);
+        verifyNoMoreInteractions(userRepository, cardRepository, cacheEvictor, userBatchRepository, userStreamRepository);
+    }
+
+    private static UserRequestDto buildUserRequestDto(String email) {
+        return UserRequestDto.builder()
+                .name(TestConstant.USER_NAME)
+                .surname(TestConstant.USER_NAME)
+                .birthDate(TestConstant.LOCAL_DATE_YESTERDAY)
+                .email(email)
+                .build();
     }
 
     private void assertUserResponseDtoFields(UserResponseDto responseDto) {
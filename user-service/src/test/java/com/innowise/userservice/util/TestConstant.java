@@ -32,6 +32,9 @@ public class TestConstant {
 
     public static final String JSON_PATH_COMMON_ARRAY = "$";
 
+    public static final String JSON_PATH_PAGE_USERS = "$.users";
+    public static final String JSON_PATH_PAGE_NEXT_CURSOR = "$.nextCursor";
+
     public static final String JSON_PATH_EXCEPTION_STATUS = "$.status";
     public static final String JSON_PATH_EXCEPTION_ERROR_MESSAGE = "$.errorMessage";
     public static final String JSON_PATH_EXCEPTION_DETAILS = "$.errorDetails";